@@ -0,0 +1,126 @@
+package com.example.eventscheduler.benchmark;
+
+import com.example.eventscheduler.EventSchedulerApplication;
+import com.example.eventscheduler.domain.Event;
+import com.example.eventscheduler.domain.EventStatus;
+import com.example.eventscheduler.service.EventService;
+import com.example.eventscheduler.service.NotificationServiceImpl;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+/**
+ * Starts the scheduler without a web server against a fresh in-memory H2 database, for use from
+ * JMH {@code @Setup} methods. The notification transport is replaced by a no-op, so benchmarks
+ * measure the scheduler rather than the simulated 100 ms network delay.
+ */
+final class BenchmarkApplication {
+
+    /** A fixed reference time; events before it are due, events after it are not. */
+    static final Instant NOW = Instant.now();
+
+    /** Events inserted per transaction by {@link #seed}, so a large table is not one huge transaction. */
+    private static final int SEED_SLICE = 100_000;
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String... properties) {
+        return start(new Class<?>[0], properties);
+    }
+
+    /**
+     * Starts the scheduler with additional bean sources, such as a benchmark's own {@code DueEventHandler}.
+     */
+    static ConfigurableApplicationContext start(Class<?>[] sources, String... properties) {
+        return new SpringApplicationBuilder(EventSchedulerApplication.class, NoOpNotifications.class)
+                .sources(sources)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                        "spring.main.allow-bean-definition-overriding=true",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .properties(properties)
+                .run();
+    }
+
+    /**
+     * Returns the properties selecting the given event store; the memory-mapped one gets a fresh
+     * directory under the system temporary directory.
+     */
+    static String[] storeProperties(String store) throws IOException {
+        if (!"mmap".equals(store)) {
+            return new String[] {"scheduler.store.type=" + store};
+        }
+        Path directory = Files.createTempDirectory("bench-event-store");
+        return new String[] {"scheduler.store.type=mmap", "scheduler.store.path=" + directory};
+    }
+
+    /**
+     * Returns the properties that put the database in a file under a fresh temporary directory instead of in
+     * memory, for tables too large for the heap.
+     */
+    static String[] fileDatabaseProperties() throws IOException {
+        Path directory = Files.createTempDirectory("bench-h2");
+        return new String[] {"spring.datasource.url=jdbc:h2:file:" + directory.resolve("events")};
+    }
+
+    /**
+     * Inserts {@code total} scheduled events through the bulk path, of which {@code due} are
+     * scheduled before {@link #NOW} and the rest after it.
+     */
+    static void seed(EventService eventService, int total, int due) {
+        seed(eventService, total, due, EventStatus.SCHEDULED);
+    }
+
+    /**
+     * Inserts {@code total} events through the bulk import path, {@value #SEED_SLICE} per transaction, of which
+     * {@code due} are scheduled before {@link #NOW}. The rest are either scheduled after it or, with
+     * {@link EventStatus#COMPLETED}, completed ones from before it.
+     */
+    static void seed(EventService eventService, int total, int due, EventStatus others) {
+        for (int start = 0; start < total; start += SEED_SLICE) {
+            eventService.importEvents(IntStream.range(start, Math.min(start + SEED_SLICE, total))
+                    .mapToObj(i -> i < due
+                            ? event(i, NOW.minusSeconds(due - i), EventStatus.SCHEDULED)
+                            : others == EventStatus.SCHEDULED
+                            ? event(i, NOW.plusSeconds(3_600 + i), others)
+                            : event(i, NOW.minusSeconds(due + i), others))
+                    .iterator());
+        }
+    }
+
+    private static Event event(int i, Instant scheduledTime, EventStatus status) {
+        return Event.builder().name("event-" + i).scheduledTime(scheduledTime).status(status).build();
+    }
+
+    /**
+     * Registered as an additional source; overrides the component-scanned notification transport.
+     * Deliberately not a {@code @Configuration}, so component scanning never picks it up.
+     */
+    static class NoOpNotifications {
+        @Bean
+        NotificationServiceImpl notificationServiceImpl() {
+            return new NotificationServiceImpl() {
+                @Override
+                public void notifyUser(String message) {
+                }
+
+                @Override
+                public void notifyUsers(List<String> messages) {
+                }
+            };
+        }
+    }
+}
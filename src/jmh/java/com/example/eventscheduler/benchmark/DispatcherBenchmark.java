@@ -0,0 +1,151 @@
+package com.example.eventscheduler.benchmark;
+
+import com.example.eventscheduler.domain.Event;
+import com.example.eventscheduler.dto.CreateEventRequest;
+import com.example.eventscheduler.metrics.LatencyHistogram;
+import com.example.eventscheduler.scheduling.DueEventHandler;
+import com.example.eventscheduler.service.EventService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.stream.IntStream;
+
+/**
+ * End-to-end throughput and lateness of the push-based {@code EventDispatcher}. Every iteration schedules a wave
+ * of {@code events} events spread evenly over one second, starting shortly after they are inserted, so the
+ * dispatcher is offered {@code events} firings per second on time. The score is the time from the first
+ * scheduled time until the last event reached the handler. After each iteration the firings per second and the
+ * lateness (scheduled time to handler) from a {@link LatencyHistogram} are printed, with p99 as the figure to
+ * watch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class DispatcherBenchmark {
+
+    /**
+     * How long before the first scheduled time the wave is inserted, per event; inserting must finish within
+     * it. Generous for the JPA store on a single CPU.
+     */
+    private static final Duration LEAD_PER_EVENT = Duration.ofNanos(200_000);
+
+    @Param({"10000", "50000"})
+    public int events;
+
+    @Param({"jpa", "mmap"})
+    public String store;
+
+    private ConfigurableApplicationContext context;
+    private EventService eventService;
+    private FiringRecorder recorder;
+    private Instant waveStart;
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        List<String> properties = new ArrayList<>(List.of(BenchmarkApplication.storeProperties(store)));
+        properties.add("scheduler.dispatcher.enabled=true");
+        // Every event of the wave is meant to fire on time, never through the rate-limited catch-up lane
+        properties.add("scheduler.dispatcher.catch-up.threshold-ms=60000");
+        context = BenchmarkApplication.start(new Class<?>[] {Handlers.class}, properties.toArray(new String[0]));
+        eventService = context.getBean(EventService.class);
+        recorder = context.getBean(FiringRecorder.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    /** Inserts the next wave and waits until just before it comes due. */
+    @Setup(Level.Iteration)
+    public void scheduleWave() throws InterruptedException {
+        Duration lead = LEAD_PER_EVENT.multipliedBy(events).plusSeconds(1);
+        waveStart = Instant.now().plus(lead);
+        long spacingNanos = TimeUnit.SECONDS.toNanos(1) / events;
+        recorder.expect(events);
+        eventService.createEvents(IntStream.range(0, events)
+                .mapToObj(i -> new CreateEventRequest("wave-" + i, waveStart.plusNanos(i * spacingNanos)))
+                .iterator());
+        long untilStart = Duration.between(Instant.now(), waveStart).toMillis();
+        if (untilStart <= 0) {
+            throw new IllegalStateException("Inserting " + events + " events took longer than " + lead);
+        }
+        Thread.sleep(untilStart);
+    }
+
+    @TearDown(Level.Iteration)
+    public void report() {
+        LatencyHistogram.Snapshot lateness = recorder.lateness.snapshot();
+        long millis = Math.max(1, ChronoUnit.MILLIS.between(waveStart,
+                Instant.EPOCH.plus(recorder.lastFiredMicros.get(), ChronoUnit.MICROS)));
+        System.out.printf("%n%d firings in %d ms (%d firings/s), lateness p50 %.2f ms, p99 %.2f ms, max %.2f ms%n",
+                lateness.getCount(), millis, lateness.getCount() * 1000 / millis, lateness.getP50() / 1000.0,
+                lateness.getP99() / 1000.0, lateness.getMax() / 1000.0);
+    }
+
+    @Benchmark
+    public void fireWave() throws InterruptedException {
+        if (!recorder.remaining.await(1, TimeUnit.MINUTES)) {
+            throw new IllegalStateException(recorder.remaining.getCount() + " events did not fire");
+        }
+    }
+
+    /**
+     * Counts the events of the current wave and records how late each one reached the handlers.
+     */
+    static class FiringRecorder implements DueEventHandler {
+        final LatencyHistogram lateness = new LatencyHistogram();
+        volatile CountDownLatch remaining = new CountDownLatch(0);
+        final LongAccumulator lastFiredMicros = new LongAccumulator(Math::max, 0);
+
+        void expect(int events) {
+            lateness.reset();
+            lastFiredMicros.reset();
+            remaining = new CountDownLatch(events);
+        }
+
+        @Override
+        public void onDue(Event event) {
+            Instant now = Instant.now();
+            lateness.record(ChronoUnit.MICROS.between(event.getScheduledTime(), now));
+            lastFiredMicros.accumulate(ChronoUnit.MICROS.between(Instant.EPOCH, now));
+            remaining.countDown();
+        }
+    }
+
+    /**
+     * Registered as an additional source. Deliberately not a {@code @Configuration}, so component scanning
+     * never picks it up.
+     */
+    static class Handlers {
+        @Bean
+        FiringRecorder firingRecorder() {
+            return new FiringRecorder();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.eventscheduler.benchmark;
+
+import com.example.eventscheduler.domain.Event;
+import com.example.eventscheduler.domain.EventStatus;
+import com.example.eventscheduler.dto.DueEventPage;
+import com.example.eventscheduler.repository.DueEventView;
+import com.example.eventscheduler.repository.EventRepository;
+import com.example.eventscheduler.service.EventService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read-path benchmarks for due events at several table sizes. With {@code rows=scheduled} every event is
+ * scheduled and a tenth of them are due; with {@code rows=history} {@value #HISTORY_DUE} are due and the rest are
+ * completed, so the due queries should cost the same however large the table grows.
+ * {@code getDueEvents} is served by the in-memory index; {@code databaseQuery} runs the projection
+ * query the service falls back to; {@code firstPage} is a keyset page of 100.
+ * Larger tables can be requested with {@code -p tableSize=...}; those above {@value #IN_MEMORY_LIMIT} rows are kept
+ * in a file-backed database, as ten million rows do not fit the heap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class DueEventsBenchmark {
+
+    /** The largest table kept in an in-memory database. */
+    static final int IN_MEMORY_LIMIT = 1_000_000;
+
+    /** The number of due events in a {@code history} table. */
+    static final int HISTORY_DUE = 1_000;
+
+    @Param({"10000", "100000", "1000000"})
+    public int tableSize;
+
+    @Param({"scheduled", "history"})
+    public String rows;
+
+    private ConfigurableApplicationContext context;
+    private EventService eventService;
+    private EventRepository eventRepository;
+    private TransactionTemplate readOnly;
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        context = tableSize > IN_MEMORY_LIMIT
+                ? BenchmarkApplication.start(BenchmarkApplication.fileDatabaseProperties())
+                : BenchmarkApplication.start();
+        eventService = context.getBean(EventService.class);
+        eventRepository = context.getBean(EventRepository.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        if ("history".equals(rows)) {
+            BenchmarkApplication.seed(eventService, tableSize, HISTORY_DUE, EventStatus.COMPLETED);
+        } else {
+            BenchmarkApplication.seed(eventService, tableSize, tableSize / 10);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Event> getDueEvents() {
+        return eventService.getDueEvents();
+    }
+
+    @Benchmark
+    public List<DueEventView> databaseQuery() {
+        return readOnly.execute(status -> eventRepository.findDue(EventStatus.SCHEDULED, BenchmarkApplication.NOW));
+    }
+
+    @Benchmark
+    public DueEventPage firstPage() {
+        return eventService.getDueEventsPage(null, 100);
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.eventscheduler.benchmark;
+
+import com.example.eventscheduler.codec.BinaryEventReader;
+import com.example.eventscheduler.codec.BinaryEventWriter;
+import com.example.eventscheduler.domain.Event;
+import com.example.eventscheduler.domain.EventStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of event lists as returned by {@code GET /api/events/due} (a JSON array)
+ * and {@code GET /api/events/due/stream} (newline-delimited JSON), with Jackson configured like Spring Boot's
+ * mapper, against the binary format both endpoints serve when it is accepted. Encodes and decodes each format;
+ * the payload sizes are printed once per trial. Events are spread over 1000 distinct names, like named jobs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class EventSerializationBenchmark {
+
+    @Param({"100", "10000", "1000000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter lineWriter;
+    private ObjectReader listReader;
+    private List<Event> events;
+    private byte[] jsonArrayBytes;
+    private byte[] binaryBytes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        lineWriter = objectMapper.writerFor(Event.class)
+                .withRootValueSeparator("\n")
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        listReader = objectMapper.readerForListOf(Event.class);
+        Instant start = Instant.parse("2025-06-23T17:00:00Z");
+        events = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            events.add(Event.builder()
+                    .id((long) i)
+                    .name("event-" + i % 1000)
+                    .scheduledTime(start.plusSeconds(i))
+                    .status(EventStatus.SCHEDULED)
+                    .version(0L)
+                    .build());
+        }
+        try {
+            jsonArrayBytes = jsonArray();
+            binaryBytes = binary();
+            System.out.printf("%nPayload for %d events: JSON array %d bytes, NDJSON %d bytes, binary %d bytes%n",
+                    size, jsonArrayBytes.length, ndjson().length, binaryBytes.length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Benchmark
+    public byte[] jsonArray() throws IOException {
+        return objectMapper.writeValueAsBytes(events);
+    }
+
+    @Benchmark
+    public byte[] ndjson() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(size * 96);
+        try (SequenceWriter lines = lineWriter.writeValues(out)) {
+            for (Event event : events) {
+                lines.write(event);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] binary() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(size * 16);
+        try (BinaryEventWriter writer = new BinaryEventWriter(out)) {
+            for (Event event : events) {
+                writer.write(event);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public List<Event> decodeJsonArray() throws IOException {
+        return listReader.readValue(jsonArrayBytes);
+    }
+
+    @Benchmark
+    public List<Event> decodeBinary() throws IOException {
+        List<Event> decoded = new ArrayList<>(size);
+        try (BinaryEventReader reader = new BinaryEventReader(new ByteArrayInputStream(binaryBytes))) {
+            reader.forEachRemaining(decoded::add);
+        }
+        return decoded;
+    }
+}
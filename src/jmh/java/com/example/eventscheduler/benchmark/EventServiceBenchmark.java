@@ -0,0 +1,79 @@
+package com.example.eventscheduler.benchmark;
+
+import com.example.eventscheduler.domain.Event;
+import com.example.eventscheduler.service.EventService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-path benchmarks for {@link EventService}: creating and completing single events through the
+ * transactional service proxy, with notifications going to a no-op transport. The {@code store} parameter
+ * compares the JPA store with the memory-mapped log.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class EventServiceBenchmark {
+
+    /** One application context per trial. */
+    @State(Scope.Benchmark)
+    public static class Application {
+        @Param({"jpa", "mmap"})
+        public String store;
+
+        ConfigurableApplicationContext context;
+        EventService eventService;
+
+        @Setup(Level.Trial)
+        public void start() throws IOException {
+            context = BenchmarkApplication.start(BenchmarkApplication.storeProperties(store));
+            eventService = context.getBean(EventService.class);
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            context.close();
+        }
+    }
+
+    /**
+     * A freshly scheduled event for every {@code completeEvent} call. Per-invocation setup is
+     * acceptable here because one completion takes far longer than the setup bookkeeping.
+     */
+    @State(Scope.Thread)
+    public static class PendingEvent {
+        long id;
+
+        @Setup(Level.Invocation)
+        public void schedule(Application application) {
+            id = application.eventService.createEvent("pending", BenchmarkApplication.NOW.plusSeconds(3_600)).getId();
+        }
+    }
+
+    @Benchmark
+    public Event createEvent(Application application) {
+        return application.eventService.createEvent("bench", BenchmarkApplication.NOW.plusSeconds(3_600));
+    }
+
+    @Benchmark
+    public void completeEvent(Application application, PendingEvent pending) {
+        application.eventService.completeEvent(pending.id);
+    }
+}
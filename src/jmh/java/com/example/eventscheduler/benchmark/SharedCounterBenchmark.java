@@ -0,0 +1,81 @@
+package com.example.eventscheduler.benchmark;
+
+import com.example.eventscheduler.service.SharedCounterService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throughput of {@link SharedCounterService#increment} from 1 to 64 threads hammering the same counter,
+ * next to a single {@link AtomicLong} as the contended-CAS baseline the service used to be.
+ * Scores are total operations per microsecond across all threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SharedCounterBenchmark {
+
+    private final SharedCounterService counters = new SharedCounterService();
+    private final AtomicLong atomic = new AtomicLong();
+
+    @Benchmark
+    @Threads(1)
+    public void adder01() {
+        counters.increment(SharedCounterService.Counter.CREATED);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void adder04() {
+        counters.increment(SharedCounterService.Counter.CREATED);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void adder16() {
+        counters.increment(SharedCounterService.Counter.CREATED);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public void adder64() {
+        counters.increment(SharedCounterService.Counter.CREATED);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long atomic01() {
+        return atomic.incrementAndGet();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long atomic04() {
+        return atomic.incrementAndGet();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public long atomic16() {
+        return atomic.incrementAndGet();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public long atomic64() {
+        return atomic.incrementAndGet();
+    }
+}
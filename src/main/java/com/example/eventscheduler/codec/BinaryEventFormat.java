@@ -0,0 +1,73 @@
+package com.example.eventscheduler.codec;
+
+import org.springframework.http.MediaType;
+
+import java.time.Instant;
+
+/**
+ * Constants of the compact binary wire format for event lists, written by {@link BinaryEventWriter} and read by
+ * {@link BinaryEventReader}.
+ * <p>
+ * A stream starts with the four header bytes {@code 'E' 'V' 'T' 1} (the last one is the format version) and
+ * continues with one length-prefixed record per event until the end of the stream. The length is an unsigned
+ * varint; readers skip whatever follows the fields they know, so fields can be appended in later versions.
+ * A record holds, in this order:
+ * <ol>
+ *   <li>a presence byte with one bit each for id, scheduled time, status and version;</li>
+ *   <li>the id as a zigzag varint delta to the previous record's id;</li>
+ *   <li>the scheduled time in epoch microseconds, the precision of the {@code scheduled_time} column, as a
+ *       zigzag varint delta to the previous record's time;</li>
+ *   <li>the status as its ordinal byte;</li>
+ *   <li>the version as an unsigned varint;</li>
+ *   <li>the name and the recurrence rule as dictionary references;</li>
+ *   <li>the idempotency key as a length-prefixed UTF-8 string, length 0 meaning null and length n + 1 meaning
+ *       n bytes.</li>
+ * </ol>
+ * A dictionary reference is an unsigned varint: 0 is null, 1 is a length-prefixed UTF-8 literal that is added to
+ * the dictionary, and n &gt;= 2 is the dictionary's entry n - 2. Both sides stop adding entries once the
+ * dictionary holds {@value #MAX_DICTIONARY_SIZE}, so repeated names cost one or two bytes without the writer or
+ * the reader ever buffering a whole stream.
+ */
+public final class BinaryEventFormat {
+
+    /** The media type of the format, negotiated through {@code Accept} and {@code Content-Type}. */
+    public static final String MEDIA_TYPE_VALUE = "application/x-scheduler-events";
+
+    /** The media type of the format. */
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    static final byte[] HEADER = {'E', 'V', 'T', 1};
+
+    static final int HAS_ID = 1;
+    static final int HAS_SCHEDULED_TIME = 1 << 1;
+    static final int HAS_STATUS = 1 << 2;
+    static final int HAS_VERSION = 1 << 3;
+
+    static final int NULL_REFERENCE = 0;
+    static final int LITERAL_REFERENCE = 1;
+    static final int FIRST_DICTIONARY_REFERENCE = 2;
+
+    /** Maximum number of distinct names and recurrence rules kept in the dictionary of one stream. */
+    static final int MAX_DICTIONARY_SIZE = 1 << 16;
+
+    /** Longest record a reader accepts, so a corrupt length cannot make it allocate arbitrary memory. */
+    static final int MAX_RECORD_SIZE = 1 << 20;
+
+    private static final long MICROS_PER_SECOND = 1_000_000;
+    private static final int NANOS_PER_MICRO = 1_000;
+
+    private BinaryEventFormat() {
+    }
+
+    /** Converts a time to epoch microseconds, dropping any finer precision. */
+    static long toEpochMicros(Instant time) {
+        return Math.addExact(Math.multiplyExact(time.getEpochSecond(), MICROS_PER_SECOND),
+                time.getNano() / NANOS_PER_MICRO);
+    }
+
+    /** Converts epoch microseconds back to a time. */
+    static Instant ofEpochMicros(long micros) {
+        return Instant.ofEpochSecond(Math.floorDiv(micros, MICROS_PER_SECOND),
+                Math.floorMod(micros, MICROS_PER_SECOND) * NANOS_PER_MICRO);
+    }
+}
@@ -0,0 +1,255 @@
+package com.example.eventscheduler.codec;
+
+import com.example.eventscheduler.domain.Event;
+import com.example.eventscheduler.domain.EventStatus;
+import com.example.eventscheduler.domain.Recurrence;
+import com.example.eventscheduler.exception.MalformedEventPayloadException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static com.example.eventscheduler.codec.BinaryEventFormat.*;
+
+/**
+ * Reads events from a stream in the {@link BinaryEventFormat}, one record at a time, so a stream of any length
+ * is decoded in the memory of its largest record plus the dictionary.
+ * <p>
+ * Records are decoded straight from a refilled read buffer. Dictionary entries are decoded, and recurrence rules
+ * parsed, once and shared by every later event that refers to them. As an {@link Iterator}, the reader wraps
+ * I/O failures in {@link UncheckedIOException}. Not thread-safe.
+ */
+public final class BinaryEventReader implements Iterator<Event>, Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_VARINT_LENGTH = 10;
+    private static final EventStatus[] STATUSES = EventStatus.values();
+
+    private final InputStream in;
+    private byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private int recordEnd;
+    private int lastEntry;
+    private boolean headerRead;
+    private final List<String> dictionary = new ArrayList<>();
+    private final List<Recurrence> recurrences = new ArrayList<>();
+    private long previousId;
+    private long previousMicros;
+    private Event next;
+
+    /**
+     * Creates a reader. The header is checked when the first event is read.
+     * @param in The stream to read from; closed with the reader.
+     */
+    public BinaryEventReader(InputStream in) {
+        this.in = in;
+    }
+
+    /**
+     * Reads the next event.
+     * @return The event, or null at the end of the stream.
+     * @throws IOException if the stream fails.
+     * @throws MalformedEventPayloadException if the header is missing, or a record is truncated or holds an invalid
+     *         value such as an unparseable recurrence rule.
+     */
+    public Event read() throws IOException {
+        if (!headerRead) {
+            if (fill(HEADER.length) < HEADER.length
+                    || !Arrays.equals(buffer, position, position + HEADER.length, HEADER, 0, HEADER.length)) {
+                throw new MalformedEventPayloadException("Not a binary event stream of version " + HEADER[3]);
+            }
+            position += HEADER.length;
+            headerRead = true;
+        }
+        int available = fill(MAX_VARINT_LENGTH);
+        if (available == 0) {
+            return null;
+        }
+        recordEnd = position + available;
+        long length = getVarLong();
+        if (length < 0 || length > MAX_RECORD_SIZE) {
+            throw new MalformedEventPayloadException("Record of " + length + " bytes exceeds " + MAX_RECORD_SIZE);
+        }
+        if (fill((int) length) < length) {
+            throw new MalformedEventPayloadException("Truncated record");
+        }
+        recordEnd = position + (int) length;
+        Event event = decodeRecord();
+        position = recordEnd;
+        return event;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            try {
+                next = read();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public Event next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Event event = next;
+        next = null;
+        return event;
+    }
+
+    /**
+     * Closes the stream.
+     * @throws IOException if the stream fails.
+     */
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private Event decodeRecord() {
+        int presence = getByte();
+        Event.EventBuilder event = Event.builder();
+        if ((presence & HAS_ID) != 0) {
+            previousId += getSignedVarLong();
+            event.id(previousId);
+        }
+        if ((presence & HAS_SCHEDULED_TIME) != 0) {
+            previousMicros += getSignedVarLong();
+            event.scheduledTime(ofEpochMicros(previousMicros));
+        }
+        if ((presence & HAS_STATUS) != 0) {
+            int ordinal = getByte();
+            if (ordinal >= STATUSES.length) {
+                throw new MalformedEventPayloadException("Unknown status " + ordinal);
+            }
+            event.status(STATUSES[ordinal]);
+        }
+        if ((presence & HAS_VERSION) != 0) {
+            event.version(getVarLong());
+        }
+        event.name(getReference());
+        String rule = getReference();
+        if (rule != null) {
+            event.recurrence(recurrence(rule));
+        }
+        long keyLength = getVarLong();
+        if (keyLength > 0) {
+            event.idempotencyKey(getString(keyLength - 1));
+        }
+        return event.build();
+    }
+
+    /** Reads a dictionary reference and remembers which entry it resolved to in {@code lastEntry}. */
+    private String getReference() {
+        long reference = getVarLong();
+        if (reference == NULL_REFERENCE) {
+            return null;
+        }
+        if (reference == LITERAL_REFERENCE) {
+            String value = getString(getVarLong());
+            if (dictionary.size() < MAX_DICTIONARY_SIZE) {
+                dictionary.add(value);
+                recurrences.add(null);
+                lastEntry = dictionary.size() - 1;
+            } else {
+                lastEntry = -1;
+            }
+            return value;
+        }
+        long index = reference - FIRST_DICTIONARY_REFERENCE;
+        if (index < 0 || index >= dictionary.size()) {
+            throw new MalformedEventPayloadException("Unknown dictionary entry " + index);
+        }
+        lastEntry = (int) index;
+        return dictionary.get(lastEntry);
+    }
+
+    /** Parses the rule just read by {@link #getReference()}, once per dictionary entry. */
+    private Recurrence recurrence(String rule) {
+        if (lastEntry < 0) {
+            return parseRecurrence(rule);
+        }
+        Recurrence recurrence = recurrences.get(lastEntry);
+        if (recurrence == null) {
+            recurrence = parseRecurrence(rule);
+            recurrences.set(lastEntry, recurrence);
+        }
+        return recurrence;
+    }
+
+    private static Recurrence parseRecurrence(String rule) {
+        try {
+            return Recurrence.parse(rule);
+        } catch (IllegalArgumentException e) {
+            throw new MalformedEventPayloadException("Invalid recurrence: " + rule);
+        }
+    }
+
+    private String getString(long length) {
+        if (length < 0 || length > recordEnd - position) {
+            throw new MalformedEventPayloadException("Truncated record");
+        }
+        String value = new String(buffer, position, (int) length, StandardCharsets.UTF_8);
+        position += (int) length;
+        return value;
+    }
+
+    private int getByte() {
+        if (position >= recordEnd) {
+            throw new MalformedEventPayloadException("Truncated record");
+        }
+        return buffer[position++] & 0xFF;
+    }
+
+    private long getSignedVarLong() {
+        long value = getVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private long getVarLong() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = getByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new MalformedEventPayloadException("Malformed varint");
+    }
+
+    /**
+     * Makes at least {@code length} unread bytes available in the buffer unless the stream ends first.
+     * @return The number of unread bytes available, at most {@code length}.
+     */
+    private int fill(int length) throws IOException {
+        if (buffer.length - position < length) {
+            int unread = limit - position;
+            byte[] target = buffer.length < length ? new byte[Math.max(length, buffer.length * 2)] : buffer;
+            System.arraycopy(buffer, position, target, 0, unread);
+            buffer = target;
+            position = 0;
+            limit = unread;
+        }
+        while (limit - position < length) {
+            int read = in.read(buffer, limit, buffer.length - limit);
+            if (read < 0) {
+                break;
+            }
+            limit += read;
+        }
+        return Math.min(length, limit - position);
+    }
+}
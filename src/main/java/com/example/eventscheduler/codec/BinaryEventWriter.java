@@ -0,0 +1,182 @@
+package com.example.eventscheduler.codec;
+
+import com.example.eventscheduler.domain.Event;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.example.eventscheduler.codec.BinaryEventFormat.*;
+
+/**
+ * Writes events to a stream in the {@link BinaryEventFormat}.
+ * <p>
+ * Records are encoded into a reusable scratch array and collected in an output buffer that is handed to the
+ * stream whenever it fills up, so writing an event allocates nothing but the UTF-8 bytes of strings that are
+ * not in the dictionary yet. Not thread-safe.
+ */
+public final class BinaryEventWriter implements Closeable, Flushable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final OutputStream out;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int bufferPosition;
+    private byte[] record = new byte[256];
+    private int recordPosition;
+    private final Map<String, Integer> dictionary = new HashMap<>();
+    private long previousId;
+    private long previousMicros;
+
+    /**
+     * Creates a writer and writes the format header.
+     * @param out The stream to write to; closed with the writer.
+     */
+    public BinaryEventWriter(OutputStream out) {
+        this.out = out;
+        System.arraycopy(HEADER, 0, buffer, 0, HEADER.length);
+        bufferPosition = HEADER.length;
+    }
+
+    /**
+     * Appends one event.
+     * @param event The event; every field may be null.
+     * @throws IOException if the stream fails while the output buffer is handed over.
+     * @throws ArithmeticException if the scheduled time does not fit into epoch microseconds.
+     */
+    public void write(Event event) throws IOException {
+        recordPosition = 0;
+        int presence = (event.getId() != null ? HAS_ID : 0)
+                | (event.getScheduledTime() != null ? HAS_SCHEDULED_TIME : 0)
+                | (event.getStatus() != null ? HAS_STATUS : 0)
+                | (event.getVersion() != null ? HAS_VERSION : 0);
+        putByte(presence);
+        if (event.getId() != null) {
+            putSignedVarLong(event.getId() - previousId);
+            previousId = event.getId();
+        }
+        if (event.getScheduledTime() != null) {
+            long micros = toEpochMicros(event.getScheduledTime());
+            putSignedVarLong(micros - previousMicros);
+            previousMicros = micros;
+        }
+        if (event.getStatus() != null) {
+            putByte(event.getStatus().ordinal());
+        }
+        if (event.getVersion() != null) {
+            putVarLong(event.getVersion());
+        }
+        putReference(event.getName());
+        putReference(event.getRecurrence() == null ? null : event.getRecurrence().toString());
+        if (event.getIdempotencyKey() == null) {
+            putByte(0);
+        } else {
+            putString(event.getIdempotencyKey(), 1);
+        }
+        writeRecord();
+    }
+
+    /**
+     * Hands the buffered records to the stream and flushes it.
+     * @throws IOException if the stream fails.
+     */
+    @Override
+    public void flush() throws IOException {
+        drain();
+        out.flush();
+    }
+
+    /**
+     * Flushes the buffered records and closes the stream.
+     * @throws IOException if the stream fails.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            drain();
+        } finally {
+            out.close();
+        }
+    }
+
+    private void writeRecord() throws IOException {
+        if (buffer.length - bufferPosition < recordPosition + 5) {
+            drain();
+        }
+        int length = recordPosition;
+        while ((length & ~0x7F) != 0) {
+            buffer[bufferPosition++] = (byte) ((length & 0x7F) | 0x80);
+            length >>>= 7;
+        }
+        buffer[bufferPosition++] = (byte) length;
+        if (recordPosition > buffer.length - bufferPosition) {
+            drain();
+            out.write(record, 0, recordPosition);
+        } else {
+            System.arraycopy(record, 0, buffer, bufferPosition, recordPosition);
+            bufferPosition += recordPosition;
+        }
+    }
+
+    private void drain() throws IOException {
+        if (bufferPosition > 0) {
+            out.write(buffer, 0, bufferPosition);
+            bufferPosition = 0;
+        }
+    }
+
+    private void putReference(String value) {
+        if (value == null) {
+            putByte(NULL_REFERENCE);
+            return;
+        }
+        Integer index = dictionary.get(value);
+        if (index != null) {
+            putVarLong(FIRST_DICTIONARY_REFERENCE + index);
+            return;
+        }
+        if (dictionary.size() < MAX_DICTIONARY_SIZE) {
+            dictionary.put(value, dictionary.size());
+        }
+        putByte(LITERAL_REFERENCE);
+        putString(value, 0);
+    }
+
+    /** Writes the UTF-8 bytes of the string, prefixed by their length plus {@code lengthOffset}. */
+    private void putString(String value, int lengthOffset) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        putVarLong(bytes.length + lengthOffset);
+        ensureRecordCapacity(bytes.length);
+        System.arraycopy(bytes, 0, record, recordPosition, bytes.length);
+        recordPosition += bytes.length;
+    }
+
+    private void putByte(int value) {
+        ensureRecordCapacity(1);
+        record[recordPosition++] = (byte) value;
+    }
+
+    private void putSignedVarLong(long value) {
+        putVarLong((value << 1) ^ (value >> 63));
+    }
+
+    private void putVarLong(long value) {
+        ensureRecordCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            record[recordPosition++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        record[recordPosition++] = (byte) value;
+    }
+
+    private void ensureRecordCapacity(int length) {
+        if (record.length - recordPosition < length) {
+            record = Arrays.copyOf(record, Math.max(record.length * 2, recordPosition + length));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.eventscheduler.codec;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A growable byte array collecting one column of a snapshot block. Reused from block to block, so a long
+ * export only allocates while its largest block is being encoded.
+ */
+final class ColumnBuffer {
+
+    private byte[] data = new byte[4096];
+    private int size;
+
+    void clear() {
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /** Returns a view of the collected bytes, valid until the buffer is next written to. */
+    ByteBuffer view() {
+        return ByteBuffer.wrap(data, 0, size);
+    }
+
+    void putByte(int value) {
+        ensureCapacity(1);
+        data[size++] = (byte) value;
+    }
+
+    void putSignedVarLong(long value) {
+        putVarLong((value << 1) ^ (value >> 63));
+    }
+
+    void putVarLong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            data[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[size++] = (byte) value;
+    }
+
+    /** Writes the UTF-8 bytes of the string, prefixed by their length plus {@code lengthOffset}. */
+    void putString(String value, int lengthOffset) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        putVarLong(bytes.length + (long) lengthOffset);
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, data, size, bytes.length);
+        size += bytes.length;
+    }
+
+    private void ensureCapacity(int length) {
+        if (data.length - size < length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, size + length));
+        }
+    }
+}
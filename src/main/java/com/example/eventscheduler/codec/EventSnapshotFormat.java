@@ -0,0 +1,49 @@
+package com.example.eventscheduler.codec;
+
+/**
+ * Constants of the columnar snapshot file format for the {@code events} table, written by
+ * {@link EventSnapshotWriter} and read by {@link EventSnapshotReader}.
+ * <p>
+ * A file starts with the four header bytes {@code 'E' 'V' 'S' 1} (the last one is the format version) and holds
+ * the rows in blocks of up to a few thousand rows. A block starts with its row count and the byte length of each
+ * of its columns, all as big-endian ints, followed by the columns one after the other:
+ * <ol>
+ *   <li>ids as zigzag varint deltas to the previous row's id;</li>
+ *   <li>one presence byte per row, bit 0 being set if the row has a scheduled time;</li>
+ *   <li>the scheduled times that are present, in epoch microseconds, as zigzag varint deltas;</li>
+ *   <li>one status byte per row, 0 for null and the ordinal plus 1 otherwise;</li>
+ *   <li>versions as unsigned varints;</li>
+ *   <li>names and recurrence rules, each column as dictionary references as in the {@link BinaryEventFormat};</li>
+ *   <li>idempotency keys as length-prefixed UTF-8 strings, length 0 meaning null and n + 1 meaning n bytes.</li>
+ * </ol>
+ * Deltas and dictionaries start over in every block, so each block decodes on its own. The file ends with a row
+ * count of 0 followed by the total number of rows as a big-endian long; a file without it is incomplete.
+ */
+public final class EventSnapshotFormat {
+
+    static final byte[] HEADER = {'E', 'V', 'S', 1};
+
+    static final int COLUMN_COUNT = 8;
+    static final int IDS = 0;
+    static final int PRESENCE = 1;
+    static final int SCHEDULED_TIMES = 2;
+    static final int STATUSES = 3;
+    static final int VERSIONS = 4;
+    static final int NAMES = 5;
+    static final int RECURRENCES = 6;
+    static final int IDEMPOTENCY_KEYS = 7;
+
+    static final int HAS_SCHEDULED_TIME = 1;
+
+    /** Size of a block's row count and column lengths. */
+    static final int BLOCK_HEADER_SIZE = Integer.BYTES * (1 + COLUMN_COUNT);
+
+    /** Size of the end marker and total row count closing the file. */
+    static final int TRAILER_SIZE = Integer.BYTES + Long.BYTES;
+
+    /** Most rows a reader accepts in one block, so a corrupt row count cannot make it allocate arbitrary memory. */
+    public static final int MAX_BLOCK_SIZE = 1 << 20;
+
+    private EventSnapshotFormat() {
+    }
+}
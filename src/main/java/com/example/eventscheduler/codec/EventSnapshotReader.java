@@ -0,0 +1,337 @@
+package com.example.eventscheduler.codec;
+
+import com.example.eventscheduler.domain.EventStatus;
+import com.example.eventscheduler.exception.InvalidSnapshotException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.example.eventscheduler.codec.EventSnapshotFormat.*;
+
+/**
+ * Reads a file in the {@link EventSnapshotFormat} one block at a time.
+ * <p>
+ * The constructor walks the block headers and checks the trailer, so a truncated or foreign file is rejected
+ * before any row is used. Each block is then memory-mapped and its columns decoded straight from the mapping into
+ * arrays, without reading the file through an intermediate buffer. Not thread-safe; the channel is owned by the
+ * caller.
+ */
+public final class EventSnapshotReader {
+
+    private static final EventStatus[] STATUSES_BY_ORDINAL = EventStatus.values();
+
+    private final FileChannel channel;
+    private final List<BlockLocation> blocks = new ArrayList<>();
+    private final long rowCount;
+
+    /**
+     * Opens a snapshot and checks its structure.
+     * @param channel The channel of the snapshot file.
+     * @throws IOException if the channel fails.
+     * @throws InvalidSnapshotException if the file is not a complete snapshot.
+     */
+    public EventSnapshotReader(FileChannel channel) throws IOException {
+        this.channel = channel;
+        long size = channel.size();
+        ByteBuffer header = readAt(0, HEADER.length, size);
+        if (!Arrays.equals(header.array(), HEADER)) {
+            throw new InvalidSnapshotException("Not an event snapshot of version " + HEADER[3]);
+        }
+        long position = HEADER.length;
+        long rows = 0;
+        while (true) {
+            int blockRows = readAt(position, Integer.BYTES, size).getInt();
+            if (blockRows == 0) {
+                break;
+            }
+            if (blockRows < 0 || blockRows > MAX_BLOCK_SIZE) {
+                throw new InvalidSnapshotException("Invalid block of " + blockRows + " rows at offset " + position);
+            }
+            ByteBuffer blockHeader = readAt(position, BLOCK_HEADER_SIZE, size);
+            blockHeader.getInt();
+            int[] columnLengths = new int[COLUMN_COUNT];
+            long length = 0;
+            for (int i = 0; i < COLUMN_COUNT; i++) {
+                columnLengths[i] = blockHeader.getInt();
+                if (columnLengths[i] < 0) {
+                    throw new InvalidSnapshotException("Invalid column length at offset " + position);
+                }
+                length += columnLengths[i];
+            }
+            BlockLocation block = new BlockLocation(position + BLOCK_HEADER_SIZE, blockRows, columnLengths, length);
+            position = block.offset + length;
+            if (position > size || length > Integer.MAX_VALUE) {
+                throw new InvalidSnapshotException("Truncated snapshot");
+            }
+            blocks.add(block);
+            rows += blockRows;
+        }
+        long total = readAt(position + Integer.BYTES, Long.BYTES, size).getLong();
+        if (total != rows || position + TRAILER_SIZE != size) {
+            throw new InvalidSnapshotException("Snapshot trailer does not match its blocks");
+        }
+        this.rowCount = rows;
+    }
+
+    /**
+     * Returns the number of rows in the snapshot.
+     * @return The row count from the trailer, which matches the blocks.
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Returns the number of blocks in the snapshot.
+     * @return The block count.
+     */
+    public int getBlockCount() {
+        return blocks.size();
+    }
+
+    /**
+     * Maps and decodes one block.
+     * @param index The index of the block, from 0 to {@link #getBlockCount()} - 1.
+     * @return The block's rows.
+     * @throws IOException if the channel fails.
+     * @throws InvalidSnapshotException if a column is corrupt.
+     */
+    public Block readBlock(int index) throws IOException {
+        BlockLocation block = blocks.get(index);
+        ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, block.offset, block.length);
+        Column[] columns = new Column[COLUMN_COUNT];
+        int offset = 0;
+        for (int i = 0; i < COLUMN_COUNT; i++) {
+            columns[i] = new Column(mapped, offset, block.columnLengths[i]);
+            offset += block.columnLengths[i];
+        }
+        return new Block(block.rows, columns);
+    }
+
+    private ByteBuffer readAt(long position, int length, long size) throws IOException {
+        if (position + length > size) {
+            throw new InvalidSnapshotException("Truncated snapshot");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new InvalidSnapshotException("Truncated snapshot");
+            }
+        }
+        return buffer.flip();
+    }
+
+    /**
+     * The decoded rows of one block, column by column. Equal names and recurrence rules within a block are the
+     * same String instance.
+     */
+    public static final class Block {
+
+        private final int size;
+        private final long[] ids;
+        private final Instant[] scheduledTimes;
+        private final EventStatus[] statuses;
+        private final long[] versions;
+        private final String[] names;
+        private final String[] recurrences;
+        private final String[] idempotencyKeys;
+
+        private Block(int size, Column[] columns) {
+            this.size = size;
+            ids = new long[size];
+            scheduledTimes = new Instant[size];
+            statuses = new EventStatus[size];
+            versions = new long[size];
+            long id = 0;
+            long micros = 0;
+            for (int row = 0; row < size; row++) {
+                id += columns[IDS].getSignedVarLong();
+                ids[row] = id;
+                if ((columns[PRESENCE].getByte() & HAS_SCHEDULED_TIME) != 0) {
+                    micros += columns[SCHEDULED_TIMES].getSignedVarLong();
+                    scheduledTimes[row] = BinaryEventFormat.ofEpochMicros(micros);
+                }
+                int status = columns[STATUSES].getByte();
+                if (status > STATUSES_BY_ORDINAL.length) {
+                    throw new InvalidSnapshotException("Unknown status " + (status - 1));
+                }
+                statuses[row] = status == 0 ? null : STATUSES_BY_ORDINAL[status - 1];
+                versions[row] = columns[VERSIONS].getVarLong();
+            }
+            names = columns[NAMES].getReferences(size);
+            recurrences = columns[RECURRENCES].getReferences(size);
+            idempotencyKeys = new String[size];
+            for (int row = 0; row < size; row++) {
+                long length = columns[IDEMPOTENCY_KEYS].getVarLong();
+                idempotencyKeys[row] = length == 0 ? null : columns[IDEMPOTENCY_KEYS].getString(length - 1);
+            }
+        }
+
+        /**
+         * Returns the number of rows in the block.
+         * @return The row count.
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Returns the ID of the given row.
+         * @param row The row, from 0 to {@link #size()} - 1.
+         * @return The ID of the given row.
+         */
+        public long getId(int row) {
+            return ids[row];
+        }
+
+        /**
+         * Returns the scheduled time of the given row, or null.
+         * @param row The row, from 0 to {@link #size()} - 1.
+         * @return The scheduled time of the given row, or null.
+         */
+        public Instant getScheduledTime(int row) {
+            return scheduledTimes[row];
+        }
+
+        /**
+         * Returns the status of the given row, or null.
+         * @param row The row, from 0 to {@link #size()} - 1.
+         * @return The status of the given row, or null.
+         */
+        public EventStatus getStatus(int row) {
+            return statuses[row];
+        }
+
+        /**
+         * Returns the version of the given row.
+         * @param row The row, from 0 to {@link #size()} - 1.
+         * @return The version of the given row.
+         */
+        public long getVersion(int row) {
+            return versions[row];
+        }
+
+        /**
+         * Returns the name of the given row, or null.
+         * @param row The row, from 0 to {@link #size()} - 1.
+         * @return The name of the given row, or null.
+         */
+        public String getName(int row) {
+            return names[row];
+        }
+
+        /**
+         * Returns the recurrence rule of the given row as stored, or null.
+         * @param row The row, from 0 to {@link #size()} - 1.
+         * @return The recurrence rule of the given row as stored, or null.
+         */
+        public String getRecurrence(int row) {
+            return recurrences[row];
+        }
+
+        /**
+         * Returns the idempotency key of the given row, or null.
+         * @param row The row, from 0 to {@link #size()} - 1.
+         * @return The idempotency key of the given row, or null.
+         */
+        public String getIdempotencyKey(int row) {
+            return idempotencyKeys[row];
+        }
+    }
+
+    /**
+     * Where a block's columns are in the file, as found by the constructor.
+     */
+    private static final class BlockLocation {
+
+        private final long offset;
+        private final int rows;
+        private final int[] columnLengths;
+        private final long length;
+
+        BlockLocation(long offset, int rows, int[] columnLengths, long length) {
+            this.offset = offset;
+            this.rows = rows;
+            this.columnLengths = columnLengths;
+            this.length = length;
+        }
+    }
+
+    /**
+     * A cursor over one column of a mapped block that rejects reads past the column's end.
+     */
+    private static final class Column {
+
+        private final ByteBuffer buffer;
+        private final int end;
+        private int position;
+
+        Column(ByteBuffer buffer, int offset, int length) {
+            this.buffer = buffer;
+            this.position = offset;
+            this.end = offset + length;
+        }
+
+        int getByte() {
+            if (position >= end) {
+                throw new InvalidSnapshotException("Truncated column");
+            }
+            return buffer.get(position++) & 0xFF;
+        }
+
+        long getSignedVarLong() {
+            long value = getVarLong();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        long getVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = getByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new InvalidSnapshotException("Malformed varint");
+        }
+
+        String getString(long length) {
+            if (length < 0 || length > end - position) {
+                throw new InvalidSnapshotException("Truncated column");
+            }
+            byte[] bytes = new byte[(int) length];
+            buffer.get(position, bytes);
+            position += bytes.length;
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        /** Decodes {@code size} dictionary references, resolving each distinct string once. */
+        String[] getReferences(int size) {
+            String[] values = new String[size];
+            List<String> dictionary = new ArrayList<>();
+            for (int row = 0; row < size; row++) {
+                long reference = getVarLong();
+                if (reference == BinaryEventFormat.LITERAL_REFERENCE) {
+                    values[row] = getString(getVarLong());
+                    if (dictionary.size() < BinaryEventFormat.MAX_DICTIONARY_SIZE) {
+                        dictionary.add(values[row]);
+                    }
+                } else if (reference != BinaryEventFormat.NULL_REFERENCE) {
+                    long index = reference - BinaryEventFormat.FIRST_DICTIONARY_REFERENCE;
+                    if (index < 0 || index >= dictionary.size()) {
+                        throw new InvalidSnapshotException("Unknown dictionary entry " + index);
+                    }
+                    values[row] = dictionary.get((int) index);
+                }
+            }
+            return values;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.eventscheduler.codec;
+
+import com.example.eventscheduler.domain.EventStatus;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.example.eventscheduler.codec.EventSnapshotFormat.*;
+
+/**
+ * Writes rows of the {@code events} table to a channel in the {@link EventSnapshotFormat}.
+ * <p>
+ * Rows are encoded column by column into reusable buffers. Once a block is full, its header and columns go to
+ * the channel in a single gathering write, so a block costs one system call and no copy into a combined array.
+ * Not thread-safe; the channel is owned by the caller.
+ */
+public final class EventSnapshotWriter {
+
+    private final GatheringByteChannel channel;
+    private final int blockSize;
+    private final ColumnBuffer[] columns = new ColumnBuffer[COLUMN_COUNT];
+    private final ByteBuffer blockHeader = ByteBuffer.allocate(BLOCK_HEADER_SIZE);
+    private final Map<String, Integer> names = new HashMap<>();
+    private final Map<String, Integer> recurrences = new HashMap<>();
+    private int blockRows;
+    private long rows;
+    private long previousId;
+    private long previousMicros;
+
+    /**
+     * Creates a writer and writes the file header.
+     * @param channel The channel to write to.
+     * @param blockSize The number of rows per block, at most {@value EventSnapshotFormat#MAX_BLOCK_SIZE}.
+     * @throws IOException if the channel fails.
+     */
+    public EventSnapshotWriter(GatheringByteChannel channel, int blockSize) throws IOException {
+        if (blockSize < 1 || blockSize > MAX_BLOCK_SIZE) {
+            throw new IllegalArgumentException("Block size must be between 1 and " + MAX_BLOCK_SIZE);
+        }
+        this.channel = channel;
+        this.blockSize = blockSize;
+        for (int i = 0; i < COLUMN_COUNT; i++) {
+            columns[i] = new ColumnBuffer();
+        }
+        writeFully(ByteBuffer.wrap(HEADER));
+    }
+
+    /**
+     * Appends one row.
+     * @param id The event's ID.
+     * @param scheduledTime The scheduled time, or null.
+     * @param status The status, or null.
+     * @param version The optimistic-locking version.
+     * @param name The name, or null.
+     * @param recurrence The recurrence rule as stored, or null.
+     * @param idempotencyKey The idempotency key, or null.
+     * @throws IOException if the channel fails while a full block is written.
+     */
+    public void append(long id, Instant scheduledTime, EventStatus status, long version, String name,
+                       String recurrence, String idempotencyKey) throws IOException {
+        columns[IDS].putSignedVarLong(id - previousId);
+        previousId = id;
+        if (scheduledTime == null) {
+            columns[PRESENCE].putByte(0);
+        } else {
+            columns[PRESENCE].putByte(HAS_SCHEDULED_TIME);
+            long micros = BinaryEventFormat.toEpochMicros(scheduledTime);
+            columns[SCHEDULED_TIMES].putSignedVarLong(micros - previousMicros);
+            previousMicros = micros;
+        }
+        columns[STATUSES].putByte(status == null ? 0 : status.ordinal() + 1);
+        columns[VERSIONS].putVarLong(version);
+        putReference(columns[NAMES], names, name);
+        putReference(columns[RECURRENCES], recurrences, recurrence);
+        if (idempotencyKey == null) {
+            columns[IDEMPOTENCY_KEYS].putByte(0);
+        } else {
+            columns[IDEMPOTENCY_KEYS].putString(idempotencyKey, 1);
+        }
+        rows++;
+        if (++blockRows == blockSize) {
+            writeBlock();
+        }
+    }
+
+    /**
+     * Writes the last partial block and the trailer that marks the file as complete.
+     * @return The number of rows written.
+     * @throws IOException if the channel fails.
+     */
+    public long finish() throws IOException {
+        if (blockRows > 0) {
+            writeBlock();
+        }
+        ByteBuffer trailer = ByteBuffer.allocate(TRAILER_SIZE).putInt(0).putLong(rows).flip();
+        writeFully(trailer);
+        return rows;
+    }
+
+    private void writeBlock() throws IOException {
+        ByteBuffer[] buffers = new ByteBuffer[1 + COLUMN_COUNT];
+        blockHeader.clear().putInt(blockRows);
+        for (int i = 0; i < COLUMN_COUNT; i++) {
+            blockHeader.putInt(columns[i].size());
+            buffers[1 + i] = columns[i].view();
+        }
+        buffers[0] = blockHeader.flip();
+        writeFully(buffers);
+        for (ColumnBuffer column : columns) {
+            column.clear();
+        }
+        names.clear();
+        recurrences.clear();
+        blockRows = 0;
+        previousId = 0;
+        previousMicros = 0;
+    }
+
+    private void writeFully(ByteBuffer... buffers) throws IOException {
+        long remaining = 0;
+        for (ByteBuffer buffer : buffers) {
+            remaining += buffer.remaining();
+        }
+        while (remaining > 0) {
+            remaining -= channel.write(buffers);
+        }
+    }
+
+    private static void putReference(ColumnBuffer column, Map<String, Integer> dictionary, String value) {
+        if (value == null) {
+            column.putByte(BinaryEventFormat.NULL_REFERENCE);
+            return;
+        }
+        Integer index = dictionary.get(value);
+        if (index != null) {
+            column.putVarLong(BinaryEventFormat.FIRST_DICTIONARY_REFERENCE + (long) index);
+            return;
+        }
+        if (dictionary.size() < BinaryEventFormat.MAX_DICTIONARY_SIZE) {
+            dictionary.put(value, dictionary.size());
+        }
+        column.putByte(BinaryEventFormat.LITERAL_REFERENCE);
+        column.putString(value, 0);
+    }
+}
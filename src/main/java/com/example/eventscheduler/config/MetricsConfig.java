@@ -0,0 +1,86 @@
+package com.example.eventscheduler.config;
+
+import com.example.eventscheduler.metrics.MetricsRegistry;
+import com.example.eventscheduler.metrics.TimingInterceptor;
+import com.example.eventscheduler.repository.EventRepository;
+import com.example.eventscheduler.service.EventService;
+import com.example.eventscheduler.service.NotificationServiceImpl;
+import com.example.eventscheduler.store.MappedEventStore;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.RootClassFilter;
+import org.springframework.aop.support.StaticMethodMatcher;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Times the public methods of the service, repository and notification-transport stages into the
+ * {@link MetricsRegistry}, reported by {@code GET /api/metrics}.
+ * Enabled by default; turn off with {@code scheduler.metrics.enabled=false}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "scheduler.metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class MetricsConfig {
+
+    /**
+     * Times {@link EventService} operations, including their transaction commit.
+     * @param registry The metrics registry.
+     * @return The advisor for the service stage.
+     */
+    @Bean
+    public Advisor serviceTimingAdvisor(MetricsRegistry registry) {
+        return timingAdvisor(EventService.class, "service", registry);
+    }
+
+    /**
+     * Times {@link EventRepository} calls, i.e. the database stage.
+     * @param registry The metrics registry.
+     * @return The advisor for the database stage.
+     */
+    @Bean
+    public Advisor dbTimingAdvisor(MetricsRegistry registry) {
+        return timingAdvisor(EventRepository.class, "db", registry);
+    }
+
+    /**
+     * Times {@link MappedEventStore} calls under the database stage, so that {@code db.*} timings compare the
+     * two stores operation by operation.
+     * @param registry The metrics registry.
+     * @return The advisor for the memory-mapped store.
+     */
+    @Bean
+    public Advisor mappedStoreTimingAdvisor(MetricsRegistry registry) {
+        return timingAdvisor(MappedEventStore.class, "db", registry);
+    }
+
+    /**
+     * Times deliveries by the notification transport, i.e. the notification stage.
+     * @param registry The metrics registry.
+     * @return The advisor for the notification stage.
+     */
+    @Bean
+    public Advisor notificationTimingAdvisor(MetricsRegistry registry) {
+        return timingAdvisor(NotificationServiceImpl.class, "notification", registry);
+    }
+
+    private static Advisor timingAdvisor(Class<?> type, String stage, MetricsRegistry registry) {
+        ComposablePointcut pointcut = new ComposablePointcut(new RootClassFilter(type), new PublicMethodMatcher());
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut, new TimingInterceptor(stage, registry));
+        // Outermost, so service timings include the transaction commit
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+
+    private static final class PublicMethodMatcher extends StaticMethodMatcher {
+        @Override
+        public boolean matches(Method method, Class<?> targetClass) {
+            return Modifier.isPublic(method.getModifiers()) && method.getDeclaringClass() != Object.class;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.eventscheduler.config;
+
+import com.example.eventscheduler.util.VirtualThreads;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Runs Tomcat request handling on virtual threads instead of the bounded platform thread pool.
+ * Enabled with {@code scheduler.virtual-threads.enabled=true}; requires a Java 21 runtime.
+ * The same switch moves {@link com.example.eventscheduler.service.AsyncNotificationService}
+ * delivery onto virtual threads.
+ */
+@Configuration
+@ConditionalOnProperty(name = "scheduler.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    /**
+     * Replaces Tomcat's worker pool with a virtual-thread-per-request executor, so a request
+     * blocked on I/O or a sleep no longer occupies a platform thread.
+     * @return A customizer for the Tomcat protocol handler.
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(VirtualThreads.newThreadPerTaskExecutor());
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.eventscheduler.controller;
+
+import com.example.eventscheduler.scheduling.ShardedEventProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller exposing this node's share of sharded event processing.
+ * Only registered when sharding is enabled.
+ */
+@RestController
+@RequestMapping("/api/cluster")
+@ConditionalOnProperty(name = "scheduler.sharding.enabled", havingValue = "true")
+public class ClusterController {
+
+    private final ShardedEventProcessor shardedEventProcessor;
+
+    /**
+     * Constructs a ClusterController with the ShardedEventProcessor dependency.
+     * @param shardedEventProcessor The processor to report on.
+     */
+    public ClusterController(ShardedEventProcessor shardedEventProcessor) {
+        this.shardedEventProcessor = shardedEventProcessor;
+    }
+
+    /**
+     * Returns this node's ID, the shards it currently leases and its dispatch counters.
+     * @return ResponseEntity with the node status.
+     */
+    @GetMapping("/status")
+    public ResponseEntity<ShardedEventProcessor.Status> getStatus() {
+        return ResponseEntity.ok(shardedEventProcessor.getStatus());
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.eventscheduler.controller;
+
+import com.example.eventscheduler.scheduling.EventDispatcher;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller exposing the state of the {@link EventDispatcher}.
+ * Only registered when the dispatcher is enabled.
+ */
+@RestController
+@RequestMapping("/api/dispatcher")
+@ConditionalOnProperty(name = "scheduler.dispatcher.enabled", havingValue = "true")
+public class DispatcherController {
+
+    private final EventDispatcher eventDispatcher;
+
+    /**
+     * Constructs a DispatcherController with the EventDispatcher dependency.
+     * @param eventDispatcher The dispatcher to report on.
+     */
+    public DispatcherController(EventDispatcher eventDispatcher) {
+        this.eventDispatcher = eventDispatcher;
+    }
+
+    /**
+     * Returns dispatch counters and the lateness histogram.
+     * @return ResponseEntity with the dispatcher statistics.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<EventDispatcher.Stats> getStats() {
+        return ResponseEntity.ok(eventDispatcher.getStats());
+    }
+}
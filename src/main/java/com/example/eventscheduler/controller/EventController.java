@@ -1,44 +1,136 @@
 package com.example.eventscheduler.controller;
 
+import com.example.eventscheduler.codec.BinaryEventFormat;
+import com.example.eventscheduler.codec.BinaryEventReader;
+import com.example.eventscheduler.codec.BinaryEventWriter;
 import com.example.eventscheduler.domain.Event;
+import com.example.eventscheduler.dto.BatchCreateResult;
+import com.example.eventscheduler.dto.BulkCompletionResult;
+import com.example.eventscheduler.dto.CreateEventRequest;
+import com.example.eventscheduler.dto.DueEventPage;
+import com.example.eventscheduler.exception.MalformedEventPayloadException;
+import com.example.eventscheduler.service.EventDeduplicator;
 import com.example.eventscheduler.service.EventService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.time.Instant;
 import java.util.List;
 
 /**
  * REST controller for managing events.
  * Exposes API endpoints for creating, querying, and completing events.
+ * The event list endpoints and batch creation also speak the compact {@link BinaryEventFormat}, chosen through
+ * the {@code Accept} and {@code Content-Type} headers.
+ * Blocking, so only registered in the default servlet web application; the {@code reactive} build
+ * serves {@code /api/events} from {@code ReactiveEventController} instead.
  */
 @RestController
 @RequestMapping("/api/events")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class EventController {
 
+    /** Response header carrying the cursor of the next page of a binary {@code /due/page} response. */
+    public static final String NEXT_CURSOR_HEADER = "Next-Cursor";
+
     private final EventService eventService;
+    private final EventDeduplicator eventDeduplicator;
+    private final ObjectReader createEventReader;
+    private final ObjectWriter eventLineWriter;
 
     /**
      * Constructs an EventController with the EventService dependency.
      * @param eventService The service handling event business logic.
+     * @param eventDeduplicator The service answering retried creates with the original event.
+     * @param objectMapper The application's JSON mapper, used to stream bulk request bodies.
      */
-    public EventController(EventService eventService) {
+    public EventController(EventService eventService, EventDeduplicator eventDeduplicator,
+                           ObjectMapper objectMapper) {
         this.eventService = eventService;
+        this.eventDeduplicator = eventDeduplicator;
+        this.createEventReader = objectMapper.readerFor(CreateEventRequest.class);
+        this.eventLineWriter = objectMapper.writerFor(Event.class)
+                .withRootValueSeparator("\n")
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     }
 
     /**
-     * Creates a new event.
+     * Creates a new event. With an {@code Idempotency-Key} header, retries of the request return the event
+     * created by the first attempt instead of creating another one.
      * @param name The name of the event.
      * @param scheduledTime The scheduled time in ISO-8601 format (e.g., "2025-06-23T18:00:00Z").
-     * @return ResponseEntity with the created Event.
+     * @param recurrence Optional repetition rule: an ISO-8601 duration (e.g., "PT15M") or a cron expression
+     *                   (e.g., "0 0 9 * * MON-FRI"); the scheduled time is then the first occurrence.
+     * @param idempotencyKey Optional client-chosen key identifying this create request, at most 255 characters.
+     * @return ResponseEntity with the created Event, or the one created earlier with the same key.
      */
     @PostMapping
-    public ResponseEntity<Event> createEvent(@RequestParam String name, @RequestParam String scheduledTime) {
+    public ResponseEntity<Event> createEvent(@RequestParam String name, @RequestParam String scheduledTime,
+                                             @RequestParam(required = false) String recurrence,
+                                             @RequestHeader(name = "Idempotency-Key", required = false)
+                                             String idempotencyKey) {
         Instant time = Instant.parse(scheduledTime);
-        Event event = eventService.createEvent(name, time);
+        Event event = idempotencyKey == null
+                ? eventService.createEvent(name, time, recurrence)
+                : eventDeduplicator.createEvent(idempotencyKey, name, time, recurrence);
         return ResponseEntity.ok(event);
     }
 
+    /**
+     * Creates many events from a single request body, either a JSON array or newline-delimited JSON
+     * (one object per line). The body is parsed as a stream, so it is never held in memory as a whole.
+     * Example item: {"name": "MyEvent", "scheduledTime": "2025-06-23T18:00:00Z"}.
+     * @param body The request body.
+     * @return ResponseEntity with the number of events created.
+     * @throws IOException if the body cannot be read or parsed.
+     */
+    @PostMapping(path = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BatchCreateResult> createEvents(InputStream body) throws IOException {
+        try (MappingIterator<CreateEventRequest> requests = createEventReader.readValues(body)) {
+            return ResponseEntity.ok(eventService.createEvents(requests));
+        }
+    }
+
+    /**
+     * Imports events from a body in the {@link BinaryEventFormat}, for example one exported from another cluster
+     * through {@code GET /api/events/export}. Each record keeps its name, scheduled time, recurrence and status,
+     * so completed and cancelled events are not scheduled again; the events get new IDs and start at version 0,
+     * and idempotency keys are dropped. The body is decoded as a stream.
+     * @param body The request body.
+     * @return ResponseEntity with the number of events created.
+     * @throws IOException if the body cannot be read.
+     */
+    @PostMapping(path = "/batch", consumes = BinaryEventFormat.MEDIA_TYPE_VALUE)
+    public ResponseEntity<BatchCreateResult> createEventsFromBinary(InputStream body) throws IOException {
+        try (BinaryEventReader events = new BinaryEventReader(body)) {
+            return ResponseEntity.ok(eventService.importEvents(events));
+        }
+    }
+
+    /**
+     * Retrieves a single event by its ID.
+     * @param id The ID of the event.
+     * @return ResponseEntity with the Event, or 404 if it does not exist.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<Event> getEvent(@PathVariable Long id) {
+        return ResponseEntity.ok(eventService.getEvent(id));
+    }
+
     /**
      * Retrieves a list of events that are currently "due" (scheduled before the current time).
      * @return ResponseEntity with a list of due Events.
@@ -49,14 +141,176 @@ public class EventController {
         return ResponseEntity.ok(events);
     }
 
+    /**
+     * Retrieves the events that are currently due in the {@link BinaryEventFormat}.
+     * @return ResponseEntity whose body writes the due Events.
+     */
+    @GetMapping(path = "/due", produces = BinaryEventFormat.MEDIA_TYPE_VALUE)
+    public ResponseEntity<StreamingResponseBody> getDueEventsAsBinary() {
+        List<Event> events = eventService.getDueEvents();
+        StreamingResponseBody body = out -> {
+            try (BinaryEventWriter writer = new BinaryEventWriter(out)) {
+                for (Event event : events) {
+                    writer.write(event);
+                }
+            }
+        };
+        return ResponseEntity.ok().contentType(BinaryEventFormat.MEDIA_TYPE).body(body);
+    }
+
+    /**
+     * Retrieves one page of due events, ordered by scheduled time and ID.
+     * Pass the returned {@code nextCursor} back as {@code cursor} to fetch the next page.
+     * @param limit The maximum number of events per page (at most 1000).
+     * @param cursor The opaque cursor from the previous page; omit for the first page.
+     * @return ResponseEntity with the page of due Events.
+     */
+    @GetMapping("/due/page")
+    public ResponseEntity<DueEventPage> getDueEventsPage(@RequestParam(defaultValue = "100") int limit,
+                                                         @RequestParam(required = false) String cursor) {
+        return ResponseEntity.ok(eventService.getDueEventsPage(cursor, limit));
+    }
+
+    /**
+     * Retrieves one page of due events in the {@link BinaryEventFormat}. The cursor of the next page is returned
+     * in the {@value #NEXT_CURSOR_HEADER} header, which is absent on the last page.
+     * @param limit The maximum number of events per page (at most 1000).
+     * @param cursor The cursor from the previous page's header; omit for the first page.
+     * @return ResponseEntity whose body writes the page of due Events.
+     */
+    @GetMapping(path = "/due/page", produces = BinaryEventFormat.MEDIA_TYPE_VALUE)
+    public ResponseEntity<StreamingResponseBody> getDueEventsPageAsBinary(
+            @RequestParam(defaultValue = "100") int limit, @RequestParam(required = false) String cursor) {
+        DueEventPage page = eventService.getDueEventsPage(cursor, limit);
+        StreamingResponseBody body = out -> {
+            try (BinaryEventWriter writer = new BinaryEventWriter(out)) {
+                for (Event event : page.getEvents()) {
+                    writer.write(event);
+                }
+            }
+        };
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(BinaryEventFormat.MEDIA_TYPE);
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(body);
+    }
+
+    /**
+     * Streams all due events as newline-delimited JSON, oldest first.
+     * Events are written as they are read from the database, so the response size is not bounded by memory.
+     * @return ResponseEntity whose body writes the due Events one per line.
+     */
+    @GetMapping(path = "/due/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamDueEvents() {
+        StreamingResponseBody body = out -> {
+            try (SequenceWriter lines = eventLineWriter.writeValues(out)) {
+                eventService.streamDueEvents(event -> {
+                    try {
+                        lines.write(event);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * Streams all due events in the {@link BinaryEventFormat}, oldest first, as they are read from the database.
+     * The body can be posted to {@code /api/events/batch} of another cluster as it is.
+     * @return ResponseEntity whose body writes the due Events.
+     */
+    @GetMapping(path = "/due/stream", produces = BinaryEventFormat.MEDIA_TYPE_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamDueEventsAsBinary() {
+        StreamingResponseBody body = out -> {
+            try (BinaryEventWriter writer = new BinaryEventWriter(out)) {
+                eventService.streamDueEvents(event -> {
+                    try {
+                        writer.write(event);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(BinaryEventFormat.MEDIA_TYPE).body(body);
+    }
+
+    /**
+     * Exports every event, whatever its status, in the {@link BinaryEventFormat} and in ID order, as the events
+     * are read from the database through a cursor. The body can be posted to {@code /api/events/batch} of another
+     * cluster as it is.
+     * @return ResponseEntity whose body writes all Events.
+     */
+    @GetMapping(path = "/export", produces = BinaryEventFormat.MEDIA_TYPE_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportEvents() {
+        StreamingResponseBody body = out -> {
+            try (BinaryEventWriter writer = new BinaryEventWriter(out)) {
+                eventService.streamEvents(event -> {
+                    try {
+                        writer.write(event);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(BinaryEventFormat.MEDIA_TYPE).body(body);
+    }
+
     /**
      * Marks a specific event as completed.
      * @param id The ID of the event to complete.
-     * @return ResponseEntity with no content (200 OK).
+     * @return ResponseEntity with no content (200 OK), or 409 if the event is no longer scheduled.
      */
     @PostMapping("/{id}/complete")
     public ResponseEntity<Void> completeEvent(@PathVariable Long id) {
         eventService.completeEvent(id);
         return ResponseEntity.ok().build();
     }
+
+    /**
+     * Cancels a scheduled event.
+     * @param id The ID of the event to cancel.
+     * @return ResponseEntity with the cancelled Event, or 409 if it is no longer scheduled.
+     */
+    @PostMapping("/{id}/cancel")
+    public ResponseEntity<Event> cancelEvent(@PathVariable Long id) {
+        return ResponseEntity.ok(eventService.cancelEvent(id));
+    }
+
+    /**
+     * Moves a scheduled event to a new time.
+     * @param id The ID of the event to reschedule.
+     * @param scheduledTime The new scheduled time in ISO-8601 format.
+     * @return ResponseEntity with the rescheduled Event, or 409 if it is no longer scheduled.
+     */
+    @PostMapping("/{id}/reschedule")
+    public ResponseEntity<Event> rescheduleEvent(@PathVariable Long id, @RequestParam String scheduledTime) {
+        return ResponseEntity.ok(eventService.rescheduleEvent(id, Instant.parse(scheduledTime)));
+    }
+
+    /**
+     * Marks many events as completed in one request.
+     * Unknown IDs are returned in the response rather than failing the request.
+     * @param ids The IDs of the events to complete, as a JSON array.
+     * @return ResponseEntity with the number of completed events and the missing IDs.
+     */
+    @PostMapping(path = "/complete", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkCompletionResult> completeEvents(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(eventService.completeEvents(ids));
+    }
+
+    /**
+     * Maps malformed bulk request bodies to 400 Bad Request.
+     * @param e The parse or mapping failure.
+     * @return ResponseEntity with the error message.
+     */
+    @ExceptionHandler({JsonProcessingException.class, RuntimeJsonMappingException.class,
+            MalformedEventPayloadException.class})
+    public ResponseEntity<String> handleMalformedBody(Exception e) {
+        return ResponseEntity.badRequest().body("Malformed event payload: " + e.getMessage());
+    }
 }
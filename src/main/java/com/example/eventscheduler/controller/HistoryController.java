@@ -0,0 +1,62 @@
+package com.example.eventscheduler.controller;
+
+import com.example.eventscheduler.domain.ArchivedEvent;
+import com.example.eventscheduler.domain.EventStatus;
+import com.example.eventscheduler.dto.ArchivedEventPage;
+import com.example.eventscheduler.service.EventArchive;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+
+/**
+ * REST controller serving the history of archived events, separately from the live events under
+ * {@code /api/events}.
+ */
+@RestController
+@RequestMapping("/api/history")
+public class HistoryController {
+
+    private final EventArchive eventArchive;
+
+    /**
+     * Constructs a HistoryController.
+     * @param eventArchive The archive of terminal events.
+     */
+    public HistoryController(EventArchive eventArchive) {
+        this.eventArchive = eventArchive;
+    }
+
+    /**
+     * Retrieves one page of archived events, ordered by scheduled time and ID.
+     * Pass the returned {@code nextCursor} back as {@code cursor} to fetch the next page.
+     * @param from The earliest scheduled time to include, in ISO-8601 format; omit for no lower bound.
+     * @param to The scheduled time before which events are included, in ISO-8601 format; omit for no upper bound.
+     * @param status COMPLETED or CANCELLED to only return events in that status.
+     * @param limit The maximum number of events per page (at most 1000).
+     * @param cursor The opaque cursor from the previous page; omit for the first page.
+     * @return ResponseEntity with the page of archived events.
+     */
+    @GetMapping
+    public ResponseEntity<ArchivedEventPage> getHistory(@RequestParam(required = false) Instant from,
+                                                        @RequestParam(required = false) Instant to,
+                                                        @RequestParam(required = false) EventStatus status,
+                                                        @RequestParam(defaultValue = "100") int limit,
+                                                        @RequestParam(required = false) String cursor) {
+        return ResponseEntity.ok(eventArchive.getHistory(from, to, status, cursor, limit));
+    }
+
+    /**
+     * Retrieves an archived event by its ID.
+     * @param id The ID of the event.
+     * @return ResponseEntity with the archived event, or 404 if it is not in the archive.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ArchivedEvent> getArchivedEvent(@PathVariable Long id) {
+        return ResponseEntity.ok(eventArchive.getArchivedEvent(id));
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.eventscheduler.controller;
+
+import com.example.eventscheduler.metrics.MetricsRegistry;
+import com.example.eventscheduler.metrics.OperationTimer;
+import com.example.eventscheduler.service.EventCache;
+import com.example.eventscheduler.service.EventDeduplicator;
+import com.example.eventscheduler.service.SharedCounterService;
+import lombok.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * REST controller exposing the event counters, per-operation latency histograms, event cache statistics and
+ * idempotency-key deduplication statistics.
+ */
+@RestController
+@RequestMapping("/api/metrics")
+public class MetricsController {
+
+    private final MetricsRegistry metricsRegistry;
+    private final SharedCounterService sharedCounterService;
+    private final EventCache eventCache;
+    private final EventDeduplicator eventDeduplicator;
+
+    /**
+     * Constructs a MetricsController.
+     * @param metricsRegistry The registry of operation timers.
+     * @param sharedCounterService The registry of event counters.
+     * @param eventCache The cache of events by ID.
+     * @param eventDeduplicator The service deduplicating create requests by idempotency key.
+     */
+    public MetricsController(MetricsRegistry metricsRegistry, SharedCounterService sharedCounterService,
+                             EventCache eventCache, EventDeduplicator eventDeduplicator) {
+        this.metricsRegistry = metricsRegistry;
+        this.sharedCounterService = sharedCounterService;
+        this.eventCache = eventCache;
+        this.eventDeduplicator = eventDeduplicator;
+    }
+
+    /**
+     * Returns the event counters and, per {@code stage.operation}, the call count, error count,
+     * throughput and latency percentiles in microseconds, the hit rate of the event cache, and how many keyed
+     * create requests were deduplicated.
+     * @return ResponseEntity with the metrics.
+     */
+    @GetMapping
+    public ResponseEntity<Metrics> getMetrics() {
+        return ResponseEntity.ok(new Metrics(sharedCounterService.snapshot(), metricsRegistry.snapshot(),
+                eventCache.getStats(), eventDeduplicator.getStats()));
+    }
+
+    /**
+     * Response body of {@code GET /api/metrics}.
+     */
+    @Value
+    public static class Metrics {
+        Map<SharedCounterService.Counter, Long> counters;
+        Map<String, OperationTimer.Snapshot> operations;
+        EventCache.Stats cache;
+        EventDeduplicator.Stats idempotency;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.eventscheduler.controller;
+
+import com.example.eventscheduler.service.ClockService;
+import com.example.eventscheduler.service.NotificationOutbox;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller exposing the notification outbox backlog and its dead letters.
+ * Only registered when the outbox is enabled.
+ */
+@RestController
+@RequestMapping("/api/notifications/outbox")
+@ConditionalOnProperty(name = "scheduler.notifications.outbox.enabled", havingValue = "true")
+public class OutboxController {
+
+    private final NotificationOutbox outbox;
+    private final ClockService clockService;
+
+    /**
+     * Constructs an OutboxController.
+     * @param outbox The outbox to report on.
+     * @param clockService The source of the current time.
+     */
+    public OutboxController(NotificationOutbox outbox, ClockService clockService) {
+        this.outbox = outbox;
+        this.clockService = clockService;
+    }
+
+    /**
+     * Returns the number of pending and dead-lettered notifications.
+     * @return ResponseEntity with the outbox statistics.
+     */
+    @GetMapping
+    public ResponseEntity<NotificationOutbox.Stats> getStats() {
+        return ResponseEntity.ok(outbox.getStats());
+    }
+
+    /**
+     * Makes every dead-lettered notification pending again, e.g. once the transport has been fixed.
+     * @return ResponseEntity with the number of requeued notifications.
+     */
+    @PostMapping("/dead-letters/retry")
+    public ResponseEntity<Integer> retryDeadLetters() {
+        return ResponseEntity.ok(outbox.retryDeadLetters(clockService.now()));
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.eventscheduler.controller;
+
+import com.example.eventscheduler.service.EventSnapshots;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST controller exporting the events table to columnar snapshot files and restoring it from them.
+ * Only registered when snapshots are enabled.
+ */
+@RestController
+@RequestMapping("/api/snapshots")
+@ConditionalOnProperty(name = "scheduler.snapshot.enabled", havingValue = "true")
+public class SnapshotController {
+
+    private final EventSnapshots eventSnapshots;
+
+    /**
+     * Constructs a SnapshotController.
+     * @param eventSnapshots The service writing and reading snapshots.
+     */
+    public SnapshotController(EventSnapshots eventSnapshots) {
+        this.eventSnapshots = eventSnapshots;
+    }
+
+    /**
+     * Lists the snapshots in the snapshot directory.
+     * @return ResponseEntity with the snapshot file names.
+     */
+    @GetMapping
+    public ResponseEntity<List<String>> listSnapshots() {
+        return ResponseEntity.ok(eventSnapshots.list());
+    }
+
+    /**
+     * Writes a snapshot of the events table.
+     * @return ResponseEntity with the new snapshot's name, number of events, size and export time.
+     */
+    @PostMapping
+    public ResponseEntity<EventSnapshots.Snapshot> exportSnapshot() {
+        return ResponseEntity.ok(eventSnapshots.export());
+    }
+
+    /**
+     * Restores a snapshot into the events table, which must be empty.
+     * @param name The snapshot's file name.
+     * @return ResponseEntity with the number of restored events and the restore time, 404 if there is no such
+     *         snapshot, 400 if it is corrupt, or 409 if the events table is not empty.
+     */
+    @PostMapping("/{name}/restore")
+    public ResponseEntity<EventSnapshots.Snapshot> restoreSnapshot(@PathVariable String name) {
+        return ResponseEntity.ok(eventSnapshots.restore(name));
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.eventscheduler.controller;
+
+import com.example.eventscheduler.domain.Event;
+import com.example.eventscheduler.scheduling.DueEventSubscriptions;
+import com.example.eventscheduler.scheduling.DueEventSubscriptions.OverflowPolicy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+
+/**
+ * REST controller pushing due events to subscribers as server-sent events, instead of having them poll
+ * {@code GET /api/events/due}. Only registered when subscriptions are enabled.
+ */
+@RestController
+@RequestMapping("/api/subscriptions")
+@ConditionalOnProperty(name = "scheduler.subscriptions.enabled", havingValue = "true")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class SubscriptionController {
+
+    private final DueEventSubscriptions subscriptions;
+    private final long timeoutMillis;
+
+    /**
+     * Constructs a SubscriptionController.
+     * @param subscriptions The hub pushing due events.
+     * @param timeoutMillis How long a subscription stream stays open before the client has to reconnect.
+     */
+    public SubscriptionController(DueEventSubscriptions subscriptions,
+                                  @Value("${scheduler.subscriptions.timeout-ms:1800000}") long timeoutMillis) {
+        this.subscriptions = subscriptions;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Subscribes to due events. The stream first sends every event that is already due, then each further
+     * event as soon as it falls due, as a {@code due} event whose {@code id} is the event ID.
+     * @param bufferSize The number of events buffered while the client is slow to read.
+     * @param overflow What to do when the buffer is full: drop the oldest or the newest event, or disconnect.
+     * @return The server-sent event stream.
+     */
+    @GetMapping(path = "/due", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@RequestParam(defaultValue = "1000") int bufferSize,
+                                @RequestParam(defaultValue = "DROP_OLDEST") OverflowPolicy overflow) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        DueEventSubscriptions.Subscription subscription = subscriptions.subscribe(bufferSize, overflow,
+                new DueEventSubscriptions.Sink() {
+                    @Override
+                    public void send(Event event) throws IOException {
+                        emitter.send(SseEmitter.event().id(event.getId().toString()).name("due").data(event));
+                    }
+
+                    @Override
+                    public void close() {
+                        emitter.complete();
+                    }
+                });
+        emitter.onCompletion(() -> subscriptions.unsubscribe(subscription));
+        emitter.onTimeout(() -> subscriptions.unsubscribe(subscription));
+        emitter.onError(e -> subscriptions.unsubscribe(subscription));
+        return emitter;
+    }
+
+    /**
+     * Returns the number of subscribers and the published, delivered and dropped event counts.
+     * @return ResponseEntity with the subscription statistics.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<DueEventSubscriptions.Stats> getStats() {
+        return ResponseEntity.ok(subscriptions.getStats());
+    }
+}
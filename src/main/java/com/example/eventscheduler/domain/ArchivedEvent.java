@@ -0,0 +1,43 @@
+package com.example.eventscheduler.domain;
+
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Instant;
+
+/**
+ * An event in a terminal state that has been moved out of the "events" table.
+ * Mapped to the "events_archive" table, which the archiver fills with plain SQL; rows are never updated.
+ */
+@Entity
+@Table(name = "events_archive")
+@Immutable
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedEvent {
+
+    @Id
+    private Long id;
+
+    private String name;
+
+    /** The last scheduled time of the event; for a recurring event, the occurrence it ended on. */
+    private Instant scheduledTime;
+
+    @Enumerated(EnumType.STRING)
+    private EventStatus status;
+
+    @Convert(converter = RecurrenceConverter.class)
+    private Recurrence recurrence;
+
+    private Instant archivedAt;
+}
@@ -2,24 +2,38 @@ package com.example.eventscheduler.domain;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.Instant;
+import java.time.ZoneId;
 
 /**
  * Represents an Event entity in the scheduling system.
  * Mapped to the "events" table in the database.
+ * A recurring event is a single row whose {@code scheduledTime} is its next occurrence.
+ * Cacheable in the Hibernate second-level cache, which is only switched on by the {@code l2cache} profile.
  */
 @Entity
 @Table(name = "events")
+@Cacheable
+@org.hibernate.annotations.Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class Event {
 
+    /** The number of IDs each node takes from {@code events_seq} at a time. */
+    public static final int ID_ALLOCATION_SIZE = 100;
+
+    /**
+     * Sequence-generated with a pooled optimizer, so Hibernate knows ids before inserting
+     * and can group inserts into JDBC batches (which IDENTITY columns prevent).
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "events_seq")
+    @SequenceGenerator(name = "events_seq", sequenceName = "events_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     private String name;
@@ -28,4 +42,47 @@ public class Event {
 
     @Enumerated(EnumType.STRING)
     private EventStatus status;
+
+    /** The repetition rule, or null for a one-off event. */
+    @Convert(converter = RecurrenceConverter.class)
+    private Recurrence recurrence;
+
+    /** The idempotency key of the create request, unique among events; null if the client sent none. */
+    @Column(updatable = false)
+    private String idempotencyKey;
+
+    /**
+     * Optimistic-locking version, incremented by every change. Null until the event is first saved.
+     * Status changes are conditional updates on it (see {@link com.example.eventscheduler.store.EventStore}),
+     * and Hibernate checks it whenever a managed instance is flushed.
+     */
+    @Version
+    private Long version;
+
+    /**
+     * Moves a recurring event to its next occurrence after {@code now}.
+     * @param now The current time.
+     * @param zone The time zone in which cron rules are evaluated.
+     * @return true if the event was moved; false if it is a one-off event or its rule has no further occurrence.
+     */
+    public boolean advance(Instant now, ZoneId zone) {
+        Instant next = nextOccurrence(now, zone);
+        if (next == null) {
+            return false;
+        }
+        scheduledTime = next;
+        return true;
+    }
+
+    /**
+     * Computes the occurrence a recurring event would move to once the current one is completed,
+     * without changing the event.
+     * @param now The current time.
+     * @param zone The time zone in which cron rules are evaluated.
+     * @return The next occurrence after {@code now}, or null if the event is a one-off or its rule has no further
+     *         occurrence.
+     */
+    public Instant nextOccurrence(Instant now, ZoneId zone) {
+        return recurrence == null ? null : recurrence.nextAfter(scheduledTime, now, zone);
+    }
 }
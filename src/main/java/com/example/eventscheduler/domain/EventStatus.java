@@ -2,9 +2,19 @@ package com.example.eventscheduler.domain;
 
 /**
  * Defines the possible statuses for an Event.
+ * An event starts SCHEDULED and leaves it exactly once, for COMPLETED or CANCELLED; both are terminal.
+ * Rescheduling and moving a recurring event to its next occurrence keep it SCHEDULED.
  */
 public enum EventStatus {
     SCHEDULED,
     COMPLETED,
-    CANCELLED
+    CANCELLED;
+
+    /**
+     * Returns whether an event in this status can no longer change.
+     * @return true for COMPLETED and CANCELLED.
+     */
+    public boolean isTerminal() {
+        return this != SCHEDULED;
+    }
 }
@@ -0,0 +1,65 @@
+package com.example.eventscheduler.domain;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * A notification waiting in the transactional outbox.
+ * Mapped to the "notification_outbox" table; the row is written in the same transaction as the change it
+ * reports and deleted once the notification has been delivered.
+ */
+@Entity
+@Table(name = "notification_outbox")
+@Getter
+@Setter
+@NoArgsConstructor
+public class OutboxMessage {
+
+    /** Sequence-generated with a pooled optimizer, like {@link Event}, so bulk appends are JDBC-batched. */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_outbox_seq")
+    @SequenceGenerator(name = "notification_outbox_seq", sequenceName = "notification_outbox_seq", allocationSize = 100)
+    private Long id;
+
+    private String message;
+
+    @Enumerated(EnumType.STRING)
+    private OutboxStatus status;
+
+    /** The number of failed delivery attempts. */
+    private int attempts;
+
+    /** The instant from which the message may be claimed for its next delivery attempt. */
+    private Instant nextAttemptAt;
+
+    /** The token of the relay worker that claimed the message last, or null if it was never claimed. */
+    private String claimToken;
+
+    /** The error of the last failed delivery attempt. */
+    private String lastError;
+
+    private Instant createdAt;
+
+    /**
+     * Creates a pending message that can be delivered right away.
+     * @param message The notification text.
+     * @param now The current time.
+     */
+    public OutboxMessage(String message, Instant now) {
+        this.message = message;
+        this.status = OutboxStatus.PENDING;
+        this.nextAttemptAt = now;
+        this.createdAt = now;
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.eventscheduler.domain;
+
+/**
+ * Defines the possible statuses of a notification in the outbox.
+ * Delivered notifications are deleted, so there is no status for them.
+ */
+public enum OutboxStatus {
+    PENDING,
+    DEAD
+}
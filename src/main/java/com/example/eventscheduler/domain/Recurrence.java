@@ -0,0 +1,87 @@
+package com.example.eventscheduler.domain;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import org.springframework.scheduling.support.CronExpression;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * A repetition rule for an {@link Event}: either a fixed interval written as an ISO-8601 duration
+ * (e.g. {@code PT15M}) or a six-field Spring cron expression (e.g. {@code 0 0 9 * * MON-FRI}).
+ * Only the next occurrence of a recurring event is ever stored; later ones are computed from the rule
+ * when the current one is completed or fired.
+ */
+public final class Recurrence {
+
+    private final String rule;
+    private final Duration interval;
+    private final CronExpression cron;
+
+    private Recurrence(String rule, Duration interval, CronExpression cron) {
+        this.rule = rule;
+        this.interval = interval;
+        this.cron = cron;
+    }
+
+    /**
+     * Parses a repetition rule.
+     * @param rule An ISO-8601 duration starting with {@code P}, or a cron expression.
+     * @return The parsed rule.
+     * @throws IllegalArgumentException if the rule is neither a positive duration nor a valid cron expression.
+     */
+    public static Recurrence parse(String rule) {
+        String trimmed = rule.trim();
+        if (trimmed.startsWith("P") || trimmed.startsWith("p")) {
+            Duration interval;
+            try {
+                interval = Duration.parse(trimmed);
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid interval: " + rule, e);
+            }
+            if (interval.isNegative() || interval.isZero()) {
+                throw new IllegalArgumentException("Interval must be positive: " + rule);
+            }
+            return new Recurrence(trimmed, interval, null);
+        }
+        return new Recurrence(trimmed, null, CronExpression.parse(trimmed));
+    }
+
+    /**
+     * Computes the occurrence that follows {@code previous}, skipping any occurrences that are
+     * already in the past: the result is strictly after both {@code previous} and {@code now}.
+     * Intervals are counted from {@code previous}, so fixed-rate schedules do not drift.
+     * @param previous The occurrence that has just been completed or fired.
+     * @param now The current time.
+     * @param zone The time zone in which cron fields are evaluated.
+     * @return The next occurrence, or null if the rule has no further occurrences.
+     */
+    public Instant nextAfter(Instant previous, Instant now, ZoneId zone) {
+        if (interval != null) {
+            long steps = now.isBefore(previous) ? 1 : Duration.between(previous, now).dividedBy(interval) + 1;
+            return previous.plus(interval.multipliedBy(steps));
+        }
+        Instant from = now.isAfter(previous) ? now : previous;
+        ZonedDateTime next = cron.next(from.atZone(zone));
+        return next == null ? null : next.toInstant();
+    }
+
+    @JsonValue
+    @Override
+    public String toString() {
+        return rule;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof Recurrence && rule.equals(((Recurrence) other).rule);
+    }
+
+    @Override
+    public int hashCode() {
+        return rule.hashCode();
+    }
+}
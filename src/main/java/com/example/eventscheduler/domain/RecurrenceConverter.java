@@ -0,0 +1,21 @@
+package com.example.eventscheduler.domain;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores a {@link Recurrence} as its rule string in the {@code recurrence} column.
+ */
+@Converter
+public class RecurrenceConverter implements AttributeConverter<Recurrence, String> {
+
+    @Override
+    public String convertToDatabaseColumn(Recurrence recurrence) {
+        return recurrence == null ? null : recurrence.toString();
+    }
+
+    @Override
+    public Recurrence convertToEntityAttribute(String rule) {
+        return rule == null ? null : Recurrence.parse(rule);
+    }
+}
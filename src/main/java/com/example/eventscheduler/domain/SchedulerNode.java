@@ -0,0 +1,29 @@
+package com.example.eventscheduler.domain;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * A node taking part in sharded event processing.
+ * Mapped to the "scheduler_nodes" table; a node counts as live while its heartbeat is younger than a lease.
+ */
+@Entity
+@Table(name = "scheduler_nodes")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SchedulerNode {
+
+    @Id
+    private String nodeId;
+
+    private Instant heartbeatAt;
+}
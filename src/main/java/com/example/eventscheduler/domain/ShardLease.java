@@ -0,0 +1,33 @@
+package com.example.eventscheduler.domain;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * A node's time-limited claim on one shard of the events table.
+ * Mapped to the "shard_leases" table; an event with ID {@code id} belongs to shard {@code id mod shardCount}.
+ */
+@Entity
+@Table(name = "shard_leases")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShardLease {
+
+    @Id
+    private Integer shard;
+
+    /** The node holding the lease, or null if the shard is free. */
+    private String owner;
+
+    /** The instant after which the lease may be taken over by another node. */
+    private Instant expiresAt;
+}
@@ -0,0 +1,16 @@
+package com.example.eventscheduler.dto;
+
+import com.example.eventscheduler.domain.ArchivedEvent;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * One page of archived events, ordered by scheduled time and ID.
+ * {@code nextCursor} is null on the last page.
+ */
+@Value
+public class ArchivedEventPage {
+    List<ArchivedEvent> events;
+    String nextCursor;
+}
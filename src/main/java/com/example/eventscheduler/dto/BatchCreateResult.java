@@ -0,0 +1,11 @@
+package com.example.eventscheduler.dto;
+
+import lombok.Value;
+
+/**
+ * Outcome of a bulk event ingestion request.
+ */
+@Value
+public class BatchCreateResult {
+    int created;
+}
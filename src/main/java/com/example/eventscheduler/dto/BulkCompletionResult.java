@@ -0,0 +1,15 @@
+package com.example.eventscheduler.dto;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk completion request.
+ * Events that exist but were no longer SCHEDULED are neither completed nor missing.
+ */
+@Value
+public class BulkCompletionResult {
+    int completed;
+    List<Long> missing;
+}
@@ -0,0 +1,29 @@
+package com.example.eventscheduler.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A single event to create, as read from a bulk ingestion request body.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateEventRequest {
+    private String name;
+    private Instant scheduledTime;
+    /** Optional repetition rule: an ISO-8601 duration such as {@code PT15M} or a cron expression. */
+    private String recurrence;
+
+    /**
+     * Creates a request for a one-off event.
+     * @param name The name of the event.
+     * @param scheduledTime The time at which the event is scheduled.
+     */
+    public CreateEventRequest(String name, Instant scheduledTime) {
+        this(name, scheduledTime, null);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.eventscheduler.dto;
+
+import com.example.eventscheduler.domain.Event;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * One page of due events, ordered by scheduled time and ID.
+ * {@code nextCursor} is null on the last page.
+ */
+@Value
+public class DueEventPage {
+    List<Event> events;
+    String nextCursor;
+}
@@ -0,0 +1,25 @@
+package com.example.eventscheduler.exception;
+
+import com.example.eventscheduler.domain.EventStatus;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when an event cannot make a requested status change: it has already left the SCHEDULED state,
+ * or another request changed it between being read and being updated.
+ * Mapped to HTTP 409 Conflict by Spring's @ResponseStatus.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class EventConflictException extends RuntimeException {
+    public EventConflictException(Long eventId, EventStatus status, String action) {
+        super("Event " + eventId + " is " + status + " and cannot be " + action);
+    }
+
+    public EventConflictException(Long eventId, String action) {
+        super("Event " + eventId + " was changed concurrently and was not " + action);
+    }
+
+    public EventConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.eventscheduler.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a pagination cursor supplied by a client cannot be decoded.
+ * Mapped to HTTP 400 Bad Request by Spring's @ResponseStatus.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String cursor) {
+        super("Invalid cursor: " + cursor);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.eventscheduler.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a client sends an idempotency key that is blank or too long to be stored.
+ * Mapped to HTTP 400 Bad Request by Spring's @ResponseStatus.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidIdempotencyKeyException extends RuntimeException {
+    public InvalidIdempotencyKeyException(int maxLength) {
+        super("Idempotency key must be between 1 and " + maxLength + " characters");
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.eventscheduler.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a recurrence rule supplied by a client is neither an ISO-8601 duration nor a cron expression.
+ * Mapped to HTTP 400 Bad Request by Spring's @ResponseStatus.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidRecurrenceException extends RuntimeException {
+    public InvalidRecurrenceException(String rule, Throwable cause) {
+        super("Invalid recurrence: " + rule, cause);
+    }
+}
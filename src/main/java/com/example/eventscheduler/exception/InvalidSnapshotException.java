@@ -0,0 +1,15 @@
+package com.example.eventscheduler.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when an event snapshot file is truncated or not in the snapshot format.
+ * Mapped to HTTP 400 Bad Request by Spring's @ResponseStatus.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidSnapshotException extends RuntimeException {
+    public InvalidSnapshotException(String message) {
+        super(message);
+    }
+}
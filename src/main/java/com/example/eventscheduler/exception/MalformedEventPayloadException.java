@@ -0,0 +1,16 @@
+package com.example.eventscheduler.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a bulk event payload supplied by a client is truncated, does not follow the binary format, or holds
+ * an event that cannot be scheduled.
+ * Mapped to HTTP 400 Bad Request by Spring's @ResponseStatus.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class MalformedEventPayloadException extends RuntimeException {
+    public MalformedEventPayloadException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.eventscheduler.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a requested event snapshot does not exist in the snapshot directory.
+ * Mapped to HTTP 404 Not Found by Spring's @ResponseStatus.
+ */
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class SnapshotNotFoundException extends RuntimeException {
+    public SnapshotNotFoundException(String name) {
+        super("Snapshot not found: " + name);
+    }
+}
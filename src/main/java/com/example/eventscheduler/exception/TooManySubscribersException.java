@@ -0,0 +1,15 @@
+package com.example.eventscheduler.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a client subscribes to due events while the maximum number of subscribers is connected.
+ * Mapped to HTTP 503 Service Unavailable by Spring's @ResponseStatus.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class TooManySubscribersException extends RuntimeException {
+    public TooManySubscribersException(int maxSubscribers) {
+        super("Too many subscribers, at most " + maxSubscribers + " may be connected");
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.eventscheduler.metrics;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide registry of {@link OperationTimer}s, keyed by {@code stage.operation} names.
+ */
+@Component
+public class MetricsRegistry {
+
+    private final ConcurrentHashMap<String, OperationTimer> timers = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the timer with the given name, creating it on first use.
+     * Callers on hot paths should look the timer up once and keep it.
+     * @param name The operation name, e.g. {@code db.findById}.
+     * @return The timer.
+     */
+    public OperationTimer timer(String name) {
+        return timers.computeIfAbsent(name, key -> new OperationTimer());
+    }
+
+    /**
+     * Summarizes every timer.
+     * @return A map from operation name to summary, sorted by name.
+     */
+    public Map<String, OperationTimer.Snapshot> snapshot() {
+        Map<String, OperationTimer.Snapshot> snapshot = new TreeMap<>();
+        timers.forEach((name, timer) -> snapshot.put(name, timer.snapshot()));
+        return snapshot;
+    }
+
+    /**
+     * Resets every timer.
+     */
+    public void reset() {
+        timers.values().forEach(OperationTimer::reset);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.eventscheduler.metrics;
+
+import lombok.Value;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and throughput of one named operation, such as {@code service.createEvent}.
+ * Recording touches only a {@link LatencyHistogram} and a {@link LongAdder}, so it never allocates.
+ */
+public class OperationTimer {
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+    private volatile long sinceNanos = System.nanoTime();
+
+    /**
+     * Records a completed call.
+     * @param startNanos The start time as returned by {@link System#nanoTime()}.
+     */
+    public void recordSuccess(long startNanos) {
+        latency.recordSince(startNanos);
+    }
+
+    /**
+     * Records a call that ended with an exception. Its latency is recorded like any other call.
+     * @param startNanos The start time as returned by {@link System#nanoTime()}.
+     */
+    public void recordFailure(long startNanos) {
+        latency.recordSince(startNanos);
+        errors.increment();
+    }
+
+    /**
+     * Summarizes the calls recorded since creation or the last {@link #reset()}.
+     * @return The summary.
+     */
+    public Snapshot snapshot() {
+        LatencyHistogram.Snapshot latencySnapshot = latency.snapshot();
+        double seconds = (System.nanoTime() - sinceNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+        double rate = seconds > 0 ? latencySnapshot.getCount() / seconds : 0;
+        return new Snapshot(latencySnapshot.getCount(), errors.sum(), rate, latencySnapshot);
+    }
+
+    /**
+     * Clears all recorded calls and restarts the throughput window.
+     */
+    public void reset() {
+        latency.reset();
+        errors.reset();
+        sinceNanos = System.nanoTime();
+    }
+
+    /**
+     * Immutable summary of an {@link OperationTimer}.
+     */
+    @Value
+    public static class Snapshot {
+        long count;
+        long errors;
+        double ratePerSecond;
+        LatencyHistogram.Snapshot latencyMicros;
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.eventscheduler.repository;
+
+import com.example.eventscheduler.domain.ArchivedEvent;
+import com.example.eventscheduler.domain.EventStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Spring Data JPA repository for {@link ArchivedEvent} entities: the archiver's copy and purge statements and
+ * the keyset-paginated history queries.
+ */
+public interface ArchivedEventRepository extends JpaRepository<ArchivedEvent, Long> {
+
+    /** Restricts history queries to a scheduled time range and continues after a keyset position. */
+    String HISTORY_PAGE = "select a from ArchivedEvent a where a.scheduledTime < :to "
+            + "and (a.scheduledTime > :afterTime or (a.scheduledTime = :afterTime and a.id > :afterId)) ";
+
+    /**
+     * Copies the given events from the events table into the archive, stamped with the archival time.
+     * Only copies events that are in one of the given statuses.
+     * @param ids The IDs of the events to copy.
+     * @param statuses The names of the terminal statuses.
+     * @param now The archival time.
+     * @return The number of events copied.
+     */
+    @Modifying
+    @Query(value = "insert into events_archive (id, name, scheduled_time, status, recurrence, archived_at) "
+            + "select id, name, scheduled_time, status, recurrence, :now from events "
+            + "where id in :ids and status in :statuses", nativeQuery = true)
+    int copyFromEvents(@Param("ids") Collection<Long> ids, @Param("statuses") Collection<String> statuses,
+                       @Param("now") Instant now);
+
+    /**
+     * Deletes the archived events that were archived before the given instant.
+     * @param cutoff The instant before which archived events are deleted.
+     * @return The number of events deleted.
+     */
+    @Modifying
+    @Query("delete from ArchivedEvent a where a.archivedAt < :cutoff")
+    int deleteArchivedBefore(@Param("cutoff") Instant cutoff);
+
+    /**
+     * Returns the page of archived events that follows the given keyset position, in (scheduledTime, id) order.
+     * The first page starts after (from, {@link Long#MIN_VALUE}).
+     * @param to The instant before which the events were scheduled.
+     * @param afterTime The scheduled time of the last event of the previous page.
+     * @param afterId The ID of the last event of the previous page.
+     * @param page The page size (the page number should be 0).
+     * @return Up to {@code page.getPageSize()} archived events.
+     */
+    @Query(HISTORY_PAGE + "order by a.scheduledTime, a.id")
+    List<ArchivedEvent> findPage(@Param("to") Instant to, @Param("afterTime") Instant afterTime,
+                                 @Param("afterId") Long afterId, Pageable page);
+
+    /**
+     * Like {@link #findPage}, restricted to one terminal status.
+     * @param status The status of the events to find.
+     * @param to The instant before which the events were scheduled.
+     * @param afterTime The scheduled time of the last event of the previous page.
+     * @param afterId The ID of the last event of the previous page.
+     * @param page The page size (the page number should be 0).
+     * @return Up to {@code page.getPageSize()} archived events.
+     */
+    @Query(HISTORY_PAGE + "and a.status = :status order by a.scheduledTime, a.id")
+    List<ArchivedEvent> findPageByStatus(@Param("status") EventStatus status, @Param("to") Instant to,
+                                         @Param("afterTime") Instant afterTime, @Param("afterId") Long afterId,
+                                         Pageable page);
+}
@@ -0,0 +1,38 @@
+package com.example.eventscheduler.repository;
+
+import com.example.eventscheduler.domain.Event;
+import com.example.eventscheduler.domain.EventStatus;
+import com.example.eventscheduler.domain.Recurrence;
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * Read-only projection of a scheduled {@link Event}, built by a JPQL constructor expression.
+ * Unlike an entity it is never registered with the persistence context, so reading it allocates
+ * no entity entry, no loaded-state snapshot and nothing for dirty checking to walk at flush.
+ */
+@Value
+public class DueEventView {
+    Long id;
+    String name;
+    Instant scheduledTime;
+    Recurrence recurrence;
+    Long version;
+
+    /**
+     * Converts the projection into a detached, transient {@link Event} with status SCHEDULED,
+     * the shape the API already returns for due events.
+     * @return A new, unmanaged Event.
+     */
+    public Event toEvent() {
+        return Event.builder()
+                .id(id)
+                .name(name)
+                .scheduledTime(scheduledTime)
+                .status(EventStatus.SCHEDULED)
+                .recurrence(recurrence)
+                .version(version)
+                .build();
+    }
+}
@@ -1,23 +1,199 @@
 package com.example.eventscheduler.repository;
 
 import com.example.eventscheduler.domain.Event;
+import com.example.eventscheduler.domain.EventStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Spring Data JPA repository for {@link Event} entities.
  * Provides standard CRUD operations and custom query methods.
+ * Bulk inserts come from {@link EventRepositoryCustom}.
+ * Due-event reads return {@link DueEventView} projections rather than managed entities.
  */
-public interface EventRepository extends JpaRepository<Event, Long> {
+public interface EventRepository extends JpaRepository<Event, Long>, EventRepositoryCustom {
+
+    /** Selects the columns of a {@link DueEventView}; shared by the due-event queries below. */
+    String DUE_VIEW_SELECT = "select new com.example.eventscheduler.repository.DueEventView("
+            + "e.id, e.name, e.scheduledTime, e.recurrence, e.version) from Event e ";
+
+    /** Rows fetched per JDBC round trip by {@link #streamDue(EventStatus, Instant)}. */
+    String STREAM_FETCH_SIZE = "500";
+
+    /**
+     * Finds the ID, name, scheduled time and version of all events with the given status.
+     * Used to rebuild the in-memory due-event index at startup.
+     * @param status The status of the events to find.
+     * @return One projection per matching event.
+     */
+    @Query(DUE_VIEW_SELECT + "where e.status = :status")
+    List<DueEventView> findViewsByStatus(@Param("status") EventStatus status);
+
+    /**
+     * Finds the events with the given status that are scheduled before the given instant.
+     * This and the other due queries ({@code status = ? and scheduled_time < ?}) are served by the
+     * {@code idx_events_status_scheduled_time} index on {@code (status, scheduled_time)} as a range scan, so they do
+     * not slow down as COMPLETED rows accumulate. The index comes from migration V2, whose comment still names
+     * {@code findByStatusAndScheduledTimeBefore}, the query it was added for; that query has since been removed.
+     * @param status The status of the events to find.
+     * @param now The instant before which events are due.
+     * @return One projection per due event, oldest first.
+     */
+    @Query(DUE_VIEW_SELECT + "where e.status = :status and e.scheduledTime < :now order by e.scheduledTime, e.id")
+    List<DueEventView> findDue(@Param("status") EventStatus status, @Param("now") Instant now);
+
+    /**
+     * Streams the events with the given status that are scheduled before the given instant,
+     * reading {@value #STREAM_FETCH_SIZE} rows per round trip. Must be consumed and closed
+     * inside a transaction.
+     * @param status The status of the events to find.
+     * @param now The instant before which events are due.
+     * @return A lazily fetched stream of due events, oldest first.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query(DUE_VIEW_SELECT + "where e.status = :status and e.scheduledTime < :now order by e.scheduledTime, e.id")
+    Stream<DueEventView> streamDue(@Param("status") EventStatus status, @Param("now") Instant now);
+
+    /**
+     * Streams every event, whatever its status, in ID order, reading {@value #STREAM_FETCH_SIZE} rows per round
+     * trip. The events are built by a constructor expression, so they are detached and nothing accumulates in
+     * the persistence context. Must be consumed and closed inside a transaction.
+     * @return A lazily fetched stream of all events.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("select new com.example.eventscheduler.domain.Event(e.id, e.name, e.scheduledTime, e.status, "
+            + "e.recurrence, e.idempotencyKey, e.version) from Event e order by e.id")
+    Stream<Event> streamAll();
+
+    /**
+     * Returns the oldest events with the given status that are scheduled before {@code now} and belong to one of
+     * the given shards, where an event's shard is its ID modulo {@code shardCount}.
+     * @param status The status of the events to find.
+     * @param now The instant before which events are due.
+     * @param shardCount The number of shards.
+     * @param shards The shards to read.
+     * @param page The page size (the page number should be 0).
+     * @return Up to {@code page.getPageSize()} events, oldest first.
+     */
+    @Query(DUE_VIEW_SELECT + "where e.status = :status and e.scheduledTime < :now "
+            + "and mod(e.id, :shardCount) in :shards order by e.scheduledTime, e.id")
+    List<DueEventView> findDueInShards(@Param("status") EventStatus status, @Param("now") Instant now,
+                                       @Param("shardCount") int shardCount,
+                                       @Param("shards") Collection<Integer> shards, Pageable page);
+
+    /**
+     * Moves the given one-off events from one status to another with a single set-based update.
+     * Events that are not currently in {@code from} are left untouched, and so are recurring events,
+     * which move to their next occurrence instead of changing status. The versions of updated events are
+     * incremented.
+     * @param ids The IDs of the events to update.
+     * @param from The status the events must currently have.
+     * @param to The new status.
+     * @return The number of events updated.
+     */
+    @Modifying
+    @Query("update Event e set e.status = :to, e.version = e.version + 1 "
+            + "where e.id in :ids and e.status = :from and e.recurrence is null")
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("from") EventStatus from, @Param("to") EventStatus to);
+
+    /**
+     * Sets an event's status and scheduled time and increments its version, but only if its version is still
+     * {@code expectedVersion}. Bypasses the persistence context, so an instance of the event loaded in the same
+     * transaction is stale afterwards and must not be modified.
+     * @param id The ID of the event.
+     * @param expectedVersion The version the event was read at.
+     * @param status The new status.
+     * @param scheduledTime The new scheduled time.
+     * @return 1 if the event was updated, 0 if it was changed or deleted since it was read.
+     */
+    @Modifying
+    @Query("update Event e set e.status = :status, e.scheduledTime = :scheduledTime, e.version = e.version + 1 "
+            + "where e.id = :id and e.version = :expectedVersion")
+    int compareAndSet(@Param("id") Long id, @Param("expectedVersion") long expectedVersion,
+                      @Param("status") EventStatus status, @Param("scheduledTime") Instant scheduledTime);
+
+    /**
+     * Loads the recurring events among the given IDs that are in the given status.
+     * @param ids The IDs to look up.
+     * @param status The status the events must have.
+     * @return The matching recurring events.
+     */
+    @Query("select e from Event e where e.id in :ids and e.status = :status and e.recurrence is not null")
+    List<Event> findRecurringByIdIn(@Param("ids") Collection<Long> ids, @Param("status") EventStatus status);
+
+    /**
+     * Finds the event created with the given idempotency key, through its unique index.
+     * @param idempotencyKey The idempotency key.
+     * @return The ID of the event, or empty if no event has the key.
+     */
+    @Query("select e.id from Event e where e.idempotencyKey = :idempotencyKey")
+    Optional<Long> findIdByIdempotencyKey(@Param("idempotencyKey") String idempotencyKey);
+
+    /**
+     * Finds the ID, name and status of the given events.
+     * @param ids The IDs to look up.
+     * @return One projection per existing event.
+     */
+    List<EventStatusView> findByIdIn(Collection<Long> ids);
+
+    /**
+     * Returns the first page of due events in keyset order (scheduledTime, id).
+     * @param status The status of the events to find.
+     * @param now The instant before which events are due.
+     * @param page The page size (the page number is ignored by callers and should be 0).
+     * @return Up to {@code page.getPageSize()} events.
+     */
+    @Query(DUE_VIEW_SELECT + "where e.status = :status and e.scheduledTime < :now order by e.scheduledTime, e.id")
+    List<DueEventView> findDuePage(@Param("status") EventStatus status, @Param("now") Instant now, Pageable page);
+
+    /**
+     * Returns the page of due events that follows the given keyset position.
+     * @param status The status of the events to find.
+     * @param now The instant before which events are due.
+     * @param afterTime The scheduled time of the last event of the previous page.
+     * @param afterId The ID of the last event of the previous page.
+     * @param page The page size (the page number should be 0).
+     * @return Up to {@code page.getPageSize()} events.
+     */
+    @Query(DUE_VIEW_SELECT + "where e.status = :status and e.scheduledTime < :now "
+            + "and (e.scheduledTime > :afterTime or (e.scheduledTime = :afterTime and e.id > :afterId)) "
+            + "order by e.scheduledTime, e.id")
+    List<DueEventView> findDuePageAfter(@Param("status") EventStatus status, @Param("now") Instant now,
+                                        @Param("afterTime") Instant afterTime, @Param("afterId") Long afterId,
+                                        Pageable page);
+
+    /**
+     * Returns the IDs of the oldest events in one of the given statuses that are scheduled before the cutoff.
+     * @param statuses The statuses of the events to find.
+     * @param cutoff The instant before which the events are scheduled.
+     * @param page The page size (the page number should be 0).
+     * @return Up to {@code page.getPageSize()} IDs, oldest first.
+     */
+    @Query("select e.id from Event e where e.status in :statuses and e.scheduledTime < :cutoff "
+            + "order by e.scheduledTime, e.id")
+    List<Long> findIdsByStatusInScheduledBefore(@Param("statuses") Collection<EventStatus> statuses,
+                                                @Param("cutoff") Instant cutoff, Pageable page);
 
     /**
-     * Finds events by their status and scheduled time before a given instant.
-     * This method demonstrates Spring Data JPA's query derivation.
-     * @param status The status of the events to find (e.g., "SCHEDULED").
-     * @param time The instant before which events should be scheduled.
-     * @return A list of matching events.
+     * Deletes the given events if they are in one of the given statuses.
+     * @param ids The IDs of the events to delete.
+     * @param statuses The statuses the events must have.
+     * @return The number of events deleted.
      */
-    List<Event> findByStatusAndScheduledTimeBefore(String status, Instant time);
+    @Modifying
+    @Query("delete from Event e where e.id in :ids and e.status in :statuses")
+    int deleteByIdInAndStatusIn(@Param("ids") Collection<Long> ids,
+                                @Param("statuses") Collection<EventStatus> statuses);
 }
@@ -0,0 +1,39 @@
+package com.example.eventscheduler.repository;
+
+import com.example.eventscheduler.domain.Event;
+
+import java.util.List;
+
+/**
+ * Custom bulk operations for {@link EventRepository} that go beyond Spring Data's derived methods.
+ */
+public interface EventRepositoryCustom {
+
+    /**
+     * Persists new events as JDBC batch inserts, then flushes and detaches them so the
+     * persistence context does not grow with the size of an import.
+     * Must be called inside a transaction.
+     * @param events The new (id-less) events to insert.
+     */
+    void insertAll(List<Event> events);
+
+    /**
+     * Applies many compare-and-sets, each like {@link EventRepository#compareAndSet}, as one JDBC batch of
+     * conditional updates. Each change succeeds or misses on its own. Bypasses the persistence context; the
+     * changed events are evicted from the second-level cache.
+     * Must be called inside a transaction.
+     * @param changes The changes to apply.
+     * @return For each change, in order, whether it was applied.
+     */
+    boolean[] compareAndSetAll(List<EventStateChange> changes);
+
+    /**
+     * Moves this node's pool of preallocated event IDs past the given ID, so the next ID it assigns is
+     * greater. Hibernate keeps a block of {@code events_seq} values in memory; restarting the sequence does
+     * not touch that block, so its remaining IDs are drawn and dropped until a block from the sequence's new
+     * position is fetched. The sequence must already be past {@code id}.
+     * @param id The highest ID that must not be assigned.
+     * @throws IllegalStateException if the sequence is not past {@code id}.
+     */
+    void skipIdsThrough(long id);
+}
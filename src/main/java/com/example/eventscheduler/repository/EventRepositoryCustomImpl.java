@@ -0,0 +1,81 @@
+package com.example.eventscheduler.repository;
+
+import com.example.eventscheduler.domain.Event;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.persister.entity.EntityPersister;
+
+import java.sql.PreparedStatement;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Implementation of {@link EventRepositoryCustom}, picked up by Spring Data through the
+ * {@code Impl} suffix and mixed into {@link EventRepository}.
+ */
+public class EventRepositoryCustomImpl implements EventRepositoryCustom {
+
+    private static final String COMPARE_AND_SET = "update events set status = ?, scheduled_time = ?, "
+            + "version = version + 1 where id = ? and version = ?";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void insertAll(List<Event> events) {
+        for (Event event : events) {
+            entityManager.persist(event);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Override
+    public boolean[] compareAndSetAll(List<EventStateChange> changes) {
+        boolean[] applied = new boolean[changes.size()];
+        if (changes.isEmpty()) {
+            return applied;
+        }
+        entityManager.flush();
+        int[] counts = entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(COMPARE_AND_SET)) {
+                for (EventStateChange change : changes) {
+                    statement.setString(1, change.getStatus().name());
+                    statement.setObject(2, OffsetDateTime.ofInstant(change.getScheduledTime(), ZoneOffset.UTC));
+                    statement.setLong(3, change.getId());
+                    statement.setLong(4, change.getExpectedVersion());
+                    statement.addBatch();
+                }
+                return statement.executeBatch();
+            }
+        });
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        for (int i = 0; i < counts.length; i++) {
+            applied[i] = counts[i] > 0;
+            if (applied[i]) {
+                cache.evict(Event.class, changes.get(i).getId());
+            }
+        }
+        return applied;
+    }
+
+    @Override
+    public void skipIdsThrough(long id) {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        EntityPersister persister = session.getFactory().getRuntimeMetamodels().getMappingMetamodel()
+                .getEntityDescriptor(Event.class);
+        IdentifierGenerator generator = persister.getIdentifierGenerator();
+        // At most the rest of the current block and one fresh block
+        for (int drawn = 0; drawn <= 2 * Event.ID_ALLOCATION_SIZE; drawn++) {
+            if (((Number) generator.generate(session, null)).longValue() > id) {
+                return;
+            }
+        }
+        throw new IllegalStateException("events_seq is not past " + id);
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.eventscheduler.repository;
+
+import com.example.eventscheduler.domain.EventStatus;
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * One compare-and-set of an event's state: the new status and scheduled time, applied only if the event is
+ * still at the version it was read at.
+ */
+@Value
+public class EventStateChange {
+    Long id;
+    long expectedVersion;
+    EventStatus status;
+    Instant scheduledTime;
+}
@@ -0,0 +1,27 @@
+package com.example.eventscheduler.repository;
+
+import com.example.eventscheduler.domain.EventStatus;
+
+/**
+ * Interface projection carrying just enough of an {@link com.example.eventscheduler.domain.Event}
+ * to decide and describe a status change, without loading the full entity.
+ */
+public interface EventStatusView {
+    /**
+     * Returns the event ID.
+     * @return The event ID.
+     */
+    Long getId();
+
+    /**
+     * Returns the event name.
+     * @return The event name.
+     */
+    String getName();
+
+    /**
+     * Returns the current status.
+     * @return The event status.
+     */
+    EventStatus getStatus();
+}
@@ -0,0 +1,89 @@
+package com.example.eventscheduler.repository;
+
+import com.example.eventscheduler.domain.OutboxMessage;
+import com.example.eventscheduler.domain.OutboxStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Spring Data JPA repository for {@link OutboxMessage} entities.
+ * Messages are claimed with a conditional update that moves them out of view for a while, so two relay
+ * workers racing for the same message cannot both claim it.
+ */
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+
+    /**
+     * Finds the IDs of messages that are due for a delivery attempt, oldest first, restricted to one
+     * partition ({@code id mod partitions}) so the workers of one node do not compete for the same rows.
+     * @param status The status of claimable messages, i.e. PENDING.
+     * @param now The current time.
+     * @param partitions The number of partitions.
+     * @param partition The partition to search.
+     * @param pageable The maximum number of IDs.
+     * @return The IDs of claimable messages.
+     */
+    @Query("select m.id from OutboxMessage m where m.status = :status and m.nextAttemptAt <= :now "
+            + "and mod(m.id, :partitions) = :partition order by m.nextAttemptAt, m.id")
+    List<Long> findReadyIds(@Param("status") OutboxStatus status, @Param("now") Instant now,
+                            @Param("partitions") int partitions, @Param("partition") int partition,
+                            Pageable pageable);
+
+    /**
+     * Claims the given messages for a worker if they are still in the given status and due, hiding them
+     * from other workers until {@code until}.
+     * @param ids The IDs of the messages to claim.
+     * @param status The status of claimable messages, i.e. PENDING.
+     * @param token The worker's claim token.
+     * @param now The current time.
+     * @param until The instant at which the messages become claimable again if the worker never reports back.
+     * @return The number of messages claimed.
+     */
+    @Modifying
+    @Query("update OutboxMessage m set m.claimToken = :token, m.nextAttemptAt = :until where m.id in :ids "
+            + "and m.status = :status and m.nextAttemptAt <= :now")
+    int claim(@Param("ids") Collection<Long> ids, @Param("status") OutboxStatus status,
+              @Param("token") String token, @Param("now") Instant now, @Param("until") Instant until);
+
+    /**
+     * Finds the messages claimed with the given token.
+     * @param token The claim token.
+     * @return The claimed messages in ID order.
+     */
+    List<OutboxMessage> findByClaimTokenOrderById(String token);
+
+    /**
+     * Deletes delivered messages.
+     * @param ids The IDs of the messages.
+     * @return The number of messages deleted.
+     */
+    @Modifying
+    @Query("delete from OutboxMessage m where m.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Moves every message from one status to another with a fresh retry budget, e.g. to requeue
+     * dead-lettered messages.
+     * @param from The current status of the messages.
+     * @param to The new status.
+     * @param now The instant from which the messages may be claimed.
+     * @return The number of messages moved.
+     */
+    @Modifying
+    @Query("update OutboxMessage m set m.status = :to, m.attempts = 0, m.nextAttemptAt = :now, "
+            + "m.claimToken = null where m.status = :from")
+    int requeue(@Param("from") OutboxStatus from, @Param("to") OutboxStatus to, @Param("now") Instant now);
+
+    /**
+     * Counts the messages in the given status.
+     * @param status The status.
+     * @return The number of messages.
+     */
+    long countByStatus(OutboxStatus status);
+}
@@ -0,0 +1,41 @@
+package com.example.eventscheduler.repository;
+
+import com.example.eventscheduler.domain.SchedulerNode;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+
+/**
+ * Spring Data JPA repository for {@link SchedulerNode} heartbeats.
+ */
+public interface SchedulerNodeRepository extends JpaRepository<SchedulerNode, String> {
+
+    /**
+     * Records a heartbeat for an already registered node.
+     * @param node The ID of the node.
+     * @param now The current time.
+     * @return 1 if the node was registered, 0 otherwise.
+     */
+    @Modifying
+    @Query("update SchedulerNode n set n.heartbeatAt = :now where n.nodeId = :node")
+    int heartbeat(@Param("node") String node, @Param("now") Instant now);
+
+    /**
+     * Removes a node's heartbeat.
+     * @param node The ID of the node.
+     * @return 1 if the node was registered, 0 otherwise.
+     */
+    @Modifying
+    @Query("delete from SchedulerNode n where n.nodeId = :node")
+    int unregister(@Param("node") String node);
+
+    /**
+     * Counts the nodes whose last heartbeat is not older than the given instant.
+     * @param since The oldest heartbeat of a live node.
+     * @return The number of live nodes.
+     */
+    long countByHeartbeatAtGreaterThanEqual(Instant since);
+}
@@ -0,0 +1,86 @@
+package com.example.eventscheduler.repository;
+
+import com.example.eventscheduler.domain.ShardLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Spring Data JPA repository for {@link ShardLease} entities.
+ * Every state change is a single conditional update, so two nodes racing for the same shard
+ * cannot both succeed: the update that commits second no longer matches its WHERE clause.
+ */
+public interface ShardLeaseRepository extends JpaRepository<ShardLease, Integer> {
+
+    /**
+     * Takes or extends the lease on a shard if it is free, expired or already held by the node.
+     * @param shard The shard to lease.
+     * @param node The ID of the node taking the lease.
+     * @param now The current time.
+     * @param until The new expiry of the lease.
+     * @return 1 if the node now holds the lease, 0 if another node does.
+     */
+    @Modifying
+    @Query("update ShardLease l set l.owner = :node, l.expiresAt = :until where l.shard = :shard "
+            + "and (l.owner is null or l.owner = :node or l.expiresAt < :now)")
+    int tryAcquire(@Param("shard") Integer shard, @Param("node") String node,
+                   @Param("now") Instant now, @Param("until") Instant until);
+
+    /**
+     * Extends every unexpired lease held by the node. An expired lease is not renewed; the node has to
+     * acquire it again like any other node.
+     * @param node The ID of the node.
+     * @param now The current time.
+     * @param until The new expiry of the leases.
+     * @return The number of leases renewed.
+     */
+    @Modifying
+    @Query("update ShardLease l set l.expiresAt = :until where l.owner = :node and l.expiresAt >= :now")
+    int renew(@Param("node") String node, @Param("now") Instant now, @Param("until") Instant until);
+
+    /**
+     * Gives up the node's leases on the given shards.
+     * @param node The ID of the node.
+     * @param shards The shards to release.
+     * @return The number of leases released.
+     */
+    @Modifying
+    @Query("update ShardLease l set l.owner = null, l.expiresAt = null where l.owner = :node and l.shard in :shards")
+    int release(@Param("node") String node, @Param("shards") Collection<Integer> shards);
+
+    /**
+     * Gives up every lease held by the node.
+     * @param node The ID of the node.
+     * @return The number of leases released.
+     */
+    @Modifying
+    @Query("update ShardLease l set l.owner = null, l.expiresAt = null where l.owner = :node")
+    int releaseAll(@Param("node") String node);
+
+    /**
+     * Finds the shards below {@code shardCount} on which the node holds an unexpired lease.
+     * @param node The ID of the node.
+     * @param now The current time.
+     * @param shardCount The number of shards in use.
+     * @return The owned shards in ascending order.
+     */
+    @Query("select l.shard from ShardLease l where l.owner = :node and l.expiresAt >= :now "
+            + "and l.shard < :shardCount order by l.shard")
+    List<Integer> findOwned(@Param("node") String node, @Param("now") Instant now,
+                            @Param("shardCount") int shardCount);
+
+    /**
+     * Finds the shards below {@code shardCount} that are free or whose lease has expired.
+     * @param now The current time.
+     * @param shardCount The number of shards in use.
+     * @return The claimable shards in ascending order.
+     */
+    @Query("select l.shard from ShardLease l where (l.owner is null or l.expiresAt < :now) "
+            + "and l.shard < :shardCount order by l.shard")
+    List<Integer> findClaimable(@Param("now") Instant now, @Param("shardCount") int shardCount);
+}
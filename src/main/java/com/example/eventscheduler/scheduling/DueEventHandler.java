@@ -0,0 +1,16 @@
+package com.example.eventscheduler.scheduling;
+
+import com.example.eventscheduler.domain.Event;
+
+/**
+ * Pluggable action run by the {@link EventDispatcher} when an event's scheduled time arrives.
+ * Every Spring bean implementing this interface is registered with the dispatcher.
+ */
+public interface DueEventHandler {
+    /**
+     * Handles an event that has become due.
+     * Exceptions are logged and counted by the dispatcher; they do not stop other handlers.
+     * @param event The due event (a detached copy).
+     */
+    void onDue(Event event);
+}
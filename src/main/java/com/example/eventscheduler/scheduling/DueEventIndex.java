@@ -0,0 +1,315 @@
+package com.example.eventscheduler.scheduling;
+
+import com.example.eventscheduler.domain.Event;
+import com.example.eventscheduler.domain.EventStatus;
+import com.example.eventscheduler.domain.Recurrence;
+import lombok.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory index of SCHEDULED events ordered by scheduled time.
+ * Backed by a skip list, so a due query walks only the entries that are actually due
+ * (O(log n + due)) instead of scanning the events table.
+ * The index is only authoritative once {@link #completeRebuild()} has been called;
+ * callers should fall back to the repository while {@link #isReady()} is false.
+ * <p>
+ * Changes arrive from after-commit callbacks, which concurrent transactions may run in either order. Every entry
+ * therefore carries the event's version, and an add older than the entry already held is ignored. An event that
+ * leaves the index for good leaves a tombstone, so a late add from an earlier change, such as a reschedule that
+ * committed just before a completion, does not bring it back however late it runs. Writers announce each change
+ * with {@link #beginChange()} before they commit and end it once its update has run; a tombstone is kept only
+ * while a change that began before the removal is still open, since no later change can carry an older state.
+ * A rebuild also drops entries whose events it no longer finds.
+ * The index is local to this node: it only sees changes made through this node's services.
+ */
+@Component
+public class DueEventIndex {
+
+    private static final Comparator<Entry> BY_TIME_THEN_ID = Comparator
+            .comparing(Entry::getScheduledTime)
+            .thenComparingLong(Entry::getId);
+
+    /** Number of tombstones below which they are not purged; purges then run whenever their number doubles. */
+    static final int MIN_PURGE_THRESHOLD = 1_024;
+
+    private final NavigableSet<Entry> byTime = new ConcurrentSkipListSet<>(BY_TIME_THEN_ID);
+    private final ConcurrentHashMap<Long, Entry> byId = new ConcurrentHashMap<>();
+    /** Orders changes and removals: numbers both change tickets and tombstones. */
+    private final AtomicLong sequence = new AtomicLong();
+    /** Tickets of the changes, including a running rebuild, whose updates may still reach the index. */
+    private final NavigableSet<Long> openChanges = new ConcurrentSkipListSet<>();
+    /** Events that left the index, with the sequence number of their removal. */
+    private final ConcurrentHashMap<Long, Long> tombstones = new ConcurrentHashMap<>();
+    /** Entries held when the current rebuild began that it has neither loaded nor seen changed since. */
+    private final Set<Long> unseen = ConcurrentHashMap.newKeySet();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile long rebuildTicket;
+    private volatile boolean ready;
+    private volatile int purgeThreshold = MIN_PURGE_THRESHOLD;
+
+    /**
+     * Adds or replaces the index entry for a scheduled event. Ignored if the index already holds a newer version
+     * of the event, or if the event has left the index for good.
+     * @param event The scheduled event; must have an id and a scheduled time.
+     */
+    public void add(Event event) {
+        add(Entry.of(event));
+    }
+
+    /**
+     * Adds or replaces an index entry built beforehand, for callers that keep entries rather than events until
+     * they can be indexed. Ignored like {@link #add(Event)}.
+     * @param entry The entry of a scheduled event.
+     */
+    public void add(Entry entry) {
+        if (put(entry, false)) {
+            notifyListeners(entry);
+        }
+    }
+
+    /**
+     * Removes an event that has left the SCHEDULED state for good, i.e. was completed or cancelled. Such an
+     * event never becomes due again, so adds for it that arrive later come from older changes and are ignored.
+     * @param eventId The ID of the event to remove.
+     */
+    public void remove(long eventId) {
+        byId.compute(eventId, (id, previous) -> {
+            tombstones.put(id, sequence.incrementAndGet());
+            unseen.remove(id);
+            if (previous != null) {
+                byTime.remove(previous);
+            }
+            return null;
+        });
+        if (tombstones.size() >= purgeThreshold) {
+            purgeTombstones();
+        }
+    }
+
+    /**
+     * Announces a change whose index update will run later, typically after its transaction commits. Must be
+     * called before the change can commit, and followed by {@link #endChange(long)} once the update has run or
+     * the change was abandoned; until then the tombstones of events removed after this call are kept.
+     * @return The ticket to pass to {@link #endChange(long)}.
+     */
+    public long beginChange() {
+        long ticket = sequence.incrementAndGet();
+        openChanges.add(ticket);
+        return ticket;
+    }
+
+    /**
+     * Ends a change announced with {@link #beginChange()}.
+     * @param ticket The ticket returned by {@link #beginChange()}.
+     */
+    public void endChange(long ticket) {
+        openChanges.remove(ticket);
+    }
+
+    /**
+     * Returns the scheduled events whose scheduled time is strictly before the given instant,
+     * oldest first. The returned events are detached copies built from the index.
+     * @param now The instant to compare scheduled times against.
+     * @return A list of due events.
+     */
+    public List<Event> findDue(Instant now) {
+        List<Event> due = new ArrayList<>();
+        for (Entry entry : byTime.headSet(new Entry(Long.MIN_VALUE, null, now, null, 0), false)) {
+            due.add(entry.toEvent());
+        }
+        return due;
+    }
+
+    /**
+     * Returns the current index entry for an event.
+     * @param eventId The event ID.
+     * @return The entry, or null if the event is not indexed.
+     */
+    public Entry get(long eventId) {
+        return byId.get(eventId);
+    }
+
+    /**
+     * Registers a listener that is told about every entry added to the index.
+     * @param listener The listener to register.
+     */
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Returns the number of indexed events.
+     * @return The index size.
+     */
+    public int size() {
+        return byId.size();
+    }
+
+    /**
+     * Indicates whether the index has been fully loaded and can answer due queries.
+     * @return true once a rebuild has completed.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Starts a rebuild, whose reads must begin after this call. Entries added while rebuilding are kept unless a
+     * row read by the rebuild is newer. Events removed while rebuilding are not loaded, so a row read before the
+     * removal committed does not resurrect a completed event; removals from before were committed when the rebuild
+     * read the table, so its rows take precedence over them.
+     */
+    public void beginRebuild() {
+        ready = false;
+        rebuildTicket = beginChange();
+        unseen.clear();
+        unseen.addAll(byId.keySet());
+    }
+
+    /**
+     * Loads one event read from the repository during a rebuild.
+     * @param id The event ID.
+     * @param name The event name.
+     * @param scheduledTime The scheduled time of the event.
+     * @param recurrence The repetition rule of the event, or null for a one-off event.
+     * @param version The version of the event.
+     */
+    public void load(long id, String name, Instant scheduledTime, Recurrence recurrence, long version) {
+        Entry entry = new Entry(id, name, scheduledTime, recurrence, version);
+        if (put(entry, true)) {
+            notifyListeners(entry);
+        }
+    }
+
+    /**
+     * Finishes a rebuild and marks the index as ready to serve due queries. Entries the rebuild did not load,
+     * and that were not changed while it ran, belong to events that are no longer scheduled and are dropped.
+     */
+    public void completeRebuild() {
+        for (Long eventId : unseen) {
+            byId.compute(eventId, (id, previous) -> {
+                if (!unseen.remove(id) || previous == null) {
+                    return previous;
+                }
+                byTime.remove(previous);
+                return null;
+            });
+        }
+        endChange(rebuildTicket);
+        purgeTombstones();
+        ready = true;
+    }
+
+    /**
+     * Stores an entry unless its event has a tombstone or a newer entry is held, and marks the event as seen by
+     * the current rebuild. Runs inside the map's per-key compute, so it is atomic with a concurrent
+     * {@link #remove(long)} of the same event.
+     * @param loaded Whether the entry was read by a rebuild, which only tombstones from after it began block and
+     *               which keeps an entry of the same version rather than replacing it.
+     * @return Whether the entry was stored.
+     */
+    private boolean put(Entry entry, boolean loaded) {
+        boolean[] stored = new boolean[1];
+        byId.compute(entry.getId(), (id, previous) -> {
+            unseen.remove(id);
+            Long removedAt = tombstones.get(id);
+            if (removedAt != null && (!loaded || removedAt > rebuildTicket)
+                    || previous != null && (previous.getVersion() > entry.getVersion()
+                    || loaded && previous.getVersion() == entry.getVersion())) {
+                return previous;
+            }
+            if (removedAt != null) {
+                tombstones.remove(id);
+            }
+            if (previous != null) {
+                byTime.remove(previous);
+            }
+            byTime.add(entry);
+            stored[0] = true;
+            return entry;
+        });
+        return stored[0];
+    }
+
+    /**
+     * Drops the tombstones that no open change can still need: those of removals older than every open change.
+     * Changes that began after a removal committed after it, so they cannot carry an older state of the event.
+     */
+    private synchronized void purgeTombstones() {
+        Long oldestOpen = openChanges.ceiling(Long.MIN_VALUE);
+        long horizon = oldestOpen != null ? oldestOpen : sequence.get() + 1;
+        tombstones.values().removeIf(removedAt -> removedAt < horizon);
+        purgeThreshold = Math.max(MIN_PURGE_THRESHOLD, tombstones.size() * 2);
+    }
+
+    /**
+     * Returns the number of tombstones held.
+     * @return The number of removed events still remembered.
+     */
+    int tombstoneCount() {
+        return tombstones.size();
+    }
+
+    private void notifyListeners(Entry entry) {
+        for (Listener listener : listeners) {
+            listener.onScheduled(entry);
+        }
+    }
+
+    /**
+     * A single indexed event.
+     */
+    @Value
+    public static class Entry {
+        long id;
+        String name;
+        Instant scheduledTime;
+        Recurrence recurrence;
+        long version;
+
+        /**
+         * Builds the entry of a scheduled event.
+         * @param event The scheduled event; must have an id and a scheduled time.
+         * @return The entry.
+         */
+        public static Entry of(Event event) {
+            return new Entry(event.getId(), event.getName(), event.getScheduledTime(), event.getRecurrence(),
+                    event.getVersion() == null ? 0 : event.getVersion());
+        }
+
+        Event toEvent() {
+            return Event.builder()
+                    .id(id)
+                    .name(name)
+                    .scheduledTime(scheduledTime)
+                    .status(EventStatus.SCHEDULED)
+                    .recurrence(recurrence)
+                    .version(version)
+                    .build();
+        }
+    }
+
+    /**
+     * Callback for components that need to react when an event enters the index,
+     * such as the {@link EventDispatcher}.
+     */
+    public interface Listener {
+        /**
+         * Called after an entry has been added or replaced.
+         * @param entry The new index entry.
+         */
+        void onScheduled(Entry entry);
+    }
+}
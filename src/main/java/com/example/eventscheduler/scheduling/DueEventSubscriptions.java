@@ -0,0 +1,393 @@
+package com.example.eventscheduler.scheduling;
+
+import com.example.eventscheduler.domain.Event;
+import com.example.eventscheduler.exception.TooManySubscribersException;
+import com.example.eventscheduler.service.ClockService;
+import com.example.eventscheduler.util.VirtualThreads;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pushes every event to a set of subscribers at the moment it falls due, so clients no longer have to poll
+ * {@code GET /api/events/due}.
+ * <p>
+ * Like the {@link EventDispatcher}, the hub keeps every entry added to the {@link DueEventIndex} on a delay
+ * queue ordered by scheduled time, and a single thread sleeps until the earliest deadline of
+ * {@link ClockService} time. Nothing is read from the database. Entries whose event was completed or
+ * rescheduled in the meantime are skipped. Unlike the dispatcher, the hub does not change the events: they
+ * stay SCHEDULED until a subscriber completes them.
+ * <p>
+ * Each subscriber has its own bounded buffer, drained by a small pool of sender threads, so a slow client
+ * never holds up the timer thread or the other subscribers. When a buffer is full, the subscriber's
+ * {@link OverflowPolicy} decides whether the oldest or the newest event is dropped or the subscriber is
+ * disconnected. A new subscriber first receives every event that is already due, so a client that
+ * reconnects after a disconnect catches up. Delivery is therefore at least once: an event that comes due
+ * while a client subscribes may be sent twice.
+ * <p>
+ * Enabled with {@code scheduler.subscriptions.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(name = "scheduler.subscriptions.enabled", havingValue = "true")
+public class DueEventSubscriptions implements SmartLifecycle, DueEventIndex.Listener {
+
+    private static final Logger logger = LoggerFactory.getLogger(DueEventSubscriptions.class);
+
+    private static final Comparator<DueEventIndex.Entry> BY_TIME_THEN_ID = Comparator
+            .comparing(DueEventIndex.Entry::getScheduledTime)
+            .thenComparingLong(DueEventIndex.Entry::getId);
+
+    /** Longest the timer thread sleeps before re-reading the clock. */
+    private static final Duration MAX_IDLE = Duration.ofMillis(100);
+
+    /** Events a sender sends to one subscriber before giving the other subscribers a turn. */
+    private static final int DRAIN_QUANTUM = 64;
+
+    private final DueEventIndex dueEventIndex;
+    private final ClockService clockService;
+    private final int maxSubscribers;
+    private final int maxBufferSize;
+    private final int senderThreads;
+    private final boolean virtualThreads;
+
+    private final PriorityQueue<DueEventIndex.Entry> queue = new PriorityQueue<>(BY_TIME_THEN_ID);
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition headChanged = lock.newCondition();
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final LongAdder published = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder disconnected = new LongAdder();
+
+    private volatile boolean running;
+    private Thread timerThread;
+    private ExecutorService senders;
+
+    /**
+     * Constructs the hub and subscribes it to the due-event index.
+     * @param dueEventIndex The index whose entries are pushed.
+     * @param clockService The source of the current time.
+     * @param maxSubscribers The maximum number of concurrent subscribers.
+     * @param maxBufferSize The largest buffer a subscriber may ask for.
+     * @param senderThreads The number of threads writing events to subscribers.
+     * @param virtualThreads Whether sender threads are virtual threads.
+     */
+    public DueEventSubscriptions(DueEventIndex dueEventIndex,
+                                 ClockService clockService,
+                                 @Value("${scheduler.subscriptions.max-subscribers:1000}") int maxSubscribers,
+                                 @Value("${scheduler.subscriptions.max-buffer-size:10000}") int maxBufferSize,
+                                 @Value("${scheduler.subscriptions.sender-threads:4}") int senderThreads,
+                                 @Value("${scheduler.virtual-threads.enabled:false}") boolean virtualThreads) {
+        this.dueEventIndex = dueEventIndex;
+        this.clockService = clockService;
+        this.maxSubscribers = maxSubscribers;
+        this.maxBufferSize = maxBufferSize;
+        this.senderThreads = senderThreads;
+        this.virtualThreads = virtualThreads;
+        dueEventIndex.addListener(this);
+    }
+
+    @Override
+    public void onScheduled(DueEventIndex.Entry entry) {
+        lock.lock();
+        try {
+            queue.add(entry);
+            if (queue.peek() == entry) {
+                headChanged.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Registers a subscriber and queues every event that is already due for it.
+     * @param bufferSize The number of events buffered for the subscriber; clamped to 1..max-buffer-size.
+     * @param policy What to do when the buffer is full.
+     * @param sink Where the subscriber's events are written.
+     * @return The subscription, to be passed to {@link #unsubscribe} when the client goes away.
+     * @throws TooManySubscribersException if max-subscribers are already connected.
+     */
+    public Subscription subscribe(int bufferSize, OverflowPolicy policy, Sink sink) {
+        Subscription subscription = new Subscription(Math.max(1, Math.min(bufferSize, maxBufferSize)), policy, sink);
+        synchronized (subscriptions) {
+            if (subscriptions.size() >= maxSubscribers) {
+                throw new TooManySubscribersException(maxSubscribers);
+            }
+            subscriptions.add(subscription);
+        }
+        if (dueEventIndex.isReady()) {
+            dueEventIndex.findDue(clockService.now()).forEach(subscription::offer);
+        }
+        return subscription;
+    }
+
+    /**
+     * Removes a subscriber; events still buffered for it are discarded.
+     * @param subscription The subscription returned by {@link #subscribe}.
+     */
+    public void unsubscribe(Subscription subscription) {
+        subscription.close(false);
+    }
+
+    @Override
+    public void start() {
+        ThreadFactory threadFactory = virtualThreads
+                ? VirtualThreads.threadFactory("subscription-sender-")
+                : new CustomizableThreadFactory("subscription-sender-");
+        senders = new ThreadPoolExecutor(senderThreads, senderThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), threadFactory);
+        running = true;
+        timerThread = new Thread(this::pushLoop, "due-event-push");
+        timerThread.setDaemon(true);
+        timerThread.start();
+        logger.info("Due event subscriptions started with {} sender thread(s)", senderThreads);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        lock.lock();
+        try {
+            headChanged.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        new ArrayList<>(subscriptions).forEach(subscription -> subscription.close(false));
+        try {
+            timerThread.join(TimeUnit.SECONDS.toMillis(5));
+            senders.shutdown();
+            senders.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Returns the number of subscribers and what has been pushed, delivered and dropped since startup.
+     * @return The current subscription statistics.
+     */
+    public Stats getStats() {
+        return new Stats(subscriptions.size(), published.sum(), delivered.sum(), dropped.sum(),
+                disconnected.sum());
+    }
+
+    /**
+     * Takes every entry scheduled strictly before the current clock time off the queue and offers its event to
+     * all subscribers. Called by the timer thread; package-private so tests can drive it directly.
+     * @return The number of events published.
+     */
+    int publishDue() {
+        List<Event> due = new ArrayList<>();
+        lock.lock();
+        try {
+            Instant now = clockService.now();
+            while (!queue.isEmpty() && queue.peek().getScheduledTime().isBefore(now)) {
+                DueEventIndex.Entry entry = queue.poll();
+                if (entry.equals(dueEventIndex.get(entry.getId()))) {
+                    due.add(entry.toEvent());
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        for (Event event : due) {
+            for (Subscription subscription : subscriptions) {
+                subscription.offer(event);
+            }
+        }
+        published.add(due.size());
+        return due.size();
+    }
+
+    private void pushLoop() {
+        while (running) {
+            try {
+                awaitDue();
+                publishDue();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Due event push loop failed", e);
+            }
+        }
+    }
+
+    private void awaitDue() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (running) {
+                DueEventIndex.Entry head = queue.peek();
+                long waitNanos = MAX_IDLE.toNanos();
+                if (head != null) {
+                    Duration delay = Duration.between(clockService.now(), head.getScheduledTime());
+                    if (delay.isNegative()) {
+                        return;
+                    }
+                    // An event falls due once the clock has passed its scheduled time
+                    waitNanos = Math.min(waitNanos, delay.toNanos() + 1);
+                }
+                headChanged.awaitNanos(waitNanos);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * What happens to a subscriber whose buffer is full when another event comes due.
+     */
+    public enum OverflowPolicy {
+        /** Discard the oldest buffered event to make room. */
+        DROP_OLDEST,
+        /** Discard the event that just came due. */
+        DROP_NEWEST,
+        /** Treat the subscriber as a slow consumer and disconnect it; it catches up when it reconnects. */
+        DISCONNECT
+    }
+
+    /**
+     * Destination of one subscriber's events, such as a server-sent event stream.
+     */
+    public interface Sink {
+        /**
+         * Writes one event to the client. May block while the client is slow to read.
+         * @param event The due event.
+         * @throws IOException if the client has gone away; the subscription is then closed.
+         */
+        void send(Event event) throws IOException;
+
+        /**
+         * Ends the stream, e.g. because the subscriber fell too far behind.
+         */
+        void close();
+    }
+
+    /**
+     * A registered subscriber with its buffer of events not yet written to its {@link Sink}.
+     */
+    public final class Subscription {
+        private final int capacity;
+        private final OverflowPolicy policy;
+        private final Sink sink;
+        private final ArrayDeque<Event> buffer = new ArrayDeque<>();
+        private boolean draining;
+        private boolean closed;
+
+        private Subscription(int capacity, OverflowPolicy policy, Sink sink) {
+            this.capacity = capacity;
+            this.policy = policy;
+            this.sink = sink;
+        }
+
+        private void offer(Event event) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                if (buffer.size() >= capacity) {
+                    if (policy == OverflowPolicy.DISCONNECT) {
+                        dropped.add(buffer.size() + 1L);
+                        disconnected.increment();
+                    } else {
+                        dropped.increment();
+                        if (policy == OverflowPolicy.DROP_NEWEST) {
+                            return;
+                        }
+                        buffer.poll();
+                    }
+                }
+                if (buffer.size() < capacity) {
+                    buffer.add(event);
+                    if (!draining) {
+                        draining = true;
+                        senders.execute(this::drain);
+                    }
+                    return;
+                }
+            }
+            close(true);
+        }
+
+        private void drain() {
+            for (int sent = 0; sent < DRAIN_QUANTUM; sent++) {
+                Event event;
+                synchronized (this) {
+                    event = buffer.poll();
+                    if (event == null) {
+                        draining = false;
+                        return;
+                    }
+                }
+                try {
+                    sink.send(event);
+                    delivered.increment();
+                } catch (IOException | RuntimeException e) {
+                    logger.debug("Dropping subscriber after failed send", e);
+                    close(false);
+                    return;
+                }
+            }
+            senders.execute(this::drain);
+        }
+
+        private void close(boolean endStream) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                buffer.clear();
+            }
+            subscriptions.remove(this);
+            if (endStream) {
+                sink.close();
+            }
+        }
+    }
+
+    /**
+     * Point-in-time subscription statistics.
+     */
+    @lombok.Value
+    public static class Stats {
+        int subscribers;
+        /** Events that came due and were offered to the subscribers. */
+        long published;
+        /** Events written to a subscriber. */
+        long delivered;
+        /** Events discarded because a subscriber's buffer was full. */
+        long dropped;
+        /** Subscribers disconnected as slow consumers. */
+        long disconnected;
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.eventscheduler.scheduling;
+
+import com.example.eventscheduler.service.ClockService;
+import com.example.eventscheduler.service.EventArchive;
+import com.example.eventscheduler.service.SharedCounterService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Background job moving terminal events from the hot "events" table into the {@link EventArchive}.
+ * <p>
+ * Every {@code scheduler.archive.interval-ms} it archives COMPLETED and CANCELLED events whose scheduled time
+ * is more than {@code hot-retention-ms} in the past, in transactions of {@code batch-size} events, until no
+ * such event is left. Events have no completion timestamp, so their scheduled time stands in for it: an event
+ * completed long before its scheduled time stays hot until that time has passed too. With a positive
+ * {@code archive-retention-ms}, archived events are deleted for good that long after they were archived.
+ * Archived events are counted as {@link SharedCounterService.Counter#ARCHIVED}.
+ * <p>
+ * Enabled with {@code scheduler.archive.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(name = "scheduler.archive.enabled", havingValue = "true")
+public class EventArchiver {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventArchiver.class);
+
+    private final EventArchive eventArchive;
+    private final ClockService clockService;
+    private final SharedCounterService counters;
+    private final Duration hotRetention;
+    private final Duration archiveRetention;
+    private final int batchSize;
+
+    /**
+     * Constructs the archiver.
+     * @param eventArchive The archive to move events into.
+     * @param clockService The source of the current time.
+     * @param counters The registry counting archived events.
+     * @param hotRetentionMillis How long terminal events stay in the events table after their scheduled time.
+     * @param archiveRetentionMillis How long archived events are kept; 0 keeps them forever.
+     * @param batchSize The maximum number of events moved per transaction.
+     */
+    public EventArchiver(EventArchive eventArchive,
+                         ClockService clockService,
+                         SharedCounterService counters,
+                         @Value("${scheduler.archive.hot-retention-ms:86400000}") long hotRetentionMillis,
+                         @Value("${scheduler.archive.archive-retention-ms:0}") long archiveRetentionMillis,
+                         @Value("${scheduler.archive.batch-size:1000}") int batchSize) {
+        this.eventArchive = eventArchive;
+        this.clockService = clockService;
+        this.counters = counters;
+        this.hotRetention = Duration.ofMillis(hotRetentionMillis);
+        this.archiveRetention = Duration.ofMillis(archiveRetentionMillis);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Runs one archival pass; scheduled with a fixed delay of {@code scheduler.archive.interval-ms}.
+     */
+    @Scheduled(fixedDelayString = "${scheduler.archive.interval-ms:60000}",
+            initialDelayString = "${scheduler.archive.interval-ms:60000}")
+    public void run() {
+        try {
+            archiveAll();
+        } catch (RuntimeException e) {
+            logger.error("Event archival failed", e);
+        }
+    }
+
+    /**
+     * Archives every terminal event past the hot retention, one batch per transaction, and purges archived
+     * events past the archive retention. Package-private so tests can drive it directly.
+     * @return The number of events archived.
+     */
+    int archiveAll() {
+        Instant now = clockService.now();
+        Instant cutoff = now.minus(hotRetention);
+        int archived = 0;
+        int batch;
+        do {
+            batch = eventArchive.archiveBatch(cutoff, now, batchSize);
+            counters.add(SharedCounterService.Counter.ARCHIVED, batch);
+            archived += batch;
+        } while (batch == batchSize);
+        int purged = archiveRetention.isZero() ? 0 : eventArchive.purge(now.minus(archiveRetention));
+        if (archived > 0 || purged > 0) {
+            logger.info("Archived {} event(s), purged {} archived event(s)", archived, purged);
+        }
+        return archived;
+    }
+}
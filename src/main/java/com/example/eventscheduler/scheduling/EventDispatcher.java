@@ -0,0 +1,381 @@
+package com.example.eventscheduler.scheduling;
+
+import com.example.eventscheduler.domain.Event;
+import com.example.eventscheduler.metrics.LatencyHistogram;
+import com.example.eventscheduler.service.ClockService;
+import com.example.eventscheduler.service.EventService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Push-based dispatcher that fires events when their scheduled time arrives.
+ * <p>
+ * Every entry added to the {@link DueEventIndex} is also placed on a delay queue ordered by scheduled time. A
+ * single dispatcher thread sleeps until the earliest deadline (as reported by {@link ClockService}), drains
+ * everything that is due in batches and hands each batch to a small worker pool. As in
+ * {@link DueEventIndex#findDue}, an event is due once the clock has passed its scheduled time, not when it
+ * reaches it.
+ * Workers first claim the batch through {@link EventService#markDispatched}, which moves each occurrence out of
+ * SCHEDULED only if it is unchanged since it was indexed, and then run all registered {@link DueEventHandler}s
+ * for the events they won. An event completed, cancelled or rescheduled between indexing and claiming is
+ * therefore never handed to a handler, and a handler failure is counted but does not put the event back. Entries
+ * whose event has left the index are skipped, so the queue never has to support removal.
+ * <p>
+ * Events that are already more than {@code catch-up.threshold-ms} late when they come due, typically the
+ * backlog rebuilt from the database after downtime, are moved to a separate catch-up lane instead of being
+ * fired at once. The lane is drained oldest first in batches of {@code catch-up.batch-size}, at no more than
+ * {@code catch-up.rate} events per second of {@link ClockService} time and on at most {@code workers - 1}
+ * workers (one if there is only one), while on-time events keep being dispatched ahead of it. This bounds
+ * the load a backlog puts on the database and on the handlers' downstream services.
+ * <p>
+ * Enabled with {@code scheduler.dispatcher.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(name = "scheduler.dispatcher.enabled", havingValue = "true")
+public class EventDispatcher implements SmartLifecycle, DueEventIndex.Listener {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventDispatcher.class);
+
+    private static final Comparator<DueEventIndex.Entry> BY_TIME_THEN_ID = Comparator
+            .comparing(DueEventIndex.Entry::getScheduledTime)
+            .thenComparingLong(DueEventIndex.Entry::getId);
+
+    private final DueEventIndex dueEventIndex;
+    private final ClockService clockService;
+    private final EventService eventService;
+    private final List<DueEventHandler> handlers;
+    private final int batchSize;
+    private final int workers;
+    private final Duration maxIdle;
+
+    private final Duration catchUpThreshold;
+    private final int catchUpBatchSize;
+    private final double catchUpRate;
+    private final int maxBacklogBatches;
+
+    private final PriorityQueue<DueEventIndex.Entry> queue = new PriorityQueue<>(BY_TIME_THEN_ID);
+    private final PriorityQueue<DueEventIndex.Entry> backlog = new PriorityQueue<>(BY_TIME_THEN_ID);
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition headChanged = lock.newCondition();
+    private final LatencyHistogram lateness = new LatencyHistogram();
+    private final LongAdder fired = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder caughtUp = new LongAdder();
+    private final AtomicInteger backlogBatchesInFlight = new AtomicInteger();
+
+    private double catchUpTokens;
+    private Instant catchUpRefilledAt;
+    private volatile boolean running;
+    private Thread dispatcherThread;
+    private ThreadPoolExecutor workerPool;
+
+    /**
+     * Constructs the dispatcher and subscribes it to the due-event index.
+     * @param dueEventIndex The index whose entries are dispatched.
+     * @param clockService The source of the current time.
+     * @param eventService The service used to move fired events out of SCHEDULED.
+     * @param handlers The handlers to run for every due event.
+     * @param batchSize The maximum number of events handed to a worker at once.
+     * @param workers The number of worker threads running handlers.
+     * @param maxIdleMillis The longest the dispatcher sleeps before re-reading the clock.
+     * @param catchUpThresholdMillis How late a due event may be before it joins the catch-up lane.
+     * @param catchUpBatchSize The maximum number of catch-up events handed to a worker at once.
+     * @param catchUpRate The maximum number of catch-up events fired per second.
+     */
+    public EventDispatcher(DueEventIndex dueEventIndex,
+                           ClockService clockService,
+                           EventService eventService,
+                           ObjectProvider<DueEventHandler> handlers,
+                           @Value("${scheduler.dispatcher.batch-size:1000}") int batchSize,
+                           @Value("${scheduler.dispatcher.workers:2}") int workers,
+                           @Value("${scheduler.dispatcher.max-idle-ms:100}") long maxIdleMillis,
+                           @Value("${scheduler.dispatcher.catch-up.threshold-ms:5000}") long catchUpThresholdMillis,
+                           @Value("${scheduler.dispatcher.catch-up.batch-size:100}") int catchUpBatchSize,
+                           @Value("${scheduler.dispatcher.catch-up.rate:1000}") double catchUpRate) {
+        if (catchUpRate <= 0) {
+            throw new IllegalArgumentException("scheduler.dispatcher.catch-up.rate must be positive");
+        }
+        this.dueEventIndex = dueEventIndex;
+        this.clockService = clockService;
+        this.eventService = eventService;
+        this.handlers = handlers.orderedStream().collect(Collectors.toList());
+        this.batchSize = batchSize;
+        this.workers = workers;
+        this.maxIdle = Duration.ofMillis(maxIdleMillis);
+        this.catchUpThreshold = Duration.ofMillis(catchUpThresholdMillis);
+        this.catchUpBatchSize = catchUpBatchSize;
+        this.catchUpRate = catchUpRate;
+        this.maxBacklogBatches = Math.max(1, workers - 1);
+        this.catchUpTokens = catchUpBatchSize;
+        dueEventIndex.addListener(this);
+    }
+
+    @Override
+    public void onScheduled(DueEventIndex.Entry entry) {
+        lock.lock();
+        try {
+            queue.add(entry);
+            if (queue.peek() == entry) {
+                headChanged.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void start() {
+        workerPool = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workers * 4), new CustomizableThreadFactory("event-dispatch-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        running = true;
+        dispatcherThread = new Thread(this::dispatchLoop, "event-dispatcher");
+        dispatcherThread.setDaemon(true);
+        dispatcherThread.start();
+        logger.info("Event dispatcher started with {} handler(s) and {} worker(s)", handlers.size(), workers);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        lock.lock();
+        try {
+            headChanged.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            dispatcherThread.join(TimeUnit.SECONDS.toMillis(5));
+            workerPool.shutdown();
+            workerPool.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Returns dispatch counters, the lateness histogram (scheduled time to firing time), the size of the
+     * catch-up backlog and how long draining it takes at the configured rate.
+     * @return The current dispatcher statistics.
+     */
+    public Stats getStats() {
+        int queued;
+        int backlogSize;
+        lock.lock();
+        try {
+            queued = queue.size();
+            backlogSize = backlog.size();
+        } finally {
+            lock.unlock();
+        }
+        long drainMillis = (long) Math.ceil(backlogSize * 1000 / catchUpRate);
+        return new Stats(queued, fired.sum(), failed.sum(), lateness.snapshot(), backlogSize, drainMillis,
+                caughtUp.sum());
+    }
+
+    private void dispatchLoop() {
+        while (running) {
+            try {
+                Batch batch = awaitDueBatch();
+                if (batch.catchUp) {
+                    workerPool.execute(() -> fireCatchUp(batch.entries));
+                } else if (!batch.entries.isEmpty()) {
+                    workerPool.execute(() -> fire(batch.entries));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Event dispatcher loop failed", e);
+            }
+        }
+    }
+
+    private Batch awaitDueBatch() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (running) {
+                Instant now = clockService.now();
+                moveLateToBacklog(now);
+                DueEventIndex.Entry head = queue.peek();
+                long waitNanos = maxIdle.toNanos();
+                if (head != null) {
+                    Duration delay = Duration.between(now, head.getScheduledTime());
+                    if (delay.isNegative()) {
+                        return new Batch(drainDue(now), false);
+                    }
+                    // An event falls due once the clock has passed its scheduled time
+                    waitNanos = Math.min(waitNanos, delay.toNanos() + 1);
+                }
+                if (!backlog.isEmpty() && backlogBatchesInFlight.get() < maxBacklogBatches) {
+                    refillCatchUpTokens(now);
+                    int wanted = Math.min(catchUpBatchSize, backlog.size());
+                    if (catchUpTokens >= wanted) {
+                        return new Batch(drainBacklog(wanted), true);
+                    }
+                    waitNanos = Math.min(waitNanos, (long) ((wanted - catchUpTokens) / catchUpRate * 1e9) + 1);
+                }
+                headChanged.awaitNanos(waitNanos);
+            }
+            return new Batch(List.of(), false);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void moveLateToBacklog(Instant now) {
+        Instant lateBefore = now.minus(catchUpThreshold);
+        while (!queue.isEmpty() && queue.peek().getScheduledTime().isBefore(lateBefore)) {
+            backlog.add(queue.poll());
+        }
+    }
+
+    /**
+     * Token bucket behind the catch-up rate: tokens accrue at {@code catchUpRate} per second of clock time,
+     * up to one batch, and every catch-up event takes one.
+     */
+    private void refillCatchUpTokens(Instant now) {
+        if (catchUpRefilledAt == null) {
+            catchUpRefilledAt = now;
+        } else if (now.isAfter(catchUpRefilledAt)) {
+            double elapsedSeconds = Duration.between(catchUpRefilledAt, now).toNanos() / 1e9;
+            catchUpTokens = Math.min(catchUpBatchSize, catchUpTokens + elapsedSeconds * catchUpRate);
+            catchUpRefilledAt = now;
+        }
+    }
+
+    /**
+     * Takes up to {@code limit} live entries off the backlog, oldest first. Entries whose event left the
+     * index in the meantime are dropped without using up the rate limit.
+     */
+    private List<DueEventIndex.Entry> drainBacklog(int limit) {
+        List<DueEventIndex.Entry> batch = new ArrayList<>(limit);
+        while (batch.size() < limit && !backlog.isEmpty()) {
+            DueEventIndex.Entry entry = backlog.poll();
+            if (entry.equals(dueEventIndex.get(entry.getId()))) {
+                batch.add(entry);
+            }
+        }
+        catchUpTokens -= batch.size();
+        backlogBatchesInFlight.incrementAndGet();
+        return batch;
+    }
+
+    private List<DueEventIndex.Entry> drainDue(Instant now) {
+        List<DueEventIndex.Entry> batch = new ArrayList<>(Math.min(batchSize, queue.size()));
+        while (batch.size() < batchSize && !queue.isEmpty() && queue.peek().getScheduledTime().isBefore(now)) {
+            batch.add(queue.poll());
+        }
+        return batch;
+    }
+
+    private void fireCatchUp(List<DueEventIndex.Entry> batch) {
+        try {
+            caughtUp.add(fire(batch));
+        } finally {
+            backlogBatchesInFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * Claims the live entries of the batch and runs the handlers for the events this worker won.
+     * @return The number of events fired.
+     */
+    private int fire(List<DueEventIndex.Entry> batch) {
+        List<Event> live = new ArrayList<>(batch.size());
+        for (DueEventIndex.Entry entry : batch) {
+            if (entry.equals(dueEventIndex.get(entry.getId()))) {
+                live.add(entry.toEvent());
+            }
+        }
+        if (live.isEmpty()) {
+            return 0;
+        }
+        Set<Long> claimed;
+        try {
+            claimed = new HashSet<>(eventService.markDispatched(live));
+        } catch (RuntimeException e) {
+            failed.add(live.size());
+            logger.error("Failed to claim {} due event(s)", live.size(), e);
+            return 0;
+        }
+        Instant now = clockService.now();
+        int count = 0;
+        for (Event event : live) {
+            if (!claimed.remove(event.getId())) {
+                continue;
+            }
+            lateness.record(ChronoUnit.MICROS.between(event.getScheduledTime(), now));
+            for (DueEventHandler handler : handlers) {
+                try {
+                    handler.onDue(event);
+                } catch (RuntimeException e) {
+                    failed.increment();
+                    logger.warn("Handler {} failed for event {}", handler.getClass().getSimpleName(), event.getId(), e);
+                }
+            }
+            count++;
+        }
+        fired.add(count);
+        return count;
+    }
+
+    /**
+     * Point-in-time dispatcher statistics.
+     */
+    @lombok.Value
+    public static class Stats {
+        int queued;
+        long fired;
+        long failed;
+        LatencyHistogram.Snapshot latenessMicros;
+        /** Late events waiting in the catch-up lane. */
+        int backlog;
+        /** How long draining the catch-up lane takes at the configured rate. */
+        long backlogDrainMillis;
+        /** Events fired through the catch-up lane. */
+        long caughtUp;
+    }
+
+    /**
+     * Entries taken off one of the two lanes, to be fired by one worker.
+     */
+    private static final class Batch {
+        private final List<DueEventIndex.Entry> entries;
+        private final boolean catchUp;
+
+        Batch(List<DueEventIndex.Entry> entries, boolean catchUp) {
+            this.entries = entries;
+            this.catchUp = catchUp;
+        }
+    }
+}
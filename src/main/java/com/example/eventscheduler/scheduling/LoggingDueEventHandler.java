@@ -0,0 +1,20 @@
+package com.example.eventscheduler.scheduling;
+
+import com.example.eventscheduler.domain.Event;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Default {@link DueEventHandler} that logs every fired event at debug level.
+ */
+@Component
+public class LoggingDueEventHandler implements DueEventHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoggingDueEventHandler.class);
+
+    @Override
+    public void onDue(Event event) {
+        logger.debug("Event due: {} ({}) scheduled at {}", event.getName(), event.getId(), event.getScheduledTime());
+    }
+}
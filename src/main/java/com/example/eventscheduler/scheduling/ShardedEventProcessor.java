@@ -0,0 +1,223 @@
+package com.example.eventscheduler.scheduling;
+
+import com.example.eventscheduler.domain.Event;
+import com.example.eventscheduler.service.ClockService;
+import com.example.eventscheduler.service.EventService;
+import com.example.eventscheduler.service.ShardLeaseService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Fires due events on one of several nodes sharing the same database.
+ * <p>
+ * Events are partitioned into {@code scheduler.sharding.shards} shards by {@code id mod shards}, and each
+ * node holds time-limited leases on its share of them through {@link ShardLeaseService}. A single thread
+ * per node renews the leases every third of the lease duration and, in between, polls the database for
+ * due events in its own shards, claims them through {@link EventService#markDispatched} and runs all
+ * {@link DueEventHandler}s for the events it won, so an event changed since it was read is never handled.
+ * Because lease changes and processing happen on the same thread, a shard is never given up in the
+ * middle of a batch. A node also stops processing once less than half of its lease remains without a
+ * successful renewal, so a node that lost contact with the database stops before another one takes over.
+ * Nodes only coordinate through the database, so adding a node splits the shards, and the polling work,
+ * one way further.
+ * <p>
+ * Enabled with {@code scheduler.sharding.enabled=true}, instead of the single-node {@link EventDispatcher}.
+ */
+@Component
+@ConditionalOnProperty(name = "scheduler.sharding.enabled", havingValue = "true")
+public class ShardedEventProcessor implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardedEventProcessor.class);
+
+    private final ShardLeaseService shardLeaseService;
+    private final EventService eventService;
+    private final ClockService clockService;
+    private final List<DueEventHandler> handlers;
+    private final String nodeId;
+    private final int shardCount;
+    private final Duration leaseDuration;
+    private final long pollIntervalMillis;
+    private final int batchSize;
+
+    private final LongAdder fired = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    private volatile List<Integer> ownedShards = List.of();
+    private volatile boolean running;
+    private Instant leaseValidUntil = Instant.MIN;
+    private Instant nextRebalance = Instant.MIN;
+    private Thread processorThread;
+
+    /**
+     * Constructs the processor for one node.
+     * @param shardLeaseService The service distributing shards over nodes.
+     * @param eventService The service used to read due events and move fired events out of SCHEDULED.
+     * @param clockService The source of the current time for leases.
+     * @param handlers The handlers to run for every due event.
+     * @param nodeId The ID of this node; a random one is generated when blank.
+     * @param shardCount The number of shards; must be the same on every node.
+     * @param leaseMillis How long a lease and a heartbeat stay valid without renewal.
+     * @param pollIntervalMillis How long the processor sleeps when its shards have no due events.
+     * @param batchSize The maximum number of events read and fired at once.
+     */
+    public ShardedEventProcessor(ShardLeaseService shardLeaseService,
+                                 EventService eventService,
+                                 ClockService clockService,
+                                 ObjectProvider<DueEventHandler> handlers,
+                                 @Value("${scheduler.sharding.node-id:}") String nodeId,
+                                 @Value("${scheduler.sharding.shards:16}") int shardCount,
+                                 @Value("${scheduler.sharding.lease-ms:10000}") long leaseMillis,
+                                 @Value("${scheduler.sharding.poll-interval-ms:200}") long pollIntervalMillis,
+                                 @Value("${scheduler.sharding.batch-size:500}") int batchSize) {
+        this.shardLeaseService = shardLeaseService;
+        this.eventService = eventService;
+        this.clockService = clockService;
+        this.handlers = handlers.orderedStream().collect(Collectors.toList());
+        this.nodeId = nodeId == null || nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+        this.shardCount = shardCount;
+        this.leaseDuration = Duration.ofMillis(leaseMillis);
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void start() {
+        try {
+            shardLeaseService.createShards(shardCount);
+        } catch (DataIntegrityViolationException e) {
+            logger.debug("Shard leases were created concurrently by another node", e);
+        }
+        running = true;
+        processorThread = new Thread(this::processLoop, "sharded-processor");
+        processorThread.setDaemon(true);
+        processorThread.start();
+        logger.info("Sharded processor started as node {} with {} shard(s) and {} handler(s)",
+                nodeId, shardCount, handlers.size());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        processorThread.interrupt();
+        try {
+            processorThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            shardLeaseService.leave(nodeId);
+        } catch (RuntimeException e) {
+            logger.warn("Node {} could not release its shards; they are taken over once the leases expire", nodeId, e);
+        }
+        ownedShards = List.of();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Returns this node's ID, owned shards and dispatch counters.
+     * @return The current processor status.
+     */
+    public Status getStatus() {
+        return new Status(nodeId, ownedShards, fired.sum(), failed.sum());
+    }
+
+    /**
+     * Records a heartbeat, renews this node's leases and claims or releases shards towards its fair share.
+     * Called by the processor thread every third of the lease duration.
+     */
+    void rebalance() {
+        Instant now = clockService.now();
+        ownedShards = List.copyOf(shardLeaseService.rebalance(nodeId, shardCount, now, leaseDuration));
+        leaseValidUntil = now.plus(leaseDuration);
+        nextRebalance = now.plus(leaseDuration.dividedBy(3));
+    }
+
+    /**
+     * Fires one batch of due events from this node's shards.
+     * Does nothing while less than half of the lease is left since the last successful renewal.
+     * @return The number of due events read, so the loop keeps going while there is a full batch.
+     */
+    int processDue() {
+        List<Integer> shards = ownedShards;
+        if (shards.isEmpty() || clockService.now().isAfter(leaseValidUntil.minus(leaseDuration.dividedBy(2)))) {
+            return 0;
+        }
+        List<Event> due = eventService.getDueEventsInShards(shards, shardCount, batchSize);
+        if (due.isEmpty()) {
+            return 0;
+        }
+        Set<Long> claimed = new HashSet<>(eventService.markDispatched(due));
+        int count = 0;
+        for (Event event : due) {
+            if (!claimed.remove(event.getId())) {
+                continue;
+            }
+            for (DueEventHandler handler : handlers) {
+                try {
+                    handler.onDue(event);
+                } catch (RuntimeException e) {
+                    failed.increment();
+                    logger.warn("Handler {} failed for event {}", handler.getClass().getSimpleName(), event.getId(), e);
+                }
+            }
+            count++;
+        }
+        fired.add(count);
+        return due.size();
+    }
+
+    private void processLoop() {
+        while (running) {
+            try {
+                if (!clockService.now().isBefore(nextRebalance)) {
+                    rebalance();
+                }
+                if (processDue() < batchSize) {
+                    Thread.sleep(pollIntervalMillis);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Sharded processor loop failed on node {}", nodeId, e);
+                try {
+                    Thread.sleep(pollIntervalMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Point-in-time status of a processing node.
+     */
+    @lombok.Value
+    public static class Status {
+        String nodeId;
+        List<Integer> ownedShards;
+        long fired;
+        long failed;
+    }
+}
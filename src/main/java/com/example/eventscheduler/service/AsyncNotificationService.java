@@ -0,0 +1,200 @@
+package com.example.eventscheduler.service;
+
+import com.example.eventscheduler.util.TransactionCallbacks;
+import com.example.eventscheduler.util.VirtualThreads;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous, batching {@link NotificationService} placed in front of {@link NotificationServiceImpl}.
+ * <p>
+ * Messages are queued only after the surrounding transaction commits, so callers such as
+ * {@link EventService#completeEvent(Long)} no longer hold a transaction or a request thread for the
+ * duration of the notification call. Worker threads drain the bounded queue in batches of up to
+ * {@code batch-size} messages, waiting at most {@code linger-ms} for a batch to fill up.
+ * When the queue stays full for longer than {@code offer-timeout-ms}, the message is delivered on the
+ * caller's thread instead, which slows producers down rather than dropping notifications.
+ * With {@code scheduler.virtual-threads.enabled=true} the workers are virtual threads, so many of them
+ * can wait on the notification transport without pinning platform threads.
+ * Delivered and failed messages are counted as {@link SharedCounterService.Counter#NOTIFIED} and
+ * {@link SharedCounterService.Counter#FAILED}.
+ * <p>
+ * Queued messages are lost if the process dies before delivering them; with
+ * {@code scheduler.notifications.outbox.enabled=true} the durable {@link OutboxNotificationService} is used instead.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "scheduler.notifications.outbox.enabled", havingValue = "false", matchIfMissing = true)
+public class AsyncNotificationService implements NotificationService, SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncNotificationService.class);
+
+    private static final long POLL_INTERVAL_MILLIS = 100;
+
+    private final NotificationService delegate;
+    private final SharedCounterService counters;
+    private final BlockingQueue<String> queue;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final long offerTimeoutMillis;
+    private final int workers;
+    private final boolean virtualThreads;
+
+    private volatile boolean running;
+    private ExecutorService workerPool;
+
+    /**
+     * Constructs the pipeline around the notification service that actually delivers messages.
+     * @param delegate The notification service used for delivery.
+     * @param counters The registry counting delivered and failed messages.
+     * @param capacity The maximum number of queued messages.
+     * @param batchSize The maximum number of messages delivered in one call.
+     * @param lingerMillis How long a worker waits for a batch to fill up before delivering it.
+     * @param offerTimeoutMillis How long a producer waits for queue space before delivering itself.
+     * @param workers The number of delivery threads.
+     * @param virtualThreads Whether delivery threads are virtual threads.
+     */
+    public AsyncNotificationService(NotificationServiceImpl delegate,
+                                    SharedCounterService counters,
+                                    @Value("${scheduler.notifications.queue-capacity:10000}") int capacity,
+                                    @Value("${scheduler.notifications.batch-size:100}") int batchSize,
+                                    @Value("${scheduler.notifications.linger-ms:50}") long lingerMillis,
+                                    @Value("${scheduler.notifications.offer-timeout-ms:100}") long offerTimeoutMillis,
+                                    @Value("${scheduler.notifications.workers:1}") int workers,
+                                    @Value("${scheduler.virtual-threads.enabled:false}") boolean virtualThreads) {
+        this.delegate = delegate;
+        this.counters = counters;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.workers = workers;
+        this.virtualThreads = virtualThreads;
+    }
+
+    /**
+     * Queues a notification for delivery once the current transaction commits.
+     * @param message The message to send.
+     */
+    @Override
+    public void notifyUser(String message) {
+        TransactionCallbacks.afterCommit(() -> enqueue(message));
+    }
+
+    /**
+     * Queues a batch of notifications for delivery once the current transaction commits.
+     * @param messages The messages to send.
+     */
+    @Override
+    public void notifyUsers(List<String> messages) {
+        List<String> copy = List.copyOf(messages);
+        TransactionCallbacks.afterCommit(() -> copy.forEach(this::enqueue));
+    }
+
+    /**
+     * Returns the number of messages waiting for delivery.
+     * @return The queue size.
+     */
+    public int getPendingCount() {
+        return queue.size();
+    }
+
+    @Override
+    public void start() {
+        ThreadFactory threadFactory = virtualThreads
+                ? VirtualThreads.threadFactory("notification-")
+                : new CustomizableThreadFactory("notification-");
+        workerPool = Executors.newFixedThreadPool(workers, threadFactory);
+        running = true;
+        for (int i = 0; i < workers; i++) {
+            workerPool.execute(this::drainLoop);
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        workerPool.shutdown();
+        try {
+            if (!workerPool.awaitTermination(5, TimeUnit.SECONDS)) {
+                logger.warn("Notification workers did not finish; {} message(s) not delivered", queue.size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void enqueue(String message) {
+        try {
+            if (running && queue.offer(message, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        deliver(List.of(message));
+    }
+
+    private void drainLoop() {
+        while (running || !queue.isEmpty()) {
+            try {
+                String first = queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    deliver(collectBatch(first));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private List<String> collectBatch(String first) throws InterruptedException {
+        List<String> batch = new ArrayList<>(batchSize);
+        batch.add(first);
+        long deadline = System.nanoTime() + lingerNanos;
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0) {
+                break;
+            }
+            String next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return batch;
+    }
+
+    private void deliver(List<String> batch) {
+        try {
+            delegate.notifyUsers(batch);
+            counters.add(SharedCounterService.Counter.NOTIFIED, batch.size());
+        } catch (RuntimeException e) {
+            counters.add(SharedCounterService.Counter.FAILED, batch.size());
+            logger.error("Failed to deliver {} notification(s)", batch.size(), e);
+        }
+    }
+}
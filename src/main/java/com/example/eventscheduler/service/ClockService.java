@@ -4,6 +4,7 @@ import com.example.eventscheduler.util.SystemClock;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.time.ZoneId;
 
 /**
  * A service that provides access to the current time through the {@link SystemClock}.
@@ -29,4 +30,12 @@ public class ClockService {
     public Instant now() {
         return systemClock.now();
     }
+
+    /**
+     * Returns the time zone of the underlying clock, used to evaluate cron recurrence rules.
+     * @return The clock's ZoneId.
+     */
+    public ZoneId getZone() {
+        return systemClock.getZone();
+    }
 }
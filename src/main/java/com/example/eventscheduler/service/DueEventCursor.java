@@ -0,0 +1,49 @@
+package com.example.eventscheduler.service;
+
+import com.example.eventscheduler.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor over (scheduledTime, id), encoded as URL-safe Base64 so clients
+ * treat it as a token rather than building it themselves.
+ */
+final class DueEventCursor {
+
+    private final Instant scheduledTime;
+    private final long id;
+
+    DueEventCursor(Instant scheduledTime, long id) {
+        this.scheduledTime = scheduledTime;
+        this.id = id;
+    }
+
+    Instant getScheduledTime() {
+        return scheduledTime;
+    }
+
+    long getId() {
+        return id;
+    }
+
+    String encode() {
+        String raw = scheduledTime.getEpochSecond() + ":" + scheduledTime.getNano() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    static DueEventCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            String[] parts = raw.split(":");
+            if (parts.length != 3) {
+                throw new InvalidCursorException(cursor);
+            }
+            Instant time = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+            return new DueEventCursor(time, Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException | java.time.DateTimeException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.eventscheduler.service;
+
+import com.example.eventscheduler.domain.ArchivedEvent;
+import com.example.eventscheduler.domain.EventStatus;
+import com.example.eventscheduler.dto.ArchivedEventPage;
+import com.example.eventscheduler.exception.EventNotFoundException;
+import com.example.eventscheduler.repository.ArchivedEventRepository;
+import com.example.eventscheduler.repository.EventRepository;
+import com.example.eventscheduler.util.TransactionCallbacks;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Cold storage for events in a terminal state, in the "events_archive" table.
+ * <p>
+ * {@link #archiveBatch} moves the oldest COMPLETED and CANCELLED events out of the "events" table in one
+ * transaction: it copies them with a single {@code insert ... select} and deletes them with a single
+ * set-based delete, so the hot table and its {@code (status, scheduled_time)} index only keep live and
+ * recent rows. Archived events are read through the history methods and never change again. Archival
+ * works on the relational database, so it does not apply to the {@code mmap} event store. The time is
+ * passed in by the caller.
+ */
+@Service
+public class EventArchive {
+
+    /** Statuses an event never leaves, and therefore the ones that are archived. */
+    static final List<EventStatus> TERMINAL_STATUSES = List.of(EventStatus.COMPLETED, EventStatus.CANCELLED);
+
+    /** Largest page a client may request from {@link #getHistory}. */
+    static final int MAX_PAGE_SIZE = 1_000;
+
+    private static final List<String> TERMINAL_STATUS_NAMES = TERMINAL_STATUSES.stream()
+            .map(EventStatus::name)
+            .collect(Collectors.toList());
+    private static final Instant EARLIEST = Instant.parse("0001-01-01T00:00:00Z");
+    private static final Instant LATEST = Instant.parse("9999-12-31T23:59:59Z");
+
+    private final EventRepository eventRepository;
+    private final ArchivedEventRepository archivedEventRepository;
+    private final EventCache eventCache;
+
+    /**
+     * Constructs the archive.
+     * @param eventRepository The repository of the hot events table.
+     * @param archivedEventRepository The repository of the archive table.
+     * @param eventCache The cache of events by ID, which must not serve archived events.
+     */
+    public EventArchive(EventRepository eventRepository, ArchivedEventRepository archivedEventRepository,
+                        EventCache eventCache) {
+        this.eventRepository = eventRepository;
+        this.archivedEventRepository = archivedEventRepository;
+        this.eventCache = eventCache;
+    }
+
+    /**
+     * Moves up to {@code limit} terminal events that are scheduled before the cutoff into the archive,
+     * oldest first.
+     * @param cutoff The instant before which terminal events are archived.
+     * @param now The current time, recorded as the archival time.
+     * @param limit The maximum number of events to move.
+     * @return The number of events archived.
+     */
+    @Transactional
+    public int archiveBatch(Instant cutoff, Instant now, int limit) {
+        List<Long> ids = eventRepository.findIdsByStatusInScheduledBefore(TERMINAL_STATUSES, cutoff,
+                PageRequest.ofSize(limit));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int copied = archivedEventRepository.copyFromEvents(ids, TERMINAL_STATUS_NAMES, now);
+        int deleted = eventRepository.deleteByIdInAndStatusIn(ids, TERMINAL_STATUSES);
+        if (copied != deleted) {
+            // Only possible if a concurrent writer changed a row in between; roll back and retry next run
+            throw new IllegalStateException("Archived " + copied + " events but deleted " + deleted);
+        }
+        TransactionCallbacks.afterCommit(() -> eventCache.invalidateAll(ids));
+        return deleted;
+    }
+
+    /**
+     * Deletes archived events for good.
+     * @param cutoff The instant before which archived events are deleted.
+     * @return The number of events deleted.
+     */
+    @Transactional
+    public int purge(Instant cutoff) {
+        return archivedEventRepository.deleteArchivedBefore(cutoff);
+    }
+
+    /**
+     * Retrieves an archived event.
+     * @param id The ID of the event.
+     * @return The archived event.
+     * @throws EventNotFoundException if the event is not in the archive.
+     */
+    @Transactional(readOnly = true)
+    public ArchivedEvent getArchivedEvent(Long id) {
+        return archivedEventRepository.findById(id).orElseThrow(() -> new EventNotFoundException(id));
+    }
+
+    /**
+     * Retrieves one page of archived events using keyset pagination over (scheduledTime, id).
+     * @param from The earliest scheduled time to include, or null for no lower bound.
+     * @param to The scheduled time before which events are included, or null for no upper bound.
+     * @param status The terminal status to restrict the page to, or null for both.
+     * @param cursor The {@code nextCursor} of the previous page, or null for the first page.
+     * @param limit The maximum number of events to return; clamped to 1..{@value #MAX_PAGE_SIZE}.
+     * @return The page, with a cursor for the next one if this page is full.
+     * @throws com.example.eventscheduler.exception.InvalidCursorException if the cursor cannot be decoded.
+     */
+    @Transactional(readOnly = true)
+    public ArchivedEventPage getHistory(Instant from, Instant to, EventStatus status, String cursor, int limit) {
+        PageRequest page = PageRequest.ofSize(Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+        Instant afterTime = from != null ? from : EARLIEST;
+        long afterId = Long.MIN_VALUE;
+        if (cursor != null && !cursor.isEmpty()) {
+            DueEventCursor after = DueEventCursor.decode(cursor);
+            afterTime = after.getScheduledTime();
+            afterId = after.getId();
+        }
+        Instant before = to != null ? to : LATEST;
+        List<ArchivedEvent> events = status == null
+                ? archivedEventRepository.findPage(before, afterTime, afterId, page)
+                : archivedEventRepository.findPageByStatus(status, before, afterTime, afterId, page);
+        String nextCursor = null;
+        if (events.size() == page.getPageSize()) {
+            ArchivedEvent last = events.get(events.size() - 1);
+            nextCursor = new DueEventCursor(last.getScheduledTime(), last.getId()).encode();
+        }
+        return new ArchivedEventPage(events, nextCursor);
+    }
+}
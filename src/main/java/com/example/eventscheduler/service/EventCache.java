@@ -0,0 +1,113 @@
+package com.example.eventscheduler.service;
+
+import com.example.eventscheduler.domain.Event;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache of events by ID, in front of {@code EventRepository.findById}.
+ * <p>
+ * Entries are detached copies, never managed entities, so they can be shared across transactions and
+ * threads; callers must treat them as read-only. The cache holds at most {@code scheduler.cache.max-size}
+ * events (least recently and least frequently used ones go first) and drops each entry
+ * {@code scheduler.cache.ttl-ms} after it was written. {@link EventService} invalidates an event after every
+ * committed status or schedule change, so the TTL only bounds staleness from changes it cannot see, such as
+ * those made by other nodes. A {@code max-size} of 0 turns the cache off.
+ */
+@Component
+public class EventCache {
+
+    private final Cache<Long, Event> cache;
+
+    /**
+     * Constructs the cache.
+     * @param maxSize The maximum number of cached events.
+     * @param ttlMillis How long an entry stays cached after it was loaded.
+     */
+    public EventCache(@Value("${scheduler.cache.max-size:10000}") long maxSize,
+                      @Value("${scheduler.cache.ttl-ms:60000}") long ttlMillis) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMillis))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached event, loading and caching it on a miss. Concurrent misses for the same ID
+     * share one load. Events the loader does not find are not cached.
+     * @param id The ID of the event.
+     * @param loader Looks the event up in the database.
+     * @return The event, or empty if it does not exist.
+     */
+    public Optional<Event> get(Long id, Function<Long, Optional<Event>> loader) {
+        return Optional.ofNullable(cache.get(id, key -> loader.apply(key).map(EventCache::copyOf).orElse(null)));
+    }
+
+    /**
+     * Returns the cached event without loading it.
+     * @param id The ID of the event.
+     * @return The cached event, or null on a miss.
+     */
+    public Event getIfPresent(Long id) {
+        return cache.getIfPresent(id);
+    }
+
+    /**
+     * Caches a copy of the given event.
+     * @param event The event, which must have an ID.
+     */
+    public void put(Event event) {
+        cache.put(event.getId(), copyOf(event));
+    }
+
+    /**
+     * Drops an event from the cache.
+     * @param id The ID of the event.
+     */
+    public void invalidate(Long id) {
+        cache.invalidate(id);
+    }
+
+    /**
+     * Drops the given events from the cache.
+     * @param ids The IDs of the events.
+     */
+    public void invalidateAll(Collection<Long> ids) {
+        cache.invalidateAll(ids);
+    }
+
+    /**
+     * Returns the cache size and its hit, miss and eviction counts since startup.
+     * @return The current cache statistics.
+     */
+    public Stats getStats() {
+        CacheStats stats = cache.stats();
+        return new Stats(cache.estimatedSize(), stats.hitCount(), stats.missCount(), stats.hitRate(),
+                stats.evictionCount());
+    }
+
+    private static Event copyOf(Event event) {
+        return event.toBuilder().build();
+    }
+
+    /**
+     * Point-in-time cache statistics.
+     */
+    @lombok.Value
+    public static class Stats {
+        long size;
+        long hits;
+        long misses;
+        double hitRate;
+        long evictions;
+    }
+}
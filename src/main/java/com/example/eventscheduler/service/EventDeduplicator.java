@@ -0,0 +1,138 @@
+package com.example.eventscheduler.service;
+
+import com.example.eventscheduler.domain.Event;
+import com.example.eventscheduler.exception.EventNotFoundException;
+import com.example.eventscheduler.exception.InvalidIdempotencyKeyException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Makes event creation idempotent for clients that send an {@code Idempotency-Key} with their request, so a
+ * retried create returns the event of the first attempt instead of creating a duplicate.
+ * <p>
+ * Keys are checked at three levels, cheapest first. A bounded in-memory cache maps the keys of recently created
+ * events to their IDs, and the event itself comes from the {@link EventCache}, so a retry shortly after the
+ * original usually touches neither the database nor any lock. On a cache miss the key is looked up through the
+ * unique index on {@code events.idempotency_key}, a plain read. Only a key found nowhere leads to an insert, and
+ * the unique index rejects it if a concurrent request, possibly on another node, inserted the same key first;
+ * that request's event is then returned.
+ * <p>
+ * A key identifies the request, not its content: the parameters of a retry are not compared with the original.
+ * Keys stay effective as long as their event is in the {@code events} table, so archived events no longer
+ * deduplicate. The cache holds at most {@code scheduler.idempotency.cache-size} keys, each for
+ * {@code scheduler.idempotency.cache-ttl-ms}; a size of 0 sends every keyed request to the database.
+ */
+@Service
+public class EventDeduplicator {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventDeduplicator.class);
+
+    /** Length of the {@code events.idempotency_key} column. */
+    static final int MAX_KEY_LENGTH = 255;
+
+    private final EventService eventService;
+    private final Cache<String, Long> recentKeys;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder memoryHits = new LongAdder();
+    private final LongAdder databaseHits = new LongAdder();
+
+    /**
+     * Constructs the deduplicator.
+     * @param eventService The service creating and looking up events.
+     * @param cacheSize The maximum number of recent keys held in memory.
+     * @param cacheTtlMillis How long a key stays in memory after it was cached.
+     */
+    public EventDeduplicator(EventService eventService,
+                             @Value("${scheduler.idempotency.cache-size:100000}") long cacheSize,
+                             @Value("${scheduler.idempotency.cache-ttl-ms:3600000}") long cacheTtlMillis) {
+        this.eventService = eventService;
+        this.recentKeys = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(Duration.ofMillis(cacheTtlMillis))
+                .build();
+    }
+
+    /**
+     * Returns the event created with the given key, creating it if there is none.
+     * @param idempotencyKey The client's idempotency key.
+     * @param name The name of the event.
+     * @param scheduledTime The time of the first occurrence.
+     * @param recurrence An ISO-8601 duration or a cron expression, or null for a one-off event.
+     * @return The event created for the key, by this request or an earlier one.
+     * @throws InvalidIdempotencyKeyException if the key is blank or longer than {@value #MAX_KEY_LENGTH}
+     *         characters.
+     * @throws com.example.eventscheduler.exception.InvalidRecurrenceException if the recurrence rule cannot be
+     *         parsed.
+     */
+    public Event createEvent(String idempotencyKey, String name, Instant scheduledTime, String recurrence) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new InvalidIdempotencyKeyException(MAX_KEY_LENGTH);
+        }
+        requests.increment();
+        Long id = recentKeys.getIfPresent(idempotencyKey);
+        if (id != null) {
+            try {
+                Event event = eventService.getEvent(id);
+                memoryHits.increment();
+                return event;
+            } catch (EventNotFoundException e) {
+                // archived or deleted since it was cached
+                recentKeys.invalidate(idempotencyKey);
+            }
+        }
+        Optional<Event> existing = eventService.findByIdempotencyKey(idempotencyKey);
+        if (existing.isEmpty()) {
+            try {
+                Event created = eventService.createEvent(name, scheduledTime, recurrence, idempotencyKey);
+                recentKeys.put(idempotencyKey, created.getId());
+                return created;
+            } catch (DataIntegrityViolationException e) {
+                logger.debug("Event with idempotency key {} was created concurrently", idempotencyKey, e);
+                existing = eventService.findByIdempotencyKey(idempotencyKey);
+                if (existing.isEmpty()) {
+                    throw e;
+                }
+            }
+        }
+        databaseHits.increment();
+        recentKeys.put(idempotencyKey, existing.get().getId());
+        return existing.get();
+    }
+
+    /**
+     * Returns how many keyed create requests were answered with an existing event, and from where.
+     * @return The current deduplication statistics.
+     */
+    public Stats getStats() {
+        long total = requests.sum();
+        long memory = memoryHits.sum();
+        long database = databaseHits.sum();
+        return new Stats(recentKeys.estimatedSize(), total, memory, database,
+                total == 0 ? 0.0 : (double) (memory + database) / total,
+                total == 0 ? 0.0 : (double) memory / total);
+    }
+
+    /**
+     * Point-in-time deduplication statistics. {@code hitRate} is the share of keyed requests that were
+     * duplicates, {@code memoryHitRate} the share answered without a database lookup of the key.
+     */
+    @lombok.Value
+    public static class Stats {
+        long cachedKeys;
+        long requests;
+        long memoryHits;
+        long databaseHits;
+        double hitRate;
+        double memoryHitRate;
+    }
+}
@@ -2,42 +2,98 @@ package com.example.eventscheduler.service;
 
 import com.example.eventscheduler.domain.Event;
 import com.example.eventscheduler.domain.EventStatus;
+import com.example.eventscheduler.domain.Recurrence;
+import com.example.eventscheduler.dto.BatchCreateResult;
+import com.example.eventscheduler.dto.BulkCompletionResult;
+import com.example.eventscheduler.dto.CreateEventRequest;
+import com.example.eventscheduler.dto.DueEventPage;
+import com.example.eventscheduler.exception.EventConflictException;
 import com.example.eventscheduler.exception.EventNotFoundException;
-import com.example.eventscheduler.repository.EventRepository;
+import com.example.eventscheduler.exception.InvalidRecurrenceException;
+import com.example.eventscheduler.exception.MalformedEventPayloadException;
+import com.example.eventscheduler.repository.DueEventView;
+import com.example.eventscheduler.repository.EventStateChange;
+import com.example.eventscheduler.repository.EventStatusView;
+import com.example.eventscheduler.scheduling.DueEventIndex;
+import com.example.eventscheduler.store.EventStore;
+import com.example.eventscheduler.util.TransactionCallbacks;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Business logic service for managing Events.
- * Handles creation, retrieval, and completion of events.
+ * Handles creation, retrieval, completion, cancellation and rescheduling of events.
+ * <p>
+ * Status changes are lock-free: each is a conditional update that only applies if the event is still in the
+ * state it was read in ({@link EventStore#updateStatus} on its status, {@link EventStore#compareAndSet} on its
+ * version). Of several concurrent changes of the same event exactly one wins; only the winner counts and
+ * notifies, and the others fail with {@link EventConflictException}.
  */
 @Service
 public class EventService {
 
-    private final EventRepository eventRepository;
+    /** Number of events inserted, flushed and detached at a time during bulk ingestion. */
+    static final int INSERT_CHUNK_SIZE = 1_000;
+
+    /** Maximum number of IDs bound into a single IN clause. */
+    static final int ID_CHUNK_SIZE = 1_000;
+
+    /** Largest page a client may request from {@link #getDueEventsPage(String, int)}. */
+    static final int MAX_PAGE_SIZE = 1_000;
+
+    private final EventStore eventStore;
     private final ClockService clockService;
     private final NotificationService notificationService;
     private final SharedCounterService sharedCounterService;
+    private final DueEventIndex dueEventIndex;
+    private final EventCache eventCache;
+    private final boolean dueEventsFromStore;
 
     /**
      * Constructs an EventService with its required dependencies.
      * Spring automatically injects these beans.
-     * @param eventRepository The repository for Event persistence.
+     * @param eventStore The store for Event persistence, JPA or memory-mapped depending on configuration.
      * @param clockService The service for time-related operations.
      * @param notificationService The service for sending notifications.
-     * @param sharedCounterService The service managing a shared counter.
+     * @param sharedCounterService The registry of event counters.
+     * @param dueEventIndex The in-memory index of scheduled events.
+     * @param eventCache The cache of events by ID.
+     * @param dueEventsFromStore Whether {@link #getDueEvents()} always queries the store instead of the node-local
+     *        index; on by default with sharding and in the reactive profile, where other nodes or the R2DBC path
+     *        write events the index never sees.
      */
-    public EventService(EventRepository eventRepository,
+    public EventService(EventStore eventStore,
                         ClockService clockService,
                         NotificationService notificationService,
-                        SharedCounterService sharedCounterService) {
-        this.eventRepository = eventRepository;
+                        SharedCounterService sharedCounterService,
+                        DueEventIndex dueEventIndex,
+                        EventCache eventCache,
+                        @Value("${scheduler.due-events.from-store:${scheduler.sharding.enabled:false}}")
+                        boolean dueEventsFromStore) {
+        this.eventStore = eventStore;
         this.clockService = clockService;
         this.notificationService = notificationService;
         this.sharedCounterService = sharedCounterService;
+        this.dueEventIndex = dueEventIndex;
+        this.eventCache = eventCache;
+        this.dueEventsFromStore = dueEventsFromStore;
     }
 
     /**
@@ -49,37 +105,594 @@ public class EventService {
      */
     @Transactional
     public Event createEvent(String name, Instant scheduledTime) {
+        return createEvent(name, scheduledTime, null);
+    }
+
+    /**
+     * Creates a new event, optionally recurring, and persists it to the database.
+     * A recurring event is stored as a single row holding its next occurrence, starting at {@code scheduledTime}.
+     * @param name The name of the event.
+     * @param scheduledTime The time of the first occurrence.
+     * @param recurrence An ISO-8601 duration (e.g. {@code PT15M}) or a cron expression, or null for a one-off event.
+     * @return The created and saved Event entity.
+     * @throws InvalidRecurrenceException if the recurrence rule cannot be parsed.
+     */
+    @Transactional
+    public Event createEvent(String name, Instant scheduledTime, String recurrence) {
+        return createEvent(name, scheduledTime, recurrence, null);
+    }
+
+    /**
+     * Creates a new event that carries the idempotency key of the request creating it. Normally called through
+     * {@link EventDeduplicator}, which first looks for an event created with the same key.
+     * The event is only counted, indexed and cached once the transaction commits, so an insert rejected for a
+     * duplicate key leaves no trace.
+     * @param name The name of the event.
+     * @param scheduledTime The time of the first occurrence.
+     * @param recurrence An ISO-8601 duration or a cron expression, or null for a one-off event.
+     * @param idempotencyKey The client's idempotency key, or null.
+     * @return The created and saved Event entity.
+     * @throws InvalidRecurrenceException if the recurrence rule cannot be parsed.
+     * @throws org.springframework.dao.DataIntegrityViolationException if an event with the same key exists; with
+     *         the JPA store, when the transaction commits.
+     */
+    @Transactional
+    public Event createEvent(String name, Instant scheduledTime, String recurrence, String idempotencyKey) {
         Event event = Event.builder()
                 .name(name)
                 .scheduledTime(scheduledTime)
                 .status(EventStatus.SCHEDULED)
+                .recurrence(parseRecurrence(recurrence))
+                .idempotencyKey(idempotencyKey)
                 .build();
-        Event saved = eventRepository.save(event);
-        sharedCounterService.incrementAndGet();
+        Event saved = eventStore.save(event);
+        afterCommitReindex(() -> {
+            sharedCounterService.increment(SharedCounterService.Counter.CREATED);
+            dueEventIndex.add(saved);
+            eventCache.put(saved);
+        });
         return saved;
     }
 
+    /**
+     * Finds the event created with the given idempotency key. The key is looked up through its unique index,
+     * the event itself through the {@link EventCache}. Runs outside a transaction and takes no locks.
+     * @param idempotencyKey The idempotency key.
+     * @return The event, or empty if no event has the key.
+     */
+    public Optional<Event> findByIdempotencyKey(String idempotencyKey) {
+        return eventStore.findIdByIdempotencyKey(idempotencyKey)
+                .flatMap(id -> eventCache.get(id, eventStore::findById));
+    }
+
+    /**
+     * Creates many events in one transaction, reading them lazily from the given iterator.
+     * Events are inserted in chunks through JDBC batching and detached after each chunk, so
+     * memory held by the persistence context does not grow with the size of the import. Until the
+     * transaction commits, only the due-event index entries of the inserted events are kept, which the
+     * index holds from then on anyway.
+     * The shared counter is updated once for the whole batch.
+     * @param requests The events to create; consumed as they are inserted.
+     * @return The number of events created.
+     * @throws MalformedEventPayloadException if an event has no name or no scheduled time; nothing is created.
+     */
+    @Transactional
+    public BatchCreateResult createEvents(Iterator<CreateEventRequest> requests) {
+        return insertBatch(new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return requests.hasNext();
+            }
+
+            @Override
+            public Event next() {
+                CreateEventRequest request = requests.next();
+                return Event.builder()
+                        .name(request.getName())
+                        .scheduledTime(request.getScheduledTime())
+                        .status(EventStatus.SCHEDULED)
+                        .recurrence(parseRecurrence(request.getRecurrence()))
+                        .build();
+            }
+        });
+    }
+
+    /**
+     * Imports events exported from another cluster, for example through {@link #streamEvents(Consumer)}, in
+     * chunks like {@link #createEvents(Iterator)}. Each event keeps its name, scheduled time, recurrence and
+     * status, so completed and cancelled events stay that way rather than becoming due again; only the
+     * scheduled ones are indexed. The events get new IDs and start at version 0. Idempotency keys are dropped,
+     * since they are only unique within the cluster that issued them.
+     * @param events The events to import; consumed as they are inserted. A missing status means SCHEDULED.
+     * @return The number of events created.
+     * @throws MalformedEventPayloadException if a record has no name or no scheduled time; nothing is imported.
+     */
+    @Transactional
+    public BatchCreateResult importEvents(Iterator<Event> events) {
+        return insertBatch(new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return events.hasNext();
+            }
+
+            @Override
+            public Event next() {
+                Event event = events.next();
+                return Event.builder()
+                        .name(event.getName())
+                        .scheduledTime(event.getScheduledTime())
+                        .status(event.getStatus() == null ? EventStatus.SCHEDULED : event.getStatus())
+                        .recurrence(event.getRecurrence())
+                        .build();
+            }
+        });
+    }
+
+    private BatchCreateResult insertBatch(Iterator<Event> events) {
+        int created = 0;
+        List<Event> chunk = new ArrayList<>(INSERT_CHUNK_SIZE);
+        while (events.hasNext()) {
+            chunk.add(requireComplete(events.next(), created + chunk.size()));
+            if (chunk.size() == INSERT_CHUNK_SIZE) {
+                created += insertChunk(chunk);
+                chunk = new ArrayList<>(INSERT_CHUNK_SIZE);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            created += insertChunk(chunk);
+        }
+        if (created > 0) {
+            sharedCounterService.add(SharedCounterService.Counter.CREATED, created);
+        }
+        return new BatchCreateResult(created);
+    }
+
+    /**
+     * Rejects a batch item that could not be scheduled, before anything of its chunk is written. Without a time
+     * the event could not be ordered in the {@link DueEventIndex}; the transaction rolls back the whole batch.
+     * @param position The zero-based position of the item in the batch, for the error message.
+     */
+    private static Event requireComplete(Event event, int position) {
+        if (event.getName() == null || event.getName().isBlank()) {
+            throw new MalformedEventPayloadException("Event " + position + " of the batch has no name");
+        }
+        if (event.getScheduledTime() == null) {
+            throw new MalformedEventPayloadException("Event " + position + " of the batch has no scheduled time");
+        }
+        return event;
+    }
+
+    /**
+     * Inserts one chunk of a batch creation and registers the index entries of its scheduled events for after
+     * the commit. Only the entries are kept until then, not the events.
+     * @return The number of events inserted.
+     */
+    private int insertChunk(List<Event> chunk) {
+        eventStore.insertAll(chunk);
+        List<DueEventIndex.Entry> entries = new ArrayList<>(chunk.size());
+        for (Event event : chunk) {
+            if (event.getStatus() == EventStatus.SCHEDULED) {
+                entries.add(DueEventIndex.Entry.of(event));
+            }
+        }
+        if (!entries.isEmpty()) {
+            afterCommitReindex(() -> entries.forEach(dueEventIndex::add));
+        }
+        return chunk.size();
+    }
+
+    /**
+     * Retrieves an event by its ID through the {@link EventCache}, so repeated lookups of the same event
+     * do not reach the database. The returned event is a shared, detached copy and must not be modified.
+     * Runs outside a transaction: a cache hit does not need a database connection.
+     * @param eventId The ID of the event.
+     * @return The event.
+     * @throws EventNotFoundException if the event does not exist.
+     */
+    public Event getEvent(Long eventId) {
+        return eventCache.get(eventId, eventStore::findById)
+                .orElseThrow(() -> new EventNotFoundException(eventId));
+    }
+
     /**
      * Retrieves all events that are scheduled and whose scheduled time is before the current time.
+     * Served from the in-memory {@link DueEventIndex} once it has been loaded; until then, and always when
+     * events are also written elsewhere (other nodes, the reactive API), the repository is queried for
+     * {@link DueEventView} projections, which are never tracked by the persistence context. The index only
+     * knows the changes made through this node's services, so it cannot answer for the whole cluster.
+     * A recurring event appears once, for its current occurrence; the next one is only computed
+     * when this one is completed or fired.
      * @return A list of due events.
      */
     @Transactional(readOnly = true)
     public List<Event> getDueEvents() {
         Instant now = clockService.now();
-        return eventRepository.findByStatusAndScheduledTimeBefore(EventStatus.SCHEDULED.name(), now);
+        if (!dueEventsFromStore && dueEventIndex.isReady()) {
+            return dueEventIndex.findDue(now);
+        }
+        return toEvents(eventStore.findDue(EventStatus.SCHEDULED, now));
+    }
+
+    /**
+     * Retrieves one page of due events in (scheduledTime, id) order using keyset pagination, so every
+     * page costs the same index range scan no matter how deep the client has paged.
+     * @param cursor The {@code nextCursor} of the previous page, or null for the first page.
+     * @param limit The maximum number of events to return; clamped to 1..{@value #MAX_PAGE_SIZE}.
+     * @return The page, with a cursor for the next one if this page is full.
+     * @throws com.example.eventscheduler.exception.InvalidCursorException if the cursor cannot be decoded.
+     */
+    @Transactional(readOnly = true)
+    public DueEventPage getDueEventsPage(String cursor, int limit) {
+        Instant now = clockService.now();
+        PageRequest page = PageRequest.ofSize(Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+        List<DueEventView> views;
+        if (cursor == null || cursor.isEmpty()) {
+            views = eventStore.findDuePage(EventStatus.SCHEDULED, now, page);
+        } else {
+            DueEventCursor after = DueEventCursor.decode(cursor);
+            views = eventStore.findDuePageAfter(EventStatus.SCHEDULED, now,
+                    after.getScheduledTime(), after.getId(), page);
+        }
+        String nextCursor = null;
+        if (views.size() == page.getPageSize()) {
+            DueEventView last = views.get(views.size() - 1);
+            nextCursor = new DueEventCursor(last.getScheduledTime(), last.getId()).encode();
+        }
+        return new DueEventPage(toEvents(views), nextCursor);
+    }
+
+    /**
+     * Passes every due event to the given consumer, oldest first, without materializing the result.
+     * Rows are read from the database in fetch-size chunks as projections, so nothing accumulates
+     * in the persistence context however many events are due.
+     * @param consumer The callback receiving each due event, typically writing it to a response.
+     * @return The number of events streamed.
+     */
+    @Transactional(readOnly = true)
+    public long streamDueEvents(Consumer<Event> consumer) {
+        long count = 0;
+        try (Stream<DueEventView> due = eventStore.streamDue(EventStatus.SCHEDULED, clockService.now())) {
+            for (DueEventView view : (Iterable<DueEventView>) due::iterator) {
+                consumer.accept(view.toEvent());
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Passes every event, whatever its status, to the given consumer in ID order, without materializing the
+     * result. Like {@link #streamDueEvents(Consumer)}, rows are read through a cursor in fetch-size chunks and
+     * nothing accumulates in the persistence context.
+     * @param consumer The callback receiving each event, typically writing it to a response.
+     * @return The number of events streamed.
+     */
+    @Transactional(readOnly = true)
+    public long streamEvents(Consumer<Event> consumer) {
+        long count = 0;
+        try (Stream<Event> events = eventStore.streamAll()) {
+            for (Event event : (Iterable<Event>) events::iterator) {
+                consumer.accept(event);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Retrieves the oldest events that are due now and belong to one of the given shards, where an
+     * event's shard is its ID modulo {@code shardCount}. Used by
+     * {@link com.example.eventscheduler.scheduling.ShardedEventProcessor}; always read from the store,
+     * because events created on other nodes never reach this node's {@link DueEventIndex}.
+     * @param shards The shards to read.
+     * @param shardCount The number of shards.
+     * @param limit The maximum number of events to return.
+     * @return Up to {@code limit} due events, oldest first.
+     */
+    @Transactional(readOnly = true)
+    public List<Event> getDueEventsInShards(Collection<Integer> shards, int shardCount, int limit) {
+        return toEvents(eventStore.findDueInShards(EventStatus.SCHEDULED, clockService.now(), shardCount,
+                shards, PageRequest.ofSize(limit)));
+    }
+
+    /**
+     * Loads all scheduled events into the {@link DueEventIndex}.
+     * Runs once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuildDueEventIndex() {
+        dueEventIndex.beginRebuild();
+        for (DueEventView view : eventStore.findViewsByStatus(EventStatus.SCHEDULED)) {
+            dueEventIndex.load(view.getId(), view.getName(), view.getScheduledTime(), view.getRecurrence(),
+                    view.getVersion());
+        }
+        dueEventIndex.completeRebuild();
+    }
+
+    /**
+     * Makes sure events created on this node from now on get IDs greater than the given one. Called after
+     * events were inserted with their own IDs, bypassing this service.
+     * @param id The highest ID that must not be assigned.
+     */
+    @Transactional
+    public void skipIdsThrough(long id) {
+        eventStore.skipIdsThrough(id);
     }
 
     /**
      * Marks an event as completed and sends a notification.
-     * Throws EventNotFoundException if the event does not exist.
+     * A recurring event instead moves on to its next occurrence and stays SCHEDULED; it is only
+     * completed for good once its rule has no further occurrences.
+     * With the default {@link AsyncNotificationService} the notification is only queued once the
+     * transaction commits, so it does not add to the completion latency. With the
+     * {@link OutboxNotificationService} it is a single outbox insert in the same transaction instead, so it
+     * survives a crash and is never sent for a completion that rolled back.
+     * A one-off event found in the {@link EventCache} is completed with a single conditional update and no
+     * lookup; its name and recurrence never change, and the update itself checks that it is still SCHEDULED.
+     * Otherwise the event is loaded and completed with a compare-and-set on its version. Either way, of
+     * several concurrent completions (or a completion racing a cancellation) only one succeeds and notifies.
      * @param eventId The ID of the event to complete.
+     * @throws EventNotFoundException if the event does not exist.
+     * @throws EventConflictException if the event is no longer SCHEDULED or was changed concurrently.
      */
     @Transactional
     public void completeEvent(Long eventId) {
-        Event event = eventRepository.findById(eventId)
+        Event cached = eventCache.getIfPresent(eventId);
+        String name;
+        if (cached != null && cached.getRecurrence() == null
+                && eventStore.updateStatus(List.of(eventId), EventStatus.SCHEDULED, EventStatus.COMPLETED) == 1) {
+            name = cached.getName();
+            afterCommitReindex(() -> reindex(List.of(eventId), List.of()));
+        } else {
+            Event event = findScheduled(eventId, "completed");
+            Instant next = event.nextOccurrence(clockService.now(), clockService.getZone());
+            Event updated = next == null
+                    ? transition(event, EventStatus.COMPLETED, event.getScheduledTime())
+                    : transition(event, EventStatus.SCHEDULED, next);
+            if (updated == null) {
+                throw new EventConflictException(eventId, "completed");
+            }
+            afterCommitReindex(() -> reindex(updated));
+            name = event.getName();
+        }
+        sharedCounterService.increment(SharedCounterService.Counter.COMPLETED);
+        notificationService.notifyUser("Event completed: " + name);
+    }
+
+    /**
+     * Cancels a SCHEDULED event, one-off or recurring, so it never fires again. No notification is sent.
+     * @param eventId The ID of the event to cancel.
+     * @return The cancelled event.
+     * @throws EventNotFoundException if the event does not exist.
+     * @throws EventConflictException if the event is no longer SCHEDULED or was changed concurrently.
+     */
+    @Transactional
+    public Event cancelEvent(Long eventId) {
+        Event event = findScheduled(eventId, "cancelled");
+        Event updated = transition(event, EventStatus.CANCELLED, event.getScheduledTime());
+        if (updated == null) {
+            throw new EventConflictException(eventId, "cancelled");
+        }
+        sharedCounterService.increment(SharedCounterService.Counter.CANCELLED);
+        afterCommitReindex(() -> reindex(updated));
+        return updated;
+    }
+
+    /**
+     * Moves a SCHEDULED event to a new time. For a recurring event this replaces its next occurrence; later
+     * occurrences follow from the new time.
+     * @param eventId The ID of the event to reschedule.
+     * @param scheduledTime The new scheduled time.
+     * @return The rescheduled event.
+     * @throws EventNotFoundException if the event does not exist.
+     * @throws EventConflictException if the event is no longer SCHEDULED or was changed concurrently.
+     */
+    @Transactional
+    public Event rescheduleEvent(Long eventId, Instant scheduledTime) {
+        Event event = findScheduled(eventId, "rescheduled");
+        Event updated = transition(event, EventStatus.SCHEDULED, scheduledTime);
+        if (updated == null) {
+            throw new EventConflictException(eventId, "rescheduled");
+        }
+        afterCommitReindex(() -> reindex(updated));
+        return updated;
+    }
+
+    /**
+     * Completes many events at once. Events are looked up and flipped from SCHEDULED to COMPLETED
+     * with set-based queries (one lookup and one update per {@value #ID_CHUNK_SIZE} IDs), unknown IDs are
+     * reported instead of failing the whole request, and all notifications for the batch are handed to
+     * the notification service in a single call. Recurring events move on to their next occurrence.
+     * Events that are not SCHEDULED when read are skipped. If one of the others is changed concurrently
+     * before it is updated, the whole request fails, so it never notifies for a completion it did not make.
+     * @param eventIds The IDs of the events to complete; duplicates are ignored.
+     * @return The number of completed events and the IDs that do not exist.
+     * @throws EventConflictException if an event was changed concurrently; nothing is completed.
+     */
+    @Transactional
+    public BulkCompletionResult completeEvents(Collection<Long> eventIds) {
+        Set<Long> missing = new LinkedHashSet<>(eventIds);
+        List<Long> completedIds = new ArrayList<>();
+        List<Event> recurring = new ArrayList<>();
+        List<String> messages = new ArrayList<>();
+        List<Long> requested = new ArrayList<>(missing);
+        for (int from = 0; from < requested.size(); from += ID_CHUNK_SIZE) {
+            List<Long> chunk = requested.subList(from, Math.min(from + ID_CHUNK_SIZE, requested.size()));
+            List<Long> toComplete = new ArrayList<>(chunk.size());
+            for (EventStatusView event : eventStore.findByIdIn(chunk)) {
+                missing.remove(event.getId());
+                if (event.getStatus() == EventStatus.SCHEDULED) {
+                    toComplete.add(event.getId());
+                    messages.add("Event completed: " + event.getName());
+                }
+            }
+            if (!toComplete.isEmpty()) {
+                if (completeAll(toComplete, recurring) < toComplete.size()) {
+                    throw new EventConflictException("Events were changed concurrently; none were completed");
+                }
+                completedIds.addAll(toComplete);
+            }
+        }
+        if (!completedIds.isEmpty()) {
+            sharedCounterService.add(SharedCounterService.Counter.COMPLETED, completedIds.size());
+            afterCommitReindex(() -> reindex(completedIds, recurring));
+            notificationService.notifyUsers(messages);
+        }
+        return new BulkCompletionResult(completedIds.size(), new ArrayList<>(missing));
+    }
+
+    /**
+     * Claims due occurrences for the dispatcher or the sharded processor: each one-off event is completed and
+     * each recurring event moves on to the occurrence after the one that fell due, which the index hands back
+     * to the dispatcher. Every claim is a compare-and-set on the version the occurrence was read at, so an
+     * event that was completed, cancelled, rescheduled or advanced since then is left alone, and of several
+     * concurrent claims of the same occurrence exactly one wins. The claims are sent together with
+     * {@link EventStore#compareAndSetAll}, one JDBC batch with the JPA store. No notification is sent; the
+     * callers' handlers are the action taken for the claimed events.
+     * @param due The due occurrences as read, each with its ID, scheduled time, recurrence and version.
+     * @return The IDs of the events claimed by this call.
+     */
+    @Transactional
+    public List<Long> markDispatched(Collection<Event> due) {
+        Instant now = clockService.now();
+        ZoneId zone = clockService.getZone();
+        List<Event> events = new ArrayList<>(due);
+        List<EventStateChange> changes = new ArrayList<>(events.size());
+        for (Event event : events) {
+            Instant next = event.nextOccurrence(now, zone);
+            changes.add(next == null
+                    ? new EventStateChange(event.getId(), event.getVersion(), EventStatus.COMPLETED,
+                            event.getScheduledTime())
+                    : new EventStateChange(event.getId(), event.getVersion(), EventStatus.SCHEDULED, next));
+        }
+        boolean[] applied = eventStore.compareAndSetAll(changes);
+        List<Long> claimed = new ArrayList<>(events.size());
+        List<Event> updated = new ArrayList<>(events.size());
+        for (int i = 0; i < applied.length; i++) {
+            if (applied[i]) {
+                EventStateChange change = changes.get(i);
+                claimed.add(change.getId());
+                updated.add(withState(events.get(i), change.getStatus(), change.getScheduledTime()));
+            }
+        }
+        sharedCounterService.add(SharedCounterService.Counter.COMPLETED, claimed.size());
+        afterCommitReindex(() -> updated.forEach(this::reindex));
+        return claimed;
+    }
+
+    /**
+     * Runs an update of the {@link DueEventIndex} after the current transaction commits. The change is announced to
+     * the index right away, so it keeps the tombstones that this update, however late it runs, must not undo.
+     */
+    private void afterCommitReindex(Runnable update) {
+        long change = dueEventIndex.beginChange();
+        TransactionCallbacks.afterCommit(update, () -> dueEventIndex.endChange(change));
+    }
+
+    private static List<Event> toEvents(List<DueEventView> views) {
+        List<Event> events = new ArrayList<>(views.size());
+        for (DueEventView view : views) {
+            events.add(view.toEvent());
+        }
+        return events;
+    }
+
+    /**
+     * Completes SCHEDULED events with one set-based update for the one-off ones. Only when that update
+     * misses some IDs are the recurring events among them loaded and advanced, each with a compare-and-set,
+     * so one-off workloads pay nothing for recurrence support. Events changed concurrently are skipped.
+     * The update only checks the status, which is right for a client completing events by ID; claims of a
+     * particular occurrence go through {@link #markDispatched(Collection)} instead.
+     */
+    private int completeAll(Collection<Long> ids, List<Event> recurring) {
+        int updated = eventStore.updateStatus(ids, EventStatus.SCHEDULED, EventStatus.COMPLETED);
+        if (updated < ids.size()) {
+            Instant now = clockService.now();
+            ZoneId zone = clockService.getZone();
+            for (Event event : eventStore.findRecurringByIdIn(ids, EventStatus.SCHEDULED)) {
+                Instant next = event.nextOccurrence(now, zone);
+                Event advanced = next == null
+                        ? transition(event, EventStatus.COMPLETED, event.getScheduledTime())
+                        : transition(event, EventStatus.SCHEDULED, next);
+                if (advanced != null) {
+                    recurring.add(advanced);
+                    updated++;
+                }
+            }
+        }
+        return updated;
+    }
+
+    /**
+     * Loads an event that is about to change status.
+     * @param action What is about to happen to the event, for the error message.
+     */
+    private Event findScheduled(Long eventId, String action) {
+        Event event = eventStore.findById(eventId)
                 .orElseThrow(() -> new EventNotFoundException(eventId));
-        event.setStatus(EventStatus.COMPLETED);
-        eventRepository.save(event);
-        notificationService.notifyUser("Event completed: " + event.getName());
+        if (event.getStatus().isTerminal()) {
+            throw new EventConflictException(eventId, event.getStatus(), action);
+        }
+        return event;
+    }
+
+    /**
+     * Moves an event to a new state if nobody else changed it since it was read. The loaded instance is left
+     * as it is: with JPA it is still managed, and modifying it would make Hibernate write it again at flush.
+     * @return A copy of the event in its new state, or null if another writer won.
+     */
+    private Event transition(Event event, EventStatus status, Instant scheduledTime) {
+        if (!eventStore.compareAndSet(event.getId(), event.getVersion(), status, scheduledTime)) {
+            return null;
+        }
+        return withState(event, status, scheduledTime);
+    }
+
+    /** Returns a copy of an event after a successful compare-and-set to the given state. */
+    private static Event withState(Event event, EventStatus status, Instant scheduledTime) {
+        return event.toBuilder()
+                .status(status)
+                .scheduledTime(scheduledTime)
+                .version(event.getVersion() + 1)
+                .build();
+    }
+
+    /**
+     * Updates the index and the cache after a bulk change. Recurring events that moved on to their next
+     * occurrence are re-added; only the others left SCHEDULED for good and are removed.
+     */
+    private void reindex(Collection<Long> completedIds, List<Event> recurring) {
+        Set<Long> advanced = new HashSet<>();
+        for (Event event : recurring) {
+            advanced.add(event.getId());
+        }
+        for (Long id : completedIds) {
+            if (!advanced.contains(id)) {
+                dueEventIndex.remove(id);
+            }
+        }
+        eventCache.invalidateAll(completedIds);
+        recurring.forEach(this::reindex);
+    }
+
+    private void reindex(Event event) {
+        eventCache.invalidate(event.getId());
+        if (event.getStatus() == EventStatus.SCHEDULED) {
+            dueEventIndex.add(event);
+        } else {
+            dueEventIndex.remove(event.getId());
+        }
+    }
+
+    private static Recurrence parseRecurrence(String rule) {
+        if (rule == null || rule.isBlank()) {
+            return null;
+        }
+        try {
+            return Recurrence.parse(rule);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRecurrenceException(rule, e);
+        }
     }
 }
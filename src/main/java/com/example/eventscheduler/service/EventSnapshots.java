@@ -0,0 +1,339 @@
+package com.example.eventscheduler.service;
+
+import com.example.eventscheduler.codec.EventSnapshotReader;
+import com.example.eventscheduler.codec.EventSnapshotWriter;
+import com.example.eventscheduler.domain.Event;
+import com.example.eventscheduler.domain.EventStatus;
+import com.example.eventscheduler.exception.EventConflictException;
+import com.example.eventscheduler.exception.SnapshotNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Exports the "events" table to columnar snapshot files and restores it from them, for offline analysis and for
+ * disaster recovery.
+ * <p>
+ * An export streams the table in ID order through a forward-only JDBC cursor, inside one read-only repeatable-read
+ * transaction so the snapshot is consistent, into an {@link EventSnapshotWriter} on a {@link FileChannel}. It
+ * writes to a temporary file that is forced to disk and then renamed, so a snapshot that exists is complete.
+ * A restore memory-maps the file through an {@link EventSnapshotReader} and decodes every block once, so a
+ * corrupt file is rejected before anything is inserted. It then inserts one block per transaction with a single
+ * JDBC batch, bypassing JPA and the per-event work of {@link EventService#createEvent}, so memory stays bounded
+ * however large the snapshot is. It keeps IDs, statuses and versions, and rebuilds the
+ * {@link com.example.eventscheduler.scheduling.DueEventIndex} at the end.
+ * <p>
+ * A restore holds the row of {@code snapshot_restore_lock} for its whole duration, so restores never interleave,
+ * and only goes into an empty table. Before inserting, it moves {@code events_seq} past the restored and archived
+ * IDs and makes this node's Hibernate ID pool skip them as well. If an insert fails, exactly the rows of the
+ * blocks committed so far are deleted again, block by block. Other nodes keep their ID pools, which may still
+ * overlap the restored IDs, so event creation should be quiesced on the other nodes for the restore and until
+ * they are restarted; an insert that collides with a restored row fails with a duplicate key rather than
+ * overwriting it. Snapshots work on the relational database, so they do not apply to the {@code mmap} event
+ * store. Enabled with {@code scheduler.snapshot.enabled=true}.
+ */
+@Service
+@ConditionalOnProperty(name = "scheduler.snapshot.enabled", havingValue = "true")
+public class EventSnapshots {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventSnapshots.class);
+
+    static final String SUFFIX = ".snapshot";
+
+    /** The allocation size of {@code events_seq} in {@link Event}. */
+    static final int SEQUENCE_ALLOCATION_SIZE = Event.ID_ALLOCATION_SIZE;
+
+    private static final String SELECT_EVENTS = "select id, scheduled_time, status, version, name, recurrence, "
+            + "idempotency_key from events order by id";
+    private static final String INSERT_EVENT = "insert into events (id, scheduled_time, status, version, name, "
+            + "recurrence, idempotency_key) values (?, ?, ?, ?, ?, ?, ?)";
+    private static final String LOCK_RESTORE = "select id from snapshot_restore_lock where id = 1 "
+            + "for update skip locked";
+    private static final Pattern SNAPSHOT_NAME = Pattern.compile("[A-Za-z0-9][A-Za-z0-9._-]*"
+            + Pattern.quote(SUFFIX));
+    private static final DateTimeFormatter NAME_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmssSSS'Z'")
+            .withZone(ZoneOffset.UTC);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate exportTransaction;
+    private final TransactionTemplate lockTransaction;
+    private final TransactionTemplate restoreTransaction;
+    private final EventService eventService;
+    private final ClockService clockService;
+    private final Path directory;
+    private final int blockSize;
+
+    /**
+     * Constructs the snapshot service.
+     * @param jdbcTemplate The JDBC access to the application's database.
+     * @param transactionManager The transaction manager of the application's database.
+     * @param eventService The service whose due-event index is rebuilt after a restore.
+     * @param clockService The source of the time in snapshot names.
+     * @param directory The directory holding the snapshot files.
+     * @param blockSize The number of rows per snapshot block, JDBC fetch and insert batch.
+     */
+    public EventSnapshots(JdbcTemplate jdbcTemplate,
+                          PlatformTransactionManager transactionManager,
+                          EventService eventService,
+                          ClockService clockService,
+                          @Value("${scheduler.snapshot.path:data/snapshots}") String directory,
+                          @Value("${scheduler.snapshot.block-size:10000}") int blockSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.exportTransaction = new TransactionTemplate(transactionManager);
+        this.exportTransaction.setReadOnly(true);
+        this.exportTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.lockTransaction = new TransactionTemplate(transactionManager);
+        this.restoreTransaction = new TransactionTemplate(transactionManager);
+        this.restoreTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.eventService = eventService;
+        this.clockService = clockService;
+        this.directory = Paths.get(directory);
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Writes a snapshot of the events table to a new file named after the current time.
+     * @return The name, size and duration of the snapshot.
+     */
+    public Snapshot export() {
+        return export("events-" + NAME_TIME.format(clockService.now()) + SUFFIX);
+    }
+
+    /**
+     * Writes a snapshot of the events table to the named file, replacing an existing one.
+     * @param name The file name, ending in {@value #SUFFIX}.
+     * @return The name, size and duration of the snapshot.
+     */
+    Snapshot export(String name) {
+        long start = System.nanoTime();
+        Path target = resolve(name);
+        Path temporary = target.resolveSibling(name + ".part");
+        try {
+            Files.createDirectories(directory);
+            long rows;
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                EventSnapshotWriter writer = new EventSnapshotWriter(channel, blockSize);
+                exportTransaction.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                    PreparedStatement statement = connection.prepareStatement(SELECT_EVENTS,
+                            ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    statement.setFetchSize(blockSize);
+                    return statement;
+                }, (RowCallbackHandler) row -> append(writer, row)));
+                rows = writer.finish();
+                channel.force(true);
+            }
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Snapshot snapshot = new Snapshot(name, rows, Files.size(target), elapsedMillis(start));
+            logger.info("Exported {} event(s) to {} ({} bytes) in {} ms", rows, target, snapshot.getBytes(),
+                    snapshot.getMillis());
+            return snapshot;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write snapshot " + target, e);
+        } finally {
+            try {
+                Files.deleteIfExists(temporary);
+            } catch (IOException e) {
+                logger.warn("Cannot delete {}", temporary, e);
+            }
+        }
+    }
+
+    /**
+     * Loads the named snapshot into the events table, which must be empty.
+     * Event creation should be quiesced while a restore runs; see the class comment.
+     * @param name The file name of the snapshot.
+     * @return The name, size and duration of the restore.
+     * @throws SnapshotNotFoundException if there is no such snapshot.
+     * @throws com.example.eventscheduler.exception.InvalidSnapshotException if the file is incomplete or corrupt;
+     *         nothing is restored then.
+     * @throws EventConflictException if the events table is not empty or another restore is in progress.
+     */
+    public Snapshot restore(String name) {
+        long start = System.nanoTime();
+        Path file = resolve(name);
+        if (!Files.isRegularFile(file)) {
+            throw new SnapshotNotFoundException(name);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            EventSnapshotReader reader = new EventSnapshotReader(channel);
+            long maxId = 0;
+            for (int i = 0; i < reader.getBlockCount(); i++) {
+                EventSnapshotReader.Block block = reader.readBlock(i);
+                for (int row = 0; row < block.size(); row++) {
+                    maxId = Math.max(maxId, block.getId(row));
+                }
+            }
+            long restoredMaxId = maxId;
+            lockTransaction.executeWithoutResult(status -> restoreLocked(reader, restoredMaxId));
+            Snapshot snapshot = new Snapshot(name, reader.getRowCount(), channel.size(), elapsedMillis(start));
+            logger.info("Restored {} event(s) from {} in {} ms", snapshot.getEvents(), file, snapshot.getMillis());
+            return snapshot;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read snapshot " + file, e);
+        }
+    }
+
+    /**
+     * Restores a validated snapshot while holding the restore guard row. The sequence and this node's ID pool are
+     * moved past the snapshot's IDs before anything is inserted, so events created here meanwhile cannot collide
+     * with restored ones.
+     */
+    private void restoreLocked(EventSnapshotReader reader, long maxId) {
+        if (jdbcTemplate.queryForList(LOCK_RESTORE, Integer.class).isEmpty()) {
+            throw new EventConflictException("Another snapshot restore is in progress");
+        }
+        if (!jdbcTemplate.queryForList("select id from events fetch first 1 rows only", Long.class).isEmpty()) {
+            throw new EventConflictException("The events table is not empty; snapshots are only restored into "
+                    + "an empty table");
+        }
+        Long maxArchivedId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from events_archive",
+                Long.class);
+        long skipThrough = Math.max(maxId, maxArchivedId == null ? 0 : maxArchivedId);
+        jdbcTemplate.execute("alter sequence events_seq restart with " + (skipThrough + SEQUENCE_ALLOCATION_SIZE));
+        eventService.skipIdsThrough(skipThrough);
+        int committed = 0;
+        try {
+            for (; committed < reader.getBlockCount(); committed++) {
+                EventSnapshotReader.Block block = readBlock(reader, committed);
+                restoreTransaction.executeWithoutResult(status -> insert(block));
+            }
+        } catch (RuntimeException e) {
+            try {
+                for (int i = 0; i < committed; i++) {
+                    EventSnapshotReader.Block block = readBlock(reader, i);
+                    restoreTransaction.executeWithoutResult(status -> delete(block));
+                }
+            } catch (RuntimeException rollbackFailure) {
+                e.addSuppressed(rollbackFailure);
+            }
+            throw e;
+        }
+        eventService.rebuildDueEventIndex();
+    }
+
+    /**
+     * Lists the snapshots in the snapshot directory.
+     * @return The file names, oldest first for names generated by {@link #export()}.
+     */
+    public List<String> list() {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> SNAPSHOT_NAME.matcher(name).matches())
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot list " + directory, e);
+        }
+    }
+
+    /** Deletes exactly the rows of one block that was inserted before, with a single JDBC batch. */
+    private void delete(EventSnapshotReader.Block block) {
+        jdbcTemplate.batchUpdate("delete from events where id = ?", new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int row) throws SQLException {
+                statement.setLong(1, block.getId(row));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return block.size();
+            }
+        });
+    }
+
+    /** Inserts one block with a single JDBC batch. */
+    private void insert(EventSnapshotReader.Block block) {
+        jdbcTemplate.batchUpdate(INSERT_EVENT, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int row) throws SQLException {
+                statement.setLong(1, block.getId(row));
+                statement.setObject(2, block.getScheduledTime(row) == null ? null
+                        : OffsetDateTime.ofInstant(block.getScheduledTime(row), ZoneOffset.UTC));
+                statement.setString(3, block.getStatus(row) == null ? null : block.getStatus(row).name());
+                statement.setLong(4, block.getVersion(row));
+                statement.setString(5, block.getName(row));
+                statement.setString(6, block.getRecurrence(row));
+                statement.setString(7, block.getIdempotencyKey(row));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return block.size();
+            }
+        });
+    }
+
+    private static EventSnapshotReader.Block readBlock(EventSnapshotReader reader, int index) {
+        try {
+            return reader.readBlock(index);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path resolve(String name) {
+        if (!SNAPSHOT_NAME.matcher(name).matches()) {
+            throw new SnapshotNotFoundException(name);
+        }
+        return directory.resolve(name);
+    }
+
+    private static void append(EventSnapshotWriter writer, ResultSet row) throws SQLException {
+        OffsetDateTime scheduledTime = row.getObject(2, OffsetDateTime.class);
+        String status = row.getString(3);
+        try {
+            writer.append(row.getLong(1), scheduledTime == null ? null : scheduledTime.toInstant(),
+                    status == null ? null : EventStatus.valueOf(status), row.getLong(4), row.getString(5),
+                    row.getString(6), row.getString(7));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * The outcome of an export or a restore.
+     */
+    @lombok.Value
+    public static class Snapshot {
+        String name;
+        long events;
+        long bytes;
+        long millis;
+    }
+}
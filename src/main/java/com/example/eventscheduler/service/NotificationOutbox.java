@@ -0,0 +1,172 @@
+package com.example.eventscheduler.service;
+
+import com.example.eventscheduler.domain.OutboxMessage;
+import com.example.eventscheduler.domain.OutboxStatus;
+import com.example.eventscheduler.repository.OutboxMessageRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Transactional outbox of notifications, stored in the "notification_outbox" table.
+ * <p>
+ * {@link #append} joins the caller's transaction, so a notification is stored if and only if the change
+ * it reports commits. Relay workers {@link #claim} due messages, which hides them for a visibility timeout,
+ * and then report each one as {@link #delivered} (deleted) or {@link #failed}. A failed message is retried
+ * after an exponential backoff of {@code initial-backoff-ms * 2^(attempts - 1)}, capped at
+ * {@code max-backoff-ms}, and dead-lettered once {@code max-attempts} attempts have failed. A worker that
+ * dies between claiming and reporting leaves its messages to reappear when the visibility timeout ends,
+ * so delivery is at least once. The time is passed in by the caller.
+ */
+@Service
+public class NotificationOutbox {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+
+    /**
+     * Constructs the outbox.
+     * @param outboxMessageRepository The repository for outbox rows.
+     * @param maxAttempts The number of failed attempts after which a message is dead-lettered.
+     * @param initialBackoffMillis The delay before the first retry.
+     * @param maxBackoffMillis The longest delay between two attempts.
+     */
+    public NotificationOutbox(OutboxMessageRepository outboxMessageRepository,
+                              @Value("${scheduler.notifications.outbox.max-attempts:10}") int maxAttempts,
+                              @Value("${scheduler.notifications.outbox.initial-backoff-ms:1000}")
+                              long initialBackoffMillis,
+                              @Value("${scheduler.notifications.outbox.max-backoff-ms:300000}")
+                              long maxBackoffMillis) {
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = Duration.ofMillis(initialBackoffMillis);
+        this.maxBackoff = Duration.ofMillis(maxBackoffMillis);
+    }
+
+    /**
+     * Stores notifications for delivery, as part of the current transaction if there is one.
+     * @param messages The notification texts.
+     * @param now The current time.
+     */
+    @Transactional
+    public void append(List<String> messages, Instant now) {
+        List<OutboxMessage> rows = new ArrayList<>(messages.size());
+        for (String message : messages) {
+            rows.add(new OutboxMessage(message, now));
+        }
+        outboxMessageRepository.saveAll(rows);
+    }
+
+    /**
+     * Claims up to {@code limit} due messages of one partition ({@code id mod partitions}) and hides them
+     * from other workers until {@code now + visibilityTimeout}. Messages claimed concurrently by a worker
+     * of another node are skipped.
+     * @param partition The partition searched by the calling worker.
+     * @param partitions The number of partitions, i.e. relay workers per node.
+     * @param limit The maximum number of messages.
+     * @param now The current time.
+     * @param visibilityTimeout How long the messages stay hidden if the worker never reports back.
+     * @return The claimed messages in ID order.
+     */
+    @Transactional
+    public List<OutboxMessage> claim(int partition, int partitions, int limit, Instant now,
+                                     Duration visibilityTimeout) {
+        List<Long> ids = outboxMessageRepository.findReadyIds(OutboxStatus.PENDING, now, partitions, partition,
+                PageRequest.ofSize(limit));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        String token = UUID.randomUUID().toString();
+        if (outboxMessageRepository.claim(ids, OutboxStatus.PENDING, token, now, now.plus(visibilityTimeout)) == 0) {
+            return List.of();
+        }
+        return outboxMessageRepository.findByClaimTokenOrderById(token);
+    }
+
+    /**
+     * Removes delivered messages from the outbox.
+     * @param ids The IDs of the delivered messages.
+     */
+    @Transactional
+    public void delivered(Collection<Long> ids) {
+        if (!ids.isEmpty()) {
+            outboxMessageRepository.deleteByIdIn(ids);
+        }
+    }
+
+    /**
+     * Records a failed delivery attempt for each message, scheduling its retry or dead-lettering it.
+     * @param ids The IDs of the messages.
+     * @param error A description of the failure.
+     * @param now The current time.
+     * @return The number of messages dead-lettered.
+     */
+    @Transactional
+    public int failed(Collection<Long> ids, String error, Instant now) {
+        String lastError = error != null && error.length() > MAX_ERROR_LENGTH
+                ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        int dead = 0;
+        for (OutboxMessage message : outboxMessageRepository.findAllById(ids)) {
+            message.setAttempts(message.getAttempts() + 1);
+            message.setLastError(lastError);
+            if (message.getAttempts() >= maxAttempts) {
+                message.setStatus(OutboxStatus.DEAD);
+                dead++;
+            } else {
+                message.setNextAttemptAt(now.plus(backoff(message.getAttempts())));
+            }
+        }
+        return dead;
+    }
+
+    /**
+     * Makes every dead-lettered message pending again with a fresh retry budget.
+     * @param now The current time.
+     * @return The number of messages requeued.
+     */
+    @Transactional
+    public int retryDeadLetters(Instant now) {
+        return outboxMessageRepository.requeue(OutboxStatus.DEAD, OutboxStatus.PENDING, now);
+    }
+
+    /**
+     * Returns the number of pending and dead-lettered messages.
+     * @return The current outbox statistics.
+     */
+    @Transactional(readOnly = true)
+    public Stats getStats() {
+        return new Stats(outboxMessageRepository.countByStatus(OutboxStatus.PENDING),
+                outboxMessageRepository.countByStatus(OutboxStatus.DEAD));
+    }
+
+    /**
+     * Returns the delay before the next attempt of a message that failed {@code attempts} times.
+     * @param attempts The number of failed attempts, at least 1.
+     * @return The backoff delay.
+     */
+    Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 30));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    /**
+     * Point-in-time outbox statistics.
+     */
+    @lombok.Value
+    public static class Stats {
+        long pending;
+        long dead;
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.eventscheduler.service;
 
+import java.util.List;
+
 /**
  * Interface for a notification service.
  * This simulates an external dependency (e.g., an email service, push notification)
@@ -11,4 +13,14 @@ public interface NotificationService {
      * @param message The message to send.
      */
     void notifyUser(String message);
+
+    /**
+     * Sends a batch of notifications.
+     * Implementations backed by a batch-capable transport should override this to deliver
+     * the whole batch in one call; the default sends them one by one.
+     * @param messages The messages to send.
+     */
+    default void notifyUsers(List<String> messages) {
+        messages.forEach(this::notifyUser);
+    }
 }
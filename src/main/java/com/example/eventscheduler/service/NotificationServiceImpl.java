@@ -4,9 +4,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 /**
  * Concrete implementation of {@link NotificationService}.
  * Simulates a delay to mimic network latency for an external service call.
+ * A batch costs one round trip, the same as a single notification.
  */
 @Service
 public class NotificationServiceImpl implements NotificationService {
@@ -15,12 +18,22 @@ public class NotificationServiceImpl implements NotificationService {
 
     @Override
     public void notifyUser(String message) {
+        simulateNetworkDelay();
+        logger.info("Notification sent: {}", message);
+    }
+
+    @Override
+    public void notifyUsers(List<String> messages) {
+        simulateNetworkDelay();
+        logger.info("Notification batch sent: {} message(s)", messages.size());
+    }
+
+    private void simulateNetworkDelay() {
         try {
             Thread.sleep(100);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             logger.warn("Notification service thread interrupted during delay.", e);
         }
-        logger.info("Notification sent: {}", message);
     }
 }
@@ -0,0 +1,54 @@
+package com.example.eventscheduler.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * {@link NotificationService} that writes notifications to the {@link NotificationOutbox} instead of
+ * sending them. The insert joins the caller's transaction, so in {@link EventService#completeEvent(Long)}
+ * the status change and its notification commit or roll back together, and a slow or failing transport
+ * only delays the {@link OutboxRelay}, never the completion.
+ * <p>
+ * Enabled with {@code scheduler.notifications.outbox.enabled=true}, instead of {@link AsyncNotificationService}.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "scheduler.notifications.outbox.enabled", havingValue = "true")
+public class OutboxNotificationService implements NotificationService {
+
+    private final NotificationOutbox outbox;
+    private final ClockService clockService;
+
+    /**
+     * Constructs the service.
+     * @param outbox The outbox the notifications are written to.
+     * @param clockService The source of the current time.
+     */
+    public OutboxNotificationService(NotificationOutbox outbox, ClockService clockService) {
+        this.outbox = outbox;
+        this.clockService = clockService;
+    }
+
+    /**
+     * Stores a notification in the outbox as part of the current transaction.
+     * @param message The message to send.
+     */
+    @Override
+    public void notifyUser(String message) {
+        outbox.append(List.of(message), clockService.now());
+    }
+
+    /**
+     * Stores a batch of notifications in the outbox as part of the current transaction.
+     * @param messages The messages to send.
+     */
+    @Override
+    public void notifyUsers(List<String> messages) {
+        if (!messages.isEmpty()) {
+            outbox.append(messages, clockService.now());
+        }
+    }
+}
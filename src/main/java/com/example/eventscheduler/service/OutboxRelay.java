@@ -0,0 +1,194 @@
+package com.example.eventscheduler.service;
+
+import com.example.eventscheduler.domain.OutboxMessage;
+import com.example.eventscheduler.util.VirtualThreads;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Delivers the notifications stored in the {@link NotificationOutbox} through {@link NotificationServiceImpl}.
+ * <p>
+ * Each of the {@code scheduler.notifications.workers} threads owns one partition ({@code id mod workers}) of
+ * the outbox and repeatedly claims up to {@code scheduler.notifications.batch-size} due messages from it,
+ * delivers them in one transport call and deletes them. Workers never compete for rows, so throughput grows
+ * with their number until the transport or the database saturates. When a batch fails, its messages are
+ * retried one by one, so a single undeliverable message only uses up its own retry budget.
+ * Delivered, failed and dead-lettered messages are counted as {@link SharedCounterService.Counter#NOTIFIED},
+ * {@link SharedCounterService.Counter#FAILED} and {@link SharedCounterService.Counter#DEAD_LETTERED}.
+ * <p>
+ * Enabled together with {@link OutboxNotificationService} by {@code scheduler.notifications.outbox.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(name = "scheduler.notifications.outbox.enabled", havingValue = "true")
+public class OutboxRelay implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final NotificationOutbox outbox;
+    private final NotificationService transport;
+    private final SharedCounterService counters;
+    private final ClockService clockService;
+    private final int batchSize;
+    private final int workers;
+    private final long pollIntervalMillis;
+    private final Duration visibilityTimeout;
+    private final boolean virtualThreads;
+
+    private volatile boolean running;
+    private ExecutorService workerPool;
+
+    /**
+     * Constructs the relay.
+     * @param outbox The outbox to drain.
+     * @param transport The notification service used for delivery.
+     * @param counters The registry counting delivered, failed and dead-lettered messages.
+     * @param clockService The source of the current time for claims and retries.
+     * @param batchSize The maximum number of messages claimed and delivered at once.
+     * @param workers The number of delivery threads, and of outbox partitions.
+     * @param pollIntervalMillis How long a worker sleeps when its partition has no due messages.
+     * @param visibilityTimeoutMillis How long claimed messages stay hidden from other workers.
+     * @param virtualThreads Whether delivery threads are virtual threads.
+     */
+    public OutboxRelay(NotificationOutbox outbox,
+                       NotificationServiceImpl transport,
+                       SharedCounterService counters,
+                       ClockService clockService,
+                       @Value("${scheduler.notifications.batch-size:100}") int batchSize,
+                       @Value("${scheduler.notifications.workers:1}") int workers,
+                       @Value("${scheduler.notifications.outbox.poll-interval-ms:100}") long pollIntervalMillis,
+                       @Value("${scheduler.notifications.outbox.visibility-timeout-ms:30000}")
+                       long visibilityTimeoutMillis,
+                       @Value("${scheduler.virtual-threads.enabled:false}") boolean virtualThreads) {
+        this.outbox = outbox;
+        this.transport = transport;
+        this.counters = counters;
+        this.clockService = clockService;
+        this.batchSize = batchSize;
+        this.workers = workers;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.visibilityTimeout = Duration.ofMillis(visibilityTimeoutMillis);
+        this.virtualThreads = virtualThreads;
+    }
+
+    @Override
+    public void start() {
+        ThreadFactory threadFactory = virtualThreads
+                ? VirtualThreads.threadFactory("outbox-relay-")
+                : new CustomizableThreadFactory("outbox-relay-");
+        workerPool = Executors.newFixedThreadPool(workers, threadFactory);
+        running = true;
+        for (int i = 0; i < workers; i++) {
+            int partition = i;
+            workerPool.execute(() -> relayLoop(partition));
+        }
+        logger.info("Outbox relay started with {} worker(s)", workers);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        workerPool.shutdown();
+        try {
+            if (!workerPool.awaitTermination(5, TimeUnit.SECONDS)) {
+                logger.warn("Outbox relay workers did not finish; claimed messages are retried after {}",
+                        visibilityTimeout);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Claims and delivers one batch of due messages from a partition of the outbox.
+     * @param partition The partition to drain, below the number of workers.
+     * @return The number of messages claimed.
+     */
+    int relayOnce(int partition) {
+        List<OutboxMessage> batch = outbox.claim(partition, workers, batchSize, clockService.now(), visibilityTimeout);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        try {
+            transport.notifyUsers(batch.stream().map(OutboxMessage::getMessage).collect(Collectors.toList()));
+            outbox.delivered(ids(batch));
+            counters.add(SharedCounterService.Counter.NOTIFIED, batch.size());
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                recordFailure(batch.get(0), e);
+            } else {
+                logger.warn("Delivery of {} notification(s) failed; retrying them one by one", batch.size(), e);
+                deliverOneByOne(batch);
+            }
+        }
+        return batch.size();
+    }
+
+    private void deliverOneByOne(List<OutboxMessage> batch) {
+        List<Long> delivered = new ArrayList<>(batch.size());
+        for (OutboxMessage message : batch) {
+            try {
+                transport.notifyUser(message.getMessage());
+                delivered.add(message.getId());
+            } catch (RuntimeException e) {
+                recordFailure(message, e);
+            }
+        }
+        outbox.delivered(delivered);
+        counters.add(SharedCounterService.Counter.NOTIFIED, delivered.size());
+    }
+
+    private void recordFailure(OutboxMessage message, RuntimeException error) {
+        counters.increment(SharedCounterService.Counter.FAILED);
+        int dead = outbox.failed(List.of(message.getId()), error.toString(), clockService.now());
+        if (dead > 0) {
+            counters.add(SharedCounterService.Counter.DEAD_LETTERED, dead);
+            logger.error("Notification {} dead-lettered after its last attempt failed", message.getId(), error);
+        } else {
+            logger.warn("Notification {} failed and will be retried: {}", message.getId(), error.toString());
+        }
+    }
+
+    private void relayLoop(int partition) {
+        while (running) {
+            try {
+                if (relayOnce(partition) < batchSize) {
+                    Thread.sleep(pollIntervalMillis);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Outbox relay worker {} failed", partition, e);
+                try {
+                    Thread.sleep(pollIntervalMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private static List<Long> ids(List<OutboxMessage> messages) {
+        return messages.stream().map(OutboxMessage::getId).collect(Collectors.toList());
+    }
+}
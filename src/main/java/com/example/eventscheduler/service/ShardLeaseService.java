@@ -0,0 +1,110 @@
+package com.example.eventscheduler.service;
+
+import com.example.eventscheduler.domain.SchedulerNode;
+import com.example.eventscheduler.domain.ShardLease;
+import com.example.eventscheduler.repository.SchedulerNodeRepository;
+import com.example.eventscheduler.repository.ShardLeaseRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Distributes the shards of the events table over the live processing nodes through database leases.
+ * <p>
+ * Each call to {@link #rebalance} records the node's heartbeat, renews its leases and moves it towards
+ * its fair share of {@code ceil(shardCount / liveNodes)} shards: a node above its share releases its
+ * highest shards, a node below it claims free or expired ones. When a node joins, the others shed shards
+ * on their next call; when a node dies, its heartbeat and leases expire and the survivors take its shards.
+ * The time is passed in by the caller, so one process can simulate several nodes.
+ */
+@Service
+public class ShardLeaseService {
+
+    private final ShardLeaseRepository shardLeaseRepository;
+    private final SchedulerNodeRepository schedulerNodeRepository;
+
+    /**
+     * Constructs a ShardLeaseService with the lease and heartbeat repositories.
+     * @param shardLeaseRepository The repository for shard leases.
+     * @param schedulerNodeRepository The repository for node heartbeats.
+     */
+    public ShardLeaseService(ShardLeaseRepository shardLeaseRepository,
+                             SchedulerNodeRepository schedulerNodeRepository) {
+        this.shardLeaseRepository = shardLeaseRepository;
+        this.schedulerNodeRepository = schedulerNodeRepository;
+    }
+
+    /**
+     * Inserts the lease rows for shards 0 to {@code shardCount - 1} that do not exist yet.
+     * Two nodes starting at once may both insert a row; the loser fails with a
+     * {@link org.springframework.dao.DataIntegrityViolationException} and can ignore it.
+     * @param shardCount The number of shards in use.
+     */
+    @Transactional
+    public void createShards(int shardCount) {
+        Set<Integer> existing = new HashSet<>();
+        shardLeaseRepository.findAll().forEach(lease -> existing.add(lease.getShard()));
+        List<ShardLease> missing = new ArrayList<>();
+        for (int shard = 0; shard < shardCount; shard++) {
+            if (!existing.contains(shard)) {
+                missing.add(new ShardLease(shard, null, null));
+            }
+        }
+        shardLeaseRepository.saveAll(missing);
+    }
+
+    /**
+     * Records a heartbeat for the node, renews its leases and claims or releases shards until it holds
+     * its fair share.
+     * @param nodeId The ID of the node.
+     * @param shardCount The number of shards in use; must be the same on every node.
+     * @param now The current time.
+     * @param leaseDuration How long heartbeats and leases stay valid.
+     * @return The shards the node holds, in ascending order.
+     */
+    @Transactional
+    public List<Integer> rebalance(String nodeId, int shardCount, Instant now, Duration leaseDuration) {
+        Instant until = now.plus(leaseDuration);
+        if (schedulerNodeRepository.heartbeat(nodeId, now) == 0) {
+            schedulerNodeRepository.save(new SchedulerNode(nodeId, now));
+        }
+        Instant liveSince = now.minus(leaseDuration);
+        long liveNodes = Math.max(1, schedulerNodeRepository.countByHeartbeatAtGreaterThanEqual(liveSince));
+        int fairShare = (int) ((shardCount + liveNodes - 1) / liveNodes);
+
+        shardLeaseRepository.renew(nodeId, now, until);
+        List<Integer> owned = new ArrayList<>(shardLeaseRepository.findOwned(nodeId, now, shardCount));
+        if (owned.size() > fairShare) {
+            shardLeaseRepository.release(nodeId, new ArrayList<>(owned.subList(fairShare, owned.size())));
+            owned.subList(fairShare, owned.size()).clear();
+        } else if (owned.size() < fairShare) {
+            for (Integer shard : shardLeaseRepository.findClaimable(now, shardCount)) {
+                if (owned.size() >= fairShare) {
+                    break;
+                }
+                if (shardLeaseRepository.tryAcquire(shard, nodeId, now, until) == 1) {
+                    owned.add(shard);
+                }
+            }
+            owned.sort(null);
+        }
+        return owned;
+    }
+
+    /**
+     * Releases all of the node's leases and removes its heartbeat, so the remaining nodes take over its
+     * shards on their next rebalance instead of waiting for the leases to expire.
+     * @param nodeId The ID of the node.
+     */
+    @Transactional
+    public void leave(String nodeId) {
+        shardLeaseRepository.releaseAll(nodeId);
+        schedulerNodeRepository.unregister(nodeId);
+    }
+}
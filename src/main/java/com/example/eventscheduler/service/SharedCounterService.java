@@ -2,37 +2,126 @@ package com.example.eventscheduler.service;
 
 import org.springframework.stereotype.Service;
 
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
- * A service that manages a shared counter.
- * This simulates a shared mutable state that could potentially cause flaky tests
- * if not handled carefully (e.g., proper reset in tests, thread safety).
+ * A registry of named, process-wide event counters.
+ * Each {@link Counter} is a {@link LongAdder}: concurrent writers update separate cells instead of
+ * racing on one CAS cache line, and values are {@code long}, so they do not overflow on long-running
+ * nodes. Reads sum the cells and are therefore only exact once writers have stopped, which is fine for
+ * monitoring and for tests.
+ * The no-argument methods operate on {@link Counter#CREATED}.
  */
 @Service
 public class SharedCounterService {
-    private final AtomicInteger counter = new AtomicInteger(0);
 
     /**
-     * Increments the counter and returns the new value.
+     * The counters maintained by the scheduler.
+     */
+    public enum Counter {
+        /** Events created, one by one or in bulk. */
+        CREATED,
+        /** Events completed through the API or fired by the dispatcher. */
+        COMPLETED,
+        /** Events cancelled through the API. */
+        CANCELLED,
+        /** Notifications delivered. */
+        NOTIFIED,
+        /** Notifications that could not be delivered, counting every failed outbox attempt. */
+        FAILED,
+        /** Outbox notifications given up on after their last retry. */
+        DEAD_LETTERED,
+        /** Terminal events moved from the events table into the archive. */
+        ARCHIVED
+    }
+
+    private final LongAdder[] counters = new LongAdder[Counter.values().length];
+
+    /**
+     * Creates the registry with every counter at zero.
+     */
+    public SharedCounterService() {
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Increments a counter.
+     * @param counter The counter to increment.
+     */
+    public void increment(Counter counter) {
+        counters[counter.ordinal()].increment();
+    }
+
+    /**
+     * Adds the given amount to a counter.
+     * Lets bulk operations update a counter once instead of once per item.
+     * @param counter The counter to update.
+     * @param delta The amount to add.
+     */
+    public void add(Counter counter, long delta) {
+        counters[counter.ordinal()].add(delta);
+    }
+
+    /**
+     * Returns the current value of a counter.
+     * @param counter The counter to read.
+     * @return The counter value.
+     */
+    public long get(Counter counter) {
+        return counters[counter.ordinal()].sum();
+    }
+
+    /**
+     * Returns the current value of every counter.
+     * @return An unmodifiable map from counter to value, in declaration order.
+     */
+    public Map<Counter, Long> snapshot() {
+        Map<Counter, Long> values = new EnumMap<>(Counter.class);
+        for (Counter counter : Counter.values()) {
+            values.put(counter, get(counter));
+        }
+        return Collections.unmodifiableMap(values);
+    }
+
+    /**
+     * Increments the {@link Counter#CREATED} counter and returns its new value.
+     * Prefer {@link #increment(Counter)} on hot paths; the returned value costs a sum over all cells.
      * @return The incremented counter value.
      */
-    public int incrementAndGet() {
-        return counter.incrementAndGet();
+    public long incrementAndGet() {
+        increment(Counter.CREATED);
+        return get(Counter.CREATED);
+    }
+
+    /**
+     * Adds the given amount to the {@link Counter#CREATED} counter and returns its new value.
+     * @param delta The amount to add.
+     * @return The updated counter value.
+     */
+    public long addAndGet(long delta) {
+        add(Counter.CREATED, delta);
+        return get(Counter.CREATED);
     }
 
     /**
-     * Returns the current value of the counter.
+     * Returns the current value of the {@link Counter#CREATED} counter.
      * @return The current counter value.
      */
-    public int get() {
-        return counter.get();
+    public long get() {
+        return get(Counter.CREATED);
     }
 
     /**
-     * Resets the counter to 0. Useful for test setup/teardown.
+     * Resets every counter to 0. Useful for test setup/teardown.
      */
     public void reset() {
-        counter.set(0);
+        for (LongAdder counter : counters) {
+            counter.reset();
+        }
     }
 }
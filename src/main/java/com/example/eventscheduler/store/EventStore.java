@@ -0,0 +1,179 @@
+package com.example.eventscheduler.store;
+
+import com.example.eventscheduler.domain.Event;
+import com.example.eventscheduler.domain.EventStatus;
+import com.example.eventscheduler.repository.DueEventView;
+import com.example.eventscheduler.repository.EventStateChange;
+import com.example.eventscheduler.repository.EventStatusView;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Persistence operations used by {@link com.example.eventscheduler.service.EventService}.
+ * <p>
+ * {@link JpaEventStore}, the default, delegates to the Spring Data repository; {@link MappedEventStore}
+ * keeps events in a memory-mapped, append-only log with an in-memory index. The implementation is chosen
+ * with {@code scheduler.store.type} ({@code jpa} or {@code mmap}).
+ * Events returned by a store may be modified and passed back to {@link #save(Event)}.
+ * Every change increments the event's {@link Event#getVersion() version}.
+ */
+public interface EventStore {
+
+    /**
+     * Inserts a new event, assigning its ID, or writes the current state of an existing one.
+     * Writing an existing event checks and increments its version.
+     * @param event The event to save.
+     * @return The saved event.
+     * @throws org.springframework.dao.OptimisticLockingFailureException if the event was changed since it was
+     *         read.
+     * @throws org.springframework.dao.DataIntegrityViolationException if another event has the same idempotency
+     *         key; with the JPA store, possibly only when the transaction commits.
+     */
+    Event save(Event event);
+
+    /**
+     * Inserts many new events at once, assigning their IDs.
+     * @param events The new (id-less) events to insert.
+     */
+    void insertAll(List<Event> events);
+
+    /**
+     * Makes sure that IDs assigned from now on are greater than the given one, for events inserted with their
+     * own IDs behind the store's back, such as a snapshot restore.
+     * With the JPA store, {@code events_seq} must already be past {@code id}; only this node's pool of
+     * preallocated IDs is moved.
+     * @param id The highest ID that must not be assigned.
+     */
+    void skipIdsThrough(long id);
+
+    /**
+     * Finds an event by its ID.
+     * @param id The ID of the event.
+     * @return The event, or empty if it does not exist.
+     */
+    Optional<Event> findById(Long id);
+
+    /**
+     * Finds the event created with the given idempotency key.
+     * @param idempotencyKey The idempotency key.
+     * @return The ID of the event, or empty if no event has the key.
+     */
+    Optional<Long> findIdByIdempotencyKey(String idempotencyKey);
+
+    /**
+     * Finds the ID, name and status of the given events.
+     * @param ids The IDs to look up.
+     * @return One view per existing event.
+     */
+    List<EventStatusView> findByIdIn(Collection<Long> ids);
+
+    /**
+     * Moves the given one-off events from one status to another. Events that are not currently in
+     * {@code from} are left untouched, and so are recurring events. Each event is checked and updated
+     * atomically, so of several concurrent calls for the same event only one updates it.
+     * @param ids The IDs of the events to update.
+     * @param from The status the events must currently have.
+     * @param to The new status.
+     * @return The number of events updated.
+     */
+    int updateStatus(Collection<Long> ids, EventStatus from, EventStatus to);
+
+    /**
+     * Atomically sets an event's status and scheduled time if its version still equals the one it was read
+     * at, and increments the version. The lock-free building block of single-event status changes: of
+     * several concurrent calls with the same expected version, exactly one succeeds.
+     * Instances already loaded are not updated; the caller builds the new state itself.
+     * @param id The ID of the event.
+     * @param expectedVersion The version the event was read at.
+     * @param status The new status.
+     * @param scheduledTime The new scheduled time.
+     * @return true if the event was updated; false if it was changed or removed in the meantime.
+     */
+    boolean compareAndSet(Long id, long expectedVersion, EventStatus status, Instant scheduledTime);
+
+    /**
+     * Applies many {@link #compareAndSet compare-and-sets} at once; each one succeeds or misses on its own.
+     * The JPA store sends them as one JDBC batch, so claiming a batch of due events costs one round trip.
+     * @param changes The changes to apply.
+     * @return For each change, in order, whether it was applied.
+     */
+    boolean[] compareAndSetAll(List<EventStateChange> changes);
+
+    /**
+     * Loads the recurring events among the given IDs that are in the given status.
+     * @param ids The IDs to look up.
+     * @param status The status the events must have.
+     * @return The matching recurring events.
+     */
+    List<Event> findRecurringByIdIn(Collection<Long> ids, EventStatus status);
+
+    /**
+     * Finds all events with the given status.
+     * @param status The status of the events to find.
+     * @return One view per matching event.
+     */
+    List<DueEventView> findViewsByStatus(EventStatus status);
+
+    /**
+     * Finds the events with the given status that are scheduled before the given instant.
+     * @param status The status of the events to find.
+     * @param now The instant before which events are due.
+     * @return One view per due event, oldest first.
+     */
+    List<DueEventView> findDue(EventStatus status, Instant now);
+
+    /**
+     * Streams the events with the given status that are scheduled before the given instant.
+     * Must be closed, and with the JPA store consumed inside a transaction.
+     * @param status The status of the events to find.
+     * @param now The instant before which events are due.
+     * @return A stream of due events, oldest first.
+     */
+    Stream<DueEventView> streamDue(EventStatus status, Instant now);
+
+    /**
+     * Streams every event, whatever its status, in ID order.
+     * Must be closed, and with the JPA store consumed inside a transaction.
+     * @return A stream of detached events.
+     */
+    Stream<Event> streamAll();
+
+    /**
+     * Returns the first page of due events in keyset order (scheduledTime, id).
+     * @param status The status of the events to find.
+     * @param now The instant before which events are due.
+     * @param page The page size (the page number should be 0).
+     * @return Up to {@code page.getPageSize()} events.
+     */
+    List<DueEventView> findDuePage(EventStatus status, Instant now, Pageable page);
+
+    /**
+     * Returns the page of due events that follows the given keyset position.
+     * @param status The status of the events to find.
+     * @param now The instant before which events are due.
+     * @param afterTime The scheduled time of the last event of the previous page.
+     * @param afterId The ID of the last event of the previous page.
+     * @param page The page size (the page number should be 0).
+     * @return Up to {@code page.getPageSize()} events.
+     */
+    List<DueEventView> findDuePageAfter(EventStatus status, Instant now, Instant afterTime, Long afterId,
+                                        Pageable page);
+
+    /**
+     * Returns the oldest events with the given status that are due at {@code now} and whose ID modulo
+     * {@code shardCount} is one of the given shards.
+     * @param status The status of the events to find.
+     * @param now The instant before which events are due.
+     * @param shardCount The number of shards.
+     * @param shards The shards to read.
+     * @param page The page size (the page number should be 0).
+     * @return Up to {@code page.getPageSize()} events, oldest first.
+     */
+    List<DueEventView> findDueInShards(EventStatus status, Instant now, int shardCount, Collection<Integer> shards,
+                                       Pageable page);
+}
@@ -0,0 +1,123 @@
+package com.example.eventscheduler.store;
+
+import com.example.eventscheduler.domain.Event;
+import com.example.eventscheduler.domain.EventStatus;
+import com.example.eventscheduler.repository.DueEventView;
+import com.example.eventscheduler.repository.EventRepository;
+import com.example.eventscheduler.repository.EventStateChange;
+import com.example.eventscheduler.repository.EventStatusView;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * The default {@link EventStore}: every operation is a call on {@link EventRepository}, so events live in
+ * the relational database and take part in the caller's transaction.
+ */
+@Component
+@ConditionalOnProperty(name = "scheduler.store.type", havingValue = "jpa", matchIfMissing = true)
+public class JpaEventStore implements EventStore {
+
+    private final EventRepository eventRepository;
+
+    /**
+     * Constructs a JpaEventStore over the given repository.
+     * @param eventRepository The repository for Event persistence.
+     */
+    public JpaEventStore(EventRepository eventRepository) {
+        this.eventRepository = eventRepository;
+    }
+
+    @Override
+    public Event save(Event event) {
+        return eventRepository.save(event);
+    }
+
+    @Override
+    public void insertAll(List<Event> events) {
+        eventRepository.insertAll(events);
+    }
+
+    @Override
+    public void skipIdsThrough(long id) {
+        eventRepository.skipIdsThrough(id);
+    }
+
+    @Override
+    public Optional<Event> findById(Long id) {
+        return eventRepository.findById(id);
+    }
+
+    @Override
+    public Optional<Long> findIdByIdempotencyKey(String idempotencyKey) {
+        return eventRepository.findIdByIdempotencyKey(idempotencyKey);
+    }
+
+    @Override
+    public List<EventStatusView> findByIdIn(Collection<Long> ids) {
+        return eventRepository.findByIdIn(ids);
+    }
+
+    @Override
+    public int updateStatus(Collection<Long> ids, EventStatus from, EventStatus to) {
+        return eventRepository.updateStatus(ids, from, to);
+    }
+
+    @Override
+    public boolean compareAndSet(Long id, long expectedVersion, EventStatus status, Instant scheduledTime) {
+        return eventRepository.compareAndSet(id, expectedVersion, status, scheduledTime) == 1;
+    }
+
+    @Override
+    public boolean[] compareAndSetAll(List<EventStateChange> changes) {
+        return eventRepository.compareAndSetAll(changes);
+    }
+
+    @Override
+    public List<Event> findRecurringByIdIn(Collection<Long> ids, EventStatus status) {
+        return eventRepository.findRecurringByIdIn(ids, status);
+    }
+
+    @Override
+    public List<DueEventView> findViewsByStatus(EventStatus status) {
+        return eventRepository.findViewsByStatus(status);
+    }
+
+    @Override
+    public List<DueEventView> findDue(EventStatus status, Instant now) {
+        return eventRepository.findDue(status, now);
+    }
+
+    @Override
+    public Stream<DueEventView> streamDue(EventStatus status, Instant now) {
+        return eventRepository.streamDue(status, now);
+    }
+
+    @Override
+    public Stream<Event> streamAll() {
+        return eventRepository.streamAll();
+    }
+
+    @Override
+    public List<DueEventView> findDuePage(EventStatus status, Instant now, Pageable page) {
+        return eventRepository.findDuePage(status, now, page);
+    }
+
+    @Override
+    public List<DueEventView> findDuePageAfter(EventStatus status, Instant now, Instant afterTime, Long afterId,
+                                               Pageable page) {
+        return eventRepository.findDuePageAfter(status, now, afterTime, afterId, page);
+    }
+
+    @Override
+    public List<DueEventView> findDueInShards(EventStatus status, Instant now, int shardCount,
+                                              Collection<Integer> shards, Pageable page) {
+        return eventRepository.findDueInShards(status, now, shardCount, shards, page);
+    }
+}
@@ -0,0 +1,526 @@
+package com.example.eventscheduler.store;
+
+import com.example.eventscheduler.domain.Event;
+import com.example.eventscheduler.domain.EventStatus;
+import com.example.eventscheduler.domain.Recurrence;
+import com.example.eventscheduler.repository.DueEventView;
+import com.example.eventscheduler.repository.EventStateChange;
+import com.example.eventscheduler.repository.EventStatusView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * {@link EventStore} backed by memory-mapped, append-only log files instead of JPA and SQL.
+ * <p>
+ * Every write appends a fixed-width {@value #RECORD_SIZE}-byte record holding an event's full state to
+ * {@code events.log}: ID, scheduled time in epoch milliseconds, offsets of its name and recurrence rule in
+ * {@code strings.log}, the status ordinal and a CRC32. Names and rules are written once per event and
+ * shared by all of its later records, so a status change costs one record. The latest record of each event
+ * is kept in an in-memory index, with SCHEDULED events additionally ordered by (scheduledTime, id), so all
+ * reads are served from memory.
+ * <p>
+ * An event's version is the number of records written for it after the first, so it needs no space in the
+ * record: it is counted during replay. Conditional updates compare and write under the store's lock.
+ * Idempotency keys are only held in memory and are not written to the log, so they stop deduplicating
+ * retries once the process restarts.
+ * <p>
+ * On startup the log is replayed from the beginning; the last record of an event wins. Replay stops at the
+ * first zeroed or corrupt record, which drops a write torn by a crash, and appending resumes there.
+ * Records reach the page cache as soon as they are written, so they survive a crash of the process;
+ * with {@code scheduler.store.fsync=true} every write is also flushed to disk, so they survive a crash of
+ * the machine. Writes are not transactional, but a change to an existing event made inside the caller's
+ * transaction is undone if that transaction rolls back: the event's earlier state is appended again as a new
+ * version, unless the event was changed once more in the meantime. Until then other callers see the change, and
+ * a crash before the rollback keeps it. Inserts are not undone.
+ * Scheduled times are kept with millisecond precision. The log is never compacted.
+ * <p>
+ * Enabled with {@code scheduler.store.type=mmap}; files live in {@code scheduler.store.path}.
+ */
+@Component
+@ConditionalOnProperty(name = "scheduler.store.type", havingValue = "mmap")
+public class MappedEventStore implements EventStore, Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(MappedEventStore.class);
+
+    /** Size of one record: id, time, name offset, recurrence offset (8 bytes each), status, padding, CRC. */
+    static final int RECORD_SIZE = 40;
+
+    private static final int CRC_OFFSET = 36;
+    private static final long NO_STRING = -1;
+    private static final EventStatus[] STATUSES = EventStatus.values();
+    private static final Comparator<StoredEvent> BY_TIME_THEN_ID = Comparator
+            .comparing(StoredEvent::getScheduledTime)
+            .thenComparing(StoredEvent::getId);
+
+    private final MappedLog records;
+    private final MappedLog strings;
+    private final boolean fsync;
+    private final Map<Long, StoredEvent> byId = new ConcurrentHashMap<>();
+    private final NavigableSet<StoredEvent> scheduled = new ConcurrentSkipListSet<>(BY_TIME_THEN_ID);
+    private final Map<String, Long> byIdempotencyKey = new ConcurrentHashMap<>();
+    private final CRC32 crc = new CRC32();
+    private long nextId = 1;
+
+    /**
+     * Opens the store in the given directory, creating it if needed, and replays its log.
+     * @param directory The directory holding {@code events.log} and {@code strings.log}.
+     * @param fsync Whether every write is flushed to disk before returning.
+     * @throws IOException if the files cannot be opened or mapped.
+     */
+    @Autowired
+    public MappedEventStore(@Value("${scheduler.store.path:data/event-store}") Path directory,
+                            @Value("${scheduler.store.fsync:false}") boolean fsync) throws IOException {
+        this(directory, fsync, RECORD_SIZE << 20, 16 << 20);
+    }
+
+    MappedEventStore(Path directory, boolean fsync, int recordChunkSize, int stringChunkSize) throws IOException {
+        Files.createDirectories(directory);
+        this.records = new MappedLog(directory.resolve("events.log"), recordChunkSize - recordChunkSize % RECORD_SIZE);
+        this.strings = new MappedLog(directory.resolve("strings.log"), stringChunkSize);
+        this.fsync = fsync;
+        recover();
+    }
+
+    @Override
+    public synchronized Event save(Event event) {
+        append(event);
+        sync();
+        return event;
+    }
+
+    @Override
+    public synchronized void insertAll(List<Event> events) {
+        for (Event event : events) {
+            append(event);
+        }
+        sync();
+    }
+
+    @Override
+    public synchronized void skipIdsThrough(long id) {
+        nextId = Math.max(nextId, id + 1);
+    }
+
+    @Override
+    public Optional<Event> findById(Long id) {
+        return Optional.ofNullable(byId.get(id)).map(StoredEvent::toEvent);
+    }
+
+    @Override
+    public Optional<Long> findIdByIdempotencyKey(String idempotencyKey) {
+        return Optional.ofNullable(byIdempotencyKey.get(idempotencyKey));
+    }
+
+    @Override
+    public List<EventStatusView> findByIdIn(Collection<Long> ids) {
+        List<EventStatusView> found = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            StoredEvent event = byId.get(id);
+            if (event != null) {
+                found.add(event);
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public synchronized int updateStatus(Collection<Long> ids, EventStatus from, EventStatus to) {
+        int updated = 0;
+        try {
+            for (Long id : ids) {
+                StoredEvent event = byId.get(id);
+                if (event != null && event.getStatus() == from && event.getRecurrence() == null) {
+                    write(event.withStatus(to));
+                    updated++;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        sync();
+        return updated;
+    }
+
+    @Override
+    public synchronized boolean compareAndSet(Long id, long expectedVersion, EventStatus status,
+                                              Instant scheduledTime) {
+        StoredEvent event = byId.get(id);
+        if (event == null || event.getVersion() != expectedVersion) {
+            return false;
+        }
+        try {
+            write(event.withState(status, Instant.ofEpochMilli(scheduledTime.toEpochMilli())));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        sync();
+        return true;
+    }
+
+    @Override
+    public synchronized boolean[] compareAndSetAll(List<EventStateChange> changes) {
+        boolean[] applied = new boolean[changes.size()];
+        try {
+            for (int i = 0; i < applied.length; i++) {
+                EventStateChange change = changes.get(i);
+                StoredEvent event = byId.get(change.getId());
+                if (event != null && event.getVersion() == change.getExpectedVersion()) {
+                    write(event.withState(change.getStatus(),
+                            Instant.ofEpochMilli(change.getScheduledTime().toEpochMilli())));
+                    applied[i] = true;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        sync();
+        return applied;
+    }
+
+    @Override
+    public List<Event> findRecurringByIdIn(Collection<Long> ids, EventStatus status) {
+        List<Event> found = new ArrayList<>();
+        for (Long id : ids) {
+            StoredEvent event = byId.get(id);
+            if (event != null && event.getStatus() == status && event.getRecurrence() != null) {
+                found.add(event.toEvent());
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public List<DueEventView> findViewsByStatus(EventStatus status) {
+        return withStatus(status).stream().map(StoredEvent::toView).collect(Collectors.toList());
+    }
+
+    @Override
+    public List<DueEventView> findDue(EventStatus status, Instant now) {
+        return before(status, now).stream().map(StoredEvent::toView).collect(Collectors.toList());
+    }
+
+    @Override
+    public Stream<DueEventView> streamDue(EventStatus status, Instant now) {
+        return before(status, now).stream().map(StoredEvent::toView);
+    }
+
+    @Override
+    public Stream<Event> streamAll() {
+        return byId.values().stream().sorted(Comparator.comparing(StoredEvent::getId)).map(StoredEvent::toEvent);
+    }
+
+    @Override
+    public List<DueEventView> findDuePage(EventStatus status, Instant now, Pageable page) {
+        return before(status, now).stream().limit(page.getPageSize()).map(StoredEvent::toView)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<DueEventView> findDuePageAfter(EventStatus status, Instant now, Instant afterTime, Long afterId,
+                                               Pageable page) {
+        return before(status, now).tailSet(StoredEvent.probe(afterTime, afterId), false).stream()
+                .limit(page.getPageSize()).map(StoredEvent::toView).collect(Collectors.toList());
+    }
+
+    @Override
+    public List<DueEventView> findDueInShards(EventStatus status, Instant now, int shardCount,
+                                              Collection<Integer> shards, Pageable page) {
+        return before(status, now).stream()
+                .filter(event -> shards.contains((int) Math.floorMod(event.getId(), (long) shardCount)))
+                .limit(page.getPageSize()).map(StoredEvent::toView).collect(Collectors.toList());
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        records.close();
+        strings.close();
+    }
+
+    /** Returns the events with the given status in (scheduledTime, id) order; only SCHEDULED ones are indexed. */
+    private NavigableSet<StoredEvent> withStatus(EventStatus status) {
+        if (status == EventStatus.SCHEDULED) {
+            return scheduled;
+        }
+        NavigableSet<StoredEvent> matching = new ConcurrentSkipListSet<>(BY_TIME_THEN_ID);
+        byId.values().stream().filter(event -> event.getStatus() == status).forEach(matching::add);
+        return matching;
+    }
+
+    private NavigableSet<StoredEvent> before(EventStatus status, Instant now) {
+        return withStatus(status).headSet(StoredEvent.probe(now, Long.MIN_VALUE), false);
+    }
+
+    private void append(Event event) {
+        String key = event.getIdempotencyKey();
+        if (event.getId() == null && key != null && byIdempotencyKey.containsKey(key)) {
+            throw new DataIntegrityViolationException("Duplicate idempotency key: " + key);
+        }
+        if (event.getId() == null) {
+            event.setId(nextId++);
+        }
+        event.setScheduledTime(Instant.ofEpochMilli(event.getScheduledTime().toEpochMilli()));
+        StoredEvent previous = byId.get(event.getId());
+        if (previous != null && event.getVersion() != null && event.getVersion() != previous.getVersion()) {
+            throw new OptimisticLockingFailureException("Event " + event.getId() + " was changed concurrently");
+        }
+        long version = previous == null ? 0 : previous.getVersion() + 1;
+        try {
+            long nameRef = previous != null && Objects.equals(previous.getName(), event.getName())
+                    ? previous.getNameRef() : appendString(event.getName());
+            String rule = event.getRecurrence() == null ? null : event.getRecurrence().toString();
+            long recurrenceRef = previous != null && Objects.equals(previous.getRecurrence(), event.getRecurrence())
+                    ? previous.getRecurrenceRef() : appendString(rule);
+            write(new StoredEvent(event.getId(), event.getName(), event.getScheduledTime(), event.getStatus(),
+                    event.getRecurrence(), version, nameRef, recurrenceRef));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        event.setVersion(version);
+        if (key != null) {
+            byIdempotencyKey.putIfAbsent(key, event.getId());
+        }
+    }
+
+    private void write(StoredEvent event) throws IOException {
+        StoredEvent previous = byId.get(event.getId());
+        ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE)
+                .putLong(event.getId())
+                .putLong(event.getScheduledTime().toEpochMilli())
+                .putLong(event.getNameRef())
+                .putLong(event.getRecurrenceRef())
+                .put((byte) event.getStatus().ordinal());
+        crc.reset();
+        crc.update(record.array(), 0, CRC_OFFSET);
+        record.putInt(CRC_OFFSET, (int) crc.getValue());
+        records.append(record.array());
+        index(event);
+        if (previous != null) {
+            remember(new Change(previous, event));
+        }
+    }
+
+    /**
+     * Keeps a change to an existing event until the current transaction completes, so that a rollback can
+     * undo it. Outside a transaction, and while a rollback is undone, there is nothing to keep.
+     */
+    private void remember(Change change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<Change> changes = (List<Change>) TransactionSynchronizationManager.getResource(this);
+        if (changes == null) {
+            List<Change> made = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, made);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(MappedEventStore.this);
+                    if (status != STATUS_COMMITTED) {
+                        undo(made);
+                    }
+                }
+            });
+            changes = made;
+        }
+        changes.add(change);
+    }
+
+    /**
+     * Writes back the state the events had before the changes of a rolled-back transaction, newest change first.
+     * An event that was changed again since keeps its newer state.
+     */
+    private synchronized void undo(List<Change> changes) {
+        try {
+            for (int i = changes.size() - 1; i >= 0; i--) {
+                Change change = changes.get(i);
+                StoredEvent current = byId.get(change.getAfter().getId());
+                if (current.getVersion() == change.getAfter().getVersion()) {
+                    write(change.getBefore().restoredOver(current));
+                } else {
+                    logger.warn("Event {} was changed again before its rolled-back change could be undone",
+                            current.getId());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        sync();
+    }
+
+    private void index(StoredEvent event) {
+        StoredEvent previous = byId.put(event.getId(), event);
+        if (previous != null && previous.getStatus() == EventStatus.SCHEDULED) {
+            scheduled.remove(previous);
+        }
+        if (event.getStatus() == EventStatus.SCHEDULED) {
+            scheduled.add(event);
+        }
+    }
+
+    private long appendString(String value) throws IOException {
+        if (value == null) {
+            return NO_STRING;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        return strings.append(ByteBuffer.allocate(Integer.BYTES + utf8.length).putInt(utf8.length).put(utf8).array());
+    }
+
+    private String readString(long offset) {
+        if (offset == NO_STRING) {
+            return null;
+        }
+        byte[] utf8 = new byte[strings.readInt(offset)];
+        strings.read(offset + Integer.BYTES, utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private void sync() {
+        if (fsync) {
+            records.force();
+            strings.force();
+        }
+    }
+
+    /**
+     * Replays the log into the index and positions both files after the last valid entry. Strings
+     * appended after the last valid record belong to a write that never completed and are overwritten.
+     */
+    private void recover() {
+        byte[] bytes = new byte[RECORD_SIZE];
+        ByteBuffer record = ByteBuffer.wrap(bytes);
+        long offset = 0;
+        long stringsEnd = 0;
+        int replayed = 0;
+        while (true) {
+            offset = records.alignedOffset(offset, RECORD_SIZE);
+            if (offset + RECORD_SIZE > records.capacity()) {
+                break;
+            }
+            records.read(offset, bytes);
+            long id = record.getLong(0);
+            crc.reset();
+            crc.update(bytes, 0, CRC_OFFSET);
+            if (id == 0 || record.getInt(CRC_OFFSET) != (int) crc.getValue()) {
+                if (id != 0) {
+                    logger.warn("Discarding torn record at offset {} of the event log", offset);
+                }
+                break;
+            }
+            StoredEvent previous = byId.get(id);
+            long nameRef = record.getLong(16);
+            long recurrenceRef = record.getLong(24);
+            String name = previous != null && previous.getNameRef() == nameRef
+                    ? previous.getName() : readString(nameRef);
+            Recurrence recurrence = previous != null && previous.getRecurrenceRef() == recurrenceRef
+                    ? previous.getRecurrence() : parseRule(readString(recurrenceRef));
+            index(new StoredEvent(id, name, Instant.ofEpochMilli(record.getLong(8)), STATUSES[record.get(32)],
+                    recurrence, previous == null ? 0 : previous.getVersion() + 1, nameRef, recurrenceRef));
+            stringsEnd = Math.max(stringsEnd, stringEnd(nameRef));
+            stringsEnd = Math.max(stringsEnd, stringEnd(recurrenceRef));
+            nextId = Math.max(nextId, id + 1);
+            offset += RECORD_SIZE;
+            replayed++;
+        }
+        records.position(offset);
+        strings.position(stringsEnd);
+        logger.info("Event store recovered {} event(s) from {} record(s)", byId.size(), replayed);
+    }
+
+    private long stringEnd(long offset) {
+        return offset == NO_STRING ? 0 : offset + Integer.BYTES + strings.readInt(offset);
+    }
+
+    private static Recurrence parseRule(String rule) {
+        return rule == null ? null : Recurrence.parse(rule);
+    }
+
+    /**
+     * The latest state of one event as held in the index, with the offsets of its strings in the log.
+     */
+    @lombok.Value
+    static class StoredEvent implements EventStatusView {
+        Long id;
+        String name;
+        Instant scheduledTime;
+        EventStatus status;
+        Recurrence recurrence;
+        long version;
+        long nameRef;
+        long recurrenceRef;
+
+        /** A search key positioned at the given (scheduledTime, id). */
+        static StoredEvent probe(Instant scheduledTime, long id) {
+            return new StoredEvent(id, null, scheduledTime, null, null, 0, NO_STRING, NO_STRING);
+        }
+
+        StoredEvent withStatus(EventStatus newStatus) {
+            return withState(newStatus, scheduledTime);
+        }
+
+        /** The next version of this event, with the given status and scheduled time. */
+        StoredEvent withState(EventStatus newStatus, Instant newScheduledTime) {
+            return new StoredEvent(id, name, newScheduledTime, newStatus, recurrence, version + 1, nameRef,
+                    recurrenceRef);
+        }
+
+        /** This state again, as the version after the given current one. */
+        StoredEvent restoredOver(StoredEvent current) {
+            return new StoredEvent(id, name, scheduledTime, status, recurrence, current.getVersion() + 1, nameRef,
+                    recurrenceRef);
+        }
+
+        Event toEvent() {
+            return Event.builder()
+                    .id(id)
+                    .name(name)
+                    .scheduledTime(scheduledTime)
+                    .status(status)
+                    .recurrence(recurrence)
+                    .version(version)
+                    .build();
+        }
+
+        DueEventView toView() {
+            return new DueEventView(id, name, scheduledTime, recurrence, version);
+        }
+    }
+
+    /** A change to an existing event made inside a transaction: its state before and after. */
+    @lombok.Value
+    private static class Change {
+        StoredEvent before;
+        StoredEvent after;
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.eventscheduler.store;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An append-only file accessed through fixed-size memory-mapped chunks.
+ * <p>
+ * The file grows one chunk at a time and is zero-filled beyond the last write, so readers recognise the
+ * end of the log by a zeroed entry. An entry never straddles two chunks: one that does not fit into the
+ * rest of the current chunk starts at the next one. Not thread-safe; the owner serializes appends.
+ */
+final class MappedLog implements Closeable {
+
+    private final FileChannel channel;
+    private final int chunkSize;
+    private final List<MappedByteBuffer> chunks = new ArrayList<>();
+    private long position;
+    private int firstDirtyChunk = Integer.MAX_VALUE;
+
+    /**
+     * Opens or creates the log and maps every existing chunk. The write position starts at 0; the owner
+     * moves it past the recovered entries with {@link #position(long)}.
+     */
+    MappedLog(Path file, int chunkSize) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        this.chunkSize = chunkSize;
+        long size = channel.size();
+        for (long offset = 0; offset < size; offset += chunkSize) {
+            map(chunks.size());
+        }
+    }
+
+    /** Returns the number of mapped bytes, i.e. the file size. */
+    long capacity() {
+        return (long) chunks.size() * chunkSize;
+    }
+
+    /** Returns the offset at which the next entry of {@code length} bytes would be read or written. */
+    long alignedOffset(long offset, int length) {
+        if (length > chunkSize) {
+            throw new IllegalArgumentException("Entry of " + length + " bytes exceeds the chunk size " + chunkSize);
+        }
+        long remaining = chunkSize - offset % chunkSize;
+        return remaining < length ? offset + remaining : offset;
+    }
+
+    void position(long position) {
+        this.position = position;
+    }
+
+    /**
+     * Writes the bytes at the end of the log.
+     * @return The offset of the entry.
+     */
+    long append(byte[] bytes) throws IOException {
+        long offset = alignedOffset(position, bytes.length);
+        int chunk = (int) (offset / chunkSize);
+        while (chunks.size() <= chunk) {
+            map(chunks.size());
+        }
+        chunks.get(chunk).put((int) (offset % chunkSize), bytes);
+        firstDirtyChunk = Math.min(firstDirtyChunk, chunk);
+        position = offset + bytes.length;
+        return offset;
+    }
+
+    /** Reads {@code dst.length} bytes starting at the given offset, which must come from {@link #alignedOffset}. */
+    void read(long offset, byte[] dst) {
+        chunks.get((int) (offset / chunkSize)).get((int) (offset % chunkSize), dst);
+    }
+
+    /** Reads the int at the given offset. */
+    int readInt(long offset) {
+        return chunks.get((int) (offset / chunkSize)).getInt((int) (offset % chunkSize));
+    }
+
+    /** Flushes the chunks written since the last call to the storage device. */
+    void force() {
+        for (int chunk = firstDirtyChunk; chunk < chunks.size(); chunk++) {
+            chunks.get(chunk).force();
+        }
+        firstDirtyChunk = Integer.MAX_VALUE;
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    private void map(int chunk) throws IOException {
+        chunks.add(channel.map(FileChannel.MapMode.READ_WRITE, (long) chunk * chunkSize, chunkSize));
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.eventscheduler.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Helpers for running side effects only once the surrounding transaction has committed.
+ * Outside of a transaction (e.g. in plain unit tests) the action runs immediately.
+ */
+public final class TransactionCallbacks {
+
+    private TransactionCallbacks() {
+    }
+
+    /**
+     * Runs the given action after the current transaction commits, or right away if no
+     * transaction synchronization is active. The action is dropped if the transaction rolls back.
+     * @param action The side effect to run.
+     */
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Runs the given action after the current transaction commits, like {@link #afterCommit(Runnable)}, and the
+     * given cleanup once the transaction has completed either way, after the action if it ran. Without an active
+     * transaction synchronization both run right away.
+     * @param action The side effect to run on commit.
+     * @param cleanup The step to run after commit or rollback.
+     */
+    public static void afterCommit(Runnable action, Runnable cleanup) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            try {
+                action.run();
+            } finally {
+                cleanup.run();
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                cleanup.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.eventscheduler.util;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Access to Java 21 virtual threads from code that is still compiled for Java 17.
+ * The JDK methods are looked up reflectively, so the default build keeps working on Java 17 and
+ * the virtual-thread mode only requires a Java 21 runtime (see the {@code java21} Maven profile).
+ */
+public final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * Indicates whether the running JVM supports virtual threads.
+     * @return true on Java 21 or later.
+     */
+    public static boolean isSupported() {
+        return Runtime.version().feature() >= 21;
+    }
+
+    /**
+     * Creates an executor that starts a new virtual thread for every task.
+     * @return The executor.
+     * @throws IllegalStateException if the JVM does not support virtual threads.
+     */
+    public static ExecutorService newThreadPerTaskExecutor() {
+        requireSupported();
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not create virtual thread executor", e);
+        }
+    }
+
+    /**
+     * Creates a factory for virtual threads named {@code prefix0}, {@code prefix1}, ...
+     * @param prefix The thread name prefix.
+     * @return The thread factory.
+     * @throws IllegalStateException if the JVM does not support virtual threads.
+     */
+    public static ThreadFactory threadFactory(String prefix) {
+        requireSupported();
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Method name = builderType.getMethod("name", String.class, long.class);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(name.invoke(builder, prefix, 0L));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not create virtual thread factory", e);
+        }
+    }
+
+    private static void requireSupported() {
+        if (!isSupported()) {
+            throw new IllegalStateException("Virtual threads require Java 21 or later, running on Java "
+                    + Runtime.version().feature());
+        }
+    }
+}
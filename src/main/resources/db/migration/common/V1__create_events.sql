@@ -0,0 +1,10 @@
+-- Baseline schema, matching what Hibernate generated from domain.Event before migrations were introduced.
+CREATE SEQUENCE events_seq START WITH 1 INCREMENT BY 100;
+
+CREATE TABLE events (
+    id             BIGINT NOT NULL,
+    name           VARCHAR(255),
+    scheduled_time TIMESTAMP(6) WITH TIME ZONE,
+    status         VARCHAR(255),
+    PRIMARY KEY (id)
+);
@@ -0,0 +1,3 @@
+-- Serves findByStatusAndScheduledTimeBefore (status = ? AND scheduled_time < ?) as an index range scan,
+-- so due queries no longer slow down as COMPLETED rows accumulate.
+CREATE INDEX idx_events_status_scheduled_time ON events (status, scheduled_time);
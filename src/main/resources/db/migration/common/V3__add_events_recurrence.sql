@@ -0,0 +1,3 @@
+-- Repetition rule (ISO-8601 duration or cron expression); null for one-off events.
+-- A recurring event keeps a single row whose scheduled_time is its next occurrence.
+ALTER TABLE events ADD COLUMN recurrence VARCHAR(255);
@@ -0,0 +1,15 @@
+-- Leases for sharded processing: an event belongs to shard (id mod shard count), and a shard is processed
+-- only by the node whose lease on it has not expired. Leases are taken and renewed with conditional UPDATEs.
+CREATE TABLE shard_leases (
+    shard      INT NOT NULL,
+    owner      VARCHAR(64),
+    expires_at TIMESTAMP(6) WITH TIME ZONE,
+    PRIMARY KEY (shard)
+);
+
+-- One heartbeat row per processing node; the number of live nodes decides each node's share of the shards.
+CREATE TABLE scheduler_nodes (
+    node_id      VARCHAR(64) NOT NULL,
+    heartbeat_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (node_id)
+);
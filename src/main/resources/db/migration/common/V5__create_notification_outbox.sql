@@ -0,0 +1,18 @@
+-- Transactional outbox: a notification is inserted in the transaction that completes its event and deleted
+-- once the relay has delivered it. Rows that keep failing stay behind with status DEAD for inspection.
+CREATE SEQUENCE notification_outbox_seq START WITH 1 INCREMENT BY 100;
+
+CREATE TABLE notification_outbox (
+    id              BIGINT NOT NULL,
+    message         VARCHAR(1000) NOT NULL,
+    status          VARCHAR(16) NOT NULL,
+    attempts        INT NOT NULL,
+    next_attempt_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    claim_token     VARCHAR(36),
+    last_error      VARCHAR(1000),
+    created_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- Serves the relay's "pending and due for an attempt" scan.
+CREATE INDEX idx_notification_outbox_status_next_attempt ON notification_outbox (status, next_attempt_at);
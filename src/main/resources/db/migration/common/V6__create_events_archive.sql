@@ -0,0 +1,17 @@
+-- Cold storage for COMPLETED and CANCELLED events. The archiver moves them here in batches once they are
+-- older than the hot retention, so the events table and its indexes only hold live and recent rows.
+CREATE TABLE events_archive (
+    id             BIGINT NOT NULL,
+    name           VARCHAR(255),
+    scheduled_time TIMESTAMP(6) WITH TIME ZONE,
+    status         VARCHAR(255),
+    recurrence     VARCHAR(255),
+    archived_at    TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- Serves the history API's keyset pagination over (scheduled_time, id).
+CREATE INDEX idx_events_archive_scheduled_time_id ON events_archive (scheduled_time, id);
+
+-- Serves the purge of archived rows past their archive retention.
+CREATE INDEX idx_events_archive_archived_at ON events_archive (archived_at);
@@ -0,0 +1,3 @@
+-- Optimistic-locking version, incremented by every change of an event's status or scheduled time.
+-- Conditional updates compare it to the version that was read, so only one concurrent writer wins.
+ALTER TABLE events ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
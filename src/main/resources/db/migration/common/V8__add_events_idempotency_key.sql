@@ -0,0 +1,5 @@
+-- Client-supplied key of the create request that produced the event; null for events created without one.
+-- The unique index rejects a second event with the same key, also when two retries race on different nodes.
+-- NULLs do not collide, so events without a key are unaffected.
+ALTER TABLE events ADD COLUMN idempotency_key VARCHAR(255);
+CREATE UNIQUE INDEX ux_events_idempotency_key ON events (idempotency_key);
@@ -0,0 +1,9 @@
+-- A single guard row that a snapshot restore locks for its whole duration. The restore commits one block at a
+-- time, so a lock on the events table itself would not outlast the first block; this row keeps two restores,
+-- on this node or another, from interleaving.
+CREATE TABLE snapshot_restore_lock (
+    id INT NOT NULL,
+    PRIMARY KEY (id)
+);
+
+INSERT INTO snapshot_restore_lock (id) VALUES (1);
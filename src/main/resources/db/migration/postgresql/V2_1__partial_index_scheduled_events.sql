@@ -0,0 +1,3 @@
+-- PostgreSQL only: a partial index over SCHEDULED rows stays as small as the pending backlog,
+-- however many COMPLETED and CANCELLED rows the table holds.
+CREATE INDEX idx_events_scheduled_due ON events (scheduled_time, id) WHERE status = 'SCHEDULED';
@@ -0,0 +1,70 @@
+package com.example.eventscheduler.reactive;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * R2DBC access to the application's database for the reactive API.
+ * <p>
+ * The connection pool is deliberately not a {@code ConnectionFactory} bean: Spring Boot's JDBC
+ * {@code DataSource} auto-configuration backs off as soon as one exists, and JPA, Flyway and the rest of
+ * the application keep running on JDBC. Both sides must therefore point at the same database, e.g. the
+ * named in-memory H2 database of the {@code reactive} profile.
+ * <p>
+ * Tomcat stays on the classpath for the servlet stack, and Spring Boot would pick it as the reactive server
+ * too; the reactive API runs on Netty instead, whose event loops hold idle connections without a thread each.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveConfig implements DisposableBean {
+
+    private ConnectionPool connectionPool;
+
+    /**
+     * Serves the reactive API with Netty.
+     * @return The web server factory.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    /**
+     * Provides the client used by {@link ReactiveEventRepository}.
+     * @param url The R2DBC URL of the application's database.
+     * @param username The database user, the same as for JDBC.
+     * @param password The password of the database user.
+     * @param poolSize The maximum number of pooled R2DBC connections.
+     * @return A database client backed by a connection pool.
+     */
+    @Bean
+    public DatabaseClient reactiveDatabaseClient(@Value("${scheduler.reactive.r2dbc-url}") String url,
+                                                 @Value("${spring.datasource.username:sa}") String username,
+                                                 @Value("${spring.datasource.password:}") String password,
+                                                 @Value("${scheduler.reactive.pool-size:20}") int poolSize) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .maxSize(poolSize)
+                .build());
+        return DatabaseClient.create(connectionPool);
+    }
+
+    @Override
+    public void destroy() {
+        if (connectionPool != null) {
+            connectionPool.dispose();
+        }
+    }
+}
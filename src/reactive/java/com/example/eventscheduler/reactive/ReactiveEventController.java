@@ -0,0 +1,85 @@
+package com.example.eventscheduler.reactive;
+
+import com.example.eventscheduler.domain.Event;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+/**
+ * Reactive REST controller for events, served by WebFlux instead of the blocking
+ * {@link com.example.eventscheduler.controller.EventController} when the application runs as a reactive web
+ * application (the {@code reactive} profile). No request holds a thread while waiting for the database.
+ */
+@RestController
+@RequestMapping("/api/events")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveEventController {
+
+    private final ReactiveEventService eventService;
+
+    /**
+     * Constructs a ReactiveEventController with the ReactiveEventService dependency.
+     * @param eventService The service handling event business logic.
+     */
+    public ReactiveEventController(ReactiveEventService eventService) {
+        this.eventService = eventService;
+    }
+
+    /**
+     * Creates a new event.
+     * @param name The name of the event.
+     * @param scheduledTime The scheduled time in ISO-8601 format (e.g., "2025-06-23T18:00:00Z").
+     * @param recurrence Optional repetition rule: an ISO-8601 duration or a cron expression.
+     * @return Mono of a ResponseEntity with the created Event.
+     */
+    @PostMapping
+    public Mono<ResponseEntity<Event>> createEvent(@RequestParam String name, @RequestParam String scheduledTime,
+                                                   @RequestParam(required = false) String recurrence) {
+        return Mono.fromCallable(() -> Instant.parse(scheduledTime))
+                .flatMap(time -> eventService.createEvent(name, time, recurrence))
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * Retrieves a single event by its ID.
+     * @param id The ID of the event.
+     * @return Mono of a ResponseEntity with the Event, or 404 if it does not exist.
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Event>> getEvent(@PathVariable Long id) {
+        return eventService.getEvent(id).map(ResponseEntity::ok);
+    }
+
+    /**
+     * Streams events as server-sent events when they become due, from the time of the request on.
+     * Each message has the event ID as its {@code id} and {@code due} as its {@code event} type.
+     * @return The infinite stream of due events.
+     */
+    @GetMapping(path = "/due", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Event>> streamDueEvents() {
+        return eventService.streamDueEvents()
+                .map(event -> ServerSentEvent.builder(event).id(String.valueOf(event.getId())).event("due").build());
+    }
+
+    /**
+     * Marks a specific event as completed.
+     * @param id The ID of the event to complete.
+     * @return Mono of a ResponseEntity with no content (200 OK), 404 if the event does not exist, or 409 if it is
+     *         no longer scheduled.
+     */
+    @PostMapping("/{id}/complete")
+    public Mono<ResponseEntity<Void>> completeEvent(@PathVariable Long id) {
+        return eventService.completeEvent(id).thenReturn(ResponseEntity.ok().build());
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.eventscheduler.reactive;
+
+import com.example.eventscheduler.domain.Event;
+import com.example.eventscheduler.domain.EventStatus;
+import com.example.eventscheduler.domain.Recurrence;
+import io.r2dbc.spi.Readable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Non-blocking access to the "events" table through R2DBC, for the reactive API.
+ * <p>
+ * IDs come from the same {@code events_seq} sequence as JPA's, allocated the way Hibernate's pooled
+ * optimizer does: a sequence value {@code v} reserves the {@link Event#ID_ALLOCATION_SIZE} IDs up to
+ * {@code v}, so IDs handed out here never collide with those of {@link Event} entities saved through JPA.
+ * Status changes are
+ * conditional updates that also increment the version, like those of the JPA store, so they are atomic
+ * without a transaction.
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveEventRepository {
+
+    private static final String SELECT = "select id, name, scheduled_time, status, recurrence, version from events ";
+
+    private final DatabaseClient databaseClient;
+
+    private long nextId;
+    private long maxId = -1;
+
+    /**
+     * Constructs the repository.
+     * @param databaseClient The R2DBC client of the application's database.
+     */
+    public ReactiveEventRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Inserts a new event, assigning its ID.
+     * @param event The event to insert; its ID is set once the returned Mono completes.
+     * @return The inserted event.
+     */
+    public Mono<Event> insert(Event event) {
+        return nextId().flatMap(id -> {
+            event.setId(id);
+            DatabaseClient.GenericExecuteSpec insert = databaseClient.sql("insert into events "
+                    + "(id, name, scheduled_time, status, recurrence) values (:id, :name, :time, :status, :recurrence)")
+                    .bind("id", id)
+                    .bind("name", event.getName())
+                    .bind("time", toTimestamp(event.getScheduledTime()))
+                    .bind("status", event.getStatus().name());
+            insert = event.getRecurrence() == null
+                    ? insert.bindNull("recurrence", String.class)
+                    : insert.bind("recurrence", event.getRecurrence().toString());
+            event.setVersion(0L);
+            return insert.fetch().rowsUpdated().thenReturn(event);
+        });
+    }
+
+    /**
+     * Finds an event by ID.
+     * @param id The ID of the event.
+     * @return The event, or empty if it does not exist.
+     */
+    public Mono<Event> findById(Long id) {
+        return databaseClient.sql(SELECT + "where id = :id")
+                .bind("id", id)
+                .map(ReactiveEventRepository::toEvent)
+                .one();
+    }
+
+    /**
+     * Finds SCHEDULED events scheduled before {@code now} that come after the given (scheduledTime, id) position,
+     * in (scheduledTime, id) order.
+     * @param afterTime The scheduled time of the last event already returned.
+     * @param afterId The ID of the last event already returned.
+     * @param now The current time.
+     * @param limit The maximum number of events.
+     * @return The due events.
+     */
+    public Flux<Event> findDueAfter(Instant afterTime, long afterId, Instant now, int limit) {
+        OffsetDateTime after = toTimestamp(afterTime);
+        return databaseClient.sql(SELECT + "where status = 'SCHEDULED' and scheduled_time < :now "
+                        + "and (scheduled_time > :after or (scheduled_time = :after and id > :afterId)) "
+                        + "order by scheduled_time, id limit :limit")
+                .bind("now", toTimestamp(now))
+                .bind("after", after)
+                .bind("afterId", afterId)
+                .bind("limit", limit)
+                .map(ReactiveEventRepository::toEvent)
+                .all();
+    }
+
+    /**
+     * Moves a SCHEDULED event out of its current occurrence, either to its next occurrence or, if
+     * {@code next} is null, to COMPLETED. Does nothing if the event has changed in the meantime, even if it
+     * was rescheduled back to the same time.
+     * @param id The ID of the event.
+     * @param version The version the event was read at.
+     * @param next The next occurrence, or null to complete the event for good.
+     * @return 1 if the event was updated, 0 if it was changed since it was read.
+     */
+    public Mono<Long> completeOccurrence(Long id, long version, Instant next) {
+        DatabaseClient.GenericExecuteSpec update = next == null
+                ? databaseClient.sql("update events set status = 'COMPLETED', version = version + 1 "
+                        + "where id = :id and status = 'SCHEDULED' and version = :version")
+                : databaseClient.sql("update events set scheduled_time = :next, version = version + 1 "
+                        + "where id = :id and status = 'SCHEDULED' and version = :version")
+                        .bind("next", toTimestamp(next));
+        return update.bind("id", id)
+                .bind("version", version)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private Mono<Long> nextId() {
+        Long pooled = takePooledId();
+        if (pooled != null) {
+            return Mono.just(pooled);
+        }
+        return databaseClient.sql("select next value for events_seq")
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .map(this::allocate);
+    }
+
+    private synchronized Long takePooledId() {
+        return nextId <= maxId ? nextId++ : null;
+    }
+
+    /**
+     * Takes the block reserved by a sequence value. If another caller refilled the pool meanwhile, only the
+     * value itself is used and the rest of its block is skipped.
+     */
+    private synchronized long allocate(long sequenceValue) {
+        if (nextId <= maxId) {
+            return sequenceValue;
+        }
+        nextId = Math.max(1, sequenceValue - Event.ID_ALLOCATION_SIZE + 1);
+        maxId = sequenceValue;
+        return nextId++;
+    }
+
+    private static Event toEvent(Readable row) {
+        String recurrence = row.get("recurrence", String.class);
+        return Event.builder()
+                .id(row.get("id", Long.class))
+                .name(row.get("name", String.class))
+                .scheduledTime(row.get("scheduled_time", OffsetDateTime.class).toInstant())
+                .status(EventStatus.valueOf(row.get("status", String.class)))
+                .recurrence(recurrence == null ? null : Recurrence.parse(recurrence))
+                .version(row.get("version", Long.class))
+                .build();
+    }
+
+    private static OffsetDateTime toTimestamp(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC);
+    }
+}
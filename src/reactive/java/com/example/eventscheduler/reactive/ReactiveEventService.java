@@ -0,0 +1,206 @@
+package com.example.eventscheduler.reactive;
+
+import com.example.eventscheduler.domain.Event;
+import com.example.eventscheduler.domain.EventStatus;
+import com.example.eventscheduler.domain.Recurrence;
+import com.example.eventscheduler.exception.EventConflictException;
+import com.example.eventscheduler.exception.EventNotFoundException;
+import com.example.eventscheduler.exception.InvalidRecurrenceException;
+import com.example.eventscheduler.scheduling.DueEventIndex;
+import com.example.eventscheduler.service.ClockService;
+import com.example.eventscheduler.service.EventCache;
+import com.example.eventscheduler.service.NotificationService;
+import com.example.eventscheduler.service.SharedCounterService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of {@link com.example.eventscheduler.service.EventService} for the reactive API.
+ * <p>
+ * Reads and writes go through {@link ReactiveEventRepository}, and the in-memory state shared with the
+ * blocking side (counters, {@link DueEventIndex}, {@link EventCache}) is updated the same way, so the
+ * dispatcher and the other endpoints see events created or completed here. The notification service is
+ * blocking, so it is called on Reactor's bounded elastic scheduler, after the status change; unlike the
+ * JPA path, the outbox insert is therefore not part of the same transaction.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveEventService {
+
+    private final ReactiveEventRepository repository;
+    private final ClockService clockService;
+    private final NotificationService notificationService;
+    private final SharedCounterService sharedCounterService;
+    private final DueEventIndex dueEventIndex;
+    private final EventCache eventCache;
+    private final Duration duePollInterval;
+    private final int dueBatchSize;
+
+    /**
+     * Constructs the service.
+     * @param repository The R2DBC repository for events.
+     * @param clockService The source of the current time.
+     * @param notificationService The service for sending notifications.
+     * @param sharedCounterService The registry of event counters.
+     * @param dueEventIndex The in-memory index of scheduled events.
+     * @param eventCache The cache of events by ID.
+     * @param duePollIntervalMillis How often a due-event stream checks for newly due events.
+     * @param dueBatchSize The maximum number of due events a stream reads per query.
+     */
+    public ReactiveEventService(ReactiveEventRepository repository,
+                                ClockService clockService,
+                                NotificationService notificationService,
+                                SharedCounterService sharedCounterService,
+                                DueEventIndex dueEventIndex,
+                                EventCache eventCache,
+                                @Value("${scheduler.reactive.due-poll-interval-ms:200}") long duePollIntervalMillis,
+                                @Value("${scheduler.reactive.due-batch-size:500}") int dueBatchSize) {
+        this.repository = repository;
+        this.clockService = clockService;
+        this.notificationService = notificationService;
+        this.sharedCounterService = sharedCounterService;
+        this.dueEventIndex = dueEventIndex;
+        this.eventCache = eventCache;
+        this.duePollInterval = Duration.ofMillis(duePollIntervalMillis);
+        this.dueBatchSize = dueBatchSize;
+    }
+
+    /**
+     * Creates a new event, optionally recurring.
+     * @param name The name of the event.
+     * @param scheduledTime The time of the first occurrence.
+     * @param recurrence An ISO-8601 duration or a cron expression, or null for a one-off event.
+     * @return The created event; fails with {@link InvalidRecurrenceException} if the rule cannot be parsed.
+     */
+    public Mono<Event> createEvent(String name, Instant scheduledTime, String recurrence) {
+        return Mono.fromCallable(() -> Event.builder()
+                        .name(name)
+                        .scheduledTime(scheduledTime)
+                        .status(EventStatus.SCHEDULED)
+                        .recurrence(parseRecurrence(recurrence))
+                        .build())
+                .flatMap(repository::insert)
+                .doOnNext(saved -> {
+                    sharedCounterService.increment(SharedCounterService.Counter.CREATED);
+                    dueEventIndex.add(saved);
+                    eventCache.put(saved);
+                });
+    }
+
+    /**
+     * Retrieves an event by its ID.
+     * @param eventId The ID of the event.
+     * @return The event; fails with {@link EventNotFoundException} if it does not exist.
+     */
+    public Mono<Event> getEvent(Long eventId) {
+        return repository.findById(eventId)
+                .switchIfEmpty(Mono.error(() -> new EventNotFoundException(eventId)));
+    }
+
+    /**
+     * Completes the current occurrence of an event and sends a notification. A recurring event moves on to
+     * its next occurrence instead, as with the blocking API. The change is a single update conditional on the
+     * version the event was read at, so of several concurrent requests for the same occurrence only one
+     * completes it and notifies; the others, like requests for an event that is no longer SCHEDULED or was
+     * changed since it was read, fail with {@link EventConflictException}.
+     * @param eventId The ID of the event to complete.
+     * @return Completes when the change is stored; fails with {@link EventNotFoundException} if the event
+     *         does not exist.
+     */
+    public Mono<Void> completeEvent(Long eventId) {
+        return getEvent(eventId).flatMap(event -> {
+            if (event.getStatus().isTerminal()) {
+                return Mono.error(new EventConflictException(eventId, event.getStatus(), "completed"));
+            }
+            long version = event.getVersion();
+            if (!event.advance(clockService.now(), clockService.getZone())) {
+                event.setStatus(EventStatus.COMPLETED);
+            }
+            Instant next = event.getStatus() == EventStatus.SCHEDULED ? event.getScheduledTime() : null;
+            return repository.completeOccurrence(eventId, version, next)
+                    .filter(updated -> updated == 1)
+                    .switchIfEmpty(Mono.error(() -> new EventConflictException(eventId, "completed")))
+                    .flatMap(updated -> afterCompletion(event));
+        });
+    }
+
+    /**
+     * Streams SCHEDULED events as they become due, starting with those due after the subscription.
+     * The stream polls the database every {@code due-poll-interval-ms} from its own (scheduledTime, id)
+     * position, so each subscriber sees every occurrence once, in time order; it never completes.
+     * @return An infinite stream of due events.
+     */
+    public Flux<Event> streamDueEvents() {
+        return Flux.defer(() -> {
+            StreamPosition position = new StreamPosition(clockService.now());
+            return Flux.interval(Duration.ZERO, duePollInterval)
+                    .onBackpressureDrop()
+                    .concatMap(tick -> drainDue(position), 1);
+        });
+    }
+
+    private Flux<Event> drainDue(StreamPosition position) {
+        return nextDuePage(position)
+                .expand(page -> page.size() < dueBatchSize ? Mono.empty() : nextDuePage(position))
+                .flatMapIterable(page -> page);
+    }
+
+    private Mono<List<Event>> nextDuePage(StreamPosition position) {
+        return repository.findDueAfter(position.time, position.id, clockService.now(), dueBatchSize)
+                .collectList()
+                .doOnNext(page -> {
+                    if (!page.isEmpty()) {
+                        Event last = page.get(page.size() - 1);
+                        position.time = last.getScheduledTime();
+                        position.id = last.getId();
+                    }
+                });
+    }
+
+    private Mono<Void> afterCompletion(Event event) {
+        // The update incremented the version; the index ignores entries older than the one it holds
+        event.setVersion(event.getVersion() + 1);
+        sharedCounterService.increment(SharedCounterService.Counter.COMPLETED);
+        eventCache.invalidate(event.getId());
+        if (event.getStatus() == EventStatus.SCHEDULED) {
+            dueEventIndex.add(event);
+        } else {
+            dueEventIndex.remove(event.getId());
+        }
+        return Mono.fromRunnable(() -> notificationService.notifyUser("Event completed: " + event.getName()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .then();
+    }
+
+    private static Recurrence parseRecurrence(String rule) {
+        if (rule == null || rule.isBlank()) {
+            return null;
+        }
+        try {
+            return Recurrence.parse(rule);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRecurrenceException(rule, e);
+        }
+    }
+
+    /**
+     * The (scheduledTime, id) of the last event a due-event stream emitted. Only touched by one page
+     * query at a time.
+     */
+    private static final class StreamPosition {
+        private volatile Instant time;
+        private volatile long id = Long.MAX_VALUE;
+
+        StreamPosition(Instant start) {
+            this.time = start;
+        }
+    }
+}
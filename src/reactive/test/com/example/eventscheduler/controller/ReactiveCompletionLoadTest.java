@@ -0,0 +1,24 @@
+package com.example.eventscheduler.controller;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Completion load test against the reactive API on Netty and R2DBC. Netty multiplexes every connection
+ * over a few event loop threads, so the wave must complete without adding anything close to a thread per
+ * request. Run with {@code mvn -Preactive test -Dtest=ReactiveCompletionLoadTest -DloadTests=true}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.main.web-application-type=reactive")
+@ActiveProfiles("reactive")
+@EnabledIfSystemProperty(named = "loadTests", matches = "true")
+class ReactiveCompletionLoadTest extends CompletionLoadTestSupport {
+
+    @Override
+    void verifyThreadUsage(int addedPlatformThreads) {
+        assertTrue(addedPlatformThreads < 100, "platform threads added: " + addedPlatformThreads);
+    }
+}
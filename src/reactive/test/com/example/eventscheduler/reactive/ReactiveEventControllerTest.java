@@ -0,0 +1,148 @@
+package com.example.eventscheduler.reactive;
+
+import com.example.eventscheduler.domain.Event;
+import com.example.eventscheduler.domain.EventStatus;
+import com.example.eventscheduler.service.EventService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the reactive event API end to end on Netty, against the same in-memory H2 database as JPA.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.main.web-application-type=reactive")
+@ActiveProfiles("reactive")
+class ReactiveEventControllerTest {
+
+    private static final String FUTURE = "2030-01-01T00:00:00Z";
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private ReactiveEventRepository repository;
+
+    @Test
+    void createGetAndComplete_shouldRoundTripThroughR2dbc() {
+        Event created = create("reactive", FUTURE);
+        assertNotNull(created.getId());
+
+        webTestClient.post().uri("/api/events/{id}/complete", created.getId()).exchange()
+                .expectStatus().isOk();
+        webTestClient.post().uri("/api/events/{id}/complete", created.getId()).exchange()
+                .expectStatus().isEqualTo(HttpStatus.CONFLICT);
+
+        Event completed = get(created.getId());
+        assertEquals(EventStatus.COMPLETED, completed.getStatus());
+        assertEquals(EventStatus.COMPLETED, eventService.getEvent(created.getId()).getStatus());
+    }
+
+    @Test
+    void complete_shouldMoveRecurringEventToNextOccurrence() {
+        Instant first = Instant.now().minus(90, ChronoUnit.MINUTES).truncatedTo(ChronoUnit.SECONDS);
+        Long id = eventService.createEvent("hourly", first, "PT1H").getId();
+
+        webTestClient.post().uri("/api/events/{id}/complete", id).exchange()
+                .expectStatus().isOk();
+
+        webTestClient.get().uri("/api/events/{id}", id).exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo("SCHEDULED")
+                .jsonPath("$.recurrence").isEqualTo("PT1H")
+                .jsonPath("$.scheduledTime").isEqualTo(first.plus(2, ChronoUnit.HOURS).toString());
+    }
+
+    @Test
+    void completeOccurrence_shouldMissEventRescheduledBackToSameTime() {
+        Instant time = Instant.parse(FUTURE);
+        Event read = eventService.createEvent("moved", time);
+        eventService.rescheduleEvent(read.getId(), time.plusSeconds(60));
+        eventService.rescheduleEvent(read.getId(), time);
+
+        StepVerifier.create(repository.completeOccurrence(read.getId(), read.getVersion(), null))
+                .expectNext(0L)
+                .verifyComplete();
+        assertEquals(EventStatus.SCHEDULED, get(read.getId()).getStatus());
+    }
+
+    @Test
+    void idsShouldNotCollideWithEventsCreatedThroughJpa() {
+        Long jpaId = eventService.createEvent("jpa", Instant.parse(FUTURE)).getId();
+        Long reactiveId = create("r2dbc", FUTURE).getId();
+        Long nextJpaId = eventService.createEvent("jpa", Instant.parse(FUTURE)).getId();
+
+        assertNotEquals(jpaId, reactiveId);
+        assertNotEquals(nextJpaId, reactiveId);
+        assertEquals("r2dbc", get(reactiveId).getName());
+    }
+
+    @Test
+    void errors_shouldMapToClientErrors() {
+        webTestClient.post().uri("/api/events/{id}/complete", Long.MAX_VALUE).exchange()
+                .expectStatus().isNotFound();
+        webTestClient.post().uri(uri -> uri.path("/api/events").queryParam("name", "bad")
+                        .queryParam("scheduledTime", FUTURE).queryParam("recurrence", "every tuesday").build())
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void dueStream_shouldEmitEventOnceItBecomesDue() {
+        Instant soon = Instant.now().plusMillis(500);
+        Event created = create("soon", soon.toString());
+
+        Flux<ServerSentEvent<Event>> due = webTestClient.get().uri("/api/events/due")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(new ParameterizedTypeReference<ServerSentEvent<Event>>() { })
+                .getResponseBody();
+
+        StepVerifier.create(due.filter(message -> created.getId().toString().equals(message.id())))
+                .assertNext(message -> {
+                    assertEquals("due", message.event());
+                    assertEquals("soon", message.data().getName());
+                    assertFalse(Instant.now().isBefore(soon), "emitted before it was due");
+                })
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    private Event create(String name, String scheduledTime) {
+        return webTestClient.post()
+                .uri(uri -> uri.path("/api/events").queryParam("name", name)
+                        .queryParam("scheduledTime", scheduledTime).build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Event.class)
+                .returnResult()
+                .getResponseBody();
+    }
+
+    private Event get(Long id) {
+        return webTestClient.get().uri("/api/events/{id}", id).exchange()
+                .expectStatus().isOk()
+                .expectBody(Event.class)
+                .returnResult()
+                .getResponseBody();
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.eventscheduler.codec;
+
+import com.example.eventscheduler.domain.Event;
+import com.example.eventscheduler.domain.EventStatus;
+import com.example.eventscheduler.domain.Recurrence;
+import com.example.eventscheduler.exception.MalformedEventPayloadException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link BinaryEventWriter} and {@link BinaryEventReader}.
+ */
+class BinaryEventCodecTest {
+
+    private static final Instant START = Instant.parse("2025-06-23T17:00:00Z");
+
+    @Test
+    void shouldRoundTripEveryField() throws IOException {
+        Event full = Event.builder().id(42L).name("nightly \u00e9t\u00e9").scheduledTime(START.plusNanos(123_456_000))
+                .status(EventStatus.CANCELLED).recurrence(Recurrence.parse("0 0 9 * * MON-FRI"))
+                .idempotencyKey("key-1").version(7L).build();
+        Event older = Event.builder().id(3L).name("nightly \u00e9t\u00e9").scheduledTime(START.minusSeconds(86_400))
+                .status(EventStatus.SCHEDULED).recurrence(Recurrence.parse("0 0 9 * * MON-FRI")).version(0L).build();
+        Event empty = new Event();
+
+        List<Event> decoded = decode(encode(List.of(full, older, empty)));
+
+        assertEquals(3, decoded.size());
+        assertSameEvent(full, decoded.get(0));
+        assertSameEvent(older, decoded.get(1));
+        assertSameEvent(empty, decoded.get(2));
+        assertSame(decoded.get(0).getName(), decoded.get(1).getName());
+        assertSame(decoded.get(0).getRecurrence(), decoded.get(1).getRecurrence());
+    }
+
+    @Test
+    void shouldDropPrecisionFinerThanMicroseconds() throws IOException {
+        Event event = Event.builder().scheduledTime(START.plusNanos(1_999)).build();
+
+        assertEquals(START.plusNanos(1_000), decode(encode(List.of(event))).get(0).getScheduledTime());
+    }
+
+    @Test
+    void shouldBeMuchSmallerThanJson() throws IOException {
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            events.add(Event.builder().id(1000L + i).name("event-" + (i % 100)).scheduledTime(START.plusSeconds(i))
+                    .status(EventStatus.SCHEDULED).version(0L).build());
+        }
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        byte[] binary = encode(events);
+        byte[] json = objectMapper.writeValueAsBytes(events);
+
+        assertTrue(binary.length * 10 < json.length, binary.length + " bytes vs. " + json.length + " bytes of JSON");
+        List<Event> decoded = decode(binary);
+        assertEquals(events.size(), decoded.size());
+        assertSameEvent(events.get(9_999), decoded.get(9_999));
+    }
+
+    @Test
+    void shouldReadRecordsSplitAcrossBufferRefills() throws IOException {
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            events.add(Event.builder().id((long) i).name("long name " + "x".repeat(i % 300) + i)
+                    .scheduledTime(START.plusSeconds(i)).build());
+        }
+        byte[] bytes = encode(events);
+
+        List<Event> decoded = new ArrayList<>();
+        try (BinaryEventReader reader = new BinaryEventReader(new ByteArrayInputStream(bytes) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, 7));
+            }
+        })) {
+            reader.forEachRemaining(decoded::add);
+        }
+
+        assertEquals(events.size(), decoded.size());
+        for (int i = 0; i < events.size(); i++) {
+            assertSameEvent(events.get(i), decoded.get(i));
+        }
+    }
+
+    @Test
+    void shouldRejectMissingHeaderAndTruncatedRecords() throws IOException {
+        byte[] bytes = encode(List.of(Event.builder().id(1L).name("truncated").build()));
+
+        assertThrows(MalformedEventPayloadException.class, () -> decode(new byte[0]));
+        assertThrows(MalformedEventPayloadException.class, () -> decode("[{}]".getBytes()));
+        assertThrows(MalformedEventPayloadException.class, () -> decode(Arrays.copyOf(bytes, bytes.length - 1)));
+        assertTrue(decode(Arrays.copyOf(bytes, BinaryEventFormat.HEADER.length)).isEmpty());
+    }
+
+    private static byte[] encode(List<Event> events) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (BinaryEventWriter writer = new BinaryEventWriter(out)) {
+            for (Event event : events) {
+                writer.write(event);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static List<Event> decode(byte[] bytes) throws IOException {
+        List<Event> events = new ArrayList<>();
+        try (BinaryEventReader reader = new BinaryEventReader(new ByteArrayInputStream(bytes))) {
+            for (Event event = reader.read(); event != null; event = reader.read()) {
+                events.add(event);
+            }
+        }
+        return events;
+    }
+
+    private static void assertSameEvent(Event expected, Event actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getScheduledTime(), actual.getScheduledTime());
+        assertEquals(expected.getStatus(), actual.getStatus());
+        assertEquals(String.valueOf(expected.getRecurrence()), String.valueOf(actual.getRecurrence()));
+        assertEquals(expected.getIdempotencyKey(), actual.getIdempotencyKey());
+        assertEquals(expected.getVersion(), actual.getVersion());
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.eventscheduler.controller;
+
+import com.example.eventscheduler.domain.Event;
+import com.example.eventscheduler.metrics.LatencyHistogram;
+import com.example.eventscheduler.service.EventService;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Shared body of the completion load tests.
+ * Opens {@code loadTests.inFlight} (default 10,000) simultaneous {@code POST /api/events/{id}/complete}
+ * requests against the embedded server and logs wall time, throughput, request latency percentiles,
+ * the peak number of platform threads and the peak heap growth per in-flight request. Subclasses choose the
+ * server and threading mode; run them with
+ * {@code mvn -Pjava21 test -Dtest='*CompletionLoadTest' -DloadTests=true} (client and server share the
+ * process, so it needs a file descriptor limit of more than twice the in-flight count). The reactive variant lives in the {@code reactive} profile.
+ * Heap is sampled every 10 ms, so the per-request figure includes garbage not yet collected and is only
+ * good for comparing modes against each other.
+ */
+abstract class CompletionLoadTestSupport {
+
+    private static final Logger logger = LoggerFactory.getLogger(CompletionLoadTestSupport.class);
+
+    /** Test properties shared by both modes: let Tomcat accept every connection of the wave. */
+    static final String MAX_CONNECTIONS = "server.tomcat.max-connections=25000";
+    static final String ACCEPT_COUNT = "server.tomcat.accept-count=25000";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private EventService eventService;
+
+    @Test
+    void concurrentCompletions() {
+        int inFlight = Integer.getInteger("loadTests.inFlight", 10_000);
+        List<Long> ids = new ArrayList<>(inFlight);
+        for (int i = 0; i < inFlight; i++) {
+            Event event = eventService.createEvent("load-" + i, Instant.parse("2025-06-23T17:00:00Z"));
+            ids.add(event.getId());
+        }
+
+        // A small fixed client pool keeps the client's own threads out of the server's thread count
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(4);
+        HttpClient client = HttpClient.newBuilder()
+                .executor(clientExecutor)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        // The sampler thread starts before the baseline so it is not counted as added by the server
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        AtomicLong peakHeap = new AtomicLong();
+        ScheduledExecutorService heapSampler = Executors.newSingleThreadScheduledExecutor();
+        System.gc();
+        long baselineHeap = memory.getHeapMemoryUsage().getUsed();
+        heapSampler.scheduleAtFixedRate(() -> peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(),
+                Math::max), 0, 10, TimeUnit.MILLISECONDS);
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        int baselineThreads = threads.getThreadCount();
+        threads.resetPeakThreadCount();
+        LatencyHistogram latency = new LatencyHistogram();
+        AtomicInteger succeeded = new AtomicInteger();
+
+        long start = System.nanoTime();
+        List<CompletableFuture<Void>> responses = new ArrayList<>(inFlight);
+        for (Long id : ids) {
+            long sent = System.nanoTime();
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/events/" + id + "/complete"))
+                    .timeout(Duration.ofMinutes(2))
+                    .POST(HttpRequest.BodyPublishers.noBody())
+                    .build();
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .thenAccept(response -> {
+                        latency.recordSince(sent);
+                        if (response.statusCode() == 200) {
+                            succeeded.incrementAndGet();
+                        }
+                    }));
+        }
+        CompletableFuture.allOf(responses.toArray(new CompletableFuture[0])).join();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        clientExecutor.shutdown();
+        heapSampler.shutdownNow();
+        int addedThreads = threads.getPeakThreadCount() - baselineThreads;
+        long heapPerRequest = Math.max(0, peakHeap.get() - baselineHeap) / inFlight;
+
+        LatencyHistogram.Snapshot snapshot = latency.snapshot();
+        logger.info("{}: {} completions ({} succeeded) in {} ms ({}/s), p50={} ms, p99={} ms, max={} ms, "
+                        + "platform threads added={}, peak heap per in-flight request={} KB",
+                getClass().getSimpleName(), inFlight, succeeded.get(), elapsedMillis,
+                inFlight * 1_000L / Math.max(1, elapsedMillis), snapshot.getP50() / 1_000, snapshot.getP99() / 1_000,
+                snapshot.getMax() / 1_000, addedThreads, heapPerRequest / 1_024);
+
+        assertEquals(inFlight, succeeded.get());
+        verifyThreadUsage(addedThreads);
+    }
+
+    /**
+     * Mode-specific assertion on how many platform threads the wave added.
+     * @param addedPlatformThreads Peak platform thread count during the wave minus the count before it.
+     */
+    abstract void verifyThreadUsage(int addedPlatformThreads);
+}
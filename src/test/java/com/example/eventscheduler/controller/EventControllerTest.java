@@ -1,7 +1,20 @@
 package com.example.eventscheduler.controller;
 
+import com.example.eventscheduler.codec.BinaryEventFormat;
+import com.example.eventscheduler.codec.BinaryEventReader;
+import com.example.eventscheduler.codec.BinaryEventWriter;
 import com.example.eventscheduler.domain.Event;
 import com.example.eventscheduler.domain.EventStatus;
+import com.example.eventscheduler.domain.Recurrence;
+import com.example.eventscheduler.dto.BatchCreateResult;
+import com.example.eventscheduler.dto.BulkCompletionResult;
+import com.example.eventscheduler.dto.CreateEventRequest;
+import com.example.eventscheduler.dto.DueEventPage;
+import com.example.eventscheduler.exception.EventConflictException;
+import com.example.eventscheduler.exception.InvalidCursorException;
+import com.example.eventscheduler.exception.InvalidRecurrenceException;
+import com.example.eventscheduler.exception.MalformedEventPayloadException;
+import com.example.eventscheduler.service.EventDeduplicator;
 import com.example.eventscheduler.service.EventService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -10,11 +23,24 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -32,6 +58,9 @@ class EventControllerTest {
     @MockBean
     private EventService eventService;
 
+    @MockBean
+    private EventDeduplicator eventDeduplicator;
+
     @Test
     @DisplayName("POST /api/events - Success")
     void testCreateEventSuccess() throws Exception {
@@ -45,7 +74,7 @@ class EventControllerTest {
                 .status(EventStatus.SCHEDULED)
                 .build();
 
-        when(eventService.createEvent(eq(eventName), any(Instant.class))).thenReturn(createdEvent);
+        when(eventService.createEvent(eq(eventName), any(Instant.class), isNull())).thenReturn(createdEvent);
 
         mockMvc.perform(post("/api/events")
                                 .param("name", eventName)
@@ -56,7 +85,63 @@ class EventControllerTest {
                 .andExpect(jsonPath("$.name").value(eventName))
                 .andExpect(jsonPath("$.status").value(EventStatus.SCHEDULED.name()));
 
-        verify(eventService, times(1)).createEvent(eq(eventName), any(Instant.class));
+        verify(eventService, times(1)).createEvent(eq(eventName), any(Instant.class), isNull());
+    }
+
+    @Test
+    @DisplayName("POST /api/events - Idempotency-Key")
+    void testCreateEventWithIdempotencyKey() throws Exception {
+        Instant scheduledTime = Instant.parse("2025-06-23T18:00:00Z");
+        Event original = Event.builder().id(7L).name("Retried").scheduledTime(scheduledTime)
+                .status(EventStatus.SCHEDULED).idempotencyKey("order-42").build();
+        when(eventDeduplicator.createEvent("order-42", "Retried", scheduledTime, null)).thenReturn(original);
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            mockMvc.perform(post("/api/events")
+                                    .header("Idempotency-Key", "order-42")
+                                    .param("name", "Retried")
+                                    .param("scheduledTime", scheduledTime.toString()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.id").value(7))
+                    .andExpect(jsonPath("$.idempotencyKey").value("order-42"));
+        }
+
+        verify(eventDeduplicator, times(2)).createEvent("order-42", "Retried", scheduledTime, null);
+        verify(eventService, never()).createEvent(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("POST /api/events - Recurring")
+    void testCreateRecurringEvent() throws Exception {
+        Event createdEvent = Event.builder()
+                .id(1L)
+                .name("Standup")
+                .scheduledTime(Instant.parse("2025-06-23T09:00:00Z"))
+                .status(EventStatus.SCHEDULED)
+                .recurrence(Recurrence.parse("0 0 9 * * MON-FRI"))
+                .build();
+        when(eventService.createEvent("Standup", Instant.parse("2025-06-23T09:00:00Z"), "0 0 9 * * MON-FRI"))
+                .thenReturn(createdEvent);
+
+        mockMvc.perform(post("/api/events")
+                                .param("name", "Standup")
+                                .param("scheduledTime", "2025-06-23T09:00:00Z")
+                                .param("recurrence", "0 0 9 * * MON-FRI"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.recurrence").value("0 0 9 * * MON-FRI"));
+    }
+
+    @Test
+    @DisplayName("POST /api/events - Invalid recurrence")
+    void testCreateEventInvalidRecurrence() throws Exception {
+        when(eventService.createEvent(eq("Bad"), any(Instant.class), eq("every tuesday")))
+                .thenThrow(new InvalidRecurrenceException("every tuesday", new IllegalArgumentException()));
+
+        mockMvc.perform(post("/api/events")
+                                .param("name", "Bad")
+                                .param("scheduledTime", "2025-06-23T09:00:00Z")
+                                .param("recurrence", "every tuesday"))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
@@ -90,6 +175,33 @@ class EventControllerTest {
         verify(eventService, times(1)).getDueEvents();
     }
 
+    @Test
+    @DisplayName("GET /api/events/{id} - Success")
+    void testGetEventSuccess() throws Exception {
+        Event event = Event.builder()
+                .id(1L)
+                .name("Event 1")
+                .scheduledTime(Instant.parse("2025-06-23T17:00:00Z"))
+                .status(EventStatus.SCHEDULED)
+                .build();
+        when(eventService.getEvent(1L)).thenReturn(event);
+
+        mockMvc.perform(get("/api/events/{id}", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.name").value("Event 1"));
+    }
+
+    @Test
+    @DisplayName("GET /api/events/{id} - Event Not Found")
+    void testGetEventNotFound() throws Exception {
+        when(eventService.getEvent(999L))
+                .thenThrow(new com.example.eventscheduler.exception.EventNotFoundException(999L));
+
+        mockMvc.perform(get("/api/events/{id}", 999L))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     @DisplayName("POST /api/events/{id}/complete - Success")
     void testCompleteEventSuccess() throws Exception {
@@ -118,4 +230,330 @@ class EventControllerTest {
 
         verify(eventService, times(1)).completeEvent(eventId);
     }
+
+    @Test
+    @DisplayName("POST /api/events/{id}/complete - Conflict")
+    void testCompleteEventConflict() throws Exception {
+        doThrow(new EventConflictException(1L, EventStatus.CANCELLED, "completed"))
+                .when(eventService).completeEvent(1L);
+
+        mockMvc.perform(post("/api/events/{id}/complete", 1L))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("POST /api/events/{id}/cancel and /reschedule - Success and Conflict")
+    void testCancelAndRescheduleEvent() throws Exception {
+        Instant later = Instant.parse("2025-06-24T09:00:00Z");
+        when(eventService.cancelEvent(1L)).thenReturn(Event.builder().id(1L).name("Cancelled")
+                .scheduledTime(later).status(EventStatus.CANCELLED).version(1L).build());
+        when(eventService.rescheduleEvent(2L, later)).thenReturn(Event.builder().id(2L).name("Moved")
+                .scheduledTime(later).status(EventStatus.SCHEDULED).version(4L).build());
+        when(eventService.cancelEvent(3L)).thenThrow(new EventConflictException(3L, "cancelled"));
+
+        mockMvc.perform(post("/api/events/{id}/cancel", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CANCELLED"))
+                .andExpect(jsonPath("$.version").value(1));
+        mockMvc.perform(post("/api/events/{id}/reschedule", 2L).param("scheduledTime", later.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.scheduledTime").value(later.toString()))
+                .andExpect(jsonPath("$.version").value(4));
+        mockMvc.perform(post("/api/events/{id}/cancel", 3L))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("POST /api/events/batch - JSON array")
+    void testCreateEventsFromJsonArray() throws Exception {
+        List<CreateEventRequest> received = new ArrayList<>();
+        when(eventService.createEvents(any())).thenAnswer(invocation -> drain(invocation.getArgument(0), received));
+
+        mockMvc.perform(post("/api/events/batch")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("[{\"name\":\"A\",\"scheduledTime\":\"2025-06-23T18:00:00Z\"},"
+                                        + "{\"name\":\"B\",\"scheduledTime\":\"2025-06-23T19:00:00Z\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2));
+
+        assertEquals(2, received.size());
+        assertEquals("B", received.get(1).getName());
+        assertEquals(Instant.parse("2025-06-23T19:00:00Z"), received.get(1).getScheduledTime());
+    }
+
+    @Test
+    @DisplayName("POST /api/events/batch - NDJSON")
+    void testCreateEventsFromNdjson() throws Exception {
+        List<CreateEventRequest> received = new ArrayList<>();
+        when(eventService.createEvents(any())).thenAnswer(invocation -> drain(invocation.getArgument(0), received));
+
+        mockMvc.perform(post("/api/events/batch")
+                                .contentType(MediaType.APPLICATION_NDJSON)
+                                .content("{\"name\":\"A\",\"scheduledTime\":\"2025-06-23T18:00:00Z\"}\n"
+                                        + "{\"name\":\"B\",\"scheduledTime\":\"2025-06-23T19:00:00Z\"}\n"
+                                        + "{\"name\":\"C\",\"scheduledTime\":\"2025-06-23T20:00:00Z\"}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(3));
+
+        assertEquals(List.of("A", "B", "C"), received.stream().map(CreateEventRequest::getName).toList());
+    }
+
+    @Test
+    @DisplayName("POST /api/events/batch - Malformed body")
+    void testCreateEventsMalformedBody() throws Exception {
+        when(eventService.createEvents(any())).thenAnswer(invocation -> drain(invocation.getArgument(0), new ArrayList<>()));
+
+        mockMvc.perform(post("/api/events/batch")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("[{\"name\":\"A\",\"scheduledTime\":\"not-a-time\"}]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("POST /api/events/batch - Item without a scheduled time")
+    void testCreateEventsRejectsItemWithoutScheduledTime() throws Exception {
+        List<CreateEventRequest> received = new ArrayList<>();
+        when(eventService.createEvents(any())).thenAnswer(invocation -> {
+            drain(invocation.getArgument(0), received);
+            throw new MalformedEventPayloadException("Event 1 of the batch has no scheduled time");
+        });
+
+        mockMvc.perform(post("/api/events/batch")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("[{\"name\":\"A\",\"scheduledTime\":\"2025-06-23T18:00:00Z\"},"
+                                        + "{\"name\":\"B\"}]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(containsString("has no scheduled time")));
+
+        assertNull(received.get(1).getScheduledTime());
+    }
+
+    @Test
+    @DisplayName("POST /api/events/complete - Bulk completion")
+    void testCompleteEventsReportsMissingIds() throws Exception {
+        when(eventService.completeEvents(List.of(1L, 2L, 999L))).thenReturn(new BulkCompletionResult(2, List.of(999L)));
+
+        mockMvc.perform(post("/api/events/complete")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("[1, 2, 999]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.completed").value(2))
+                .andExpect(jsonPath("$.missing[0]").value(999));
+
+        verify(eventService, times(1)).completeEvents(List.of(1L, 2L, 999L));
+    }
+
+    @Test
+    @DisplayName("GET /api/events/due/page - Returns events and next cursor")
+    void testGetDueEventsPage() throws Exception {
+        Event event = Event.builder()
+                .id(1L)
+                .name("Event 1")
+                .scheduledTime(Instant.parse("2025-06-23T17:00:00Z"))
+                .status(EventStatus.SCHEDULED)
+                .build();
+        when(eventService.getDueEventsPage("abc", 1)).thenReturn(new DueEventPage(List.of(event), "def"));
+
+        mockMvc.perform(get("/api/events/due/page")
+                                .param("limit", "1")
+                                .param("cursor", "abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.events[0].id").value(1))
+                .andExpect(jsonPath("$.nextCursor").value("def"));
+    }
+
+    @Test
+    @DisplayName("GET /api/events/due/page - Invalid cursor")
+    void testGetDueEventsPageInvalidCursor() throws Exception {
+        when(eventService.getDueEventsPage("bad", 100)).thenThrow(new InvalidCursorException("bad"));
+
+        mockMvc.perform(get("/api/events/due/page").param("cursor", "bad"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/events/due/stream - NDJSON")
+    void testStreamDueEvents() throws Exception {
+        Event event1 = Event.builder().id(1L).name("Event 1").status(EventStatus.SCHEDULED).build();
+        Event event2 = Event.builder().id(2L).name("Event 2").status(EventStatus.SCHEDULED).build();
+        when(eventService.streamDueEvents(any())).thenAnswer(invocation -> {
+            Consumer<Event> consumer = invocation.getArgument(0);
+            consumer.accept(event1);
+            consumer.accept(event2);
+            return 2L;
+        });
+
+        MvcResult result = mockMvc.perform(get("/api/events/due/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"id\":1"));
+        assertTrue(lines[1].contains("\"id\":2"));
+    }
+
+    @Test
+    @DisplayName("GET /api/events/due and /due/stream - Binary when accepted")
+    void testGetDueEventsAsBinary() throws Exception {
+        Event event1 = Event.builder().id(1L).name("Event 1").scheduledTime(Instant.parse("2025-06-23T17:00:00Z"))
+                .status(EventStatus.SCHEDULED).version(0L).build();
+        Event event2 = Event.builder().id(2L).name("Event 2").scheduledTime(Instant.parse("2025-06-23T17:30:00Z"))
+                .status(EventStatus.SCHEDULED).version(3L).build();
+        when(eventService.getDueEvents()).thenReturn(List.of(event1, event2));
+        when(eventService.streamDueEvents(any())).thenAnswer(invocation -> {
+            Consumer<Event> consumer = invocation.getArgument(0);
+            consumer.accept(event1);
+            consumer.accept(event2);
+            return 2L;
+        });
+
+        for (String path : List.of("/api/events/due", "/api/events/due/stream")) {
+            MvcResult result = mockMvc.perform(get(path).accept(BinaryEventFormat.MEDIA_TYPE))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            byte[] body = mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(BinaryEventFormat.MEDIA_TYPE))
+                    .andReturn().getResponse().getContentAsByteArray();
+
+            List<Event> events = new ArrayList<>();
+            new BinaryEventReader(new ByteArrayInputStream(body)).forEachRemaining(events::add);
+            assertEquals(List.of(1L, 2L), events.stream().map(Event::getId).toList());
+            assertEquals(event2.getScheduledTime(), events.get(1).getScheduledTime());
+            assertEquals(3L, events.get(1).getVersion());
+        }
+        mockMvc.perform(get("/api/events/due").accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[1].id").value(2));
+    }
+
+    @Test
+    @DisplayName("POST /api/events/batch - Binary import keeps each event's status")
+    void testCreateEventsFromBinary() throws Exception {
+        List<Event> received = new ArrayList<>();
+        when(eventService.importEvents(any())).thenAnswer(invocation -> drain(invocation.getArgument(0), received));
+        byte[] body = binary(
+                Event.builder().id(7L).name("A").scheduledTime(Instant.parse("2025-06-23T18:00:00Z"))
+                        .status(EventStatus.COMPLETED).build(),
+                Event.builder().id(8L).name("B").scheduledTime(Instant.parse("2025-06-23T19:00:00Z"))
+                        .status(EventStatus.SCHEDULED).recurrence(Recurrence.parse("PT15M")).build());
+
+        mockMvc.perform(post("/api/events/batch")
+                                .contentType(BinaryEventFormat.MEDIA_TYPE)
+                                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2));
+
+        assertEquals(List.of("A", "B"), received.stream().map(Event::getName).toList());
+        assertEquals(EventStatus.COMPLETED, received.get(0).getStatus());
+        assertEquals(Instant.parse("2025-06-23T19:00:00Z"), received.get(1).getScheduledTime());
+        assertEquals("PT15M", received.get(1).getRecurrence().toString());
+        verify(eventService, never()).createEvents(any());
+
+        mockMvc.perform(post("/api/events/batch")
+                                .contentType(BinaryEventFormat.MEDIA_TYPE)
+                                .content(Arrays.copyOf(body, body.length - 1)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("POST /api/events/batch - Binary record without a scheduled time")
+    void testCreateEventsFromBinaryRejectsRecordWithoutScheduledTime() throws Exception {
+        List<Event> received = new ArrayList<>();
+        when(eventService.importEvents(any())).thenAnswer(invocation -> {
+            drain(invocation.getArgument(0), received);
+            throw new MalformedEventPayloadException("Event 0 of the batch has no scheduled time");
+        });
+
+        mockMvc.perform(post("/api/events/batch")
+                                .contentType(BinaryEventFormat.MEDIA_TYPE)
+                                .content(binary(Event.builder().id(7L).name("A").status(EventStatus.SCHEDULED).build())))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(containsString("has no scheduled time")));
+
+        assertNull(received.get(0).getScheduledTime());
+    }
+
+    @Test
+    @DisplayName("GET /api/events/export - Every event in binary")
+    void testExportEvents() throws Exception {
+        Event scheduled = Event.builder().id(1L).name("Event 1").scheduledTime(Instant.parse("2025-06-23T17:00:00Z"))
+                .status(EventStatus.SCHEDULED).version(0L).build();
+        Event cancelled = Event.builder().id(2L).name("Event 2").scheduledTime(Instant.parse("2025-06-23T16:00:00Z"))
+                .status(EventStatus.CANCELLED).version(1L).build();
+        when(eventService.streamEvents(any())).thenAnswer(invocation -> {
+            Consumer<Event> consumer = invocation.getArgument(0);
+            consumer.accept(scheduled);
+            consumer.accept(cancelled);
+            return 2L;
+        });
+
+        MvcResult result = mockMvc.perform(get("/api/events/export").accept(BinaryEventFormat.MEDIA_TYPE))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        byte[] body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(BinaryEventFormat.MEDIA_TYPE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        List<Event> events = new ArrayList<>();
+        new BinaryEventReader(new ByteArrayInputStream(body)).forEachRemaining(events::add);
+        assertEquals(List.of(1L, 2L), events.stream().map(Event::getId).toList());
+        assertEquals(EventStatus.CANCELLED, events.get(1).getStatus());
+    }
+
+    @Test
+    @DisplayName("GET /api/events/due/page - Binary with the next cursor in a header")
+    void testGetDueEventsPageAsBinary() throws Exception {
+        Event event = Event.builder().id(1L).name("Event 1").scheduledTime(Instant.parse("2025-06-23T17:00:00Z"))
+                .status(EventStatus.SCHEDULED).version(0L).build();
+        when(eventService.getDueEventsPage("abc", 1)).thenReturn(new DueEventPage(List.of(event), "def"));
+        when(eventService.getDueEventsPage("def", 1)).thenReturn(new DueEventPage(List.of(), null));
+
+        MvcResult result = mockMvc.perform(get("/api/events/due/page")
+                                .param("limit", "1")
+                                .param("cursor", "abc")
+                                .accept(BinaryEventFormat.MEDIA_TYPE))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        byte[] body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(BinaryEventFormat.MEDIA_TYPE))
+                .andExpect(header().string(EventController.NEXT_CURSOR_HEADER, "def"))
+                .andReturn().getResponse().getContentAsByteArray();
+        List<Event> events = new ArrayList<>();
+        new BinaryEventReader(new ByteArrayInputStream(body)).forEachRemaining(events::add);
+        assertEquals(List.of(1L), events.stream().map(Event::getId).toList());
+
+        result = mockMvc.perform(get("/api/events/due/page")
+                                .param("limit", "1")
+                                .param("cursor", "def")
+                                .accept(BinaryEventFormat.MEDIA_TYPE))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(EventController.NEXT_CURSOR_HEADER));
+    }
+
+    private static byte[] binary(Event... events) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (BinaryEventWriter writer = new BinaryEventWriter(out)) {
+            for (Event event : events) {
+                writer.write(event);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static <T> BatchCreateResult drain(Iterator<T> items, List<T> sink) {
+        items.forEachRemaining(sink::add);
+        return new BatchCreateResult(sink.size());
+    }
 }
@@ -0,0 +1,82 @@
+package com.example.eventscheduler.controller;
+
+import com.example.eventscheduler.metrics.MetricsRegistry;
+import com.example.eventscheduler.service.EventCache;
+import com.example.eventscheduler.service.EventDeduplicator;
+import com.example.eventscheduler.service.EventService;
+import com.example.eventscheduler.service.SharedCounterService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Unit tests for MetricsController using @WebMvcTest and MockMvc.
+ * Real registries and a real cache are used, since they have no dependencies of their own.
+ */
+@WebMvcTest(MetricsController.class)
+class MetricsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MetricsRegistry metricsRegistry;
+
+    @Autowired
+    private SharedCounterService sharedCounterService;
+
+    @Autowired
+    private EventCache eventCache;
+
+    @Test
+    @DisplayName("GET /api/metrics - Counters, operation timings and cache statistics")
+    void testGetMetrics() throws Exception {
+        sharedCounterService.add(SharedCounterService.Counter.CREATED, 3);
+        metricsRegistry.timer("db.save").recordSuccess(System.nanoTime());
+        metricsRegistry.timer("db.save").recordFailure(System.nanoTime());
+        eventCache.getIfPresent(1L);
+
+        mockMvc.perform(get("/api/metrics"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.counters.CREATED").value(3))
+                .andExpect(jsonPath("$.counters.FAILED").value(0))
+                .andExpect(jsonPath("$.operations['db.save'].count").value(2))
+                .andExpect(jsonPath("$.operations['db.save'].errors").value(1))
+                .andExpect(jsonPath("$.operations['db.save'].latencyMicros.p99").exists())
+                .andExpect(jsonPath("$.cache.misses").value(1))
+                .andExpect(jsonPath("$.cache.hitRate").value(0.0))
+                .andExpect(jsonPath("$.idempotency.requests").value(0))
+                .andExpect(jsonPath("$.idempotency.hitRate").value(0.0));
+    }
+
+    @TestConfiguration
+    static class Registries {
+        @Bean
+        MetricsRegistry metricsRegistry() {
+            return new MetricsRegistry();
+        }
+
+        @Bean
+        SharedCounterService sharedCounterService() {
+            return new SharedCounterService();
+        }
+
+        @Bean
+        EventCache eventCache() {
+            return new EventCache(100, 60_000);
+        }
+
+        @Bean
+        EventDeduplicator eventDeduplicator() {
+            return new EventDeduplicator(mock(EventService.class), 100, 60_000);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.eventscheduler.controller;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Baseline completion load test on Tomcat's default bounded platform thread pool (200 threads).
+ * Requests beyond the pool size queue up, which shows in the latency percentiles.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {CompletionLoadTestSupport.MAX_CONNECTIONS, CompletionLoadTestSupport.ACCEPT_COUNT})
+@EnabledIfSystemProperty(named = "loadTests", matches = "true")
+class PlatformThreadCompletionLoadTest extends CompletionLoadTestSupport {
+
+    @Override
+    void verifyThreadUsage(int addedPlatformThreads) {
+        // Baseline only: the platform pool is expected to be saturated.
+    }
+}
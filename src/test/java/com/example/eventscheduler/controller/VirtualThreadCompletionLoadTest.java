@@ -0,0 +1,26 @@
+package com.example.eventscheduler.controller;
+
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Completion load test with {@code scheduler.virtual-threads.enabled=true}.
+ * Every request gets its own virtual thread, so the wave must complete without growing
+ * anything close to Tomcat's default 200-thread platform pool.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"scheduler.virtual-threads.enabled=true",
+            CompletionLoadTestSupport.MAX_CONNECTIONS, CompletionLoadTestSupport.ACCEPT_COUNT})
+@EnabledIfSystemProperty(named = "loadTests", matches = "true")
+@EnabledForJreRange(min = JRE.JAVA_21)
+class VirtualThreadCompletionLoadTest extends CompletionLoadTestSupport {
+
+    @Override
+    void verifyThreadUsage(int addedPlatformThreads) {
+        assertTrue(addedPlatformThreads < 200, "platform threads added: " + addedPlatformThreads);
+    }
+}
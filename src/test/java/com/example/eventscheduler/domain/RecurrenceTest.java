@@ -0,0 +1,80 @@
+package com.example.eventscheduler.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link Recurrence} and {@link Event#advance}.
+ * Verifies interval arithmetic, cron evaluation in the clock's zone and skipping of missed occurrences.
+ */
+class RecurrenceTest {
+
+    private static final Instant START = Instant.parse("2025-06-23T09:00:00Z");
+
+    @Test
+    void interval_shouldStepFromPreviousOccurrence_withoutDrift() {
+        Recurrence every15Minutes = Recurrence.parse("PT15M");
+
+        assertEquals(START.plusSeconds(900), every15Minutes.nextAfter(START, START.plusSeconds(5), ZoneOffset.UTC));
+        assertEquals(START.plusSeconds(900), every15Minutes.nextAfter(START, START.minusSeconds(60), ZoneOffset.UTC));
+    }
+
+    @Test
+    void interval_shouldSkipOccurrencesMissedWhileLate() {
+        Recurrence hourly = Recurrence.parse("PT1H");
+
+        // Fired 3.5 hours late: the 1h, 2h and 3h occurrences are in the past, 4h is next
+        Instant next = hourly.nextAfter(START, START.plusSeconds(3 * 3600 + 1800), ZoneOffset.UTC);
+
+        assertEquals(START.plusSeconds(4 * 3600), next);
+    }
+
+    @Test
+    void interval_shouldSkipExactlyDueOccurrence() {
+        Recurrence hourly = Recurrence.parse("PT1H");
+
+        assertEquals(START.plusSeconds(2 * 3600), hourly.nextAfter(START, START.plusSeconds(3600), ZoneOffset.UTC));
+    }
+
+    @Test
+    void cron_shouldBeEvaluatedInGivenZone() {
+        Recurrence nineAm = Recurrence.parse("0 0 9 * * *");
+        ZoneId berlin = ZoneId.of("Europe/Berlin");
+
+        // 09:00 in Berlin is 07:00 UTC in summer
+        Instant next = nineAm.nextAfter(START, START, berlin);
+
+        assertEquals(Instant.parse("2025-06-24T07:00:00Z"), next);
+        assertEquals(Instant.parse("2025-06-24T09:00:00Z"), nineAm.nextAfter(START, START, ZoneOffset.UTC));
+    }
+
+    @Test
+    void parse_shouldRejectInvalidRules() {
+        assertThrows(IllegalArgumentException.class, () -> Recurrence.parse("PT0S"));
+        assertThrows(IllegalArgumentException.class, () -> Recurrence.parse("P-1D"));
+        assertThrows(IllegalArgumentException.class, () -> Recurrence.parse("Pfoo"));
+        assertThrows(IllegalArgumentException.class, () -> Recurrence.parse("every tuesday"));
+    }
+
+    @Test
+    void parse_shouldKeepRuleAsTextualForm() {
+        assertEquals("0 0 9 * * MON-FRI", Recurrence.parse(" 0 0 9 * * MON-FRI ").toString());
+        assertEquals(Recurrence.parse("PT1H"), Recurrence.parse("PT1H"));
+    }
+
+    @Test
+    void advance_shouldMoveRecurringEventsOnly() {
+        Event recurring = Event.builder().scheduledTime(START).recurrence(Recurrence.parse("P1D")).build();
+        Event oneOff = Event.builder().scheduledTime(START).build();
+
+        assertTrue(recurring.advance(START.plusSeconds(1), ZoneOffset.UTC));
+        assertEquals(START.plusSeconds(86_400), recurring.getScheduledTime());
+        assertFalse(oneOff.advance(START.plusSeconds(1), ZoneOffset.UTC));
+        assertEquals(START, oneOff.getScheduledTime());
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.eventscheduler.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link LatencyHistogram}.
+ * Checks bucket boundaries and that percentiles stay within the documented precision.
+ */
+class LatencyHistogramTest {
+
+    @Test
+    void indexOf_shouldBeMonotonicAndConsistentWithUpperBound() {
+        int previous = -1;
+        for (long value = 0; value < 1_000_000; value += 7) {
+            int index = LatencyHistogram.indexOf(value);
+            assertTrue(index >= previous);
+            assertTrue(LatencyHistogram.upperBoundOf(index) >= value);
+            previous = index;
+        }
+    }
+
+    @Test
+    void snapshot_shouldReportPercentilesWithinSixPercent() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 10_000; micros++) {
+            histogram.record(micros);
+        }
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        assertEquals(10_000, snapshot.getCount());
+        assertEquals(10_000, snapshot.getMax());
+        assertEquals(5_000.5, snapshot.getMean(), 0.001);
+        assertEquals(5_000, snapshot.getP50(), 5_000 * 0.0625);
+        assertEquals(9_900, snapshot.getP99(), 9_900 * 0.0625);
+    }
+
+    @Test
+    void reset_shouldClearAllValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(42);
+        histogram.record(-5);
+
+        histogram.reset();
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(0, snapshot.getCount());
+        assertEquals(0, snapshot.getP99());
+        assertEquals(0, snapshot.getMax());
+    }
+}
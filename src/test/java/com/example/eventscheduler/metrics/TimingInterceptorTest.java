@@ -0,0 +1,104 @@
+package com.example.eventscheduler.metrics;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Method;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Unit tests for {@link TimingInterceptor}.
+ * Uses a hand-written {@link MethodInvocation} so the allocation check measures only the interceptor.
+ */
+class TimingInterceptorTest {
+
+    private final MetricsRegistry registry = new MetricsRegistry();
+    private final TimingInterceptor interceptor = new TimingInterceptor("service", registry);
+
+    @Test
+    void invoke_shouldRecordCallsUnderStageAndMethodName() throws Throwable {
+        StubInvocation invocation = new StubInvocation(Object.class.getMethod("toString"), null);
+
+        assertEquals("done", interceptor.invoke(invocation));
+        interceptor.invoke(invocation);
+
+        OperationTimer.Snapshot snapshot = registry.snapshot().get("service.toString");
+        assertEquals(2, snapshot.getCount());
+        assertEquals(0, snapshot.getErrors());
+        assertTrue(snapshot.getRatePerSecond() > 0);
+    }
+
+    @Test
+    void invoke_shouldCountFailuresAndRethrow() throws Throwable {
+        IllegalStateException failure = new IllegalStateException("boom");
+        StubInvocation invocation = new StubInvocation(Object.class.getMethod("hashCode"), failure);
+
+        assertSame(failure, assertThrows(IllegalStateException.class, () -> interceptor.invoke(invocation)));
+
+        OperationTimer.Snapshot snapshot = registry.snapshot().get("service.hashCode");
+        assertEquals(1, snapshot.getCount());
+        assertEquals(1, snapshot.getErrors());
+    }
+
+    @Test
+    void invoke_shouldNotAllocateOnceTimerIsResolved() throws Throwable {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+        StubInvocation invocation = new StubInvocation(Object.class.getMethod("toString"), null);
+        for (int i = 0; i < 20_000; i++) {
+            interceptor.invoke(invocation);
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 100_000; i++) {
+            interceptor.invoke(invocation);
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        // Allow for the measurement itself; one allocation per call would be well over 1 MB
+        assertTrue(allocated < 64 * 1024, "allocated " + allocated + " bytes for 100000 calls");
+    }
+
+    private static final class StubInvocation implements MethodInvocation {
+        private final Method method;
+        private final Throwable failure;
+
+        StubInvocation(Method method, Throwable failure) {
+            this.method = method;
+            this.failure = failure;
+        }
+
+        @Override
+        public Method getMethod() {
+            return method;
+        }
+
+        @Override
+        public Object[] getArguments() {
+            return new Object[0];
+        }
+
+        @Override
+        public Object proceed() throws Throwable {
+            if (failure != null) {
+                throw failure;
+            }
+            return "done";
+        }
+
+        @Override
+        public Object getThis() {
+            return null;
+        }
+
+        @Override
+        public AccessibleObject getStaticPart() {
+            return method;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.eventscheduler.scheduling;
+
+import com.example.eventscheduler.domain.Event;
+import com.example.eventscheduler.domain.EventStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link DueEventIndex}.
+ * Verifies ordering, due-time boundaries, the rebuild protocol and that out-of-order changes are ignored.
+ */
+class DueEventIndexTest {
+
+    private static final Instant NOW = Instant.parse("2025-06-23T17:00:00Z");
+
+    private DueEventIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new DueEventIndex();
+    }
+
+    @Test
+    void findDue_shouldReturnOnlyEventsBeforeNow_oldestFirst() {
+        index.add(event(1L, NOW.minusSeconds(10)));
+        index.add(event(2L, NOW.minusSeconds(3600)));
+        index.add(event(3L, NOW));
+        index.add(event(4L, NOW.plusSeconds(60)));
+
+        List<Event> due = index.findDue(NOW);
+
+        assertEquals(2, due.size());
+        assertEquals(2L, due.get(0).getId());
+        assertEquals(1L, due.get(1).getId());
+        assertEquals(EventStatus.SCHEDULED, due.get(0).getStatus());
+    }
+
+    @Test
+    void add_shouldReplaceExistingEntryForSameId() {
+        index.add(event(1L, NOW.minusSeconds(10)));
+        index.add(event(1L, NOW.plusSeconds(10)));
+
+        assertEquals(1, index.size());
+        assertTrue(index.findDue(NOW).isEmpty());
+    }
+
+    @Test
+    void remove_shouldDropEntry() {
+        index.add(event(1L, NOW.minusSeconds(10)));
+
+        index.remove(1L);
+
+        assertEquals(0, index.size());
+        assertTrue(index.findDue(NOW).isEmpty());
+    }
+
+    @Test
+    void rebuild_shouldNotResurrectEventsRemovedWhileLoading() {
+        assertFalse(index.isReady());
+
+        index.beginRebuild();
+        index.remove(1L);
+        index.load(1L, "Completed meanwhile", NOW.minusSeconds(10), null, 0);
+        index.load(2L, "Still scheduled", NOW.minusSeconds(5), null, 0);
+        index.completeRebuild();
+
+        assertTrue(index.isReady());
+        List<Event> due = index.findDue(NOW);
+        assertEquals(1, due.size());
+        assertEquals(2L, due.get(0).getId());
+    }
+
+    @Test
+    void rebuild_shouldKeepNewerEntryAddedWhileLoading() {
+        index.beginRebuild();
+        index.add(event(1L, NOW.plusSeconds(60), 1L));
+        index.load(1L, "Event 1", NOW.minusSeconds(10), null, 0);
+        index.completeRebuild();
+
+        assertTrue(index.findDue(NOW).isEmpty());
+        assertEquals(1L, index.get(1L).getVersion());
+    }
+
+    @Test
+    void rebuild_shouldDropEntriesItDoesNotLoad() {
+        index.add(event(1L, NOW.minusSeconds(30)));
+        index.add(event(2L, NOW.minusSeconds(20)));
+
+        index.beginRebuild();
+        index.add(event(3L, NOW.minusSeconds(10)));
+        index.load(2L, "Event 2", NOW.minusSeconds(20), null, 0);
+        index.completeRebuild();
+
+        // Event 1 left SCHEDULED without this node hearing of it; event 3 was created while loading
+        assertNull(index.get(1L));
+        assertEquals(List.of(2L, 3L), index.findDue(NOW).stream().map(Event::getId).toList());
+    }
+
+    @Test
+    void rebuild_shouldLoadRowsOfEventsRemovedBeforeItBegan() {
+        index.add(event(1L, NOW.minusSeconds(10), 0L));
+        index.remove(1L);
+        index.add(event(1L, NOW.minusSeconds(10), 0L));
+        assertNull(index.get(1L));
+
+        // For example after a snapshot restore brought the event back
+        index.beginRebuild();
+        index.load(1L, "Event 1", NOW.minusSeconds(10), null, 0);
+        index.completeRebuild();
+
+        assertEquals(List.of(1L), index.findDue(NOW).stream().map(Event::getId).toList());
+    }
+
+    @Test
+    void add_shouldIgnoreChangeOlderThanIndexedEntry() {
+        index.add(event(1L, NOW.plusSeconds(60), 2L));
+
+        index.add(event(1L, NOW.minusSeconds(10), 1L));
+
+        assertTrue(index.findDue(NOW).isEmpty());
+        assertEquals(NOW.plusSeconds(60), index.get(1L).getScheduledTime());
+    }
+
+    @Test
+    void add_shouldNotResurrectEventRemovedByLaterChange() {
+        index.add(event(1L, NOW.plusSeconds(60), 0L));
+        List<DueEventIndex.Entry> notified = new ArrayList<>();
+        index.addListener(notified::add);
+
+        // A completion's removal runs before the after-commit callback of a reschedule that committed earlier
+        long reschedule = index.beginChange();
+        index.remove(1L);
+        index.add(event(1L, NOW.minusSeconds(10), 1L));
+        index.endChange(reschedule);
+
+        assertEquals(0, index.size());
+        assertTrue(index.findDue(NOW).isEmpty());
+        assertTrue(notified.isEmpty());
+    }
+
+    @Test
+    void remove_shouldKeepTombstoneWhileOlderChangeIsOpen() {
+        long reschedule = index.beginChange();
+        index.remove(1L);
+        for (long id = 2; id < 2 + 2L * DueEventIndex.MIN_PURGE_THRESHOLD; id++) {
+            index.add(event(id, NOW.minusSeconds(10)));
+            index.remove(id);
+        }
+
+        // However late it arrives, the add of the change that began before the removal stays ignored
+        index.add(event(1L, NOW.minusSeconds(10), 0L));
+        assertNull(index.get(1L));
+
+        index.endChange(reschedule);
+        index.beginRebuild();
+        index.completeRebuild();
+        index.add(event(1L, NOW.minusSeconds(10), 0L));
+        assertNotNull(index.get(1L));
+    }
+
+    @Test
+    void remove_shouldKeepTombstonesBoundedAcrossManyCompletions() {
+        for (long id = 1; id <= 100_000; id++) {
+            long completion = index.beginChange();
+            index.add(event(id, NOW.minusSeconds(10)));
+            index.remove(id);
+            index.endChange(completion);
+        }
+
+        assertEquals(0, index.size());
+        assertTrue(index.tombstoneCount() <= 2 * DueEventIndex.MIN_PURGE_THRESHOLD,
+                "tombstones: " + index.tombstoneCount());
+    }
+
+    private static Event event(Long id, Instant scheduledTime) {
+        return Event.builder().id(id).name("Event " + id).scheduledTime(scheduledTime).status(EventStatus.SCHEDULED).build();
+    }
+
+    private static Event event(Long id, Instant scheduledTime, Long version) {
+        return event(id, scheduledTime).toBuilder().version(version).build();
+    }
+}
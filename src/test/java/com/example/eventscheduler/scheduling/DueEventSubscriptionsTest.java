@@ -0,0 +1,220 @@
+package com.example.eventscheduler.scheduling;
+
+import com.example.eventscheduler.domain.Event;
+import com.example.eventscheduler.domain.EventStatus;
+import com.example.eventscheduler.exception.TooManySubscribersException;
+import com.example.eventscheduler.scheduling.DueEventSubscriptions.OverflowPolicy;
+import com.example.eventscheduler.service.ClockService;
+import com.example.eventscheduler.util.MutableClock;
+import com.example.eventscheduler.util.SystemClock;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link DueEventSubscriptions}.
+ * Drives the hub with a manually advanced clock and records what each subscriber's sink receives.
+ */
+class DueEventSubscriptionsTest {
+
+    private static final Instant START = Instant.parse("2025-06-23T17:00:00Z");
+
+    private MutableClock clock;
+    private DueEventIndex dueEventIndex;
+    private DueEventSubscriptions hub;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(START);
+        dueEventIndex = new DueEventIndex();
+        dueEventIndex.beginRebuild();
+        dueEventIndex.completeRebuild();
+        hub = new DueEventSubscriptions(dueEventIndex, new ClockService(new SystemClock(clock)), 2, 100, 2, false);
+        hub.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        hub.stop();
+    }
+
+    @Test
+    void shouldPushEventOnlyOnceItFallsDueAndSkipStaleEntries() throws InterruptedException {
+        RecordingSink sink = new RecordingSink();
+        hub.subscribe(10, OverflowPolicy.DROP_OLDEST, sink);
+        dueEventIndex.add(event(1L, START.plusSeconds(1)));
+        dueEventIndex.add(event(2L, START.plusSeconds(2)));
+        dueEventIndex.add(event(2L, START.plusSeconds(60)));
+        dueEventIndex.add(event(3L, START.plusSeconds(3)));
+        dueEventIndex.remove(3L);
+
+        Thread.sleep(50);
+        assertTrue(sink.ids().isEmpty());
+
+        // Due only once the clock has passed the scheduled time
+        clock.advance(Duration.ofSeconds(1));
+        Thread.sleep(50);
+        assertTrue(sink.ids().isEmpty());
+
+        clock.advance(Duration.ofSeconds(4));
+
+        awaitTrue(() -> hub.getStats().getPublished() == 1);
+        awaitTrue(() -> sink.ids().equals(List.of(1L)));
+        clock.advance(Duration.ofMinutes(1));
+        awaitTrue(() -> sink.ids().equals(List.of(1L, 2L)));
+        assertEquals(2, hub.getStats().getDelivered());
+        assertEquals(EventStatus.SCHEDULED, sink.received.get(0).getStatus());
+    }
+
+    @Test
+    void newSubscriberShouldFirstReceiveEventsThatAreAlreadyDue() {
+        dueEventIndex.add(event(1L, START.minusSeconds(2)));
+        dueEventIndex.add(event(2L, START.minusSeconds(1)));
+        dueEventIndex.add(event(3L, START.plusSeconds(60)));
+        awaitTrue(() -> hub.getStats().getPublished() == 2);
+
+        RecordingSink sink = new RecordingSink();
+        hub.subscribe(10, OverflowPolicy.DROP_OLDEST, sink);
+
+        awaitTrue(() -> sink.ids().equals(List.of(1L, 2L)));
+    }
+
+    @Test
+    void fullBufferShouldDropOldestOrNewestEventsPerSubscriber() throws InterruptedException {
+        BlockingSink dropOldest = new BlockingSink();
+        BlockingSink dropNewest = new BlockingSink();
+        hub.subscribe(2, OverflowPolicy.DROP_OLDEST, dropOldest);
+        hub.subscribe(2, OverflowPolicy.DROP_NEWEST, dropNewest);
+        dueEventIndex.add(event(1L, START.minusMillis(1)));
+        assertTrue(dropOldest.sending.await(2, TimeUnit.SECONDS));
+        assertTrue(dropNewest.sending.await(2, TimeUnit.SECONDS));
+
+        for (long id = 2; id <= 5; id++) {
+            dueEventIndex.add(event(id, START.minusMillis(1)));
+        }
+        awaitTrue(() -> hub.getStats().getPublished() == 5);
+        dropOldest.release.countDown();
+        dropNewest.release.countDown();
+
+        awaitTrue(() -> dropOldest.ids().equals(List.of(1L, 4L, 5L)));
+        awaitTrue(() -> dropNewest.ids().equals(List.of(1L, 2L, 3L)));
+        assertEquals(4, hub.getStats().getDropped());
+        assertEquals(2, hub.getStats().getSubscribers());
+    }
+
+    @Test
+    void slowConsumerShouldBeDisconnected() throws InterruptedException {
+        BlockingSink slow = new BlockingSink();
+        RecordingSink fast = new RecordingSink();
+        hub.subscribe(1, OverflowPolicy.DISCONNECT, slow);
+        hub.subscribe(10, OverflowPolicy.DISCONNECT, fast);
+        dueEventIndex.add(event(1L, START.minusMillis(1)));
+        assertTrue(slow.sending.await(2, TimeUnit.SECONDS));
+
+        dueEventIndex.add(event(2L, START.minusMillis(1)));
+        dueEventIndex.add(event(3L, START.minusMillis(1)));
+
+        awaitTrue(() -> slow.closed);
+        slow.release.countDown();
+        awaitTrue(() -> fast.ids().equals(List.of(1L, 2L, 3L)));
+        DueEventSubscriptions.Stats stats = hub.getStats();
+        assertEquals(1, stats.getSubscribers());
+        assertEquals(1, stats.getDisconnected());
+        assertEquals(List.of(1L), slow.ids());
+    }
+
+    @Test
+    void failedSendShouldRemoveSubscriber() {
+        hub.subscribe(10, OverflowPolicy.DROP_OLDEST, new RecordingSink() {
+            @Override
+            public void send(Event event) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        });
+
+        dueEventIndex.add(event(1L, START.minusMillis(1)));
+
+        awaitTrue(() -> hub.getStats().getSubscribers() == 0);
+        assertEquals(0, hub.getStats().getDelivered());
+    }
+
+    @Test
+    void subscribeShouldRejectSubscribersBeyondTheLimit() {
+        DueEventSubscriptions.Subscription first = hub.subscribe(10, OverflowPolicy.DROP_OLDEST, new RecordingSink());
+        hub.subscribe(10, OverflowPolicy.DROP_OLDEST, new RecordingSink());
+
+        assertThrows(TooManySubscribersException.class,
+                () -> hub.subscribe(10, OverflowPolicy.DROP_OLDEST, new RecordingSink()));
+
+        hub.unsubscribe(first);
+        assertNotNull(hub.subscribe(10, OverflowPolicy.DROP_OLDEST, new RecordingSink()));
+    }
+
+    private static Event event(long id, Instant scheduledTime) {
+        return Event.builder().id(id).name("event-" + id).scheduledTime(scheduledTime)
+                .status(EventStatus.SCHEDULED).build();
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met in time");
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(e);
+            }
+        }
+    }
+
+    private static class RecordingSink implements DueEventSubscriptions.Sink {
+        final List<Event> received = new CopyOnWriteArrayList<>();
+        volatile boolean closed;
+
+        @Override
+        public void send(Event event) throws IOException {
+            received.add(event);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        List<Long> ids() {
+            return received.stream().map(Event::getId).collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Blocks in its first send until released, like a client that stopped reading.
+     */
+    private static class BlockingSink extends RecordingSink {
+        final CountDownLatch sending = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void send(Event event) throws IOException {
+            super.send(event);
+            sending.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
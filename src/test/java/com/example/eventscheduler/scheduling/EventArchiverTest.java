@@ -0,0 +1,144 @@
+package com.example.eventscheduler.scheduling;
+
+import com.example.eventscheduler.domain.ArchivedEvent;
+import com.example.eventscheduler.domain.Event;
+import com.example.eventscheduler.domain.EventStatus;
+import com.example.eventscheduler.dto.ArchivedEventPage;
+import com.example.eventscheduler.exception.EventNotFoundException;
+import com.example.eventscheduler.repository.ArchivedEventRepository;
+import com.example.eventscheduler.repository.EventRepository;
+import com.example.eventscheduler.service.ClockService;
+import com.example.eventscheduler.service.EventArchive;
+import com.example.eventscheduler.service.EventService;
+import com.example.eventscheduler.service.SharedCounterService;
+import com.example.eventscheduler.util.MutableClock;
+import com.example.eventscheduler.util.SystemClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests {@link EventArchiver} and {@link EventArchive} against the application's H2 database.
+ * The archiver is built by hand around a manually advanced clock. The test's events are scheduled in 2001,
+ * long before those of the other tests sharing the database, so only they fall behind the archival cutoff.
+ */
+@SpringBootTest
+class EventArchiverTest {
+
+    private static final Instant DAY_ONE = Instant.parse("2001-01-01T00:00:00Z");
+    private static final long ONE_DAY_MILLIS = Duration.ofDays(1).toMillis();
+
+    @Autowired
+    private EventArchive eventArchive;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private ArchivedEventRepository archivedEventRepository;
+
+    private SharedCounterService counters;
+    private MutableClock clock;
+
+    @BeforeEach
+    void setUp() {
+        archivedEventRepository.deleteAll();
+        counters = new SharedCounterService();
+        clock = new MutableClock(DAY_ONE.plus(Duration.ofDays(2)));
+    }
+
+    @Test
+    void archiveAll_shouldMoveOnlyTerminalEventsPastHotRetention() {
+        Long completed = completed("completed", DAY_ONE);
+        Long cancelled = cancelled("cancelled", DAY_ONE.plusSeconds(1));
+        Long scheduled = eventService.createEvent("scheduled", DAY_ONE).getId();
+        Long recent = completed("recent", DAY_ONE.plus(Duration.ofHours(36)));
+        assertEquals(EventStatus.COMPLETED, eventService.getEvent(completed).getStatus());
+
+        int archived = archiver(1, 0).archiveAll();
+
+        assertEquals(2, archived);
+        assertEquals(2, counters.get(SharedCounterService.Counter.ARCHIVED));
+        assertTrue(eventRepository.findById(completed).isEmpty());
+        assertTrue(eventRepository.findById(cancelled).isEmpty());
+        assertTrue(eventRepository.findById(scheduled).isPresent());
+        assertTrue(eventRepository.findById(recent).isPresent());
+        assertThrows(EventNotFoundException.class, () -> eventService.getEvent(completed));
+
+        ArchivedEvent archivedEvent = eventArchive.getArchivedEvent(completed);
+        assertEquals("completed", archivedEvent.getName());
+        assertEquals(EventStatus.COMPLETED, archivedEvent.getStatus());
+        assertEquals(DAY_ONE, archivedEvent.getScheduledTime());
+        assertEquals(clock.instant(), archivedEvent.getArchivedAt());
+        assertEquals(EventStatus.CANCELLED, eventArchive.getArchivedEvent(cancelled).getStatus());
+        assertEquals(0, archiver(1, 0).archiveAll());
+    }
+
+    @Test
+    void getHistory_shouldPageByScheduledTimeAndFilterByStatus() {
+        for (int i = 0; i < 5; i++) {
+            completed("history-" + i, DAY_ONE.plusSeconds(i));
+        }
+        cancelled("history-cancelled", DAY_ONE.plusSeconds(10));
+        archiver(100, 0).archiveAll();
+
+        ArchivedEventPage first = eventArchive.getHistory(DAY_ONE, null, null, null, 4);
+        ArchivedEventPage second = eventArchive.getHistory(DAY_ONE, null, null, first.getNextCursor(), 4);
+        ArchivedEventPage window = eventArchive.getHistory(DAY_ONE.plusSeconds(1), DAY_ONE.plusSeconds(3), null,
+                null, 10);
+        ArchivedEventPage cancelledOnly = eventArchive.getHistory(null, null, EventStatus.CANCELLED, null, 10);
+
+        assertEquals(List.of("history-0", "history-1", "history-2", "history-3"), names(first));
+        assertEquals(List.of("history-4", "history-cancelled"), names(second));
+        assertNull(second.getNextCursor());
+        assertEquals(List.of("history-1", "history-2"), names(window));
+        assertEquals(List.of("history-cancelled"), names(cancelledOnly));
+    }
+
+    @Test
+    void archiveAll_shouldPurgeArchivedEventsPastArchiveRetention() {
+        Long first = completed("first", DAY_ONE);
+        archiver(100, ONE_DAY_MILLIS).archiveAll();
+        clock.advance(Duration.ofHours(12));
+        Long second = completed("second", DAY_ONE.plusSeconds(1));
+        archiver(100, ONE_DAY_MILLIS).archiveAll();
+
+        clock.advance(Duration.ofHours(13));
+        archiver(100, ONE_DAY_MILLIS).archiveAll();
+
+        assertThrows(EventNotFoundException.class, () -> eventArchive.getArchivedEvent(first));
+        assertEquals("second", eventArchive.getArchivedEvent(second).getName());
+    }
+
+    private EventArchiver archiver(int batchSize, long archiveRetentionMillis) {
+        return new EventArchiver(eventArchive, new ClockService(new SystemClock(clock)), counters, ONE_DAY_MILLIS,
+                archiveRetentionMillis, batchSize);
+    }
+
+    private Long completed(String name, Instant scheduledTime) {
+        Long id = eventService.createEvent(name, scheduledTime).getId();
+        eventService.completeEvent(id);
+        return id;
+    }
+
+    private Long cancelled(String name, Instant scheduledTime) {
+        Event event = eventService.createEvent(name, scheduledTime);
+        event.setStatus(EventStatus.CANCELLED);
+        return eventRepository.save(event).getId();
+    }
+
+    private static List<String> names(ArchivedEventPage page) {
+        return page.getEvents().stream().map(ArchivedEvent::getName).collect(Collectors.toList());
+    }
+}
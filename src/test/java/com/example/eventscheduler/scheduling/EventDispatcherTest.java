@@ -0,0 +1,213 @@
+package com.example.eventscheduler.scheduling;
+
+import com.example.eventscheduler.domain.Event;
+import com.example.eventscheduler.domain.EventStatus;
+import com.example.eventscheduler.service.ClockService;
+import com.example.eventscheduler.service.EventService;
+import com.example.eventscheduler.util.MutableClock;
+import com.example.eventscheduler.util.SystemClock;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link EventDispatcher}.
+ * Drives the dispatcher with a manually advanced clock so firing times are deterministic.
+ */
+class EventDispatcherTest {
+
+    private static final Instant START = Instant.parse("2025-06-23T17:00:00Z");
+
+    private MutableClock clock;
+    private DueEventIndex dueEventIndex;
+    private EventService eventService;
+    private List<Event> handled;
+    private CountDownLatch dispatchedLatch;
+    private EventDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(START);
+        dueEventIndex = new DueEventIndex();
+        eventService = mock(EventService.class);
+        handled = new CopyOnWriteArrayList<>();
+        dispatchedLatch = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            dispatchedLatch.countDown();
+            return ids(invocation.getArgument(0));
+        }).when(eventService).markDispatched(anyCollection());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null && dispatcher.isRunning()) {
+            dispatcher.stop();
+        }
+    }
+
+    @Test
+    void shouldFireEventOnlyOnceItsScheduledTimeArrives() throws InterruptedException {
+        startDispatcher(handled::add);
+        dueEventIndex.add(event(1L, START.plusSeconds(1)));
+
+        assertFalse(dispatchedLatch.await(50, TimeUnit.MILLISECONDS));
+        assertTrue(handled.isEmpty());
+
+        // Due only once the clock has passed the scheduled time
+        clock.advance(Duration.ofSeconds(1));
+        assertFalse(dispatchedLatch.await(50, TimeUnit.MILLISECONDS));
+
+        clock.advance(Duration.ofMillis(1));
+
+        assertTrue(dispatchedLatch.await(2, TimeUnit.SECONDS));
+        awaitHandled(1);
+        assertEquals(1L, handled.get(0).getId());
+        verify(eventService).markDispatched(argThat(events -> ids(events).equals(List.of(1L))));
+        assertEquals(1, dispatcher.getStats().getFired());
+        assertEquals(1, dispatcher.getStats().getLatenessMicros().getCount());
+    }
+
+    @Test
+    void shouldSkipEventsThatLeftTheIndexBeforeFiring() throws InterruptedException {
+        dispatcher = newDispatcher(handled::add);
+        dueEventIndex.add(event(1L, START.minusSeconds(2)));
+        dueEventIndex.add(event(2L, START.minusSeconds(1)));
+        dueEventIndex.remove(1L);
+
+        dispatcher.start();
+
+        assertTrue(dispatchedLatch.await(2, TimeUnit.SECONDS));
+        awaitHandled(1);
+        assertEquals(2L, handled.get(0).getId());
+        verify(eventService).markDispatched(argThat(events -> ids(events).equals(List.of(2L))));
+    }
+
+    @Test
+    void shouldCountHandlerFailuresAndStillCompleteEvent() throws InterruptedException {
+        startDispatcher(event -> {
+            throw new IllegalStateException("boom");
+        });
+        dueEventIndex.add(event(1L, START.minusSeconds(1)));
+
+        assertTrue(dispatchedLatch.await(2, TimeUnit.SECONDS));
+        verify(eventService).markDispatched(argThat(events -> ids(events).equals(List.of(1L))));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (dispatcher.getStats().getFired() < 1 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(1, dispatcher.getStats().getFailed());
+    }
+
+    @Test
+    void shouldRunHandlersOnlyForEventsItClaimed() throws InterruptedException {
+        // Event 1 is completed by someone else between indexing and claiming, so the claim misses it
+        doAnswer(invocation -> {
+            List<Long> claimed = ids(invocation.getArgument(0));
+            claimed.remove(1L);
+            dispatchedLatch.countDown();
+            return claimed;
+        }).when(eventService).markDispatched(anyCollection());
+        dispatcher = newDispatcher(handled::add);
+        dueEventIndex.add(event(1L, START.minusSeconds(2)));
+        dueEventIndex.add(event(2L, START.minusSeconds(1)));
+
+        dispatcher.start();
+
+        assertTrue(dispatchedLatch.await(2, TimeUnit.SECONDS));
+        awaitHandled(1);
+        Thread.sleep(50);
+        assertEquals(List.of(2L), handledIds());
+        assertEquals(1, dispatcher.getStats().getFired());
+        assertEquals(1, dispatcher.getStats().getLatenessMicros().getCount());
+    }
+
+    @Test
+    void shouldDrainLateEventsOldestFirstAtCatchUpRateBehindOnTimeEvents() throws InterruptedException {
+        dispatcher = newDispatcher(handled::add, 2, 1_000, 5, 10);
+        for (long id = 1; id <= 12; id++) {
+            dueEventIndex.add(event(id, START.minusSeconds(120 - id)));
+        }
+        dispatcher.start();
+
+        awaitHandled(5);
+        Thread.sleep(50);
+        assertEquals(ids(1, 5), handledIds());
+        assertEquals(7, dispatcher.getStats().getBacklog());
+        assertEquals(700, dispatcher.getStats().getBacklogDrainMillis());
+
+        dueEventIndex.add(event(100L, START.minusMillis(1)));
+        awaitHandled(6);
+        assertEquals(100L, handled.get(5).getId());
+
+        clock.advance(Duration.ofMillis(500));
+        awaitHandled(11);
+        clock.advance(Duration.ofMillis(500));
+        awaitHandled(13);
+
+        List<Long> lateIds = handledIds().stream().filter(id -> id < 100).collect(Collectors.toList());
+        assertEquals(ids(1, 12), lateIds);
+        assertEquals(0, dispatcher.getStats().getBacklog());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (dispatcher.getStats().getCaughtUp() < 12 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(12, dispatcher.getStats().getCaughtUp());
+    }
+
+    private void awaitHandled(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (handled.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(count, handled.size(), "handled: " + handledIds());
+    }
+
+    private List<Long> handledIds() {
+        return handled.stream().map(Event::getId).collect(Collectors.toList());
+    }
+
+    private static List<Long> ids(Collection<Event> events) {
+        return events.stream().map(Event::getId).collect(Collectors.toList());
+    }
+
+    private static List<Long> ids(long from, long to) {
+        return LongStream.rangeClosed(from, to).boxed().collect(Collectors.toList());
+    }
+
+    private void startDispatcher(DueEventHandler handler) {
+        dispatcher = newDispatcher(handler);
+        dispatcher.start();
+    }
+
+    private EventDispatcher newDispatcher(DueEventHandler handler) {
+        return newDispatcher(handler, 1, 5_000, 100, 1_000);
+    }
+
+    private EventDispatcher newDispatcher(DueEventHandler handler, int workers, long catchUpThresholdMillis,
+                                          int catchUpBatchSize, double catchUpRate) {
+        StaticListableBeanFactory handlers = new StaticListableBeanFactory(Map.of("handler", handler));
+        ClockService clockService = new ClockService(new SystemClock(clock));
+        return new EventDispatcher(dueEventIndex, clockService, eventService,
+                handlers.getBeanProvider(DueEventHandler.class), 100, workers, 5, catchUpThresholdMillis,
+                catchUpBatchSize, catchUpRate);
+    }
+
+    private static Event event(Long id, Instant scheduledTime) {
+        return Event.builder().id(id).name("Event " + id).scheduledTime(scheduledTime).status(EventStatus.SCHEDULED).build();
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.eventscheduler.scheduling;
+
+import com.example.eventscheduler.domain.Event;
+import com.example.eventscheduler.repository.SchedulerNodeRepository;
+import com.example.eventscheduler.repository.ShardLeaseRepository;
+import com.example.eventscheduler.service.ClockService;
+import com.example.eventscheduler.service.EventService;
+import com.example.eventscheduler.service.ShardLeaseService;
+import com.example.eventscheduler.util.MutableClock;
+import com.example.eventscheduler.util.SystemClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Simulates several {@link ShardedEventProcessor} nodes in one JVM against the application's H2 database.
+ * Each node has its own ID and handler but they share one manually advanced lease clock, and the test
+ * drives their rebalance and processing steps directly instead of starting their threads.
+ */
+@SpringBootTest
+class ShardedEventProcessorTest {
+
+    private static final int SHARDS = 16;
+    private static final long LEASE_MILLIS = 9_000;
+
+    @Autowired
+    private ShardLeaseService shardLeaseService;
+
+    @Autowired
+    private ShardLeaseRepository shardLeaseRepository;
+
+    @Autowired
+    private SchedulerNodeRepository schedulerNodeRepository;
+
+    @Autowired
+    private EventService eventService;
+
+    private MutableClock leaseClock;
+    private Map<Long, String> firedBy;
+
+    @BeforeEach
+    void setUp() {
+        shardLeaseRepository.deleteAll();
+        schedulerNodeRepository.deleteAll();
+        shardLeaseService.createShards(SHARDS);
+        leaseClock = new MutableClock(Instant.now());
+        firedBy = new ConcurrentHashMap<>();
+    }
+
+    @Test
+    void nodesShouldSplitShardsWithoutOverlap() {
+        List<ShardedEventProcessor> nodes = List.of(node("a"), node("b"), node("c"));
+
+        rebalanceRounds(nodes, 3);
+
+        assertPartitioned(nodes);
+        for (ShardedEventProcessor node : nodes) {
+            assertTrue(ownedShards(node).size() <= 6, node.getStatus().toString());
+        }
+    }
+
+    @Test
+    void survivorsShouldTakeOverShardsOfDeadNode() {
+        ShardedEventProcessor a = node("a");
+        ShardedEventProcessor b = node("b");
+        ShardedEventProcessor c = node("c");
+        rebalanceRounds(List.of(a, b, c), 3);
+        assertFalse(ownedShards(c).isEmpty());
+
+        // c stops renewing; a and b keep renewing while c's heartbeat and leases run out
+        for (int i = 0; i < 5; i++) {
+            leaseClock.advance(Duration.ofMillis(LEASE_MILLIS / 3));
+            rebalanceRounds(List.of(a, b), 1);
+        }
+
+        assertPartitioned(List.of(a, b));
+        assertEquals(8, ownedShards(a).size());
+        assertEquals(8, ownedShards(b).size());
+    }
+
+    @Test
+    void leavingNodeShouldHandItsShardsOverImmediately() {
+        ShardedEventProcessor a = node("a");
+        ShardedEventProcessor b = node("b");
+        rebalanceRounds(List.of(a, b), 3);
+
+        shardLeaseService.leave("b");
+        rebalanceRounds(List.of(a), 1);
+
+        assertEquals(SHARDS, ownedShards(a).size());
+    }
+
+    @Test
+    void eachDueEventShouldFireExactlyOnceOnTheNodeOwningItsShard() {
+        List<ShardedEventProcessor> nodes = List.of(node("a"), node("b"), node("c"));
+        rebalanceRounds(nodes, 3);
+        Set<Long> created = new HashSet<>();
+        Instant past = Instant.now().minusSeconds(60);
+        for (int i = 0; i < 300; i++) {
+            created.add(eventService.createEvent("sharded-" + i, past).getId());
+        }
+
+        boolean progress = true;
+        while (progress) {
+            progress = false;
+            for (ShardedEventProcessor node : nodes) {
+                progress |= node.processDue() > 0;
+            }
+        }
+
+        assertEquals(created, firedBy.keySet());
+        long total = 0;
+        for (ShardedEventProcessor node : nodes) {
+            String nodeId = node.getStatus().getNodeId();
+            List<Integer> shards = ownedShards(node);
+            firedBy.forEach((id, firingNode) -> {
+                if (firingNode.equals(nodeId)) {
+                    assertTrue(shards.contains((int) (id % SHARDS)), "event " + id + " fired outside node's shards");
+                }
+            });
+            assertTrue(node.getStatus().getFired() > 0, nodeId + " fired nothing");
+            total += node.getStatus().getFired();
+        }
+        assertEquals(created.size(), total);
+        assertTrue(eventService.getDueEventsInShards(allShards(), SHARDS, 1000).stream()
+                .map(Event::getId).noneMatch(created::contains));
+    }
+
+    private ShardedEventProcessor node(String nodeId) {
+        DueEventHandler handler = event -> {
+            if (event.getName().startsWith("sharded-") && firedBy.putIfAbsent(event.getId(), nodeId) != null) {
+                fail("event " + event.getId() + " fired twice");
+            }
+        };
+        StaticListableBeanFactory handlers = new StaticListableBeanFactory(Map.of("handler", handler));
+        return new ShardedEventProcessor(shardLeaseService, eventService, new ClockService(new SystemClock(leaseClock)),
+                handlers.getBeanProvider(DueEventHandler.class), nodeId, SHARDS, LEASE_MILLIS, 10, 50);
+    }
+
+    private static void rebalanceRounds(List<ShardedEventProcessor> nodes, int rounds) {
+        for (int i = 0; i < rounds; i++) {
+            nodes.forEach(ShardedEventProcessor::rebalance);
+        }
+    }
+
+    private static List<Integer> ownedShards(ShardedEventProcessor node) {
+        return node.getStatus().getOwnedShards();
+    }
+
+    private static void assertPartitioned(List<ShardedEventProcessor> nodes) {
+        List<Integer> all = new ArrayList<>();
+        nodes.forEach(node -> all.addAll(ownedShards(node)));
+        assertEquals(SHARDS, all.size(), "shards owned twice or not at all: " + all);
+        assertEquals(new HashSet<>(allShards()), new HashSet<>(all));
+    }
+
+    private static List<Integer> allShards() {
+        List<Integer> shards = new ArrayList<>();
+        for (int shard = 0; shard < SHARDS; shard++) {
+            shards.add(shard);
+        }
+        return shards;
+    }
+}
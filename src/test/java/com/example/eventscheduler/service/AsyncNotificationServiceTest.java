@@ -0,0 +1,127 @@
+package com.example.eventscheduler.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link AsyncNotificationService}.
+ * The delivering {@link NotificationServiceImpl} is mocked so batching can be observed directly.
+ */
+class AsyncNotificationServiceTest {
+
+    private NotificationServiceImpl delegate;
+    private SharedCounterService counters;
+    private AsyncNotificationService notificationService;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(NotificationServiceImpl.class);
+        counters = new SharedCounterService();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (notificationService.isRunning()) {
+            notificationService.stop();
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void notifyUser_shouldDeliverFullBatchInOneCall() {
+        notificationService = new AsyncNotificationService(delegate, counters, 100, 3, 10_000, 100, 1, false);
+        notificationService.start();
+
+        notificationService.notifyUser("a");
+        notificationService.notifyUser("b");
+        notificationService.notifyUser("c");
+
+        verify(delegate, timeout(2000)).notifyUsers(List.of("a", "b", "c"));
+        verify(delegate, never()).notifyUser(anyString());
+        awaitCount(SharedCounterService.Counter.NOTIFIED, 3);
+    }
+
+    @Test
+    void notifyUser_shouldCountFailedDeliveries() {
+        doThrow(new IllegalStateException("transport down")).when(delegate).notifyUsers(anyList());
+        notificationService = new AsyncNotificationService(delegate, counters, 100, 2, 10_000, 100, 1, false);
+        notificationService.start();
+
+        notificationService.notifyUsers(List.of("a", "b"));
+
+        awaitCount(SharedCounterService.Counter.FAILED, 2);
+        verify(delegate).notifyUsers(List.of("a", "b"));
+        assertEquals(0, counters.get(SharedCounterService.Counter.NOTIFIED));
+    }
+
+    @Test
+    void notifyUser_shouldFlushPartialBatchAfterLinger() {
+        notificationService = new AsyncNotificationService(delegate, counters, 100, 10, 20, 100, 1, false);
+        notificationService.start();
+
+        notificationService.notifyUsers(List.of("a", "b"));
+
+        verify(delegate, timeout(2000)).notifyUsers(List.of("a", "b"));
+    }
+
+    @Test
+    void notifyUser_shouldDeliverOnCallerThread_whenQueueIsFull() throws InterruptedException {
+        CountDownLatch workerBusy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            if (!Thread.currentThread().getName().startsWith("notification-")) {
+                return null;
+            }
+            workerBusy.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(delegate).notifyUsers(anyList());
+        notificationService = new AsyncNotificationService(delegate, counters, 1, 1, 0, 10, 1, false);
+        notificationService.start();
+
+        notificationService.notifyUser("blocks the worker");
+        assertTrue(workerBusy.await(2, TimeUnit.SECONDS));
+        notificationService.notifyUser("fills the queue");
+        notificationService.notifyUser("overflow");
+
+        verify(delegate).notifyUsers(List.of("overflow"));
+        assertEquals(1, notificationService.getPendingCount());
+        release.countDown();
+        verify(delegate, timeout(2000)).notifyUsers(List.of("fills the queue"));
+    }
+
+    @Test
+    void notifyUser_shouldWaitForTransactionCommit() {
+        notificationService = new AsyncNotificationService(delegate, counters, 100, 1, 0, 100, 1, false);
+        notificationService.start();
+        TransactionSynchronizationManager.initSynchronization();
+
+        notificationService.notifyUser("after commit");
+
+        verify(delegate, after(100).never()).notifyUsers(anyList());
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        verify(delegate, timeout(2000)).notifyUsers(List.of("after commit"));
+    }
+
+    private void awaitCount(SharedCounterService.Counter counter, long expected) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (counters.get(counter) != expected && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(expected, counters.get(counter));
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.eventscheduler.service;
+
+import com.example.eventscheduler.domain.Event;
+import com.example.eventscheduler.exception.InvalidIdempotencyKeyException;
+import com.example.eventscheduler.repository.EventRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests {@link EventDeduplicator} against the application's H2 database and its unique index on
+ * {@code events.idempotency_key}. Each test builds its own deduplicators, so their key caches and statistics
+ * start empty, and uses fresh keys, so the tests sharing the database never see each other's events.
+ * Events are scheduled in 2100, so no other test sees them as due.
+ */
+@SpringBootTest
+class EventDeduplicatorTest {
+
+    private static final Instant FAR_FUTURE = Instant.parse("2100-01-01T00:00:00Z");
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Test
+    void retryShouldReturnOriginalEventFromMemory() {
+        EventDeduplicator deduplicator = deduplicator();
+        String key = newKey();
+
+        Event first = deduplicator.createEvent(key, "retried", FAR_FUTURE, null);
+        Event retry = deduplicator.createEvent(key, "retried", FAR_FUTURE, null);
+
+        assertEquals(first.getId(), retry.getId());
+        assertEquals(key, retry.getIdempotencyKey());
+        assertEquals(first.getId(), eventRepository.findIdByIdempotencyKey(key).orElseThrow());
+        EventDeduplicator.Stats stats = deduplicator.getStats();
+        assertEquals(2, stats.getRequests());
+        assertEquals(1, stats.getMemoryHits());
+        assertEquals(0, stats.getDatabaseHits());
+        assertEquals(0.5, stats.getHitRate());
+    }
+
+    @Test
+    void keyMissingFromMemoryShouldBeFoundThroughUniqueIndex() {
+        String key = newKey();
+        Event first = deduplicator().createEvent(key, "other node", FAR_FUTURE, null);
+        EventDeduplicator otherNode = deduplicator();
+
+        Event retry = otherNode.createEvent(key, "other node", FAR_FUTURE, null);
+        Event again = otherNode.createEvent(key, "other node", FAR_FUTURE, null);
+
+        assertEquals(first.getId(), retry.getId());
+        assertEquals(first.getId(), again.getId());
+        assertEquals(1, otherNode.getStats().getDatabaseHits());
+        assertEquals(1, otherNode.getStats().getMemoryHits());
+        assertEquals(1.0, otherNode.getStats().getHitRate());
+    }
+
+    @Test
+    void concurrentRetriesOnSeparateNodesShouldCreateOneEvent() throws Exception {
+        int nodes = 8;
+        String key = newKey();
+        List<EventDeduplicator> deduplicators = new ArrayList<>();
+        for (int i = 0; i < nodes; i++) {
+            deduplicators.add(deduplicator());
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(nodes);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Event>> results = new ArrayList<>();
+            for (EventDeduplicator deduplicator : deduplicators) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return deduplicator.createEvent(key, "raced", FAR_FUTURE, null);
+                }));
+            }
+            start.countDown();
+            Set<Long> ids = new HashSet<>();
+            for (Future<Event> result : results) {
+                ids.add(result.get(30, TimeUnit.SECONDS).getId());
+            }
+
+            assertEquals(1, ids.size());
+            assertEquals(ids.iterator().next(), eventRepository.findIdByIdempotencyKey(key).orElseThrow());
+            assertEquals(nodes - 1, deduplicators.stream().mapToLong(d -> d.getStats().getDatabaseHits()).sum());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldRejectBlankAndOverlongKeys() {
+        EventDeduplicator deduplicator = deduplicator();
+
+        assertThrows(InvalidIdempotencyKeyException.class,
+                () -> deduplicator.createEvent(" ", "invalid", FAR_FUTURE, null));
+        assertThrows(InvalidIdempotencyKeyException.class,
+                () -> deduplicator.createEvent("k".repeat(EventDeduplicator.MAX_KEY_LENGTH + 1), "invalid",
+                        FAR_FUTURE, null));
+        assertEquals(0, deduplicator.getStats().getRequests());
+    }
+
+    private EventDeduplicator deduplicator() {
+        return new EventDeduplicator(eventService, 100, 60_000);
+    }
+
+    private static String newKey() {
+        return UUID.randomUUID().toString();
+    }
+}
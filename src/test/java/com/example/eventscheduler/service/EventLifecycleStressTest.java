@@ -0,0 +1,160 @@
+package com.example.eventscheduler.service;
+
+import com.example.eventscheduler.domain.Event;
+import com.example.eventscheduler.domain.EventStatus;
+import com.example.eventscheduler.exception.EventConflictException;
+import com.example.eventscheduler.repository.EventRepository;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Hammers {@link EventService}'s status changes from many threads against the application's H2 database and
+ * checks that every contended change has exactly one winner, reporting throughput and the conflict rate.
+ * Events are scheduled in 2100, so no other test sharing the database sees them as due or archives them.
+ */
+@SpringBootTest
+class EventLifecycleStressTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventLifecycleStressTest.class);
+    private static final int THREADS = 16;
+    private static final Instant FAR_FUTURE = Instant.parse("2100-01-01T00:00:00Z");
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private SharedCounterService counters;
+
+    @Test
+    void concurrentCompletionsAndCancellationsShouldHaveExactlyOneWinnerPerEvent() throws Exception {
+        int eventCount = 200;
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < eventCount; i++) {
+            ids.add(eventService.createEvent("contended-" + i, FAR_FUTURE.plusSeconds(i)).getId());
+        }
+        long completedBefore = counters.get(SharedCounterService.Counter.COMPLETED);
+        long cancelledBefore = counters.get(SharedCounterService.Counter.CANCELLED);
+        Map<Long, AtomicInteger> winners = new ConcurrentHashMap<>();
+        LongAdder completions = new LongAdder();
+        LongAdder cancellations = new LongAdder();
+        LongAdder conflicts = new LongAdder();
+
+        long elapsedNanos = race(thread -> {
+            Random random = new Random(thread);
+            List<Long> order = new ArrayList<>(ids);
+            Collections.shuffle(order, random);
+            for (Long id : order) {
+                boolean complete = random.nextBoolean();
+                try {
+                    if (complete) {
+                        eventService.completeEvent(id);
+                        completions.increment();
+                    } else {
+                        eventService.cancelEvent(id);
+                        cancellations.increment();
+                    }
+                    winners.computeIfAbsent(id, key -> new AtomicInteger()).incrementAndGet();
+                } catch (EventConflictException e) {
+                    conflicts.increment();
+                }
+            }
+        });
+
+        report("complete/cancel", THREADS * eventCount, elapsedNanos, conflicts.sum());
+        assertEquals(eventCount, winners.size());
+        winners.forEach((id, wins) -> assertEquals(1, wins.get(), "event " + id + " changed more than once"));
+        assertEquals((long) THREADS * eventCount - eventCount, conflicts.sum());
+        assertEquals(completions.sum(), counters.get(SharedCounterService.Counter.COMPLETED) - completedBefore);
+        assertEquals(cancellations.sum(), counters.get(SharedCounterService.Counter.CANCELLED) - cancelledBefore);
+        for (Event event : eventRepository.findAllById(ids)) {
+            assertTrue(event.getStatus().isTerminal());
+            assertEquals(1L, event.getVersion());
+        }
+    }
+
+    @Test
+    void concurrentCompletionsOfRecurringEventShouldNeverLoseAnOccurrence() throws Exception {
+        int attemptsPerThread = 25;
+        Event event = eventService.createEvent("contended-recurring", FAR_FUTURE, "PT1M");
+        LongAdder advanced = new LongAdder();
+        LongAdder conflicts = new LongAdder();
+
+        long elapsedNanos = race(thread -> {
+            for (int i = 0; i < attemptsPerThread; i++) {
+                try {
+                    eventService.completeEvent(event.getId());
+                    advanced.increment();
+                } catch (EventConflictException e) {
+                    conflicts.increment();
+                }
+            }
+        });
+
+        report("recurring complete", THREADS * attemptsPerThread, elapsedNanos, conflicts.sum());
+        Event stored = eventRepository.findById(event.getId()).orElseThrow();
+        assertTrue(advanced.sum() > 0);
+        assertEquals(EventStatus.SCHEDULED, stored.getStatus());
+        assertEquals(FAR_FUTURE.plus(Duration.ofMinutes(advanced.sum())), stored.getScheduledTime());
+        assertEquals(advanced.sum(), stored.getVersion());
+    }
+
+    /** Runs the task on {@value #THREADS} threads released at once and returns the wall time it took. */
+    private static long race(ThreadTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                int seed = thread;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.run(seed);
+                    return null;
+                }));
+            }
+            long startNanos = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+            return System.nanoTime() - startNanos;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void report(String scenario, long attempts, long elapsedNanos, long conflicts) {
+        long millis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        logger.info("{}: {} attempts on {} threads in {} ms ({}/s), {} conflicts ({}%)", scenario, attempts, THREADS,
+                millis, attempts * 1000 / millis, conflicts, String.format("%.1f", 100.0 * conflicts / attempts));
+    }
+
+    @FunctionalInterface
+    private interface ThreadTask {
+        void run(int thread) throws Exception;
+    }
+}
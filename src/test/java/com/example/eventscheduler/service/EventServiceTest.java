@@ -2,18 +2,45 @@ package com.example.eventscheduler.service;
 
 import com.example.eventscheduler.domain.Event;
 import com.example.eventscheduler.domain.EventStatus;
+import com.example.eventscheduler.domain.Recurrence;
+import com.example.eventscheduler.dto.BatchCreateResult;
+import com.example.eventscheduler.dto.BulkCompletionResult;
+import com.example.eventscheduler.dto.CreateEventRequest;
+import com.example.eventscheduler.dto.DueEventPage;
+import com.example.eventscheduler.exception.EventConflictException;
 import com.example.eventscheduler.exception.EventNotFoundException;
+import com.example.eventscheduler.exception.InvalidCursorException;
+import com.example.eventscheduler.exception.InvalidRecurrenceException;
+import com.example.eventscheduler.exception.MalformedEventPayloadException;
+import com.example.eventscheduler.repository.DueEventView;
 import com.example.eventscheduler.repository.EventRepository;
+import com.example.eventscheduler.repository.EventStateChange;
+import com.example.eventscheduler.repository.EventStatusView;
+import com.example.eventscheduler.scheduling.DueEventIndex;
+import com.example.eventscheduler.store.JpaEventStore;
+import com.example.eventscheduler.store.MappedEventStore;
 import com.example.eventscheduler.util.SystemClock;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -29,6 +56,8 @@ class EventServiceTest {
     private ClockService clockService;
     private NotificationService notificationService;
     private SharedCounterService sharedCounterService;
+    private DueEventIndex dueEventIndex;
+    private EventCache eventCache;
 
     // The service under test
     private EventService eventService;
@@ -50,8 +79,15 @@ class EventServiceTest {
         sharedCounterService = new SharedCounterService();
         sharedCounterService.reset();
 
+        // A real, initially unloaded index: due queries fall back to the repository until it is rebuilt
+        dueEventIndex = new DueEventIndex();
+
+        // A real cache, so lookups and invalidation can be observed through the repository mock
+        eventCache = new EventCache(100, 60_000);
+
         // Initialize the service with its mocked and real (controlled) dependencies
-        eventService = new EventService(eventRepository, clockService, notificationService, sharedCounterService);
+        eventService = new EventService(new JpaEventStore(eventRepository), clockService, notificationService, sharedCounterService,
+                dueEventIndex, eventCache, false);
     }
 
     @Test
@@ -84,6 +120,9 @@ class EventServiceTest {
 
         // Verify that the shared counter was incremented
         assertEquals(1, sharedCounterService.get());
+
+        // Verify that the saved event was added to the due-event index
+        assertEquals(1, dueEventIndex.size());
     }
 
     @Test
@@ -92,13 +131,11 @@ class EventServiceTest {
         // The clock is fixed at "2025-06-23T17:00:00Z" by the setup method
         Instant fixedNow = Instant.parse("2025-06-23T17:00:00Z");
 
-        Event event1 = Event.builder().id(1L).name("Past Event").scheduledTime(fixedNow.minusSeconds(3600)).status(EventStatus.SCHEDULED).build();
-        Event event2 = Event.builder().id(2L).name("Future Event").scheduledTime(fixedNow.plusSeconds(3600)).status(EventStatus.SCHEDULED).build();
-        Event event3 = Event.builder().id(3L).name("Due Event").scheduledTime(fixedNow.minusSeconds(10)).status(EventStatus.SCHEDULED).build();
+        DueEventView event1 = new DueEventView(1L, "Past Event", fixedNow.minusSeconds(3600), null, 0L);
+        DueEventView event3 = new DueEventView(3L, "Due Event", fixedNow.minusSeconds(10), null, 0L);
 
         // Mock repository behavior: only event1 and event3 should be returned based on scheduled time
-        when(eventRepository.findByStatusAndScheduledTimeBefore(EventStatus.SCHEDULED.name(), fixedNow))
-                .thenReturn(List.of(event1, event3));
+        when(eventRepository.findDue(EventStatus.SCHEDULED, fixedNow)).thenReturn(List.of(event1, event3));
 
         // When
         List<Event> dueEvents = eventService.getDueEvents();
@@ -106,41 +143,52 @@ class EventServiceTest {
         // Then
         assertNotNull(dueEvents);
         assertEquals(2, dueEvents.size());
-        assertTrue(dueEvents.contains(event1));
-        assertTrue(dueEvents.contains(event3));
-        assertFalse(dueEvents.contains(event2)); // Ensure future event is not included
+        assertEquals(1L, dueEvents.get(0).getId());
+        assertEquals("Past Event", dueEvents.get(0).getName());
+        assertEquals(3L, dueEvents.get(1).getId());
+        assertEquals(EventStatus.SCHEDULED, dueEvents.get(1).getStatus());
 
-        // Verify that the repository method was called with the correct status and current (fixed) time
-        verify(eventRepository, times(1)).findByStatusAndScheduledTimeBefore(EventStatus.SCHEDULED.name(), fixedNow);
+        // Verify that the projection query was called with the correct status and current (fixed) time
+        verify(eventRepository, times(1)).findDue(EventStatus.SCHEDULED, fixedNow);
     }
 
     @Test
     void completeEvent_shouldUpdateStatusAndNotifyUser() {
         // Given
         Long eventId = 1L;
-        Event eventToComplete = Event.builder().id(eventId).name("Event to Complete").scheduledTime(Instant.now()).status(EventStatus.SCHEDULED).build();
+        Instant scheduledTime = Instant.now();
+        Event eventToComplete = Event.builder().id(eventId).name("Event to Complete").scheduledTime(scheduledTime).status(EventStatus.SCHEDULED).version(3L).build();
 
         when(eventRepository.findById(eventId)).thenReturn(Optional.of(eventToComplete));
-        when(eventRepository.save(any(Event.class))).thenReturn(eventToComplete); // Return the same event after saving
+        when(eventRepository.compareAndSet(eventId, 3L, EventStatus.COMPLETED, scheduledTime)).thenReturn(1);
 
         // When
         eventService.completeEvent(eventId);
 
         // Then
-        // Verify event status is updated to COMPLETED
-        assertEquals(EventStatus.COMPLETED, eventToComplete.getStatus());
-
         // Verify that eventRepository.findById was called
         verify(eventRepository, times(1)).findById(eventId);
 
-        // Verify that eventRepository.save was called with the updated event
-        ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
-        verify(eventRepository, times(1)).save(eventCaptor.capture());
-        assertEquals(EventStatus.COMPLETED, eventCaptor.getValue().getStatus());
-        assertEquals(eventId, eventCaptor.getValue().getId());
+        // Verify that the status change was a conditional update on the version that was read, not a save
+        verify(eventRepository, times(1)).compareAndSet(eventId, 3L, EventStatus.COMPLETED, scheduledTime);
+        verify(eventRepository, never()).save(any(Event.class));
 
         // Verify that notificationService.notifyUser was called with the correct message
         verify(notificationService, times(1)).notifyUser("Event completed: Event to Complete");
+        assertEquals(1, sharedCounterService.get(SharedCounterService.Counter.COMPLETED));
+    }
+
+    @Test
+    void completeEvent_shouldFailWithConflictAndNotNotify_whenAnotherRequestChangedTheEventFirst() {
+        // Given: the conditional update finds a newer version than the one that was read
+        Event event = Event.builder().id(1L).name("Contended").scheduledTime(Instant.now()).status(EventStatus.SCHEDULED).version(0L).build();
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(event));
+        when(eventRepository.compareAndSet(eq(1L), eq(0L), any(), any())).thenReturn(0);
+
+        // When/Then
+        assertThrows(EventConflictException.class, () -> eventService.completeEvent(1L));
+        verifyNoInteractions(notificationService);
+        assertEquals(0, sharedCounterService.get(SharedCounterService.Counter.COMPLETED));
     }
 
     @Test
@@ -162,4 +210,523 @@ class EventServiceTest {
         verify(eventRepository, never()).save(any(Event.class));
         verify(notificationService, never()).notifyUser(anyString());
     }
+
+    @Test
+    void getEvent_shouldHitRepositoryOnce_forRepeatedLookups() {
+        // Given
+        Event event = Event.builder().id(1L).name("Hot Event").scheduledTime(Instant.now()).status(EventStatus.SCHEDULED).version(2L).build();
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(event));
+
+        // When
+        Event first = eventService.getEvent(1L);
+        Event second = eventService.getEvent(1L);
+
+        // Then
+        assertEquals("Hot Event", first.getName());
+        assertEquals(2L, first.getVersion());
+        assertSame(first, second);
+        verify(eventRepository, times(1)).findById(1L);
+        assertEquals(1, eventCache.getStats().getHits());
+        assertEquals(1, eventCache.getStats().getMisses());
+    }
+
+    @Test
+    void getEvent_shouldThrowEventNotFoundException_andNotCacheMiss() {
+        when(eventRepository.findById(99L)).thenReturn(Optional.empty());
+
+        assertThrows(EventNotFoundException.class, () -> eventService.getEvent(99L));
+        assertThrows(EventNotFoundException.class, () -> eventService.getEvent(99L));
+
+        verify(eventRepository, times(2)).findById(99L);
+    }
+
+    @Test
+    void completeEvent_shouldSkipLookup_forCachedOneOffEvent_andInvalidateIt() {
+        // Given
+        Event event = Event.builder().id(1L).name("Cached Event").scheduledTime(Instant.now()).status(EventStatus.SCHEDULED).build();
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(event));
+        eventService.getEvent(1L);
+        when(eventRepository.updateStatus(List.of(1L), EventStatus.SCHEDULED, EventStatus.COMPLETED)).thenReturn(1);
+
+        // When
+        eventService.completeEvent(1L);
+
+        // Then
+        verify(eventRepository, times(1)).findById(1L);
+        verify(eventRepository, never()).save(any(Event.class));
+        verify(notificationService).notifyUser("Event completed: Cached Event");
+        assertNull(eventCache.getIfPresent(1L));
+        assertEquals(1, sharedCounterService.get(SharedCounterService.Counter.COMPLETED));
+    }
+
+    @Test
+    void completeEvent_shouldFallBackToLookupAndConflict_whenCachedEventIsNoLongerScheduled() {
+        // Given
+        Event completed = Event.builder().id(1L).name("Done Event").scheduledTime(Instant.now()).status(EventStatus.COMPLETED).version(1L).build();
+        eventCache.put(Event.builder().id(1L).name("Done Event").scheduledTime(completed.getScheduledTime())
+                .status(EventStatus.SCHEDULED).version(0L).build());
+        when(eventRepository.updateStatus(List.of(1L), EventStatus.SCHEDULED, EventStatus.COMPLETED)).thenReturn(0);
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(completed));
+
+        // When
+        EventConflictException thrown = assertThrows(EventConflictException.class, () -> eventService.completeEvent(1L));
+
+        // Then
+        assertEquals("Event 1 is COMPLETED and cannot be completed", thrown.getMessage());
+        verify(eventRepository).findById(1L);
+        verify(eventRepository, never()).compareAndSet(any(), anyLong(), any(), any());
+        verifyNoInteractions(notificationService);
+    }
+
+    @Test
+    void getDueEvents_shouldBeServedFromIndex_onceIndexIsRebuilt() {
+        // Given
+        Instant fixedNow = Instant.parse("2025-06-23T17:00:00Z");
+        DueEventView past = new DueEventView(1L, "Past Event", fixedNow.minusSeconds(3600), null, 0L);
+        DueEventView future = new DueEventView(2L, "Future Event", fixedNow.plusSeconds(3600), null, 0L);
+        when(eventRepository.findViewsByStatus(EventStatus.SCHEDULED)).thenReturn(List.of(past, future));
+        eventService.rebuildDueEventIndex();
+
+        // When
+        List<Event> dueEvents = eventService.getDueEvents();
+
+        // Then
+        assertEquals(1, dueEvents.size());
+        assertEquals(1L, dueEvents.get(0).getId());
+        assertEquals("Past Event", dueEvents.get(0).getName());
+        verify(eventRepository, never()).findDue(any(), any(Instant.class));
+    }
+
+    @Test
+    void getDueEvents_shouldQueryStore_whenIndexIsNodeLocal() {
+        // Given: a service configured for several writers, e.g. with sharding
+        Instant fixedNow = Instant.parse("2025-06-23T17:00:00Z");
+        DueEventView fromOtherNode = new DueEventView(7L, "Other Node", fixedNow.minusSeconds(60), null, 0L);
+        when(eventRepository.findViewsByStatus(EventStatus.SCHEDULED)).thenReturn(List.of());
+        when(eventRepository.findDue(EventStatus.SCHEDULED, fixedNow)).thenReturn(List.of(fromOtherNode));
+        EventService clusterService = new EventService(new JpaEventStore(eventRepository), clockService,
+                notificationService, sharedCounterService, dueEventIndex, eventCache, true);
+        clusterService.rebuildDueEventIndex();
+
+        // When
+        List<Event> dueEvents = clusterService.getDueEvents();
+
+        // Then
+        assertEquals(1, dueEvents.size());
+        assertEquals(7L, dueEvents.get(0).getId());
+    }
+
+    @Test
+    void completeEvent_shouldRemoveEventFromIndex() {
+        // Given
+        Instant fixedNow = Instant.parse("2025-06-23T17:00:00Z");
+        Event event = Event.builder().id(1L).name("Due Event").scheduledTime(fixedNow.minusSeconds(10)).status(EventStatus.SCHEDULED).version(0L).build();
+        when(eventRepository.findViewsByStatus(EventStatus.SCHEDULED))
+                .thenReturn(List.of(new DueEventView(1L, "Due Event", event.getScheduledTime(), null, 0L)));
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(event));
+        when(eventRepository.compareAndSet(1L, 0L, EventStatus.COMPLETED, event.getScheduledTime())).thenReturn(1);
+        eventService.rebuildDueEventIndex();
+
+        // When
+        eventService.completeEvent(1L);
+
+        // Then
+        assertTrue(eventService.getDueEvents().isEmpty());
+        assertEquals(0, dueEventIndex.size());
+    }
+
+    @Test
+    void createEvents_shouldInsertInChunksAndIncrementCounterOnce() {
+        // Given
+        int count = EventService.INSERT_CHUNK_SIZE * 2 + 500;
+        List<CreateEventRequest> requests = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            requests.add(new CreateEventRequest("Bulk " + i, Instant.parse("2025-07-01T10:00:00Z")));
+        }
+        AtomicLong ids = new AtomicLong();
+        List<Integer> chunkSizes = new ArrayList<>();
+        doAnswer(invocation -> {
+            List<Event> chunk = invocation.getArgument(0);
+            chunk.forEach(event -> event.setId(ids.incrementAndGet()));
+            chunkSizes.add(chunk.size());
+            return null;
+        }).when(eventRepository).insertAll(anyList());
+
+        // When
+        BatchCreateResult result = eventService.createEvents(requests.iterator());
+
+        // Then
+        assertEquals(count, result.getCreated());
+        assertEquals(List.of(EventService.INSERT_CHUNK_SIZE, EventService.INSERT_CHUNK_SIZE, 500), chunkSizes);
+        assertEquals(count, sharedCounterService.get());
+        assertEquals(count, dueEventIndex.size());
+        verify(eventRepository, never()).save(any(Event.class));
+    }
+
+    @Test
+    void createEvents_shouldRejectBatchWithAnIncompleteEvent_beforeInsertingAnything() {
+        Instant time = Instant.parse("2025-07-01T10:00:00Z");
+        List<CreateEventRequest> withoutTime = List.of(new CreateEventRequest("Valid", time),
+                new CreateEventRequest("No time", null));
+        List<CreateEventRequest> withoutName = List.of(new CreateEventRequest(" ", time));
+
+        MalformedEventPayloadException thrown = assertThrows(MalformedEventPayloadException.class,
+                () -> eventService.createEvents(withoutTime.iterator()));
+        assertThrows(MalformedEventPayloadException.class, () -> eventService.createEvents(withoutName.iterator()));
+
+        assertEquals("Event 1 of the batch has no scheduled time", thrown.getMessage());
+        verify(eventRepository, never()).insertAll(anyList());
+        assertEquals(0, dueEventIndex.size());
+        assertEquals(0, sharedCounterService.get());
+    }
+
+    @Test
+    void importEvents_shouldRejectRecordWithoutScheduledTime() {
+        List<Event> exported = List.of(
+                Event.builder().id(40L).name("Timed").scheduledTime(Instant.parse("2025-07-01T10:00:00Z"))
+                        .status(EventStatus.SCHEDULED).build(),
+                Event.builder().id(41L).name("Untimed").status(EventStatus.COMPLETED).build());
+
+        MalformedEventPayloadException thrown = assertThrows(MalformedEventPayloadException.class,
+                () -> eventService.importEvents(exported.iterator()));
+
+        assertEquals("Event 1 of the batch has no scheduled time", thrown.getMessage());
+        verify(eventRepository, never()).insertAll(anyList());
+        assertEquals(0, dueEventIndex.size());
+    }
+
+    @Test
+    void importEvents_shouldKeepStatusesAndIndexOnlyScheduledEvents() {
+        // Given
+        Instant time = Instant.parse("2025-07-01T10:00:00Z");
+        List<Event> exported = List.of(
+                Event.builder().id(40L).name("Done").scheduledTime(time).status(EventStatus.COMPLETED)
+                        .idempotencyKey("key-40").version(3L).build(),
+                Event.builder().id(41L).name("Pending").scheduledTime(time).status(EventStatus.SCHEDULED)
+                        .version(1L).build());
+        AtomicLong ids = new AtomicLong();
+        List<Event> inserted = new ArrayList<>();
+        doAnswer(invocation -> {
+            List<Event> chunk = invocation.getArgument(0);
+            chunk.forEach(event -> event.setId(ids.incrementAndGet()));
+            inserted.addAll(chunk);
+            return null;
+        }).when(eventRepository).insertAll(anyList());
+
+        // When
+        BatchCreateResult result = eventService.importEvents(exported.iterator());
+
+        // Then
+        assertEquals(2, result.getCreated());
+        assertEquals(List.of(EventStatus.COMPLETED, EventStatus.SCHEDULED),
+                inserted.stream().map(Event::getStatus).toList());
+        assertEquals(List.of(1L, 2L), inserted.stream().map(Event::getId).toList());
+        assertNull(inserted.get(0).getIdempotencyKey());
+        assertNull(inserted.get(0).getVersion());
+        assertEquals(1, dueEventIndex.size());
+        assertNotNull(dueEventIndex.get(2L));
+    }
+
+    @Test
+    void completeEvents_shouldUpdateScheduledEventsOnceAndReportMissingIds() {
+        // Given
+        EventStatusView scheduled1 = statusView(1L, "First", EventStatus.SCHEDULED);
+        EventStatusView scheduled2 = statusView(2L, "Second", EventStatus.SCHEDULED);
+        EventStatusView alreadyDone = statusView(3L, "Third", EventStatus.COMPLETED);
+        when(eventRepository.findByIdIn(List.of(1L, 2L, 3L, 99L))).thenReturn(List.of(scheduled1, scheduled2, alreadyDone));
+        when(eventRepository.updateStatus(List.of(1L, 2L), EventStatus.SCHEDULED, EventStatus.COMPLETED)).thenReturn(2);
+
+        // When
+        BulkCompletionResult result = eventService.completeEvents(List.of(1L, 2L, 3L, 99L, 1L));
+
+        // Then
+        assertEquals(2, result.getCompleted());
+        assertEquals(List.of(99L), result.getMissing());
+        assertEquals(2, sharedCounterService.get(SharedCounterService.Counter.COMPLETED));
+        verify(eventRepository, times(1)).updateStatus(List.of(1L, 2L), EventStatus.SCHEDULED, EventStatus.COMPLETED);
+        verify(eventRepository, never()).save(any(Event.class));
+        verify(notificationService, times(1)).notifyUsers(List.of("Event completed: First", "Event completed: Second"));
+        verify(notificationService, never()).notifyUser(anyString());
+    }
+
+    @Test
+    void completeEvents_shouldFailWithoutNotifying_whenAnEventChangedConcurrently() {
+        // Given: event 2 is completed by another request between the lookup and the update
+        List<EventStatusView> views = List.of(statusView(1L, "First", EventStatus.SCHEDULED),
+                statusView(2L, "Second", EventStatus.SCHEDULED));
+        when(eventRepository.findByIdIn(List.of(1L, 2L))).thenReturn(views);
+        when(eventRepository.updateStatus(List.of(1L, 2L), EventStatus.SCHEDULED, EventStatus.COMPLETED)).thenReturn(1);
+        when(eventRepository.findRecurringByIdIn(List.of(1L, 2L), EventStatus.SCHEDULED)).thenReturn(List.of());
+
+        // When/Then
+        assertThrows(EventConflictException.class, () -> eventService.completeEvents(List.of(1L, 2L)));
+        verifyNoInteractions(notificationService);
+        assertEquals(0, sharedCounterService.get(SharedCounterService.Counter.COMPLETED));
+    }
+
+    @Test
+    void completeEvents_shouldLeaveMappedStoreUnchanged_whenAnEventChangedConcurrently(@TempDir Path directory)
+            throws IOException {
+        try (MappedEventStore store = spy(new MappedEventStore(directory, false))) {
+            Event first = store.save(Event.builder().name("First").scheduledTime(clockService.now().minusSeconds(20))
+                    .status(EventStatus.SCHEDULED).build());
+            Event second = store.save(Event.builder().name("Second").scheduledTime(clockService.now().minusSeconds(10))
+                    .status(EventStatus.SCHEDULED).build());
+            // Another request completes the second event between the lookup and the update
+            doAnswer(invocation -> {
+                Object views = invocation.callRealMethod();
+                CompletableFuture.runAsync(() -> store.updateStatus(List.of(second.getId()), EventStatus.SCHEDULED,
+                        EventStatus.COMPLETED)).join();
+                return views;
+            }).when(store).findByIdIn(anyCollection());
+            EventService mappedService = new EventService(store, clockService, notificationService,
+                    sharedCounterService, dueEventIndex, eventCache, false);
+
+            // The transaction manager rolls back when the conflict is thrown
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                assertThrows(EventConflictException.class,
+                        () -> mappedService.completeEvents(List.of(first.getId(), second.getId())));
+            } finally {
+                List<TransactionSynchronization> synchronizations =
+                        TransactionSynchronizationManager.getSynchronizations();
+                TransactionSynchronizationManager.clearSynchronization();
+                TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations,
+                        TransactionSynchronization.STATUS_ROLLED_BACK);
+            }
+
+            assertEquals(EventStatus.SCHEDULED, store.findById(first.getId()).orElseThrow().getStatus());
+            assertEquals(EventStatus.COMPLETED, store.findById(second.getId()).orElseThrow().getStatus());
+            verifyNoInteractions(notificationService);
+        }
+    }
+
+    @Test
+    void completeEvents_shouldNotNotify_whenNothingWasCompleted() {
+        when(eventRepository.findByIdIn(List.of(42L))).thenReturn(List.of());
+
+        BulkCompletionResult result = eventService.completeEvents(List.of(42L));
+
+        assertEquals(0, result.getCompleted());
+        assertEquals(List.of(42L), result.getMissing());
+        verify(eventRepository, never()).updateStatus(anyCollection(), any(), any());
+        verifyNoInteractions(notificationService);
+    }
+
+    @Test
+    void getDueEventsPage_shouldReturnCursorThatResumesAfterLastEvent() {
+        Instant now = clockService.now();
+        DueEventView first = new DueEventView(1L, "First", now.minusSeconds(20), null, 0L);
+        DueEventView second = new DueEventView(2L, "Second", now.minusSeconds(10), null, 0L);
+        when(eventRepository.findDuePage(eq(EventStatus.SCHEDULED), eq(now), any(Pageable.class)))
+                .thenReturn(List.of(first, second));
+
+        DueEventPage page = eventService.getDueEventsPage(null, 2);
+
+        assertEquals(2, page.getEvents().size());
+        assertEquals("Second", page.getEvents().get(1).getName());
+        assertNotNull(page.getNextCursor());
+
+        when(eventRepository.findDuePageAfter(eq(EventStatus.SCHEDULED), eq(now), eq(second.getScheduledTime()),
+                eq(2L), any(Pageable.class))).thenReturn(List.of());
+
+        DueEventPage last = eventService.getDueEventsPage(page.getNextCursor(), 2);
+
+        assertTrue(last.getEvents().isEmpty());
+        assertNull(last.getNextCursor());
+    }
+
+    @Test
+    void getDueEventsPage_shouldClampLimitAndOmitCursorOnShortPage() {
+        DueEventView only = new DueEventView(1L, "Only", clockService.now().minusSeconds(1), null, 0L);
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        when(eventRepository.findDuePage(eq(EventStatus.SCHEDULED), any(Instant.class), pageable.capture()))
+                .thenReturn(List.of(only));
+
+        DueEventPage page = eventService.getDueEventsPage("", 1_000_000);
+
+        assertEquals(EventService.MAX_PAGE_SIZE, pageable.getValue().getPageSize());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void getDueEventsPage_shouldRejectMalformedCursor() {
+        assertThrows(InvalidCursorException.class, () -> eventService.getDueEventsPage("not a cursor!", 10));
+        assertThrows(InvalidCursorException.class, () -> eventService.getDueEventsPage("MTIz", 10));
+        verifyNoInteractions(eventRepository);
+    }
+
+    @Test
+    void streamDueEvents_shouldPassEachProjectionToConsumerAndCloseStream() {
+        Instant now = clockService.now();
+        AtomicBoolean closed = new AtomicBoolean();
+        when(eventRepository.streamDue(EventStatus.SCHEDULED, now)).thenReturn(Stream.of(
+                new DueEventView(1L, "First", now.minusSeconds(20), null, 0L),
+                new DueEventView(2L, "Second", now.minusSeconds(10), null, 0L)).onClose(() -> closed.set(true)));
+        List<Event> streamed = new ArrayList<>();
+
+        long count = eventService.streamDueEvents(streamed::add);
+
+        assertEquals(2, count);
+        assertEquals(List.of(1L, 2L), List.of(streamed.get(0).getId(), streamed.get(1).getId()));
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void streamEvents_shouldPassEveryEventToConsumerAndCloseStream() {
+        AtomicBoolean closed = new AtomicBoolean();
+        when(eventRepository.streamAll()).thenReturn(Stream.of(
+                Event.builder().id(1L).name("First").status(EventStatus.COMPLETED).build(),
+                Event.builder().id(2L).name("Second").status(EventStatus.SCHEDULED).build())
+                .onClose(() -> closed.set(true)));
+        List<Event> streamed = new ArrayList<>();
+
+        long count = eventService.streamEvents(streamed::add);
+
+        assertEquals(2, count);
+        assertEquals(List.of(EventStatus.COMPLETED, EventStatus.SCHEDULED),
+                streamed.stream().map(Event::getStatus).toList());
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void createEvent_shouldStoreRecurrenceRule_andRejectInvalidOnes() {
+        when(eventRepository.save(any(Event.class))).thenAnswer(invocation -> {
+            Event saved = invocation.getArgument(0);
+            saved.setId(1L);
+            return saved;
+        });
+
+        Event created = eventService.createEvent("Hourly", clockService.now(), "PT1H");
+
+        assertEquals(Recurrence.parse("PT1H"), created.getRecurrence());
+        assertThrows(InvalidRecurrenceException.class,
+                () -> eventService.createEvent("Broken", clockService.now(), "sometimes"));
+    }
+
+    @Test
+    void completeEvent_shouldAdvanceRecurringEventToNextOccurrence() {
+        Instant fixedNow = clockService.now();
+        Instant next = fixedNow.minusSeconds(10).plusSeconds(3600);
+        Event event = Event.builder().id(1L).name("Hourly").scheduledTime(fixedNow.minusSeconds(10))
+                .status(EventStatus.SCHEDULED).recurrence(Recurrence.parse("PT1H")).version(5L).build();
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(event));
+        when(eventRepository.compareAndSet(1L, 5L, EventStatus.SCHEDULED, next)).thenReturn(1);
+
+        eventService.completeEvent(1L);
+
+        verify(eventRepository).compareAndSet(1L, 5L, EventStatus.SCHEDULED, next);
+        assertEquals(next, dueEventIndex.get(1L).getScheduledTime());
+        verify(notificationService).notifyUser("Event completed: Hourly");
+    }
+
+    @Test
+    void markDispatched_shouldCompleteOneOffEventsAndAdvanceRecurringOnes() {
+        Instant fixedNow = clockService.now();
+        Instant due = fixedNow.minusSeconds(1);
+        Instant next = due.plusSeconds(86_400);
+        Event oneOff = Event.builder().id(1L).name("Once").scheduledTime(due)
+                .status(EventStatus.SCHEDULED).version(0L).build();
+        Event recurring = Event.builder().id(2L).name("Daily").scheduledTime(due)
+                .status(EventStatus.SCHEDULED).recurrence(Recurrence.parse("P1D")).version(0L).build();
+        Event contended = Event.builder().id(3L).name("Hourly").scheduledTime(due)
+                .status(EventStatus.SCHEDULED).recurrence(Recurrence.parse("PT1H")).version(0L).build();
+        List.of(oneOff, recurring, contended).forEach(dueEventIndex::add);
+        List<EventStateChange> changes = List.of(
+                new EventStateChange(1L, 0L, EventStatus.COMPLETED, due),
+                new EventStateChange(2L, 0L, EventStatus.SCHEDULED, next),
+                new EventStateChange(3L, 0L, EventStatus.SCHEDULED, due.plusSeconds(3_600)));
+        when(eventRepository.compareAndSetAll(changes)).thenReturn(new boolean[]{true, true, false});
+
+        List<Long> claimed = eventService.markDispatched(List.of(oneOff, recurring, contended));
+
+        // event 3 was advanced by someone else in the meantime, so its compare-and-set fails and it is skipped
+        assertEquals(List.of(1L, 2L), claimed);
+        assertEquals(2, sharedCounterService.get(SharedCounterService.Counter.COMPLETED));
+        assertNull(dueEventIndex.get(1L));
+        assertEquals(next, dueEventIndex.get(2L).getScheduledTime());
+        assertEquals(1L, dueEventIndex.get(2L).getVersion());
+        verify(eventRepository, never()).updateStatus(anyCollection(), any(), any());
+        verify(eventRepository, never()).compareAndSet(any(), anyLong(), any(), any());
+    }
+
+    @Test
+    void cancelEvent_shouldCancelScheduledEventAndRemoveItFromIndex() {
+        Instant scheduledTime = clockService.now().plusSeconds(60);
+        Event event = Event.builder().id(1L).name("To Cancel").scheduledTime(scheduledTime)
+                .status(EventStatus.SCHEDULED).recurrence(Recurrence.parse("PT1H")).version(2L).build();
+        dueEventIndex.add(event);
+        eventCache.put(event);
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(event));
+        when(eventRepository.compareAndSet(1L, 2L, EventStatus.CANCELLED, scheduledTime)).thenReturn(1);
+
+        Event cancelled = eventService.cancelEvent(1L);
+
+        assertEquals(EventStatus.CANCELLED, cancelled.getStatus());
+        assertEquals(3L, cancelled.getVersion());
+        assertNull(dueEventIndex.get(1L));
+        assertNull(eventCache.getIfPresent(1L));
+        assertEquals(1, sharedCounterService.get(SharedCounterService.Counter.CANCELLED));
+        verifyNoInteractions(notificationService);
+    }
+
+    @Test
+    void cancelEvent_shouldRejectEventThatIsAlreadyCompleted() {
+        Event completed = Event.builder().id(1L).name("Done").scheduledTime(clockService.now())
+                .status(EventStatus.COMPLETED).version(1L).build();
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(completed));
+
+        EventConflictException thrown = assertThrows(EventConflictException.class, () -> eventService.cancelEvent(1L));
+
+        assertEquals("Event 1 is COMPLETED and cannot be cancelled", thrown.getMessage());
+        verify(eventRepository, never()).compareAndSet(any(), anyLong(), any(), any());
+        assertEquals(0, sharedCounterService.get(SharedCounterService.Counter.CANCELLED));
+    }
+
+    @Test
+    void rescheduleEvent_shouldMoveEventInIndex_andConflictOnStaleVersion() {
+        Instant later = clockService.now().plusSeconds(3600);
+        Event event = Event.builder().id(1L).name("Moved").scheduledTime(clockService.now().minusSeconds(5))
+                .status(EventStatus.SCHEDULED).version(0L).build();
+        dueEventIndex.beginRebuild();
+        dueEventIndex.completeRebuild();
+        dueEventIndex.add(event);
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(event));
+        when(eventRepository.compareAndSet(1L, 0L, EventStatus.SCHEDULED, later)).thenReturn(1, 0);
+
+        Event rescheduled = eventService.rescheduleEvent(1L, later);
+
+        assertEquals(later, rescheduled.getScheduledTime());
+        assertEquals(later, dueEventIndex.get(1L).getScheduledTime());
+        assertTrue(eventService.getDueEvents().isEmpty());
+        // a second request that read the same version loses
+        assertThrows(EventConflictException.class, () -> eventService.rescheduleEvent(1L, later));
+    }
+
+    @Test
+    void markDispatched_shouldNotClaimOccurrenceRescheduledAfterItWasRead() {
+        Instant due = clockService.now().minusSeconds(1);
+        Instant later = clockService.now().plusSeconds(3600);
+        Event fired = Event.builder().id(1L).name("Moved").scheduledTime(due)
+                .status(EventStatus.SCHEDULED).version(0L).build();
+        Event rescheduled = fired.toBuilder().scheduledTime(later).version(1L).build();
+        dueEventIndex.add(rescheduled);
+        // the reschedule committed after the dispatcher read version 0, so the compare-and-set misses
+        when(eventRepository.compareAndSetAll(List.of(new EventStateChange(1L, 0L, EventStatus.COMPLETED, due))))
+                .thenReturn(new boolean[]{false});
+
+        List<Long> claimed = eventService.markDispatched(List.of(fired));
+
+        assertTrue(claimed.isEmpty());
+        assertEquals(0, sharedCounterService.get(SharedCounterService.Counter.COMPLETED));
+        assertEquals(later, dueEventIndex.get(1L).getScheduledTime());
+    }
+
+    private static EventStatusView statusView(Long id, String name, EventStatus status) {
+        EventStatusView view = mock(EventStatusView.class);
+        when(view.getId()).thenReturn(id);
+        when(view.getName()).thenReturn(name);
+        when(view.getStatus()).thenReturn(status);
+        return view;
+    }
 }
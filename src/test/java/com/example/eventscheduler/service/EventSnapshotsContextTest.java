@@ -0,0 +1,71 @@
+package com.example.eventscheduler.service;
+
+import com.example.eventscheduler.domain.Event;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Restores a snapshot on a running application whose Hibernate ID pool has already handed out IDs, which
+ * {@link EventSnapshotsTest} cannot cover with its mocked {@link EventService}. The context has its own
+ * embedded database, so emptying the events table does not disturb the other tests.
+ */
+@SpringBootTest
+class EventSnapshotsContextTest {
+
+    @TempDir
+    static Path directory;
+
+    @DynamicPropertySource
+    static void snapshotProperties(DynamicPropertyRegistry registry) {
+        registry.add("scheduler.snapshot.enabled", () -> "true");
+        registry.add("scheduler.snapshot.path", directory::toString);
+    }
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventSnapshots snapshots;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void eventsCreatedBeforeAndAfterARestoreShouldNotCollideWithRestoredIds() {
+        Instant time = Instant.now().plusSeconds(3600);
+        // Two events, so that this node holds a full block of IDs from events_seq
+        Event first = eventService.createEvent("before restore", time);
+        Event second = eventService.createEvent("before restore", time);
+        long maxId = first.getId() + 2L * Event.ID_ALLOCATION_SIZE;
+        // Fill the rest of that block, and the next one, with rows that only the snapshot brings back
+        List<Object[]> rows = new ArrayList<>();
+        for (long id = second.getId() + 1; id <= maxId; id++) {
+            rows.add(new Object[]{id, "restored", Timestamp.from(time), "SCHEDULED", 0});
+        }
+        jdbcTemplate.batchUpdate("insert into events (id, name, scheduled_time, status, version) "
+                + "values (?, ?, ?, ?, ?)", rows);
+        snapshots.export("context.snapshot");
+        jdbcTemplate.update("delete from events");
+
+        snapshots.restore("context.snapshot");
+        Event after = eventService.createEvent("after restore", time);
+
+        assertTrue(after.getId() > maxId, "id " + after.getId());
+        assertEquals(rows.size() + 3L, jdbcTemplate.queryForObject("select count(*) from events", Long.class));
+        assertEquals(List.of("before restore", "before restore"), jdbcTemplate.queryForList(
+                "select name from events where id in (?, ?)", String.class, first.getId(), second.getId()));
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.eventscheduler.service;
+
+import com.example.eventscheduler.exception.EventConflictException;
+import com.example.eventscheduler.exception.InvalidSnapshotException;
+import com.example.eventscheduler.exception.SnapshotNotFoundException;
+import com.example.eventscheduler.util.MutableClock;
+import com.example.eventscheduler.util.SystemClock;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests {@link EventSnapshots} against a private H2 database migrated by Flyway, so restores can start from an
+ * empty events table without disturbing the application context shared by the other tests.
+ */
+class EventSnapshotsTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventSnapshotsTest.class);
+    private static final Instant START = Instant.parse("2025-06-23T17:00:00.123456Z");
+    private static final String SELECT_ALL = "select id, name, scheduled_time, status, recurrence, idempotency_key, "
+            + "version from events order by id";
+
+    @TempDir
+    Path directory;
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private EventService eventService;
+    private EventSnapshots snapshots;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:snapshots-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration/common").load().migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        eventService = mock(EventService.class);
+        snapshots = snapshots(3);
+    }
+
+    @Test
+    void exportAndRestoreShouldReproduceEveryRowAcrossBlocks() throws Exception {
+        insert(List.of(
+                row(5, "nightly", START, "SCHEDULED", "0 0 2 * * *", null, 4),
+                row(6, "nightly", START.plusSeconds(86_400), "COMPLETED", null, "key-6", 1),
+                row(9, "caf\u00e9", START.minusSeconds(30), "CANCELLED", "PT15M", null, 2),
+                row(10, null, null, null, null, null, 0),
+                row(250, "nightly", START.plusNanos(1_000), "SCHEDULED", null, "key-250", 0),
+                row(251, "report", START, "SCHEDULED", "PT15M", null, 0),
+                row(1_000_000_000_000L, "far id", START.minusSeconds(1_000_000), "SCHEDULED", null, null, 7)));
+        List<Map<String, Object>> before = jdbcTemplate.queryForList(SELECT_ALL);
+
+        EventSnapshots.Snapshot exported = snapshots.export("backup.snapshot");
+        jdbcTemplate.update("delete from events");
+        EventSnapshots.Snapshot restored = snapshots.restore("backup.snapshot");
+
+        assertEquals(7, exported.getEvents());
+        assertEquals(Files.size(directory.resolve("backup.snapshot")), exported.getBytes());
+        assertEquals(7, restored.getEvents());
+        assertEquals(before, jdbcTemplate.queryForList(SELECT_ALL));
+        long next = jdbcTemplate.queryForObject("select next value for events_seq", Long.class);
+        assertTrue(next - (EventSnapshots.SEQUENCE_ALLOCATION_SIZE - 1) > 1_000_000_000_000L);
+        verify(eventService).skipIdsThrough(1_000_000_000_000L);
+        verify(eventService).rebuildDueEventIndex();
+        assertEquals(List.of("backup.snapshot"), snapshots.list());
+
+        assertThrows(EventConflictException.class, () -> snapshots.restore("backup.snapshot"));
+    }
+
+    @Test
+    void restoreShouldRejectIncompleteAndUnknownSnapshots() throws Exception {
+        insert(List.of(row(1, "a", START, "SCHEDULED", null, null, 0), row(2, "b", START, "SCHEDULED", null, null, 0)));
+        snapshots.export("complete.snapshot");
+        jdbcTemplate.update("delete from events");
+        byte[] bytes = Files.readAllBytes(directory.resolve("complete.snapshot"));
+        Files.write(directory.resolve("truncated.snapshot"), Arrays.copyOf(bytes, bytes.length - 1));
+
+        assertThrows(InvalidSnapshotException.class, () -> snapshots.restore("truncated.snapshot"));
+        assertThrows(SnapshotNotFoundException.class, () -> snapshots.restore("missing.snapshot"));
+        assertThrows(SnapshotNotFoundException.class, () -> snapshots.restore("../complete.snapshot"));
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from events", Long.class));
+        verifyNoInteractions(eventService);
+    }
+
+    @Test
+    void failedRestoreShouldDeleteOnlyTheRowsItInserted() throws Exception {
+        insert(List.of(row(1, "a", START, "SCHEDULED", null, null, 0), row(2, "b", START, "SCHEDULED", null, null, 0),
+                row(6, "c", START, "SCHEDULED", null, null, 0), row(10, "d", START, "SCHEDULED", null, null, 0),
+                row(11, "e", START, "SCHEDULED", null, null, 0)));
+        snapshots.export("backup.snapshot");
+        jdbcTemplate.update("delete from events");
+        // Events created concurrently once the restore has started: 5 lies between restored IDs, 11 collides
+        doAnswer(invocation -> {
+            try (Connection other = dataSource.getConnection()) {
+                other.createStatement().executeUpdate("insert into events (id, name, status, version) values "
+                        + "(5, 'concurrent', 'SCHEDULED', 0), (11, 'concurrent', 'SCHEDULED', 0)");
+            }
+            return null;
+        }).when(eventService).skipIdsThrough(anyLong());
+
+        assertThrows(RuntimeException.class, () -> snapshots.restore("backup.snapshot"));
+
+        assertEquals(List.of(5L, 11L), jdbcTemplate.queryForList("select id from events order by id", Long.class));
+        verify(eventService, never()).rebuildDueEventIndex();
+    }
+
+    @Test
+    void restoreShouldBeRejectedWhileAnotherRestoreHoldsTheGuardRow() throws Exception {
+        insert(List.<Object[]>of(row(1, "a", START, "SCHEDULED", null, null, 0)));
+        snapshots.export("backup.snapshot");
+        jdbcTemplate.update("delete from events");
+
+        try (Connection other = dataSource.getConnection()) {
+            other.setAutoCommit(false);
+            other.createStatement().executeQuery("select id from snapshot_restore_lock for update").close();
+
+            assertThrows(EventConflictException.class, () -> snapshots.restore("backup.snapshot"));
+            other.rollback();
+        }
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from events", Long.class));
+
+        snapshots.restore("backup.snapshot");
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from events", Long.class));
+    }
+
+    @Test
+    void shouldExportAndRestoreLargeTablesQuickly() {
+        // Larger runs: mvn test -Dtest=EventSnapshotsTest -Dsnapshot.events=1000000
+        int count = Integer.getInteger("snapshot.events", 200_000);
+        EventSnapshots large = snapshots(10_000);
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rows.add(row(i + 1, "job-" + i % 1000, START.plusSeconds(i), "SCHEDULED", null, null, 0));
+        }
+        insert(rows);
+
+        EventSnapshots.Snapshot exported = large.export("large.snapshot");
+        jdbcTemplate.update("delete from events");
+        EventSnapshots.Snapshot restored = large.restore("large.snapshot");
+
+        logger.info("Snapshot of {} events: {} bytes, export {} ms, restore {} ms ({} events/s)", count,
+                exported.getBytes(), exported.getMillis(), restored.getMillis(),
+                count * 1000L / Math.max(1, restored.getMillis()));
+        assertEquals(count, jdbcTemplate.queryForObject("select count(*) from events", Long.class));
+        assertTrue(exported.getBytes() < count * 16L);
+    }
+
+    private EventSnapshots snapshots(int blockSize) {
+        return new EventSnapshots(new JdbcTemplate(dataSource), new DataSourceTransactionManager(dataSource),
+                eventService, new ClockService(new SystemClock(new MutableClock(START))), directory.toString(),
+                blockSize);
+    }
+
+    private void insert(List<Object[]> rows) {
+        jdbcTemplate.batchUpdate("insert into events (id, name, scheduled_time, status, recurrence, "
+                + "idempotency_key, version) values (?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    private static Object[] row(long id, String name, Instant scheduledTime, String status, String recurrence,
+                                String idempotencyKey, long version) {
+        return new Object[]{id, name, scheduledTime == null ? null : OffsetDateTime.ofInstant(scheduledTime,
+                ZoneOffset.UTC), status, recurrence, idempotencyKey, version};
+    }
+}
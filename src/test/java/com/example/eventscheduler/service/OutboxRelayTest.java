@@ -0,0 +1,185 @@
+package com.example.eventscheduler.service;
+
+import com.example.eventscheduler.domain.OutboxMessage;
+import com.example.eventscheduler.domain.OutboxStatus;
+import com.example.eventscheduler.repository.OutboxMessageRepository;
+import com.example.eventscheduler.util.MutableClock;
+import com.example.eventscheduler.util.SystemClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests {@link NotificationOutbox} and {@link OutboxRelay} against the application's H2 database.
+ * The relay is built by hand around a mocked transport and a manually advanced clock, and the test drives
+ * its workers' steps directly instead of starting their threads.
+ */
+@SpringBootTest
+class OutboxRelayTest {
+
+    @Autowired
+    private NotificationOutbox outbox;
+
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private NotificationServiceImpl transport;
+    private SharedCounterService counters;
+    private MutableClock clock;
+
+    @BeforeEach
+    void setUp() {
+        outboxMessageRepository.deleteAll();
+        transport = mock(NotificationServiceImpl.class);
+        counters = new SharedCounterService();
+        clock = new MutableClock(Instant.now().truncatedTo(ChronoUnit.MILLIS));
+    }
+
+    @Test
+    void append_shouldOnlyStoreMessagesOfCommittedTransactions() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        transaction.executeWithoutResult(status -> {
+            outbox.append(List.of("rolled back"), clock.instant());
+            status.setRollbackOnly();
+        });
+        transaction.executeWithoutResult(status -> outbox.append(List.of("committed"), clock.instant()));
+
+        List<OutboxMessage> stored = outboxMessageRepository.findAll();
+        assertEquals(1, stored.size());
+        assertEquals("committed", stored.get(0).getMessage());
+        assertEquals(OutboxStatus.PENDING, stored.get(0).getStatus());
+    }
+
+    @Test
+    void relayOnce_shouldDeliverBatchInOneCallAndDeleteIt() {
+        outbox.append(List.of("a", "b", "c"), clock.instant());
+        OutboxRelay relay = relay(10, 1);
+
+        assertEquals(3, relay.relayOnce(0));
+
+        verify(transport).notifyUsers(List.of("a", "b", "c"));
+        assertEquals(0, outboxMessageRepository.count());
+        assertEquals(3, counters.get(SharedCounterService.Counter.NOTIFIED));
+        assertEquals(0, relay.relayOnce(0));
+    }
+
+    @Test
+    void relayOnce_shouldRetryFailedMessageWithBackoffAndDeadLetterIt() {
+        doThrow(new IllegalStateException("batch rejected")).when(transport).notifyUsers(anyList());
+        doThrow(new IllegalStateException("bad address")).when(transport).notifyUser("poison");
+        outbox.append(List.of("ok", "poison"), clock.instant());
+        OutboxRelay relay = relay(10, 1);
+
+        assertEquals(2, relay.relayOnce(0));
+
+        verify(transport).notifyUser("ok");
+        OutboxMessage poison = outboxMessageRepository.findAll().get(0);
+        assertEquals("poison", poison.getMessage());
+        assertEquals(1, poison.getAttempts());
+        assertEquals(clock.instant().plus(outbox.backoff(1)), poison.getNextAttemptAt());
+        assertEquals(0, relay.relayOnce(0), "retried before its backoff elapsed");
+
+        for (int attempt = 2; attempt <= 10; attempt++) {
+            clock.advance(outbox.backoff(attempt - 1));
+            assertEquals(1, relay.relayOnce(0));
+        }
+
+        assertEquals(new NotificationOutbox.Stats(0, 1), outbox.getStats());
+        assertEquals(1, counters.get(SharedCounterService.Counter.NOTIFIED));
+        assertEquals(10, counters.get(SharedCounterService.Counter.FAILED));
+        assertEquals(1, counters.get(SharedCounterService.Counter.DEAD_LETTERED));
+        clock.advance(Duration.ofDays(1));
+        assertEquals(0, relay.relayOnce(0));
+
+        assertEquals(1, outbox.retryDeadLetters(clock.instant()));
+        assertEquals(new NotificationOutbox.Stats(1, 0), outbox.getStats());
+        assertEquals(0, outboxMessageRepository.findAll().get(0).getAttempts());
+    }
+
+    @Test
+    void relayOnce_shouldRedeliverClaimedMessagesAfterVisibilityTimeout() {
+        outbox.append(List.of("orphaned"), clock.instant());
+        Duration visibility = Duration.ofSeconds(30);
+        assertEquals(1, outbox.claim(0, 1, 10, clock.instant(), visibility).size());
+        OutboxRelay relay = relay(10, 1);
+
+        assertEquals(0, relay.relayOnce(0));
+        clock.advance(visibility);
+        assertEquals(1, relay.relayOnce(0));
+
+        verify(transport).notifyUsers(List.of("orphaned"));
+    }
+
+    @Test
+    void workers_shouldDeliverEveryMessageExactlyOnce() throws Exception {
+        int workers = 4;
+        Queue<String> delivered = new ConcurrentLinkedQueue<>();
+        doAnswer(invocation -> delivered.addAll(invocation.getArgument(0))).when(transport).notifyUsers(anyList());
+        List<String> messages = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            messages.add("message-" + i);
+        }
+        outbox.append(messages, clock.instant());
+        OutboxRelay relay = relay(50, workers);
+
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        try {
+            List<Future<Integer>> claimed = new ArrayList<>();
+            for (int i = 0; i < workers; i++) {
+                int partition = i;
+                claimed.add(pool.submit(() -> {
+                    int total = 0;
+                    for (int n = relay.relayOnce(partition); n > 0; n = relay.relayOnce(partition)) {
+                        total += n;
+                    }
+                    return total;
+                }));
+            }
+            for (Future<Integer> worker : claimed) {
+                assertTrue(worker.get() > 0, "a worker delivered nothing");
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(messages.size(), delivered.size());
+        assertEquals(new HashSet<>(messages), new HashSet<>(delivered));
+        assertEquals(0, outboxMessageRepository.count());
+    }
+
+    @Test
+    void backoff_shouldDoubleUpToTheMaximum() {
+        assertEquals(Duration.ofSeconds(1), outbox.backoff(1));
+        assertEquals(Duration.ofSeconds(8), outbox.backoff(4));
+        assertEquals(Duration.ofMinutes(5), outbox.backoff(20));
+        assertEquals(Duration.ofMinutes(5), outbox.backoff(200));
+    }
+
+    private OutboxRelay relay(int batchSize, int workers) {
+        return new OutboxRelay(outbox, transport, counters, new ClockService(new SystemClock(clock)),
+                batchSize, workers, 10, 30_000, false);
+    }
+}
@@ -3,11 +3,13 @@ package com.example.eventscheduler.service;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * Unit tests for {@link SharedCounterService}.
- * Ensures the counter's behavior (increment, get, reset) is correct and thread-safe.
+ * Ensures the counters' behavior (increment, get, snapshot, reset) is correct and thread-safe.
  */
 class SharedCounterServiceTest {
 
@@ -67,4 +69,35 @@ class SharedCounterServiceTest {
 
         assertEquals(numThreads * incrementsPerThread, sharedCounterService.get());
     }
+
+    @Test
+    void namedCounters_shouldBeIndependent() {
+        sharedCounterService.increment(SharedCounterService.Counter.CREATED);
+        sharedCounterService.add(SharedCounterService.Counter.NOTIFIED, 5);
+
+        assertEquals(1, sharedCounterService.get(SharedCounterService.Counter.CREATED));
+        assertEquals(0, sharedCounterService.get(SharedCounterService.Counter.COMPLETED));
+        assertEquals(5, sharedCounterService.get(SharedCounterService.Counter.NOTIFIED));
+        assertEquals(1, sharedCounterService.get());
+    }
+
+    @Test
+    void snapshot_shouldReportEveryCounter_andResetShouldClearThemAll() {
+        sharedCounterService.add(SharedCounterService.Counter.COMPLETED, 3);
+        sharedCounterService.increment(SharedCounterService.Counter.FAILED);
+
+        Map<SharedCounterService.Counter, Long> snapshot = sharedCounterService.snapshot();
+        assertEquals(SharedCounterService.Counter.values().length, snapshot.size());
+        assertEquals(3L, snapshot.get(SharedCounterService.Counter.COMPLETED));
+        assertEquals(1L, snapshot.get(SharedCounterService.Counter.FAILED));
+
+        sharedCounterService.reset();
+        assertTrue(sharedCounterService.snapshot().values().stream().allMatch(value -> value == 0L));
+    }
+
+    @Test
+    void addAndGet_shouldNotOverflowPastIntegerRange() {
+        sharedCounterService.addAndGet(Integer.MAX_VALUE);
+        assertEquals(Integer.MAX_VALUE + 1L, sharedCounterService.incrementAndGet());
+    }
 }
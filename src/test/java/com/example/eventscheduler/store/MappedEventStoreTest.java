@@ -0,0 +1,279 @@
+package com.example.eventscheduler.store;
+
+import com.example.eventscheduler.domain.Event;
+import com.example.eventscheduler.domain.EventStatus;
+import com.example.eventscheduler.repository.EventStateChange;
+import com.example.eventscheduler.domain.Recurrence;
+import com.example.eventscheduler.repository.DueEventView;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link MappedEventStore}, against real files in a temporary directory.
+ * Small chunk sizes make the tests cross chunk boundaries with a handful of events.
+ */
+class MappedEventStoreTest {
+
+    private static final Instant NOW = Instant.parse("2025-06-23T17:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    private MappedEventStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        store = open();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        store.close();
+    }
+
+    @Test
+    void save_shouldAssignIdsAndServeDueQueriesInTimeOrder() {
+        Event later = store.save(event("later", NOW.minusSeconds(10)));
+        Event earlier = store.save(event("earlier", NOW.minusSeconds(20)));
+        store.save(event("future", NOW.plusSeconds(10)));
+
+        assertEquals(1L, later.getId());
+        assertEquals(2L, earlier.getId());
+        assertEquals(List.of("earlier", "later"), names(store.findDue(EventStatus.SCHEDULED, NOW)));
+        assertEquals("later", store.findById(1L).orElseThrow().getName());
+        assertTrue(store.findById(99L).isEmpty());
+    }
+
+    @Test
+    void findDuePageAfter_shouldContinueAfterKeysetPosition() {
+        for (int i = 0; i < 5; i++) {
+            store.save(event("e" + i, NOW.minusSeconds(100 - i)));
+        }
+
+        List<DueEventView> first = store.findDuePage(EventStatus.SCHEDULED, NOW, PageRequest.ofSize(2));
+        DueEventView last = first.get(1);
+        List<DueEventView> second = store.findDuePageAfter(EventStatus.SCHEDULED, NOW, last.getScheduledTime(),
+                last.getId(), PageRequest.ofSize(2));
+
+        assertEquals(List.of("e0", "e1"), names(first));
+        assertEquals(List.of("e2", "e3"), names(second));
+    }
+
+    @Test
+    void updateStatus_shouldOnlyMoveScheduledOneOffEvents() {
+        Event oneOff = store.save(event("one-off", NOW.minusSeconds(10)));
+        Event recurring = event("recurring", NOW.minusSeconds(10));
+        recurring.setRecurrence(Recurrence.parse("PT1H"));
+        store.save(recurring);
+
+        int updated = store.updateStatus(List.of(oneOff.getId(), recurring.getId(), 99L),
+                EventStatus.SCHEDULED, EventStatus.COMPLETED);
+
+        assertEquals(1, updated);
+        assertEquals(EventStatus.COMPLETED, store.findById(oneOff.getId()).orElseThrow().getStatus());
+        assertEquals(List.of("recurring"), names(store.findDue(EventStatus.SCHEDULED, NOW)));
+        assertEquals(1, store.findRecurringByIdIn(List.of(oneOff.getId(), recurring.getId()),
+                EventStatus.SCHEDULED).size());
+        assertEquals(0, store.updateStatus(List.of(oneOff.getId()), EventStatus.SCHEDULED, EventStatus.COMPLETED));
+    }
+
+    @Test
+    void reopen_shouldReplayLatestStateOfEveryEvent() throws IOException {
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            events.add(event("event-" + i, NOW.minusSeconds(i)));
+        }
+        store.insertAll(events);
+        store.updateStatus(List.of(1L, 2L), EventStatus.SCHEDULED, EventStatus.COMPLETED);
+        Event recurring = event("recurring", NOW.minusSeconds(60));
+        recurring.setRecurrence(Recurrence.parse("PT1H"));
+        store.save(recurring);
+        recurring.setScheduledTime(NOW.plusSeconds(3_540));
+        store.save(recurring);
+
+        store.close();
+        store = open();
+
+        assertEquals(48, store.findDue(EventStatus.SCHEDULED, NOW).size());
+        assertEquals(EventStatus.COMPLETED, store.findById(2L).orElseThrow().getStatus());
+        Event replayed = store.findById(recurring.getId()).orElseThrow();
+        assertEquals(NOW.plusSeconds(3_540), replayed.getScheduledTime());
+        assertEquals(Recurrence.parse("PT1H"), replayed.getRecurrence());
+        assertEquals(52L, store.save(event("after restart", NOW)).getId());
+    }
+
+    @Test
+    void reopen_shouldDiscardTornRecordAndAppendAfterLastValidOne() throws IOException {
+        store.save(event("kept", NOW.minusSeconds(20)));
+        store.save(event("torn", NOW.minusSeconds(10)));
+        store.close();
+        try (FileChannel log = FileChannel.open(directory.resolve("events.log"), StandardOpenOption.WRITE)) {
+            log.write(ByteBuffer.wrap(new byte[] {1, 2, 3}), MappedEventStore.RECORD_SIZE + 10);
+        }
+
+        store = open();
+
+        assertEquals(List.of("kept"), names(store.findDue(EventStatus.SCHEDULED, NOW)));
+        Event next = store.save(event("next", NOW.minusSeconds(5)));
+        assertEquals(2L, next.getId());
+        store.close();
+        store = open();
+        assertEquals(List.of("kept", "next"), names(store.findDue(EventStatus.SCHEDULED, NOW)));
+    }
+
+    @Test
+    void compareAndSet_shouldOnlyApplyAtExpectedVersion_andVersionsShouldSurviveReplay() throws IOException {
+        Event event = store.save(event("contended", NOW.minusSeconds(10)));
+        assertEquals(0L, event.getVersion());
+
+        assertTrue(store.compareAndSet(event.getId(), 0, EventStatus.SCHEDULED, NOW.plusSeconds(60)));
+        assertFalse(store.compareAndSet(event.getId(), 0, EventStatus.CANCELLED, NOW));
+        assertFalse(store.compareAndSet(99L, 0, EventStatus.CANCELLED, NOW));
+        assertEquals(1, store.updateStatus(List.of(event.getId()), EventStatus.SCHEDULED, EventStatus.COMPLETED));
+
+        store.close();
+        store = open();
+
+        Event replayed = store.findById(event.getId()).orElseThrow();
+        assertEquals(2L, replayed.getVersion());
+        assertEquals(EventStatus.COMPLETED, replayed.getStatus());
+        assertEquals(NOW.plusSeconds(60), replayed.getScheduledTime());
+        assertFalse(store.compareAndSet(event.getId(), 1, EventStatus.CANCELLED, NOW));
+        event.setStatus(EventStatus.CANCELLED);
+        assertThrows(OptimisticLockingFailureException.class, () -> store.save(event));
+        assertEquals(3L, store.save(replayed).getVersion());
+    }
+
+    @Test
+    void compareAndSetAll_shouldApplyEachChangeOnItsOwn() throws IOException {
+        Event first = store.save(event("first", NOW.minusSeconds(10)));
+        Event second = store.save(event("second", NOW.minusSeconds(5)));
+
+        boolean[] applied = store.compareAndSetAll(List.of(
+                new EventStateChange(first.getId(), 0, EventStatus.COMPLETED, first.getScheduledTime()),
+                new EventStateChange(second.getId(), 1, EventStatus.COMPLETED, second.getScheduledTime()),
+                new EventStateChange(99L, 0, EventStatus.COMPLETED, NOW)));
+
+        assertArrayEquals(new boolean[]{true, false, false}, applied);
+        store.close();
+        store = open();
+        assertEquals(EventStatus.COMPLETED, store.findById(first.getId()).orElseThrow().getStatus());
+        assertEquals(1L, store.findById(first.getId()).orElseThrow().getVersion());
+        assertEquals(EventStatus.SCHEDULED, store.findById(second.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void rollback_shouldUndoChangesToExistingEvents_unlessChangedAgain() throws IOException {
+        Event kept = store.save(event("kept", NOW.minusSeconds(20)));
+        Event contended = store.save(event("contended", NOW.minusSeconds(10)));
+
+        inTransaction(TransactionSynchronization.STATUS_ROLLED_BACK, () -> {
+            store.updateStatus(List.of(kept.getId()), EventStatus.SCHEDULED, EventStatus.COMPLETED);
+            store.compareAndSet(contended.getId(), 0, EventStatus.SCHEDULED, NOW.plusSeconds(60));
+            store.save(event("inserted", NOW.minusSeconds(5)));
+            // Another writer changes the event again before the rollback
+            CompletableFuture.runAsync(() -> store.compareAndSet(contended.getId(), 1, EventStatus.CANCELLED, NOW))
+                    .join();
+        });
+
+        assertEquals(List.of("kept", "inserted"), names(store.findDue(EventStatus.SCHEDULED, NOW)));
+        assertEquals(2L, store.findById(kept.getId()).orElseThrow().getVersion());
+        assertEquals(EventStatus.CANCELLED, store.findById(contended.getId()).orElseThrow().getStatus());
+        store.close();
+        store = open();
+        assertEquals(List.of("kept", "inserted"), names(store.findDue(EventStatus.SCHEDULED, NOW)));
+    }
+
+    @Test
+    void commit_shouldKeepChanges() {
+        Event event = store.save(event("completed", NOW.minusSeconds(10)));
+
+        inTransaction(TransactionSynchronization.STATUS_COMMITTED,
+                () -> store.updateStatus(List.of(event.getId()), EventStatus.SCHEDULED, EventStatus.COMPLETED));
+
+        assertEquals(EventStatus.COMPLETED, store.findById(event.getId()).orElseThrow().getStatus());
+        assertFalse(TransactionSynchronizationManager.hasResource(store));
+    }
+
+    @Test
+    void save_shouldRejectSecondEventWithSameIdempotencyKey() {
+        Event first = event("first", NOW);
+        first.setIdempotencyKey("key-1");
+        store.save(first);
+        Event duplicate = event("duplicate", NOW);
+        duplicate.setIdempotencyKey("key-1");
+
+        assertThrows(DataIntegrityViolationException.class, () -> store.save(duplicate));
+        assertEquals(first.getId(), store.findIdByIdempotencyKey("key-1").orElseThrow());
+        assertTrue(store.findIdByIdempotencyKey("key-2").isEmpty());
+        assertEquals(List.of("first"), names(store.findDue(EventStatus.SCHEDULED, NOW.plusSeconds(1))));
+    }
+
+    @Test
+    void findDueInShards_shouldOnlyReturnEventsOfGivenShards() {
+        for (int i = 0; i < 8; i++) {
+            store.save(event("e" + i, NOW.minusSeconds(10)));
+        }
+
+        List<DueEventView> due = store.findDueInShards(EventStatus.SCHEDULED, NOW, 4, List.of(1),
+                PageRequest.ofSize(10));
+
+        assertEquals(List.of(1L, 5L), due.stream().map(DueEventView::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void findDueInShards_shouldExcludeEventsScheduledExactlyAtNow() {
+        store.save(event("due", NOW.minusMillis(1)));
+        store.save(event("at now", NOW));
+
+        List<DueEventView> due = store.findDueInShards(EventStatus.SCHEDULED, NOW, 1, List.of(0),
+                PageRequest.ofSize(10));
+
+        assertEquals(List.of("due"), due.stream().map(DueEventView::getName).collect(Collectors.toList()));
+    }
+
+    /** Runs the writes with transaction synchronization active and completes them like a transaction manager. */
+    static void inTransaction(int completion, Runnable writes) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            writes.run();
+        } finally {
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            TransactionSynchronizationManager.clearSynchronization();
+            TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, completion);
+        }
+    }
+
+    private MappedEventStore open() throws IOException {
+        return new MappedEventStore(directory, false, MappedEventStore.RECORD_SIZE * 8, 64);
+    }
+
+    private static Event event(String name, Instant scheduledTime) {
+        return Event.builder().name(name).scheduledTime(scheduledTime).status(EventStatus.SCHEDULED).build();
+    }
+
+    private static List<String> names(List<DueEventView> views) {
+        return views.stream().map(DueEventView::getName).collect(Collectors.toList());
+    }
+}
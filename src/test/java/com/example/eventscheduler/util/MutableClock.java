@@ -0,0 +1,46 @@
+package com.example.eventscheduler.util;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * A UTC clock that only moves when a test advances it, and may be read from several threads.
+ */
+public final class MutableClock extends Clock {
+
+    private volatile Instant now;
+
+    /**
+     * Creates a clock standing at the given instant.
+     * @param start The initial time.
+     */
+    public MutableClock(Instant start) {
+        this.now = start;
+    }
+
+    /**
+     * Moves the clock forward.
+     * @param duration The amount of time to advance by.
+     */
+    public void advance(Duration duration) {
+        now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return this;
+    }
+
+    @Override
+    public Instant instant() {
+        return now;
+    }
+}